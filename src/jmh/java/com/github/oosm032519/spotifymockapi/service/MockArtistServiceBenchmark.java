@@ -0,0 +1,47 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * MockArtistService のジャンル生成のベンチマーク。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockArtistServiceBenchmark {
+
+    @Param({"1", "50", "10000"})
+    private int artistCount;
+
+    private MockArtistService mockArtistService;
+    private List<String> artistIds;
+
+    @Setup
+    public void setUp() {
+        mockArtistService = new MockArtistService(new GenreEngine(new MockRandomSource("random", 0), List.of(GenreEngine.DEFAULT_VOCABULARY.split(",")), 1, 3));
+        artistIds = IntStream.range(0, artistCount).mapToObj(i -> "artist_id_" + i).toList();
+    }
+
+    @Benchmark
+    public Map<String, List<String>> genres() {
+        return mockArtistService.getArtistGenresMockData(artistIds);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MockDataGeneratorUtil の ID 関連ヘルパーのベンチマーク。
+ * 入力はフィールドから読み込み、定数畳み込みで計測対象が消えないようにする。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockDataGeneratorUtilBenchmark {
+
+    private int index = 123_456;
+    private String playlistId = "mockPlaylistId123456";
+
+    @Benchmark
+    public int getPlaylistIndex() {
+        return MockDataGeneratorUtil.getPlaylistIndex(playlistId);
+    }
+
+    @Benchmark
+    public int getLastThreeDigits() {
+        return MockDataGeneratorUtil.getLastThreeDigits(playlistId);
+    }
+
+    @Benchmark
+    public String generatePlaylistId() {
+        return MockDataGeneratorUtil.generatePlaylistId(index);
+    }
+
+    @Benchmark
+    public String generatePlaylistName() {
+        return MockDataGeneratorUtil.generatePlaylistName(playlistId);
+    }
+
+    @Benchmark
+    public String generateUserId() {
+        return MockDataGeneratorUtil.generateUserId(MockDataGeneratorUtil.USER_NAME_PREFIX, index);
+    }
+
+    @Benchmark
+    public long hash64() {
+        return MockDataGeneratorUtil.hash64(playlistId);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.model.Track;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MockPlaylistService の検索・詳細・トラック生成のベンチマーク。
+ * スループットに加えて、-prof gc でリクエストあたりの割り当て量 (gc.alloc.rate.norm) を計測する。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockPlaylistServiceBenchmark {
+
+    @Param({"999", "1000000"})
+    private int totalPlaylists;
+
+    @Param({"random", "deterministic"})
+    private String generationMode;
+
+    private MockPlaylistService mockPlaylistService;
+    private String playlistId;
+
+    @Setup
+    public void setUp() {
+        FixtureRepository fixtureRepository = new FixtureRepository(new ObjectMapper(), new DefaultResourceLoader(), "classpath:mock_data", new CatalogSnapshot("")); // フィクスチャを置かず、生成データのみを使用
+        MockRandomSource mockRandomSource = new MockRandomSource(generationMode, 42);
+        MockTrackService mockTrackService = new MockTrackService(new TrackDurationStore("cache", 65536, mockRandomSource), mockRandomSource, fixtureRepository,
+                new RecommendationIndex(mockRandomSource, 0));
+        PlaylistCatalog playlistCatalog = new PlaylistCatalog(totalPlaylists);
+        mockPlaylistService = new MockPlaylistService(mockTrackService, playlistCatalog, new PlaylistSearchIndex(playlistCatalog, 1_000_000), fixtureRepository);
+        playlistId = MockDataGeneratorUtil.generatePlaylistId(Math.min(totalPlaylists, 50)); // トラック数が上限の50件となるプレイリスト
+        mockPlaylistService.getPlaylistSearchMockData("mock playlist", 0, 1); // 遅延構築される検索インデックスを計測前に構築
+    }
+
+    @Benchmark
+    public Map<String, Object> search() {
+        return mockPlaylistService.getPlaylistSearchMockData("mock playlist", 0, 20);
+    }
+
+    @Benchmark
+    public Map<String, Object> searchDeepOffset() {
+        return mockPlaylistService.getPlaylistSearchMockData("mock playlist", totalPlaylists / 2, 20);
+    }
+
+    @Benchmark
+    public Map<String, Object> details() {
+        return mockPlaylistService.getPlaylistDetailsMockData(playlistId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> tracksMap() {
+        return mockPlaylistService.getPlaylistTracksMockData(playlistId);
+    }
+
+    @Benchmark
+    public List<Track> tracksRecord() {
+        return mockPlaylistService.getPlaylistTracks(playlistId);
+    }
+}
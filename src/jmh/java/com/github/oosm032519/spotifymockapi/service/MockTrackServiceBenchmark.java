@@ -0,0 +1,88 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * MockTrackService の AudioFeatures 生成と durationMs 取得のベンチマーク。
+ * durationMs は複数スレッドから同時に呼ばれるため、4スレッドでも計測する。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockTrackServiceBenchmark {
+
+    private static final int TRACK_ID_COUNT = 100_000;
+
+    @Param({"cache", "hash"})
+    private String durationMode;
+
+    private MockTrackService mockTrackService;
+    private List<String> audioFeaturesTrackIds;
+    private String[] durationTrackIds;
+
+    @Setup
+    public void setUp() {
+        MockRandomSource mockRandomSource = new MockRandomSource("random", 0);
+        mockTrackService = new MockTrackService(new TrackDurationStore(durationMode, 65536, mockRandomSource), mockRandomSource,
+                new FixtureRepository(new ObjectMapper(), new DefaultResourceLoader(), "classpath:mock_data", new CatalogSnapshot("")), new RecommendationIndex(mockRandomSource, 0));
+        audioFeaturesTrackIds = IntStream.range(0, 100).mapToObj(i -> "track_id_" + i).toList();
+        durationTrackIds = IntStream.range(0, TRACK_ID_COUNT).mapToObj(i -> "track_id_" + i).toArray(String[]::new); // キャッシュ容量を超えるIDで追い出しも含めて計測
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> audioFeaturesMap() {
+        return mockTrackService.getAudioFeaturesForTracksMockData(audioFeaturesTrackIds);
+    }
+
+    @Benchmark
+    public List<AudioFeatures> audioFeaturesRecord() {
+        return mockTrackService.getAudioFeaturesForTracks(audioFeaturesTrackIds);
+    }
+
+    @Benchmark
+    public int duration(DurationCursor cursor) {
+        return mockTrackService.generateRandomDurationMs(durationTrackIds[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int durationContended(DurationCursor cursor) {
+        return mockTrackService.generateRandomDurationMs(durationTrackIds[cursor.next()]);
+    }
+
+    /**
+     * スレッドごとにトラックIDを順に選ぶカーソル。
+     */
+    @State(Scope.Thread)
+    public static class DurationCursor {
+
+        private int position;
+
+        int next() {
+            position = (position + 1) % TRACK_ID_COUNT;
+            return position;
+        }
+    }
+}
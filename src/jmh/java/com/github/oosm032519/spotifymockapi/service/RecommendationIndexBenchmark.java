@@ -0,0 +1,55 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecommendationIndex の最近傍検索のベンチマーク。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecommendationIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int catalogSize;
+
+    private RecommendationIndex recommendationIndex;
+    private float[] seedQuery;
+    private float[] targetQuery;
+
+    @Setup
+    public void setUp() {
+        recommendationIndex = new RecommendationIndex(new MockRandomSource("deterministic", 42L), catalogSize);
+        seedQuery = new float[RecommendationIndex.Feature.values().length];
+        recommendationIndex.copyVector(0, seedQuery); // シードのトラックから全特徴量で検索
+        targetQuery = new float[seedQuery.length];
+        Arrays.fill(targetQuery, Float.NaN);
+        targetQuery[RecommendationIndex.Feature.TEMPO.ordinal()] = RecommendationIndex.Feature.TEMPO.normalize(120.0); // target_tempo のみで検索
+    }
+
+    @Benchmark
+    public int[] seedTrack() {
+        return recommendationIndex.nearest(seedQuery, 20, new int[]{0});
+    }
+
+    @Benchmark
+    public int[] targetTempo() {
+        return recommendationIndex.nearest(targetQuery, 20, new int[0]);
+    }
+}
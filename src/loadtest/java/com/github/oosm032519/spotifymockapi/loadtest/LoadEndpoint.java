@@ -0,0 +1,79 @@
+package com.github.oosm032519.spotifymockapi.loadtest;
+
+import com.github.oosm032519.spotifymockapi.service.MockDataGeneratorUtil;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 負荷をかけるエンドポイントの定義。
+ * <p>
+ * パス中の {playlistId} はリクエストごとに異なるプレイリストIDに置き換えられ、
+ * レスポンスキャッシュが効く場合と効かない場合の両方が計測に含まれるようにする。
+ *
+ * @param name         レポートに表示する名前
+ * @param method       HTTP メソッド
+ * @param pathTemplate リクエストパス (クエリ文字列を含む)
+ * @param accept       Accept ヘッダー
+ * @param body         リクエストボディ (無い場合は null)
+ */
+public record LoadEndpoint(String name, String method, String pathTemplate, String accept, String body) {
+
+    private static final String PLAYLIST_ID_PLACEHOLDER = "{playlistId}";
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * 全ての /mock/** ルートのエンドポイント定義を取得。
+     *
+     * @return エンドポイント定義のリスト
+     */
+    public static List<LoadEndpoint> defaults() {
+        String playlistIds = IntStream.rangeClosed(1, 10).mapToObj(MockDataGeneratorUtil::generatePlaylistId).collect(Collectors.joining(","));
+        String artistIds = IntStream.range(0, 20).mapToObj(i -> "artist_id_" + i).collect(Collectors.joining(","));
+        String trackIds = IntStream.range(0, 100).mapToObj(i -> "track_id_" + i).collect(Collectors.joining(","));
+        String bulkTrackIds = IntStream.range(0, 1000).mapToObj(i -> "\"track_id_" + i + "\"").collect(Collectors.joining(",", "[", "]"));
+        return List.of(
+                get("search", "/mock/search/playlists?query=mock%20playlist&offset=0&limit=20", JSON),
+                get("playlist-details", "/mock/playlists/" + PLAYLIST_ID_PLACEHOLDER, JSON),
+                get("playlist-tracks", "/mock/playlists/" + PLAYLIST_ID_PLACEHOLDER + "/tracks", JSON),
+                get("playlist-tracks-ndjson", "/mock/playlists/" + PLAYLIST_ID_PLACEHOLDER + "/tracks", NDJSON),
+                get("playlist-tracks-stream", "/mock/playlists/" + PLAYLIST_ID_PLACEHOLDER + "/tracks?stream=true", JSON),
+                get("playlists-tracks-batch", "/mock/playlists/tracks?ids=" + playlistIds, JSON),
+                get("artist-genres", "/mock/artists/genres?artistIds=" + artistIds, JSON),
+                get("recommendations", "/mock/recommendations", JSON),
+                get("recommendations-seeded", "/mock/recommendations?seed_tracks=track_id_1,track_id_2&seed_genres=rock&target_tempo=120&limit=20", JSON),
+                get("audio-features", "/mock/tracks/audio-features?trackIds=" + trackIds, JSON),
+                get("audio-features-ndjson", "/mock/tracks/audio-features?trackIds=" + trackIds, NDJSON),
+                get("audio-features-stream", "/mock/tracks/audio-features?stream=true&trackIds=" + trackIds, JSON),
+                new LoadEndpoint("audio-features-bulk", "POST", "/mock/tracks/audio-features", JSON, bulkTrackIds),
+                get("following-playlists", "/mock/following/playlists", JSON));
+    }
+
+    private static LoadEndpoint get(String name, String pathTemplate, String accept) {
+        return new LoadEndpoint(name, "GET", pathTemplate, accept, null);
+    }
+
+    /**
+     * sequence 番目のリクエストを生成する。
+     *
+     * @param baseUri  アプリケーションのベース URI (http://localhost:port)
+     * @param sequence エンドポイント内でのリクエストの通番
+     * @param timeout  リクエストのタイムアウト
+     * @return HTTP リクエスト
+     */
+    public HttpRequest toRequest(String baseUri, long sequence, Duration timeout) {
+        String path = pathTemplate.replace(PLAYLIST_ID_PLACEHOLDER, MockDataGeneratorUtil.generatePlaylistId((int) (sequence % MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS) + 1));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(timeout)
+                .header("Accept", accept);
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", JSON).method(method, HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+}
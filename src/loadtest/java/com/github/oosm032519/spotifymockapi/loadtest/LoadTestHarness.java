@@ -0,0 +1,155 @@
+package com.github.oosm032519.spotifymockapi.loadtest;
+
+import com.github.oosm032519.spotifymockapi.SpotifyMockApiApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * アプリケーションを同じ JVM 内でランダムポートで起動し、全ての /mock/** ルートにオープンループの負荷をかける負荷試験ハーネス。
+ * <p>
+ * エンドポイントごとに一定の到着率でリクエストを送り、ウォームアップ後の計測期間のレイテンシを HdrHistogram に記録する。
+ * 結果はエンドポイントごとのサマリーを標準出力に、パーセンタイル分布 (.hgrm) をレポートディレクトリに出力する。
+ *
+ * <pre>
+ * ./mvnw -Pload-test -DskipTests verify -Dload.args="--rate=500 --duration=60s --endpoints=playlist-tracks,search"
+ * </pre>
+ *
+ * オプション:
+ * <ul>
+ *   <li>--rate: エンドポイントあたりの1秒間のリクエスト数 (既定 200)</li>
+ *   <li>--duration: 計測期間 (既定 30s)</li>
+ *   <li>--warmup: 計測から除外するウォームアップ期間 (既定 5s)</li>
+ *   <li>--endpoints: 対象エンドポイント名のカンマ区切り (既定 全て)</li>
+ *   <li>--timeout: リクエストのタイムアウト (既定 10s)</li>
+ *   <li>--max-in-flight: エンドポイントあたりの同時送信数の上限 (既定 10000)</li>
+ *   <li>--report-dir: .hgrm の出力先 (既定 target/load-test)</li>
+ * </ul>
+ * 上記以外の --spotify.* / --server.* / --spring.* / --logging.* はアプリケーションの起動引数として渡される。
+ */
+public final class LoadTestHarness {
+
+    private static final Set<String> HARNESS_OPTIONS = Set.of("rate", "duration", "warmup", "endpoints", "timeout", "max-in-flight", "report-dir");
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--logging.level.com.github.oosm032519.spotifymockapi=WARN")); // リクエストごとの INFO ログが計測結果を支配しないようにする
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            String name = separator < 0 ? option : option.substring(0, separator);
+            if (HARNESS_OPTIONS.contains(name)) {
+                options.put(name, separator < 0 ? "" : option.substring(separator + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "5s"));
+        Duration timeout = DurationStyle.detectAndParse(options.getOrDefault("timeout", "10s"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "target/load-test"));
+        List<LoadEndpoint> endpoints = selectEndpoints(options.get("endpoints"));
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(SpotifyMockApiApplication.class, applicationArgs.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUri = "http://localhost:" + port;
+            System.out.printf("Load test: %d endpoint(s) x %.0f req/s, warmup %s, duration %s, target %s%n", endpoints.size(), rate, warmup, duration, baseUri);
+
+            List<OpenLoopDriver> drivers = new ArrayList<>();
+            try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder()
+                         .version(HttpClient.Version.HTTP_1_1)
+                         .connectTimeout(timeout)
+                         .executor(clientExecutor) // 送信用とは別にし、送信完了の待機中もクライアント内部の処理を続けられるようにする
+                         .build();
+                 ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+                long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+                List<Thread> pacers = new ArrayList<>();
+                long phaseNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / rate / endpoints.size()); // 全エンドポイントが同時刻に送信しないよう位相をずらす
+                for (int i = 0; i < endpoints.size(); i++) {
+                    LoadEndpoint endpoint = endpoints.get(i);
+                    OpenLoopDriver driver = new OpenLoopDriver(endpoint, httpClient, requestExecutor, baseUri, rate, startNanos + i * phaseNanos, warmup, duration, timeout, maxInFlight);
+                    drivers.add(driver);
+                    pacers.add(Thread.ofPlatform().name("pacer-" + endpoint.name()).start(driver)); // 送信時刻の精度のためペーサーはプラットフォームスレッドで動かす
+                }
+                for (Thread pacer : pacers) {
+                    pacer.join();
+                }
+                requestExecutor.shutdown();
+                requestExecutor.awaitTermination(timeout.toMillis() * 2, TimeUnit.MILLISECONDS); // 送信中のリクエストの完了を待つ
+            }
+            report(drivers, duration, reportDir);
+        }
+    }
+
+    private static List<LoadEndpoint> selectEndpoints(String names) {
+        List<LoadEndpoint> endpoints = LoadEndpoint.defaults();
+        if (names == null || names.isBlank()) {
+            return endpoints;
+        }
+        List<String> selected = Arrays.stream(names.split(",")).map(String::trim).toList();
+        List<LoadEndpoint> result = endpoints.stream().filter(endpoint -> selected.contains(endpoint.name())).toList();
+        if (result.size() != selected.size()) {
+            throw new IllegalArgumentException("Unknown endpoint in " + selected + "; available: " + endpoints.stream().map(LoadEndpoint::name).toList());
+        }
+        return result;
+    }
+
+    private static void report(List<OpenLoopDriver> drivers, Duration duration, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        double seconds = duration.toNanos() / 1e9;
+        PrintStream out = System.out;
+        out.printf("%n%-24s %9s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "dropped", "MB/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (OpenLoopDriver driver : drivers) {
+            Histogram histogram = driver.getHistogram();
+            out.printf("%-24s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    driver.getEndpoint().name(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    driver.getErrors(),
+                    driver.getDropped(),
+                    driver.getResponseBytes() / seconds / (1 << 20),
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI);
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(reportDir.resolve(driver.getEndpoint().name() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, MICROS_PER_MILLI); // ミリ秒単位で出力
+            }
+        }
+        for (OpenLoopDriver driver : drivers) {
+            if (driver.getFirstError() != null) {
+                out.printf("%s: first error: %s%n", driver.getEndpoint().name(), driver.getFirstError());
+            }
+        }
+        out.printf("%nPercentile distributions written to %s%n", reportDir.toAbsolutePath());
+    }
+}
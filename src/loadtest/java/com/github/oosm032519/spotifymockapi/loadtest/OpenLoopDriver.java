@@ -0,0 +1,161 @@
+package com.github.oosm032519.spotifymockapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 1つのエンドポイントに一定の到着率でリクエストを送るオープンループのドライバー。
+ * <p>
+ * リクエストは予定時刻になった時点で、前のリクエストの完了を待たずに仮想スレッド上で送信される。
+ * レイテンシは実際の送信時刻ではなく予定時刻から計測するため、サーバーが詰まって送信が遅れた分も
+ * レイテンシに含まれる (coordinated omission の補正)。
+ */
+public class OpenLoopDriver implements Runnable {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadEndpoint endpoint;
+    private final HttpClient httpClient;
+    private final ExecutorService requestExecutor;
+    private final String baseUri;
+    private final long intervalNanos;
+    private final long startNanos;
+    private final long measureStartNanos;
+    private final long endNanos;
+    private final Duration timeout;
+    private final Semaphore inFlight;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param endpoint          負荷をかけるエンドポイント
+     * @param httpClient        HTTP クライアント
+     * @param requestExecutor   リクエストを送信するエグゼキューター (仮想スレッド)
+     * @param baseUri           アプリケーションのベース URI
+     * @param ratePerSecond     1秒あたりのリクエスト数
+     * @param startNanos        送信開始時刻 ({@link System#nanoTime()})
+     * @param warmup            計測から除外するウォームアップ期間
+     * @param duration          計測期間
+     * @param timeout           リクエストのタイムアウト
+     * @param maxInFlight       同時に送信中のリクエスト数の上限 (超えた予定分は送信せず dropped として数える)
+     */
+    public OpenLoopDriver(LoadEndpoint endpoint, HttpClient httpClient, ExecutorService requestExecutor, String baseUri,
+                          double ratePerSecond, long startNanos, Duration warmup, Duration duration, Duration timeout, int maxInFlight) {
+        this.endpoint = endpoint;
+        this.httpClient = httpClient;
+        this.requestExecutor = requestExecutor;
+        this.baseUri = baseUri;
+        this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.startNanos = startNanos;
+        this.measureStartNanos = startNanos + warmup.toNanos();
+        this.endNanos = measureStartNanos + duration.toNanos();
+        this.timeout = timeout;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @Override
+    public void run() {
+        for (long sequence = 0; ; sequence++) {
+            long intendedNanos = startNanos + sequence * intervalNanos;
+            if (intendedNanos >= endNanos) {
+                return;
+            }
+            long waitNanos;
+            while ((waitNanos = intendedNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            boolean measured = intendedNanos >= measureStartNanos;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            long requestSequence = sequence;
+            requestExecutor.execute(() -> {
+                try {
+                    send(requestSequence, intendedNanos, measured);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void send(long sequence, long intendedNanos, boolean measured) {
+        String error = null;
+        long bytes = 0;
+        try {
+            HttpResponse<InputStream> response = httpClient.send(endpoint.toRequest(baseUri, sequence, timeout), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                bytes = body.transferTo(OutputStream.nullOutputStream()); // ストリーミングレスポンスも最後まで読み切ってから完了とする
+            }
+            if (response.statusCode() / 100 != 2) {
+                error = "HTTP " + response.statusCode();
+            }
+        } catch (Exception e) {
+            error = e.toString();
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+        if (!measured) {
+            return;
+        }
+        recorder.recordValue(Math.min(Math.max(latencyMicros, 1), HIGHEST_TRACKABLE_MICROS));
+        responseBytes.add(bytes);
+        if (error != null) {
+            errors.increment();
+            firstError.compareAndSet(null, error);
+        }
+    }
+
+    /**
+     * 計測期間中のレイテンシ分布 (マイクロ秒) を取得。全てのリクエストの完了後に1回だけ呼び出すこと。
+     *
+     * @return レイテンシのヒストグラム
+     */
+    public Histogram getHistogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    public LoadEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * 計測期間中に最初に発生したエラーを取得。
+     *
+     * @return エラーの内容 (エラーが無い場合は null)
+     */
+    public String getFirstError() {
+        return firstError.get();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+}
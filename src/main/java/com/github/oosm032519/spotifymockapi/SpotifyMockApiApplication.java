@@ -2,8 +2,10 @@ package com.github.oosm032519.spotifymockapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class SpotifyMockApiApplication {
 
     public static void main(String[] args) {
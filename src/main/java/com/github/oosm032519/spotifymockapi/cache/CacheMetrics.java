@@ -0,0 +1,80 @@
+package com.github.oosm032519.spotifymockapi.cache;
+
+import com.github.oosm032519.spotifymockapi.service.TrackDurationStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * レスポンスボディキャッシュと durationMs キャッシュの統計をメトリクスとして公開するバインダー。
+ * <p>
+ * メトリクス名は Micrometer のキャッシュメトリクスの慣例 (cache.gets / cache.evictions / cache.size) に合わせ、
+ * cache タグでキャッシュを区別する。各キャッシュが保持しているカウンターをスクレイプ時に読み取るため、
+ * リクエスト処理のホットパスには計測処理を追加しない。
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    static final String RESPONSE_BODY_CACHE = "response-body";
+    static final String TRACK_DURATION_CACHE = "track-duration";
+
+    private final ResponseBodyCache responseBodyCache;
+    private final TrackDurationStore trackDurationStore;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param responseBodyCache  シリアライズ済みレスポンスボディのキャッシュ
+     * @param trackDurationStore トラックの durationMs のキャッシュ
+     */
+    public CacheMetrics(ResponseBodyCache responseBodyCache, TrackDurationStore trackDurationStore) {
+        this.responseBodyCache = responseBodyCache;
+        this.trackDurationStore = trackDurationStore;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, RESPONSE_BODY_CACHE, responseBodyCache,
+                ResponseBodyCache::getHitCount, ResponseBodyCache::getMissCount, ResponseBodyCache::getEvictionCount,
+                ResponseBodyCache::getEntryCount, ResponseBodyCache::getHitRate);
+        Gauge.builder("cache.bytes", responseBodyCache, ResponseBodyCache::getSizeInBytes)
+                .tags(Tags.of("cache", RESPONSE_BODY_CACHE))
+                .description("The number of bytes held by the cache")
+                .baseUnit("bytes")
+                .register(registry);
+        bindCache(registry, TRACK_DURATION_CACHE, trackDurationStore,
+                TrackDurationStore::getHitCount, TrackDurationStore::getMissCount, TrackDurationStore::getEvictionCount,
+                TrackDurationStore::getSize, TrackDurationStore::getHitRate);
+    }
+
+    private static <C> void bindCache(MeterRegistry registry, String cacheName, C cache,
+                                      ToDoubleFunction<C> hitCount, ToDoubleFunction<C> missCount, ToDoubleFunction<C> evictionCount,
+                                      ToDoubleFunction<C> size, ToDoubleFunction<C> hitRate) {
+        Tags tags = Tags.of("cache", cacheName);
+        FunctionCounter.builder("cache.gets", cache, hitCount)
+                .tags(tags).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, missCount)
+                .tags(tags).tag("result", "miss")
+                .description("The number of times cache lookup methods have generated a new value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, evictionCount)
+                .tags(tags)
+                .description("The number of entries evicted from the cache")
+                .register(registry);
+        Gauge.builder("cache.size", cache, size)
+                .tags(tags)
+                .description("The number of entries in the cache")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", cache, hitRate)
+                .tags(tags)
+                .description("The ratio of cache lookups that returned a cached value")
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.oosm032519.spotifymockapi.cache;
+
+/**
+ * シリアライズ済みのレスポンスボディ。
+ *
+ * @param body        JSON のバイト列
+ * @param gzipBody    gzip 圧縮した JSON のバイト列 (圧縮しない設定の場合は null)
+ * @param deflateBody deflate 圧縮した JSON のバイト列 (圧縮しない設定の場合は null)
+ */
+public record CachedResponseBody(byte[] body, byte[] gzipBody, byte[] deflateBody) {
+
+    /**
+     * 指定した形式で圧縮したバイト列を取得。
+     *
+     * @param encoding 圧縮形式
+     * @return 圧縮したバイト列 (圧縮しない設定の場合は null)
+     */
+    public byte[] encodedBody(ContentEncoding encoding) {
+        return encoding == ContentEncoding.GZIP ? gzipBody : deflateBody;
+    }
+
+    /**
+     * キャッシュ上の概算サイズ (バイト数) を取得。
+     *
+     * @return 概算サイズ
+     */
+    public long sizeInBytes() {
+        return body.length + (gzipBody == null ? 0L : gzipBody.length) + (deflateBody == null ? 0L : deflateBody.length);
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.oosm032519.spotifymockapi.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * レスポンスボディの圧縮率と圧縮にかかった CPU 時間を記録するメトリクス。
+ * <p>
+ * spotify.mock.compression.ratio (圧縮後のバイト数 / 圧縮前のバイト数) と spotify.mock.compression.cpu (タイマー) を
+ * エンドポイントと圧縮形式ごとに記録する。圧縮はキャッシュへの登録時にのみ行うため、記録されるのはキャッシュミス時のみとなる。
+ * CPU 時間はスレッドの CPU 時間で計測し、計測できない場合 (仮想スレッドなど) は経過時間で代用する。
+ */
+@Component
+public class CompressionMetrics {
+
+    public static final String COMPRESSION_RATIO_SUMMARY = "spotify.mock.compression.ratio";
+    public static final String COMPRESSION_CPU_TIMER = "spotify.mock.compression.cpu";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CompressionMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * エンドポイントと圧縮形式ごとのメーター。
+     */
+    private record CompressionMeters(DistributionSummary ratio, Timer cpu) {
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param meterRegistry メトリクスの登録先
+     */
+    public CompressionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * バイト列を圧縮し、圧縮率と CPU 時間を記録する。
+     *
+     * @param endpoint エンドポイント (endpoint タグ)
+     * @param encoding 圧縮形式 (encoding タグ)
+     * @param body     圧縮するバイト列
+     * @return 圧縮したバイト列
+     */
+    public byte[] encode(String endpoint, ContentEncoding encoding, byte[] body) {
+        boolean cpuTimeSupported = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && !Thread.currentThread().isVirtual();
+        long start = cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+        byte[] encoded = encoding.encode(body);
+        long elapsed = (cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime()) - start;
+
+        CompressionMeters compressionMeters = metersFor(endpoint, encoding);
+        compressionMeters.cpu().record(elapsed, TimeUnit.NANOSECONDS);
+        if (body.length > 0) {
+            compressionMeters.ratio().record((double) encoded.length / body.length);
+        }
+        return encoded;
+    }
+
+    private CompressionMeters metersFor(String endpoint, ContentEncoding encoding) {
+        return meters.computeIfAbsent(endpoint + '\0' + encoding.getToken(), key -> new CompressionMeters(
+                DistributionSummary.builder(COMPRESSION_RATIO_SUMMARY)
+                        .tag("endpoint", endpoint)
+                        .tag("encoding", encoding.getToken())
+                        .description("Compressed size divided by uncompressed size of cached response bodies")
+                        .register(meterRegistry),
+                Timer.builder(COMPRESSION_CPU_TIMER)
+                        .tag("endpoint", endpoint)
+                        .tag("encoding", encoding.getToken())
+                        .description("CPU time spent compressing cached response bodies")
+                        .register(meterRegistry)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.oosm032519.spotifymockapi.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * キャッシュするレスポンスボディの圧縮形式 (Content-Encoding)。
+ */
+public enum ContentEncoding {
+
+    GZIP("gzip"),
+    /**
+     * HTTP の deflate は zlib 形式 (RFC 1950) を指すため {@link DeflaterOutputStream} の出力をそのまま使用する。
+     */
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Content-Encoding / Accept-Encoding ヘッダーで使用するトークンを取得。
+     *
+     * @return トークン
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * バイト列を圧縮する。
+     *
+     * @param body 圧縮するバイト列
+     * @return 圧縮したバイト列
+     */
+    public byte[] encode(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+        try (OutputStream encoder = this == GZIP ? new GZIPOutputStream(output) : new DeflaterOutputStream(output)) {
+            encoder.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
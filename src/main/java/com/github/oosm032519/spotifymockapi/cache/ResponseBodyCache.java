@@ -0,0 +1,240 @@
+package com.github.oosm032519.spotifymockapi.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 決定的なレスポンスのシリアライズ済みバイト列をリクエストパラメータのキーで保持するキャッシュ。
+ * <p>
+ * ヒット時はモックデータの生成と Jackson によるシリアライズを行わず、保持しているバイト列をそのまま返す。
+ * 保持するバイト数の合計が上限を超えた場合は、登録の古い順に追い出す。
+ * 圧縮を有効にした場合は gzip / deflate で圧縮したバイト列も登録時に作成して保持し、繰り返しのレスポンスで再圧縮しない。
+ */
+@Component
+public class ResponseBodyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseBodyCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final boolean gzip;
+    private final boolean deflate;
+    private final CompressionMetrics compressionMetrics;
+
+    private final Map<String, CachedResponseBody> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>(); // 追い出し順 (登録順)
+    private final AtomicLong currentBytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param objectMapper シリアライズに使用する ObjectMapper
+     * @param enabled      キャッシュを有効にするか (spotify.mock-api.response-cache.enabled)
+     * @param maxBytes     保持するバイト数の上限 (spotify.mock-api.response-cache.max-bytes)
+     * @param gzip               gzip 圧縮したバイト列も保持するか (spotify.mock-api.response-cache.gzip)
+     * @param deflate            deflate 圧縮したバイト列も保持するか (spotify.mock-api.response-cache.deflate)
+     * @param compressionMetrics 圧縮率と圧縮の CPU 時間の記録先
+     */
+    public ResponseBodyCache(ObjectMapper objectMapper,
+                             @Value("${spotify.mock-api.response-cache.enabled:true}") boolean enabled,
+                             @Value("${spotify.mock-api.response-cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${spotify.mock-api.response-cache.gzip:false}") boolean gzip,
+                             @Value("${spotify.mock-api.response-cache.deflate:false}") boolean deflate,
+                             CompressionMetrics compressionMetrics) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.gzip = gzip;
+        this.deflate = deflate;
+        this.compressionMetrics = compressionMetrics;
+    }
+
+    /**
+     * キーに対応するシリアライズ済みのレスポンスボディを取得。未登録の場合は生成してシリアライズし、登録する。
+     *
+     * @param key       キャッシュキー (エンドポイントとリクエストパラメータから構成)
+     * @param generator レスポンスボディのオブジェクトを生成する処理
+     * @return シリアライズ済みのレスポンスボディ
+     */
+    public CachedResponseBody get(String key, Supplier<?> generator) {
+        if (enabled) {
+            CachedResponseBody cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        CachedResponseBody created = serialize(key, generator.get());
+        if (enabled && created.sizeInBytes() <= maxBytes) {
+            CachedResponseBody existing = entries.putIfAbsent(key, created);
+            if (existing != null) {
+                return existing; // 他スレッドが先に登録した場合はそちらを使用
+            }
+            insertionOrder.add(key);
+            currentBytes.addAndGet(created.sizeInBytes());
+            evictIfNecessary();
+        }
+        return created;
+    }
+
+    /**
+     * 圧縮したバイト列を保持する設定かどうかを判定。
+     *
+     * @return gzip または deflate で圧縮したバイト列を保持する場合は true
+     */
+    public boolean isCompressionEnabled() {
+        return gzip || deflate;
+    }
+
+    /**
+     * Accept-Encoding ヘッダーから、保持している圧縮形式のうちレスポンスに使用するものを選択する。
+     * 品質値 (q) が最も高いものを選択し、同じ場合は gzip を優先する。
+     *
+     * @param acceptEncoding Accept-Encoding ヘッダーの値 (null 可)
+     * @return 圧縮形式 (圧縮しない場合は null)
+     */
+    public ContentEncoding negotiateEncoding(String acceptEncoding) {
+        double gzipQuality = gzip ? quality(acceptEncoding, ContentEncoding.GZIP.getToken()) : 0.0;
+        double deflateQuality = deflate ? quality(acceptEncoding, ContentEncoding.DEFLATE.getToken()) : 0.0;
+        if (gzipQuality <= 0.0 && deflateQuality <= 0.0) {
+            return null;
+        }
+        return gzipQuality >= deflateQuality ? ContentEncoding.GZIP : ContentEncoding.DEFLATE;
+    }
+
+    /**
+     * Accept-Encoding ヘッダーにおける圧縮形式の品質値を取得。
+     *
+     * @param acceptEncoding Accept-Encoding ヘッダーの値 (null 可)
+     * @param token          圧縮形式のトークン
+     * @return 品質値 (含まれない場合は 0.0、q=0 は拒否を表す)
+     */
+    static double quality(String acceptEncoding, String token) {
+        if (acceptEncoding == null) {
+            return 0.0;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(token)) {
+                if (parts.length < 2) {
+                    return 1.0;
+                }
+                String parameter = parts[1].replace(" ", "");
+                try {
+                    return parameter.startsWith("q=") ? Double.parseDouble(parameter.substring(2)) : 1.0;
+                } catch (NumberFormatException e) {
+                    return 0.0;
+                }
+            }
+        }
+        return 0.0;
+    }
+
+    /**
+     * 現在保持しているエントリ数を取得。
+     *
+     * @return エントリ数
+     */
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * 現在保持しているバイト数の合計を取得。
+     *
+     * @return バイト数
+     */
+    public long getSizeInBytes() {
+        return currentBytes.get();
+    }
+
+    /**
+     * キャッシュヒット数を取得。
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * キャッシュミス数を取得。
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 追い出されたエントリ数を取得。
+     *
+     * @return 追い出し数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * キャッシュヒット率を取得。
+     *
+     * @return ヒット率 (参照が無い場合は 0.0)
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void evictIfNecessary() {
+        while (currentBytes.get() > maxBytes) {
+            String oldestKey = insertionOrder.poll();
+            if (oldestKey == null) {
+                return;
+            }
+            CachedResponseBody removed = entries.remove(oldestKey);
+            if (removed != null) {
+                currentBytes.addAndGet(-removed.sizeInBytes());
+                evictions.increment();
+            }
+        }
+    }
+
+    private CachedResponseBody serialize(String key, Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            String endpoint = endpointOf(key);
+            return new CachedResponseBody(body,
+                    gzip ? compressionMetrics.encode(endpoint, ContentEncoding.GZIP, body) : null,
+                    deflate ? compressionMetrics.encode(endpoint, ContentEncoding.DEFLATE, body) : null);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize response body", e);
+            throw new IllegalStateException("Failed to serialize response body", e);
+        }
+    }
+
+    /**
+     * キャッシュキーの先頭 (最初の ':' まで) をエンドポイント名とする (例: playlist-tracks:{playlistId}:{version})。
+     */
+    private static String endpointOf(String key) {
+        int separator = key.indexOf(':');
+        return separator < 0 ? key : key.substring(0, separator);
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.oosm032519.spotifymockapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * レイテンシ注入の設定 (spotify.mock-api.latency.*)。
+ * <p>
+ * プロファイルは定義順に評価され、リクエストパスに最初に一致したプロファイルの遅延が適用される。
+ *
+ * <pre>
+ * spotify.mock-api.latency.enabled=true
+ * spotify.mock-api.latency.profiles[0].path=/mock/playlists/&#42;/tracks
+ * spotify.mock-api.latency.profiles[0].type=lognormal
+ * spotify.mock-api.latency.profiles[0].p50=80ms
+ * spotify.mock-api.latency.profiles[0].p99=2s
+ * </pre>
+ *
+ * @param enabled  レイテンシ注入を有効にするか
+ * @param maxDelay 1リクエストあたりの遅延の上限 (log-normal の裾などを打ち切る)
+ * @param profiles エンドポイントごとのレイテンシプロファイル
+ */
+@ConfigurationProperties("spotify.mock-api.latency")
+public record LatencyProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("30s") Duration maxDelay,
+                                @DefaultValue List<Profile> profiles) {
+
+    /**
+     * エンドポイントごとのレイテンシプロファイル。type に応じて使用する項目が異なる。
+     *
+     * @param path      対象のリクエストパス (Ant 形式のパターン)
+     * @param type      分布の種類 (fixed / uniform / lognormal / histogram)
+     * @param delay     fixed: 遅延
+     * @param min       uniform: 遅延の最小値
+     * @param max       uniform: 遅延の最大値
+     * @param p50       lognormal: 遅延の中央値
+     * @param p99       lognormal: 遅延の 99 パーセンタイル
+     * @param histogram histogram: 記録したヒストグラムの "上限値:件数" のリスト (例: 50ms:700, 200ms:250, 2s:50)
+     */
+    public record Profile(String path, String type, Duration delay, Duration min, Duration max,
+                          Duration p50, Duration p99, List<String> histogram) {
+    }
+}
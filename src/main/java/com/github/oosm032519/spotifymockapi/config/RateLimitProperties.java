@@ -0,0 +1,41 @@
+package com.github.oosm032519.spotifymockapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * レート制限の設定 (spotify.mock-api.rate-limit.*)。
+ * <p>
+ * ルールは定義順に評価され、リクエストパスに最初に一致したルールが適用される。
+ * 制限はクライアント (Authorization ヘッダー、無い場合は接続元アドレス) とルールの組ごとに管理される。
+ *
+ * <pre>
+ * spotify.mock-api.rate-limit.enabled=true
+ * spotify.mock-api.rate-limit.rules[0].path=/mock/**
+ * spotify.mock-api.rate-limit.rules[0].requests-per-second=10
+ * spotify.mock-api.rate-limit.rules[0].burst=20
+ * </pre>
+ *
+ * @param enabled レート制限を有効にするか
+ * @param maxKeys 保持するクライアントとルールの組の数の上限 (達した場合は満杯の (TAT が現在時刻以前の) バケットを削除し、空きが無ければ新しい組のリクエストを制限する)
+ * @param rules   エンドポイントごとのルール
+ */
+@ConfigurationProperties("spotify.mock-api.rate-limit")
+public record RateLimitProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("100000") int maxKeys,
+                                  @DefaultValue List<Rule> rules) {
+
+    /**
+     * エンドポイントごとのレート制限ルール。
+     *
+     * @param path              対象のリクエストパス (Ant 形式のパターン)
+     * @param requestsPerSecond 1秒あたりに補充されるリクエスト数
+     * @param burst             連続して許可するリクエスト数 (バケットの容量)
+     */
+    public record Rule(@DefaultValue("/mock/**") String path,
+                       double requestsPerSecond,
+                       @DefaultValue("1") int burst) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.oosm032519.spotifymockapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * レスポンスの記録・再生の設定 (spotify.mock-api.record-replay.*)。
+ *
+ * <pre>
+ * # 上流のサーバーへプロキシしてレスポンスを記録する
+ * spotify.mock-api.record-replay.enabled=true
+ * spotify.mock-api.record-replay.mode=record
+ * spotify.mock-api.record-replay.upstream-url=http://localhost:8080
+ *
+ * # 記録したレスポンスを再生する
+ * spotify.mock-api.record-replay.enabled=true
+ * spotify.mock-api.record-replay.mode=replay
+ * </pre>
+ *
+ * @param enabled           記録・再生を有効にするか
+ * @param mode              record: 上流へプロキシして記録する / replay: 記録したレスポンスを返す
+ * @param upstreamUrl       record モードのプロキシ先のベースURL (リクエストパスとクエリをそのまま付加する)
+ * @param storePath         記録を保存するディレクトリ
+ * @param timeout           record モードの上流へのリクエストのタイムアウト
+ * @param passThroughOnMiss replay モードで記録に無いリクエストをモックデータの生成に回すか (false の場合は 404)
+ */
+@ConfigurationProperties("spotify.mock-api.record-replay")
+public record RecordReplayProperties(@DefaultValue("false") boolean enabled,
+                                     @DefaultValue("replay") Mode mode,
+                                     String upstreamUrl,
+                                     @DefaultValue("recordings") String storePath,
+                                     @DefaultValue("30s") Duration timeout,
+                                     @DefaultValue("true") boolean passThroughOnMiss) {
+
+    /**
+     * 動作モード。
+     */
+    public enum Mode {
+        /**
+         * 上流のサーバーへプロキシし、レスポンスを記録する。
+         */
+        RECORD,
+        /**
+         * 記録したレスポンスを返す。
+         */
+        REPLAY
+    }
+}
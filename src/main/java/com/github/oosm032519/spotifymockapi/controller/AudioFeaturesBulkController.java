@@ -0,0 +1,144 @@
+package com.github.oosm032519.spotifymockapi.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.service.MockSpotifyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * 大量のトラックIDに対する AudioFeatures を一括で返すコントローラー。
+ * <p>
+ * トラックIDはリクエストボディの JSON からストリーミングパーサーで読み込み、
+ * chunkSize 件ごとのチャンクに分けて並列に生成・シリアライズし、元の順序でストリーミングする。
+ */
+@RestController
+@RequestMapping("/mock")
+public class AudioFeaturesBulkController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AudioFeaturesBulkController.class);
+
+    private final MockSpotifyService mockSpotifyService;
+    private final ObjectMapper objectMapper;
+    private final ParallelBodyWriter parallelBodyWriter;
+    private final int chunkSize;
+    private final int maxIds;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param mockSpotifyService モックデータ生成サービス
+     * @param objectMapper       リクエストの読み込みとレスポンスの書き込みに使用する ObjectMapper
+     * @param parallelBodyWriter チャンクを並列に生成して順に書き込むライター
+     * @param chunkSize          1チャンクあたりのトラックID数 (spotify.mock-api.audio-features.chunk-size)
+     * @param maxIds             1リクエストあたりのトラックID数の上限 (spotify.mock-api.audio-features.max-ids)
+     */
+    public AudioFeaturesBulkController(MockSpotifyService mockSpotifyService, ObjectMapper objectMapper, ParallelBodyWriter parallelBodyWriter,
+                                       @Value("${spotify.mock-api.audio-features.chunk-size:1000}") int chunkSize,
+                                       @Value("${spotify.mock-api.audio-features.max-ids:100000}") int maxIds) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("spotify.mock-api.audio-features.chunk-size must be positive: " + chunkSize);
+        }
+        this.mockSpotifyService = mockSpotifyService;
+        this.objectMapper = objectMapper;
+        this.parallelBodyWriter = parallelBodyWriter;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * リクエストボディのトラックIDに対する AudioFeatures を NDJSON (1行1トラック) でストリーミング。
+     * Accept: application/x-ndjson の場合に選択される。
+     *
+     * @param requestBody ["id1", ...] または {"ids": ["id1", ...]} 形式のリクエストボディ
+     * @return AudioFeatures (NDJSON)
+     * @throws IOException リクエストボディの読み込みに失敗した場合
+     */
+    @PostMapping(value = "/tracks/audio-features", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> postAudioFeaturesAsNdjson(InputStream requestBody) throws IOException {
+        List<String> trackIds = readTrackIds(requestBody);
+        logger.debug("AudioFeatures一括取得リクエスト (NDJSON): trackIds={}", trackIds.size());
+        return createResponse(trackIds, true);
+    }
+
+    /**
+     * リクエストボディのトラックIDに対する AudioFeatures を JSON 配列としてストリーミング。
+     *
+     * @param requestBody ["id1", ...] または {"ids": ["id1", ...]} 形式のリクエストボディ
+     * @return AudioFeatures (JSON 配列)
+     * @throws IOException リクエストボディの読み込みに失敗した場合
+     */
+    @PostMapping(value = "/tracks/audio-features", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> postAudioFeatures(InputStream requestBody) throws IOException {
+        List<String> trackIds = readTrackIds(requestBody);
+        logger.debug("AudioFeatures一括取得リクエスト: trackIds={}", trackIds.size());
+        return createResponse(trackIds, false);
+    }
+
+    private List<String> readTrackIds(InputStream requestBody) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(requestBody)) {
+            return TrackIdsReader.read(parser, maxIds);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> createResponse(List<String> trackIds, boolean ndjson) {
+        int chunkCount = (trackIds.size() + chunkSize - 1) / chunkSize;
+        StreamingResponseBody body = outputStream -> {
+            if (!ndjson) {
+                outputStream.write('[');
+            }
+            parallelBodyWriter.writeInOrder(chunkCount, chunk -> serializeChunk(trackIds.subList(chunk * chunkSize, Math.min((chunk + 1) * chunkSize, trackIds.size())), ndjson),
+                    (chunk, part) -> {
+                        if (!ndjson && chunk > 0) {
+                            outputStream.write(','); // チャンク間の区切り
+                        }
+                        outputStream.write(part);
+                    });
+            if (!ndjson) {
+                outputStream.write(']');
+            }
+        };
+        return ResponseEntity.ok().contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * チャンク内のトラックIDの AudioFeatures を生成してシリアライズする。
+     * JSON 配列の場合は要素を "," 区切りで、NDJSON の場合は1行1要素で書き込む (配列の括弧は含まない)。
+     */
+    private byte[] serializeChunk(List<String> trackIds, boolean ndjson) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(trackIds.size() * 384);
+        try (JsonGenerator generator = objectMapper.createGenerator(buffer)) {
+            generator.setRootValueSeparator(ndjson ? null : new SerializedString(","));
+            for (AudioFeatures audioFeatures : mockSpotifyService.getAudioFeaturesForTracks(trackIds)) {
+                generator.writeObject(audioFeatures);
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -1,13 +1,31 @@
 package com.github.oosm032519.spotifymockapi.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.cache.CachedResponseBody;
+import com.github.oosm032519.spotifymockapi.cache.ContentEncoding;
+import com.github.oosm032519.spotifymockapi.cache.ResponseBodyCache;
+import com.github.oosm032519.spotifymockapi.service.ElementWriter;
 import com.github.oosm032519.spotifymockapi.service.MockSpotifyService;
+import com.github.oosm032519.spotifymockapi.service.RecommendationQuery;
+import com.github.oosm032519.spotifymockapi.service.SearchCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/mock")
@@ -16,11 +34,56 @@ public class MockApiController {
     private static final Logger logger = LoggerFactory.getLogger(MockApiController.class);
     private static final int DEFAULT_OFFSET = 0;
     private static final int DEFAULT_LIMIT = 20;
+    private static final byte[] BATCH_RESPONSE_START = "{\"playlists\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_RESPONSE_END = "]}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_ID_FIELD = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_TRACKS_FIELD = ",\"tracks\":".getBytes(StandardCharsets.UTF_8);
 
     private final MockSpotifyService mockSpotifyService;
+    private final ResponseBodyCache responseBodyCache;
+    private final ObjectMapper objectMapper;
+    private final ParallelBodyWriter parallelBodyWriter;
+    private final String cacheControl;
+    private final PayloadModel payloadModel;
+    private final int maxBatchPlaylists;
 
-    public MockApiController(MockSpotifyService mockSpotifyService) {
+    /**
+     * トラック関連のレスポンスの生成に使用するモデル。
+     */
+    public enum PayloadModel {
+        /**
+         * Map ベースのモックデータ (汎用の Map シリアライザーで書き込む)
+         */
+        MAP,
+        /**
+         * record ベースのモデル (専用のシリアライザーで JsonGenerator に直接書き込む)
+         */
+        RECORD
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param mockSpotifyService モックデータ生成サービス
+     * @param responseBodyCache  シリアライズ済みレスポンスボディのキャッシュ
+     * @param objectMapper              ストリーミングレスポンスの書き込みに使用する ObjectMapper
+     * @param parallelBodyWriter        複数プレイリストのトラックリストを並列に生成して書き込むライター
+     * @param cacheControl              Cache-Control ヘッダーの値 (spotify.mock-api.http.cache-control)
+     * @param payloadModel              トラック関連のレスポンスのモデル (spotify.mock-api.payload.model: record または map)
+     * @param maxBatchPlaylists         一括取得で指定できるプレイリスト数の上限 (spotify.mock-api.batch.max-playlists)
+     */
+    public MockApiController(MockSpotifyService mockSpotifyService, ResponseBodyCache responseBodyCache, ObjectMapper objectMapper,
+                             ParallelBodyWriter parallelBodyWriter,
+                             @Value("${spotify.mock-api.http.cache-control:no-cache}") String cacheControl,
+                             @Value("${spotify.mock-api.payload.model:record}") String payloadModel,
+                             @Value("${spotify.mock-api.batch.max-playlists:100}") int maxBatchPlaylists) {
         this.mockSpotifyService = mockSpotifyService;
+        this.responseBodyCache = responseBodyCache;
+        this.objectMapper = objectMapper;
+        this.parallelBodyWriter = parallelBodyWriter;
+        this.cacheControl = cacheControl;
+        this.payloadModel = PayloadModel.valueOf(payloadModel.trim().toUpperCase(Locale.ROOT));
+        this.maxBatchPlaylists = maxBatchPlaylists;
     }
 
     /**
@@ -29,43 +92,124 @@ public class MockApiController {
      * @param query  検索キーワード
      * @param offset 検索開始位置 (デフォルト: 0)
      * @param limit  取得件数上限 (デフォルト: 20)
+     * @param cursor 前回レスポンスの nextCursor (指定時は offset より優先、同じ query でのみ有効)
      * @return プレイリストの検索結果
      */
     @GetMapping("/search/playlists")
     public ResponseEntity<Map<String, Object>> searchPlaylists(
             @RequestParam("query") String query,
             @RequestParam(name = "offset", defaultValue = "" + DEFAULT_OFFSET) int offset,
-            @RequestParam(name = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit
+            @RequestParam(name = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
-        logger.debug("プレイリスト検索リクエスト: query={}, offset={}, limit={}", query, offset, limit);
+        logger.debug("プレイリスト検索リクエスト: query={}, offset={}, limit={}, cursor={}", query, offset, limit, cursor);
+        if (cursor != null) {
+            try {
+                offset = SearchCursor.decode(query, cursor); // カーソルから開始位置を復元
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
         Map<String, Object> response = mockSpotifyService.getPlaylistSearchMockData(query, offset, limit);
         return createOkResponse(response);
     }
 
     /**
      * プレイリストの詳細情報を取得。
+     * シリアライズ済みのレスポンスボディはキャッシュされ、If-None-Match が ETag と一致する場合は 304 を返す。
      *
-     * @param playlistId プレイリストID
-     * @return プレイリストの詳細情報
+     * @param playlistId     プレイリストID
+     * @param acceptEncoding Accept-Encoding ヘッダー
+     * @param ifNoneMatch    If-None-Match ヘッダー
+     * @return プレイリストの詳細情報 (JSON バイト列)
      */
     @GetMapping("/playlists/{playlistId}")
-    public ResponseEntity<Map<String, Object>> getPlaylistDetails(@PathVariable("playlistId") String playlistId) {
+    public ResponseEntity<byte[]> getPlaylistDetails(@PathVariable("playlistId") String playlistId,
+                                                     @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                     @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.debug("プレイリスト詳細情報取得リクエスト: playlistId={}", playlistId);
-        Map<String, Object> response = mockSpotifyService.getPlaylistDetailsMockData(playlistId);
-        return createOkResponse(response);
+        long version = mockSpotifyService.getPlaylistDetailsVersion(playlistId);
+        return createConditionalJsonResponse("playlist-details:" + playlistId, version,
+                () -> mockSpotifyService.getPlaylistDetailsMockData(playlistId), acceptEncoding, ifNoneMatch);
     }
 
     /**
      * プレイリストのトラックリストを取得。
+     * シリアライズ済みのレスポンスボディはキャッシュされ、If-None-Match が ETag と一致する場合は 304 を返す。
      *
-     * @param playlistId プレイリストID
-     * @return プレイリストのトラックリスト
+     * @param playlistId     プレイリストID
+     * @param acceptEncoding Accept-Encoding ヘッダー
+     * @param ifNoneMatch    If-None-Match ヘッダー
+     * @return プレイリストのトラックリスト (JSON バイト列)
      */
     @GetMapping("/playlists/{playlistId}/tracks")
-    public ResponseEntity<List<Map<String, Object>>> getPlaylistTracks(@PathVariable("playlistId") String playlistId) {
+    public ResponseEntity<byte[]> getPlaylistTracks(@PathVariable("playlistId") String playlistId,
+                                                    @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                    @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.debug("プレイリストトラックリスト取得リクエスト: playlistId={}", playlistId);
-        List<Map<String, Object>> response = mockSpotifyService.getPlaylistTracksMockData(playlistId);
-        return createOkResponse(response);
+        long version = mockSpotifyService.getPlaylistTracksVersion(playlistId);
+        return createConditionalJsonResponse("playlist-tracks:" + playlistId, version, playlistTracksGenerator(playlistId), acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * 複数プレイリストのトラックリストを1つのレスポンスで取得。
+     * 各プレイリストのトラックリストは並列に生成され、リクエストの順序で {"playlists":[{"id":..., "tracks":[...]}, ...]} としてストリーミングされる。
+     * 生成したトラックリストは単体取得と同じキーでキャッシュされる。
+     *
+     * @param playlistIds プレイリストIDリスト
+     * @return 複数プレイリストのトラックリスト (JSON)
+     */
+    @GetMapping("/playlists/tracks")
+    public ResponseEntity<StreamingResponseBody> getPlaylistsTracks(@RequestParam("ids") List<String> playlistIds) {
+        logger.debug("プレイリストトラックリスト一括取得リクエスト: playlists={}", playlistIds.size());
+        if (playlistIds.isEmpty() || playlistIds.size() > maxBatchPlaylists) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must contain 1 to " + maxBatchPlaylists + " playlist IDs");
+        }
+        StreamingResponseBody body = outputStream -> {
+            outputStream.write(BATCH_RESPONSE_START);
+            parallelBodyWriter.writeInOrder(playlistIds.size(), index -> {
+                String playlistId = playlistIds.get(index);
+                String cacheKey = versionedCacheKey("playlist-tracks:" + playlistId, mockSpotifyService.getPlaylistTracksVersion(playlistId));
+                return responseBodyCache.get(cacheKey, playlistTracksGenerator(playlistId)).body();
+            }, (index, tracksBody) -> {
+                if (index > 0) {
+                    outputStream.write(',');
+                }
+                outputStream.write(BATCH_ID_FIELD);
+                outputStream.write(objectMapper.writeValueAsBytes(playlistIds.get(index)));
+                outputStream.write(BATCH_TRACKS_FIELD);
+                outputStream.write(tracksBody);
+                outputStream.write('}');
+            });
+            outputStream.write(BATCH_RESPONSE_END);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * プレイリストのトラックリストを NDJSON (1行1トラック) でストリーミング。
+     * Accept: application/x-ndjson の場合に選択され、トラックを1件ずつ生成して書き込む。
+     *
+     * @param playlistId プレイリストID
+     * @return プレイリストのトラックリスト (NDJSON)
+     */
+    @GetMapping(value = "/playlists/{playlistId}/tracks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPlaylistTracksAsNdjson(@PathVariable("playlistId") String playlistId) {
+        logger.debug("プレイリストトラックリストストリーミングリクエスト (NDJSON): playlistId={}", playlistId);
+        return createStreamingResponse(MediaType.APPLICATION_NDJSON, writer -> streamPlaylistTracks(playlistId, writer));
+    }
+
+    /**
+     * プレイリストのトラックリストを JSON 配列としてチャンク転送でストリーミング。
+     * stream=true の場合に選択され、トラックを1件ずつ生成して書き込む。
+     *
+     * @param playlistId プレイリストID
+     * @return プレイリストのトラックリスト (JSON 配列)
+     */
+    @GetMapping(value = "/playlists/{playlistId}/tracks", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamPlaylistTracks(@PathVariable("playlistId") String playlistId) {
+        logger.debug("プレイリストトラックリストストリーミングリクエスト: playlistId={}", playlistId);
+        return createStreamingResponse(MediaType.APPLICATION_JSON, writer -> streamPlaylistTracks(playlistId, writer));
     }
 
     /**
@@ -83,13 +227,25 @@ public class MockApiController {
 
     /**
      * おすすめトラックリストを取得。
+     * seed_tracks / seed_artists / seed_genres / target_* / limit (Spotify の Get Recommendations API と同じ名前) を指定した場合は
+     * AudioFeatures が近いトラックを近い順に返し、いずれも指定しない場合は固定の5件を返す。
      *
+     * @param parameters リクエストパラメーター
      * @return おすすめトラックリスト
      */
     @GetMapping("/recommendations")
-    public ResponseEntity<List<Map<String, Object>>> getRecommendations() {
-        logger.debug("おすすめトラックリスト取得リクエスト");
-        List<Map<String, Object>> response = mockSpotifyService.getRecommendationsMockData();
+    public ResponseEntity<List<Map<String, Object>>> getRecommendations(@RequestParam Map<String, String> parameters) {
+        logger.debug("おすすめトラックリスト取得リクエスト: parameters={}", parameters);
+        if (!RecommendationQuery.hasSeedsOrTargets(parameters)) {
+            return createOkResponse(mockSpotifyService.getRecommendationsMockData());
+        }
+        RecommendationQuery query;
+        try {
+            query = RecommendationQuery.fromParameters(parameters);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        List<Map<String, Object>> response = mockSpotifyService.getRecommendationsMockData(query);
         return createOkResponse(response);
     }
 
@@ -100,22 +256,57 @@ public class MockApiController {
      * @return トラックIDとAudioFeatures取得リクエストのリスト
      */
     @GetMapping("/tracks/audio-features")
-    public ResponseEntity<List<Map<String, Object>>> getAudioFeaturesForTracks(@RequestParam("trackIds") List<String> trackIds) {
+    public ResponseEntity<List<?>> getAudioFeaturesForTracks(@RequestParam("trackIds") List<String> trackIds) {
         logger.debug("AudioFeatures取得リクエスト: trackIds={}", trackIds);
-        List<Map<String, Object>> response = mockSpotifyService.getAudioFeaturesForTracksMockData(trackIds);
+        List<?> response = payloadModel == PayloadModel.RECORD
+                ? mockSpotifyService.getAudioFeaturesForTracks(trackIds)
+                : mockSpotifyService.getAudioFeaturesForTracksMockData(trackIds);
         return createOkResponse(response);
     }
 
+    /**
+     * 複数のトラックのAudioFeaturesを NDJSON (1行1トラック) でストリーミング。
+     * Accept: application/x-ndjson の場合に選択される。
+     *
+     * @param trackIds トラックIDリスト
+     * @return AudioFeatures (NDJSON)
+     */
+    @GetMapping(value = "/tracks/audio-features", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAudioFeaturesForTracksAsNdjson(@RequestParam("trackIds") List<String> trackIds) {
+        logger.debug("AudioFeaturesストリーミングリクエスト (NDJSON): trackIds={}", trackIds.size());
+        return createStreamingResponse(MediaType.APPLICATION_NDJSON, writer -> streamAudioFeaturesForTracks(trackIds, writer));
+    }
+
+    /**
+     * 複数のトラックのAudioFeaturesを JSON 配列としてチャンク転送でストリーミング。
+     * stream=true の場合に選択される。
+     *
+     * @param trackIds トラックIDリスト
+     * @return AudioFeatures (JSON 配列)
+     */
+    @GetMapping(value = "/tracks/audio-features", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAudioFeaturesForTracks(@RequestParam("trackIds") List<String> trackIds) {
+        logger.debug("AudioFeaturesストリーミングリクエスト: trackIds={}", trackIds.size());
+        return createStreamingResponse(MediaType.APPLICATION_JSON, writer -> streamAudioFeaturesForTracks(trackIds, writer));
+    }
+
     /**
      * ユーザーのフォロー済みプレイリストを取得。
+     * シリアライズ済みのレスポンスボディはキャッシュされ、If-None-Match が ETag と一致する場合は 304 を返す。
      *
-     * @return ユーザーのフォロー済みプレイリスト
+     * @param acceptEncoding Accept-Encoding ヘッダー
+     * @param ifNoneMatch    If-None-Match ヘッダー
+     * @return ユーザーのフォロー済みプレイリスト (JSON バイト列)
      */
     @GetMapping("/following/playlists")
-    public ResponseEntity<List<Map<String, Object>>> getUserPlaylists() {
+    public ResponseEntity<byte[]> getUserPlaylists(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                   @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.debug("ユーザープレイリスト取得リクエスト");
-        List<Map<String, Object>> response = mockSpotifyService.getFollowedPlaylistsMockData();
-        return createOkResponse(response);
+        long version = mockSpotifyService.getFollowedPlaylistsVersion();
+        Supplier<?> generator = payloadModel == PayloadModel.RECORD
+                ? mockSpotifyService::getFollowedPlaylists
+                : mockSpotifyService::getFollowedPlaylistsMockData;
+        return createConditionalJsonResponse("followed-playlists", version, generator, acceptEncoding, ifNoneMatch);
     }
 
     /**
@@ -128,4 +319,149 @@ public class MockApiController {
     private <T> ResponseEntity<T> createOkResponse(T body) {
         return ResponseEntity.ok(body);
     }
+
+    /**
+     * ETag による条件付きリクエストに対応した JSON レスポンスEntityを作成。
+     * ETag はモックデータの生成に使用する入力値 (バージョン) から算出するため、
+     * If-None-Match が一致する場合はモックデータを生成・シリアライズせずに 304 (Not Modified) を返す。
+     * 圧縮済みのバイト列を返す場合は、表現ごとに異なる ETag となるよう "-gzip" / "-deflate" を付与する。
+     *
+     * @param cacheKey       レスポンスボディのキャッシュキー
+     * @param version        モックデータのバージョン
+     * @param generator      モックデータを生成する関数
+     * @param acceptEncoding Accept-Encoding ヘッダー
+     * @param ifNoneMatch    If-None-Match ヘッダー
+     * @return HTTPステータスコード200または304のレスポンスEntity
+     */
+    private ResponseEntity<byte[]> createConditionalJsonResponse(String cacheKey, long version, Supplier<?> generator,
+                                                                 String acceptEncoding, String ifNoneMatch) {
+        ContentEncoding encoding = responseBodyCache.negotiateEncoding(acceptEncoding);
+        String versionTag = Long.toHexString(version);
+        String etag = "\"" + versionTag + (encoding != null ? "-" + encoding.getToken() : "") + "\"";
+        if (matchesIfNoneMatch(ifNoneMatch, etag)) {
+            ResponseEntity.HeadersBuilder<?> builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl);
+            if (responseBodyCache.isCompressionEnabled()) {
+                builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            return builder.build();
+        }
+        CachedResponseBody body = responseBodyCache.get(versionedCacheKey(cacheKey, version), generator);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (responseBodyCache.isCompressionEnabled()) {
+            builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            byte[] encodedBody = encoding != null ? body.encodedBody(encoding) : null;
+            if (encodedBody != null) {
+                return builder.header(HttpHeaders.CONTENT_ENCODING, encoding.getToken()).body(encodedBody);
+            }
+        }
+        return builder.body(body.body());
+    }
+
+    /**
+     * バージョンを含むキャッシュキーを作成。
+     * 生成元の値が変わった場合に古いボディを返さないよう、バージョンをキーに含める。
+     */
+    private static String versionedCacheKey(String cacheKey, long version) {
+        return cacheKey + ":" + Long.toHexString(version);
+    }
+
+    /**
+     * If-None-Match ヘッダーが ETag と一致するか判定 (弱い比較)。
+     *
+     * @param ifNoneMatch If-None-Match ヘッダー
+     * @param etag        レスポンスの ETag
+     * @return 一致する場合は true
+     */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2); // 弱い ETag も同一とみなす
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 設定されたモデルでプレイリストのトラックリストを生成する関数を取得。
+     */
+    private Supplier<?> playlistTracksGenerator(String playlistId) {
+        return payloadModel == PayloadModel.RECORD
+                ? () -> mockSpotifyService.getPlaylistTracks(playlistId)
+                : () -> mockSpotifyService.getPlaylistTracksMockData(playlistId);
+    }
+
+    /**
+     * 設定されたモデルでプレイリストのトラックを1件ずつ書き込む。
+     */
+    private void streamPlaylistTracks(String playlistId, ElementWriter<Object> writer) throws IOException {
+        if (payloadModel == PayloadModel.RECORD) {
+            mockSpotifyService.streamPlaylistTracks(playlistId, writer);
+        } else {
+            mockSpotifyService.streamPlaylistTracksMockData(playlistId, writer);
+        }
+    }
+
+    /**
+     * 設定されたモデルで AudioFeatures を1件ずつ書き込む。
+     */
+    private void streamAudioFeaturesForTracks(List<String> trackIds, ElementWriter<Object> writer) throws IOException {
+        if (payloadModel == PayloadModel.RECORD) {
+            mockSpotifyService.streamAudioFeaturesForTracks(trackIds, writer);
+        } else {
+            mockSpotifyService.streamAudioFeaturesForTracksMockData(trackIds, writer);
+        }
+    }
+
+    /**
+     * 要素を1件ずつシリアライズして書き込むストリーミングレスポンスEntityを作成。
+     * NDJSON の場合は1行1要素、それ以外は JSON 配列として書き込み、要素はシリアライズ後すぐに破棄される。
+     *
+     * @param mediaType レスポンスの Content-Type (application/x-ndjson または application/json)
+     * @param producer  ライターに要素を書き込む処理
+     * @return HTTPステータスコード200のレスポンスEntity
+     */
+    private ResponseEntity<StreamingResponseBody> createStreamingResponse(MediaType mediaType, ElementProducer producer) {
+        boolean ndjson = MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(mediaType);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 出力ストリームのクローズはコンテナに任せる
+                generator.setRootValueSeparator(null);
+                if (ndjson) {
+                    producer.produce(element -> {
+                        generator.writeObject(element);
+                        generator.writeRaw('\n');
+                    });
+                } else {
+                    generator.writeStartArray();
+                    producer.produce(generator::writeObject);
+                    generator.writeEndArray();
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    /**
+     * ストリーミングレスポンスの要素を生成してライターに書き込む処理。
+     */
+    @FunctionalInterface
+    private interface ElementProducer {
+
+        void produce(ElementWriter<Object> writer) throws IOException;
+    }
 }
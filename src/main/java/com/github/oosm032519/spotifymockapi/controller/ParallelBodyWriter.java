@@ -0,0 +1,108 @@
+package com.github.oosm032519.spotifymockapi.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * レスポンスの各部分 (プレイリストごとのトラックリスト、トラックIDのチャンクごとの AudioFeatures など) を並列に生成し、
+ * 元の順序で書き込むライター。
+ * <p>
+ * 各部分のシリアライズ済みバイト列は仮想スレッド上で並列に生成される。
+ * 同時に生成中の部分は parallelism 件までに制限され、先頭の部分の生成が完了した時点で順に書き込むため、
+ * 部分の数に関わらずリクエストあたりのメモリ使用量は parallelism 件分に収まる。
+ */
+@Component
+public class ParallelBodyWriter implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelBodyWriter.class);
+
+    private final int parallelism;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 生成した部分を書き込む処理。
+     */
+    @FunctionalInterface
+    public interface PartSink {
+
+        /**
+         * 生成した部分を書き込む。部分は index の順に呼び出される。
+         *
+         * @param index 部分の位置 (0 始まり)
+         * @param part  シリアライズ済みのバイト列
+         * @throws IOException 書き込みに失敗した場合
+         */
+        void write(int index, byte[] part) throws IOException;
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param parallelism 1リクエストあたりの同時生成数 (spotify.mock-api.batch.parallelism、0 以下の場合は CPU コア数)
+     */
+    public ParallelBodyWriter(@Value("${spotify.mock-api.batch.parallelism:0}") int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * count 個の部分を並列に生成し、0 から順に書き込む。
+     *
+     * @param count   部分の数
+     * @param partFor 部分の位置からシリアライズ済みのバイト列を生成する関数
+     * @param sink    生成した部分を書き込む処理
+     * @throws IOException 書き込みまたは生成に失敗した場合
+     */
+    public void writeInOrder(int count, IntFunction<byte[]> partFor, PartSink sink) throws IOException {
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>(parallelism);
+        int submitted = 0;
+        try {
+            for (int written = 0; written < count; written++) {
+                while (submitted < count && inFlight.size() < parallelism) {
+                    int index = submitted++;
+                    inFlight.addLast(executor.submit(() -> partFor.apply(index)));
+                }
+                sink.write(written, await(inFlight.removeFirst()));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true)); // 書き込み失敗時は未完了の生成を中断
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating response part", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to generate response part", e.getCause());
+        }
+    }
+
+    /**
+     * 1リクエストあたりの同時生成数を取得。
+     *
+     * @return 同時生成数
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void destroy() {
+        logger.debug("Shutting down parallel body writer executor");
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.oosm032519.spotifymockapi.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * リクエストボディのトラックIDリストをストリーミングパーサーで読み込むユーティリティクラス。
+ * ツリーやバインド用のオブジェクトを作らずに、トークンを順に読みながら ID だけを取り出す。
+ * <p>
+ * 対応する形式は ["id1", "id2", ...] と {"ids": ["id1", "id2", ...]} の2つ。
+ */
+public final class TrackIdsReader {
+
+    private static final String IDS_FIELD = "ids";
+
+    private TrackIdsReader() {
+    }
+
+    /**
+     * トラックIDリストを読み込む。
+     *
+     * @param parser リクエストボディのパーサー
+     * @param maxIds 読み込むトラックID数の上限
+     * @return トラックIDリスト
+     * @throws IOException              読み込みに失敗した場合
+     * @throws IllegalArgumentException 形式が不正な場合、またはトラックID数が上限を超える場合
+     */
+    public static List<String> read(JsonParser parser, int maxIds) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            List<String> trackIds = null;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                if (IDS_FIELD.equals(fieldName)) {
+                    trackIds = readArray(parser, maxIds);
+                } else {
+                    parser.skipChildren(); // 未知のフィールドは読み飛ばす
+                }
+            }
+            if (trackIds == null) {
+                throw new IllegalArgumentException("Request body must contain an \"ids\" array");
+            }
+            return trackIds;
+        }
+        return readArray(parser, maxIds);
+    }
+
+    private static List<String> readArray(JsonParser parser, int maxIds) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Track IDs must be a JSON array of strings");
+        }
+        List<String> trackIds = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.VALUE_STRING) {
+            if (trackIds.size() == maxIds) {
+                throw new IllegalArgumentException("Too many track IDs (max " + maxIds + ")");
+            }
+            trackIds.add(parser.getText());
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IllegalArgumentException("Track IDs must be a JSON array of strings");
+        }
+        return trackIds;
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import com.github.oosm032519.spotifymockapi.config.LatencyProperties;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * エンドポイントごとのレイテンシプロファイルに従ってレスポンスを遅延させるフィルター。
+ * <p>
+ * 遅延中はリクエストスレッドを保持しない。リクエストを非同期モードに切り替えてスレッドを返却し、
+ * 遅延の経過後にスケジューラーから {@link AsyncContext#dispatch()} で元のパスへ再ディスパッチする。
+ * そのため、大量の同時リクエストに長い遅延を注入しても Tomcat のスレッドプールは枯渇しない。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "spotify.mock-api.latency.enabled", havingValue = "true")
+public class LatencyInjectionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyInjectionFilter.class);
+
+    private final List<PathProfile> pathProfiles;
+    private final long maxDelayNanos;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "latency-injection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * リクエストパスのパターンとレイテンシプロファイルの組。
+     */
+    private record PathProfile(String pathPattern, LatencyProfile profile) {
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param latencyProperties レイテンシ注入の設定
+     */
+    public LatencyInjectionFilter(LatencyProperties latencyProperties) {
+        this.pathProfiles = latencyProperties.profiles().stream()
+                .map(profile -> new PathProfile(profile.path() == null ? "/mock/**" : profile.path(), LatencyProfile.from(profile)))
+                .toList();
+        this.maxDelayNanos = latencyProperties.maxDelay().toNanos();
+        logger.info("Latency injection enabled with {} profile(s)", pathProfiles.size());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long delayNanos = sampleDelayNanos(request.getRequestURI());
+        if (delayNanos <= 0 || !request.isAsyncSupported()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(0); // 遅延中にコンテナのタイムアウトで打ち切られないようにする
+        scheduler.schedule(() -> asyncContext.dispatch(), delayNanos, TimeUnit.NANOSECONDS); // 再ディスパッチ時は shouldNotFilterAsyncDispatch によりこのフィルターを通過する
+    }
+
+    /**
+     * リクエストパスに最初に一致したプロファイルから遅延をサンプリングする。
+     *
+     * @param requestUri リクエストパス
+     * @return 遅延 (ナノ秒、一致するプロファイルが無い場合は 0)
+     */
+    long sampleDelayNanos(String requestUri) {
+        for (PathProfile pathProfile : pathProfiles) {
+            if (pathMatcher.match(pathProfile.pathPattern(), requestUri)) {
+                return Math.min(pathProfile.profile().sampleNanos(ThreadLocalRandom.current()), maxDelayNanos);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
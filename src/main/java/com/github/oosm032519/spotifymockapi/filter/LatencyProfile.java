@@ -0,0 +1,161 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import com.github.oosm032519.spotifymockapi.config.LatencyProperties;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * リクエストに注入する遅延の分布。
+ */
+public sealed interface LatencyProfile {
+
+    /**
+     * 標準正規分布の 99 パーセンタイル (p50 と p99 から log-normal 分布の σ を求めるために使用)。
+     */
+    double Z_99 = 2.3263478740408408;
+
+    /**
+     * 遅延をサンプリングする。
+     *
+     * @param random 乱数生成器
+     * @return 遅延 (ナノ秒)
+     */
+    long sampleNanos(RandomGenerator random);
+
+    /**
+     * 設定からプロファイルを作成。
+     *
+     * @param profile プロファイルの設定
+     * @return プロファイル
+     * @throws IllegalArgumentException 設定が不正な場合
+     */
+    static LatencyProfile from(LatencyProperties.Profile profile) {
+        String type = profile.type() == null ? "" : profile.type().trim().toLowerCase(Locale.ROOT);
+        return switch (type) {
+            case "fixed" -> new Fixed(required(profile.delay(), "delay").toNanos());
+            case "uniform" -> new Uniform(required(profile.min(), "min").toNanos(), required(profile.max(), "max").toNanos());
+            case "lognormal" -> LogNormal.of(required(profile.p50(), "p50"), required(profile.p99(), "p99"));
+            case "histogram" -> Histogram.parse(required(profile.histogram(), "histogram"));
+            default -> throw new IllegalArgumentException("Unknown latency profile type: " + profile.type());
+        };
+    }
+
+    private static <T> T required(T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Latency profile requires " + name);
+        }
+        return value;
+    }
+
+    /**
+     * 常に同じ遅延。
+     *
+     * @param delayNanos 遅延 (ナノ秒)
+     */
+    record Fixed(long delayNanos) implements LatencyProfile {
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return delayNanos;
+        }
+    }
+
+    /**
+     * [min, max] の一様分布。
+     *
+     * @param minNanos 最小値 (ナノ秒)
+     * @param maxNanos 最大値 (ナノ秒)
+     */
+    record Uniform(long minNanos, long maxNanos) implements LatencyProfile {
+
+        public Uniform {
+            if (minNanos < 0 || maxNanos < minNanos) {
+                throw new IllegalArgumentException("Latency profile requires 0 <= min <= max");
+            }
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return minNanos == maxNanos ? minNanos : random.nextLong(minNanos, maxNanos + 1);
+        }
+    }
+
+    /**
+     * 中央値と 99 パーセンタイルを指定した log-normal 分布。
+     *
+     * @param mu    ln(遅延) の平均
+     * @param sigma ln(遅延) の標準偏差
+     */
+    record LogNormal(double mu, double sigma) implements LatencyProfile {
+
+        static LogNormal of(Duration p50, Duration p99) {
+            if (p50.isNegative() || p50.isZero() || p99.compareTo(p50) < 0) {
+                throw new IllegalArgumentException("Latency profile requires 0 < p50 <= p99");
+            }
+            double mu = Math.log(p50.toNanos());
+            return new LogNormal(mu, (Math.log(p99.toNanos()) - mu) / Z_99);
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return (long) Math.exp(mu + sigma * random.nextGaussian());
+        }
+    }
+
+    /**
+     * 記録したヒストグラムに従う分布。
+     * 件数に比例してバケットを選び、バケット内 (前のバケットの上限〜このバケットの上限) では一様に分布させる。
+     *
+     * @param upperBoundNanos  各バケットの上限 (ナノ秒、昇順)
+     * @param cumulativeCounts 各バケットまでの累積件数
+     */
+    record Histogram(long[] upperBoundNanos, long[] cumulativeCounts) implements LatencyProfile {
+
+        static Histogram parse(List<String> buckets) {
+            long[] bounds = new long[buckets.size()];
+            long[] cumulative = new long[buckets.size()];
+            long total = 0;
+            for (int i = 0; i < buckets.size(); i++) {
+                String bucket = buckets.get(i).trim();
+                int separator = bucket.lastIndexOf(':');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Histogram bucket must be \"upperBound:count\": " + bucket);
+                }
+                bounds[i] = DurationStyle.detectAndParse(bucket.substring(0, separator).trim()).toNanos();
+                long count = Long.parseLong(bucket.substring(separator + 1).trim());
+                if (count < 0 || (i > 0 && bounds[i] < bounds[i - 1])) {
+                    throw new IllegalArgumentException("Histogram buckets must be sorted with non-negative counts: " + buckets);
+                }
+                total += count;
+                cumulative[i] = total;
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("Histogram must contain at least one sample: " + buckets);
+            }
+            return new Histogram(bounds, cumulative);
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            long sample = random.nextLong(cumulativeCounts[cumulativeCounts.length - 1]);
+            int low = 0;
+            int high = cumulativeCounts.length - 1;
+            while (low < high) { // 累積件数が sample より大きい最初のバケットを二分探索
+                int mid = (low + high) >>> 1;
+                if (cumulativeCounts[mid] > sample) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            int bucket = low;
+            long lower = bucket == 0 ? 0 : upperBoundNanos[bucket - 1];
+            long upper = upperBoundNanos[bucket];
+            return lower == upper ? upper : random.nextLong(lower, upper + 1);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import com.github.oosm032519.spotifymockapi.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * クライアントとエンドポイントごとにリクエスト数を制限するフィルター。
+ * <p>
+ * 制限を超えたリクエストには本物の Spotify Web API と同様に 429 Too Many Requests を返し、
+ * 次のリクエストが許可されるまでの秒数を Retry-After ヘッダーに設定する。
+ * クライアントは Authorization ヘッダー (アクセストークン) で識別し、ヘッダーが無い場合は接続元アドレスを使用する。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "spotify.mock-api.rate-limit.enabled", havingValue = "true")
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final byte[] RATE_LIMIT_EXCEEDED_BODY = "{\"error\":{\"status\":429,\"message\":\"API rate limit exceeded\"}}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<PathRule> pathRules;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * リクエストパスのパターンと、トークンの補充間隔・バケット容量の組。
+     */
+    private record PathRule(String pathPattern, long intervalNanos, int burst) {
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param rateLimitProperties レート制限の設定
+     */
+    public RateLimitFilter(RateLimitProperties rateLimitProperties) {
+        this.pathRules = rateLimitProperties.rules().stream()
+                .map(RateLimitFilter::toPathRule)
+                .toList();
+        this.rateLimiter = new TokenBucketRateLimiter(rateLimitProperties.maxKeys());
+        logger.info("Rate limiting enabled with {} rule(s)", pathRules.size());
+    }
+
+    private static PathRule toPathRule(RateLimitProperties.Rule rule) {
+        if (rule.requestsPerSecond() <= 0 || rule.burst() <= 0) {
+            throw new IllegalArgumentException("Rate limit rule for " + rule.path() + " must have positive requests-per-second and burst");
+        }
+        return new PathRule(rule.path(), Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / rule.requestsPerSecond())), rule.burst());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = acquire(clientKey(request), request.getRequestURI(), System.nanoTime());
+        if (waitNanos <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = retryAfterSeconds(waitNanos);
+        logger.debug("Rate limit exceeded: uri={}, retryAfter={}s", request.getRequestURI(), retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(RATE_LIMIT_EXCEEDED_BODY.length);
+        response.getOutputStream().write(RATE_LIMIT_EXCEEDED_BODY);
+    }
+
+    /**
+     * リクエストパスに最初に一致したルールのバケットからトークンを取得する。
+     *
+     * @param clientKey  クライアントの識別子
+     * @param requestUri リクエストパス
+     * @param nowNanos   現在時刻 ({@link System#nanoTime()})
+     * @return 許可された場合は 0、制限された場合は次のリクエストが許可されるまでの時間 (ナノ秒)
+     */
+    long acquire(String clientKey, String requestUri, long nowNanos) {
+        for (int i = 0; i < pathRules.size(); i++) {
+            PathRule pathRule = pathRules.get(i);
+            if (pathMatcher.match(pathRule.pathPattern(), requestUri)) {
+                return rateLimiter.tryAcquire(i + ":" + clientKey, pathRule.intervalNanos(), pathRule.burst(), nowNanos); // ルールごとに別のバケット
+            }
+        }
+        return 0;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null ? authorization : request.getRemoteAddr();
+    }
+
+    /**
+     * 待ち時間を Retry-After ヘッダーの秒数 (切り上げ、最小 1 秒) に変換する。
+     */
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
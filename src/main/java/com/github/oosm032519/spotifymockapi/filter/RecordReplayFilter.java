@@ -0,0 +1,325 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import com.github.oosm032519.spotifymockapi.config.RecordReplayProperties;
+import com.github.oosm032519.spotifymockapi.recording.RecordingStore;
+import com.github.oosm032519.spotifymockapi.service.MockDataGeneratorUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * /mock/** のレスポンスを記録・再生するフィルター。
+ * <p>
+ * record モードでは、リクエストを spotify.mock-api.record-replay.upstream-url へプロキシし、
+ * 上流のレスポンスをクライアントへ返すとともに {@link RecordingStore} へ追記する。
+ * replay モードでは、記録したボディをモックデータの生成を経由せずにファイルから直接返す。
+ * Tomcat が sendfile に対応している場合はファイルの範囲を Tomcat に渡してカーネル内で送信し、
+ * 対応していない場合は {@link java.nio.channels.FileChannel#transferTo} で出力ストリームへ転送する。
+ * <p>
+ * 記録のキーはメソッド、パス、名前と値で並べ替えたクエリパラメータ、Accept の先頭のメディアタイプ、
+ * およびリクエストボディのハッシュから作成するため、クエリパラメータの順序が異なるリクエストは同じ記録を参照する。
+ * レイテンシ注入やレート制限より後に実行するため、再生時もそれらは適用される。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@ConditionalOnProperty(name = "spotify.mock-api.record-replay.enabled", havingValue = "true")
+public class RecordReplayFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordReplayFilter.class);
+
+    static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+    private static final byte[] NOT_RECORDED_BODY = "{\"error\":{\"status\":404,\"message\":\"No recorded response\"}}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BAD_GATEWAY_BODY = "{\"error\":{\"status\":502,\"message\":\"Upstream request failed\"}}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 上流へ転送するリクエストヘッダー。条件付きリクエストのヘッダーは 304 が記録されないように転送しない。
+     */
+    private static final List<String> FORWARDED_HEADERS = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.AUTHORIZATION,
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.USER_AGENT);
+
+    private final RecordReplayProperties.Mode mode;
+    private final RecordingStore recordingStore;
+    private final boolean passThroughOnMiss;
+    private final String upstreamUrl;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param properties 記録・再生の設定
+     * @throws IOException 記録を保存するファイルを開けない場合
+     */
+    public RecordReplayFilter(RecordReplayProperties properties) throws IOException {
+        this.mode = properties.mode();
+        this.passThroughOnMiss = properties.passThroughOnMiss();
+        this.timeout = properties.timeout();
+        boolean recording = mode == RecordReplayProperties.Mode.RECORD;
+        if (recording && !StringUtils.hasText(properties.upstreamUrl())) {
+            throw new IllegalArgumentException("spotify.mock-api.record-replay.upstream-url must be set in record mode");
+        }
+        this.upstreamUrl = recording ? StringUtils.trimTrailingCharacter(properties.upstreamUrl(), '/') : null;
+        this.httpClient = recording ? HttpClient.newBuilder().connectTimeout(properties.timeout()).build() : null;
+        this.recordingStore = RecordingStore.open(Path.of(properties.storePath()), recording);
+        logger.info("Record/replay enabled: mode={}, store={}, upstream={}", mode, recordingStore.getFile(), upstreamUrl);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/mock/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false; // レイテンシ注入の再ディスパッチで初めてこのフィルターに到達する場合も処理する
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        byte[] requestBody = hasBody(request) ? request.getInputStream().readAllBytes() : EMPTY_BODY; // キーのハッシュに使用するため、ボディがある場合のみ読み込む
+        String key = normalizeKey(request, requestBody);
+        if (mode == RecordReplayProperties.Mode.RECORD) {
+            record(key, request, requestBody, response);
+            return;
+        }
+        Optional<RecordingStore.Entry> entry = recordingStore.find(key);
+        if (entry.isPresent()) {
+            replay(entry.get(), request, response);
+        } else if (passThroughOnMiss) {
+            logger.debug("No recorded response for {}; generating", key);
+            filterChain.doFilter(requestBody.length > 0 ? new BufferedBodyRequest(request, requestBody) : request, response);
+        } else {
+            writeError(response, HttpStatus.NOT_FOUND, NOT_RECORDED_BODY);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        try {
+            recordingStore.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close recording store {}", recordingStore.getFile(), e);
+        }
+    }
+
+    /**
+     * 上流へプロキシし、レスポンスを記録する。
+     */
+    private void record(String key, HttpServletRequest request, byte[] requestBody, HttpServletResponse response) throws IOException {
+        HttpRequest.Builder upstreamRequest = HttpRequest.newBuilder(upstreamUri(request))
+                .timeout(timeout)
+                .method(request.getMethod(), requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        for (String header : FORWARDED_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                upstreamRequest.header(header, value);
+            }
+        }
+        HttpResponse<byte[]> upstreamResponse;
+        try {
+            upstreamResponse = httpClient.send(upstreamRequest.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            logger.warn("Upstream request failed: {}", key, e);
+            writeError(response, HttpStatus.BAD_GATEWAY, BAD_GATEWAY_BODY);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.BAD_GATEWAY, BAD_GATEWAY_BODY);
+            return;
+        }
+        String contentType = upstreamResponse.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null);
+        byte[] body = upstreamResponse.body();
+        recordingStore.append(key, upstreamResponse.statusCode(), contentType, body);
+        logger.debug("Recorded {} ({} bytes, status {})", key, body.length, upstreamResponse.statusCode());
+
+        response.setStatus(upstreamResponse.statusCode());
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 記録したレスポンスを返す。
+     */
+    private void replay(RecordingStore.Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(entry.status());
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        response.setContentLengthLong(entry.bodyLength());
+        if (entry.bodyLength() == 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            // Tomcat がレスポンスの完了時にファイルの範囲を sendfile で送信する
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, recordingStore.getFile().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, entry.bodyOffset());
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, entry.bodyOffset() + entry.bodyLength());
+        } else {
+            recordingStore.transferBody(entry, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private URI upstreamUri(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return URI.create(upstreamUrl + request.getRequestURI() + (query != null ? "?" + query : ""));
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * リクエストにボディがあるかを判定する。Content-Length が正の値の場合、またはチャンク形式で送信されている場合にボディがあるとみなす。
+     *
+     * @param request リクエスト
+     * @return ボディがある場合は true
+     */
+    static boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    /**
+     * 記録のキーとなるようにリクエストを正規化する。
+     * <p>
+     * クエリパラメータは名前と値ごとにデコードしてエンコードし直した上で並べ替え、Accept は先頭のメディアタイプ (パラメータを除く) のみを使用する。
+     * リクエストボディがある場合はそのハッシュを付加する。
+     *
+     * @param request     リクエスト
+     * @param requestBody リクエストボディ
+     * @return 正規化したキー
+     */
+    static String normalizeKey(HttpServletRequest request, byte[] requestBody) {
+        StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getRequestURI());
+        String query = request.getQueryString();
+        if (StringUtils.hasLength(query)) {
+            String[] parameters = Arrays.stream(query.split("&"))
+                    .filter(parameter -> !parameter.isEmpty())
+                    .map(RecordReplayFilter::canonicalParameter)
+                    .sorted()
+                    .toArray(String[]::new);
+            key.append('?').append(String.join("&", parameters));
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (StringUtils.hasText(accept)) {
+            String mediaType = accept.split(",", 2)[0].split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            if (!mediaType.isEmpty() && !MediaType.ALL_VALUE.equals(mediaType)) {
+                key.append(" accept=").append(mediaType);
+            }
+        }
+        if (requestBody.length > 0) {
+            key.append(" body=").append(Long.toHexString(MockDataGeneratorUtil.hash64(new String(requestBody, StandardCharsets.UTF_8))));
+        }
+        return key.toString();
+    }
+
+    /**
+     * クエリパラメータを名前と値に分けてデコードし、それぞれを同じ規則でエンコードし直す。
+     * 値に含まれる "&" や "=" はエスケープされたまま残るため、区切り文字と区別される (a=1%26b=2 と a=1&b=2 は別のキーとなる)。
+     */
+    private static String canonicalParameter(String parameter) {
+        int separator = parameter.indexOf('=');
+        String name = canonicalComponent(separator < 0 ? parameter : parameter.substring(0, separator));
+        return separator < 0 ? name : name + '=' + canonicalComponent(parameter.substring(separator + 1));
+    }
+
+    private static String canonicalComponent(String component) {
+        return URLEncoder.encode(URLDecoder.decode(component, StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 読み込み済みのリクエストボディを再度読めるようにするリクエストのラッパー。
+     */
+    static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable(); // ボディは全てメモリ上にあるため、直ちに読み終えられる
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+    }
+}
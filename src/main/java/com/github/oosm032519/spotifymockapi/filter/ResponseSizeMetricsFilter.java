@@ -0,0 +1,191 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * /mock/** のレスポンスボディのバイト数を spotify.mock.response.size として記録するフィルター。
+ * <p>
+ * レスポンスの出力ストリームを書き込んだバイト数を数えるラッパーで包み、レスポンスの完了時に記録する。
+ * ストリーミングレスポンスのように非同期で書き込まれる場合は、非同期処理の完了時に記録する。
+ * uri タグには一致したリクエストマッピングのパターンを使用し、パスパラメータごとにメーターが増えないようにする。
+ * 記録したレスポンスの再生のように sendfile で送信され出力ストリームを経由しない場合は、Content-Length を記録する。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ResponseSizeMetricsFilter extends OncePerRequestFilter {
+
+    public static final String RESPONSE_SIZE_SUMMARY = "spotify.mock.response.size";
+
+    private static final String COUNTING_RESPONSE_ATTRIBUTE = ResponseSizeMetricsFilter.class.getName() + ".COUNTING_RESPONSE";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param meterRegistry メトリクスの登録先
+     */
+    public ResponseSizeMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/mock/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false; // レイテンシ注入の再ディスパッチで初めてコントローラーが呼ばれる場合も計測する
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (request.getAttribute(COUNTING_RESPONSE_ATTRIBUTE) != null) {
+            filterChain.doFilter(request, response); // 以前のディスパッチで計測を開始済み
+            return;
+        }
+        CountingResponse countingResponse = new CountingResponse(response);
+        request.setAttribute(COUNTING_RESPONSE_ATTRIBUTE, countingResponse);
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, countingResponse);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, countingResponse);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse countingResponse) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(RESPONSE_SIZE_SUMMARY)
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : UNKNOWN_URI)
+                .tag("status", Integer.toString(countingResponse.getStatus()))
+                .baseUnit("bytes")
+                .description("Size of mock API response bodies")
+                .register(meterRegistry)
+                .record(countingResponse.getBytesWritten());
+    }
+
+    /**
+     * 出力ストリームに書き込まれたバイト数を数えるレスポンスのラッパー。
+     * getWriter で書き込まれた文字は数えない (コントローラーは出力ストリームにのみ書き込む)。
+     */
+    static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final LongAdder bytesWritten = new LongAdder();
+        private ServletOutputStream outputStream;
+        private long contentLength = -1;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream(), bytesWritten);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            super.setContentLength(len);
+            contentLength = len;
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            super.setContentLengthLong(len);
+            contentLength = len;
+        }
+
+        long getBytesWritten() {
+            long written = bytesWritten.sum();
+            return written == 0 && contentLength > 0 ? contentLength : written; // sendfile はストリームを経由しない
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final LongAdder bytesWritten;
+
+        private CountingOutputStream(ServletOutputStream delegate, LongAdder bytesWritten) {
+            this.delegate = delegate;
+            this.bytesWritten = bytesWritten;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            bytesWritten.increment();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            bytesWritten.add(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
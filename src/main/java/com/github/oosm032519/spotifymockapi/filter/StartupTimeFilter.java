@@ -0,0 +1,134 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 起動時間を計測するフィルター。
+ * <p>
+ * プロセスの開始から起動完了 (ApplicationReadyEvent) まで、および最初の /mock/** のレスポンスまでの時間を
+ * spotify.mock.startup.ready / spotify.mock.startup.first-response として記録し、
+ * 最初のレスポンスの後に AOT・CDS・Bean の遅延初期化の使用有無とともにログに出力する。
+ * 非同期処理を開始したリクエスト (ストリーミング、レイテンシ注入) は非同期処理の完了時点をレスポンスの時刻とする。
+ * 最初のレスポンスの記録後は URI の判定より前にフィルターの処理を省略する。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimeFilter extends OncePerRequestFilter implements ApplicationListener<ApplicationReadyEvent> {
+
+    public static final String READY_GAUGE = "spotify.mock.startup.ready";
+    public static final String FIRST_RESPONSE_GAUGE = "spotify.mock.startup.first-response";
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Instant processStart;
+    private final boolean lazyInitialization;
+    private final AtomicBoolean firstResponseRecorded = new AtomicBoolean();
+    private volatile long readyMillis = -1;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param meterRegistry      メトリクスの登録先
+     * @param lazyInitialization Bean を遅延初期化しているか (spring.main.lazy-initialization)
+     */
+    @Autowired
+    public StartupTimeFilter(MeterRegistry meterRegistry, @Value("${spring.main.lazy-initialization:false}") boolean lazyInitialization) {
+        this(meterRegistry, lazyInitialization, ProcessHandle.current().info().startInstant().orElseGet(Instant::now));
+    }
+
+    StartupTimeFilter(MeterRegistry meterRegistry, boolean lazyInitialization, Instant processStart) {
+        this.meterRegistry = meterRegistry;
+        this.lazyInitialization = lazyInitialization;
+        this.processStart = processStart;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        readyMillis = elapsedMillis();
+        TimeGauge.builder(READY_GAUGE, this, TimeUnit.MILLISECONDS, filter -> filter.readyMillis)
+                .description("Time from process start until the application is ready")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return firstResponseRecorded.get() || !request.getRequestURI().startsWith("/mock/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() { // ストリーミングや遅延注入のレスポンスは完了時点で記録する
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        recordIfFirst();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this); // 再ディスパッチ後に非同期処理を再開した場合もリスナーを引き継ぐ
+                    }
+                });
+            } else {
+                recordIfFirst();
+            }
+        }
+    }
+
+    private void recordIfFirst() {
+        if (firstResponseRecorded.compareAndSet(false, true)) {
+            recordFirstResponse(elapsedMillis());
+        }
+    }
+
+    private void recordFirstResponse(long firstResponseMillis) {
+        TimeGauge.builder(FIRST_RESPONSE_GAUGE, () -> firstResponseMillis, TimeUnit.MILLISECONDS)
+                .description("Time from process start until the first mock API response")
+                .register(meterRegistry);
+        boolean cds = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile"));
+        logger.info("Startup report: ready in {} ms, first response in {} ms after process start (aot={}, cds={}, lazy-initialization={})",
+                readyMillis, firstResponseMillis, AotDetector.useGeneratedArtifacts(), cds, lazyInitialization);
+    }
+
+    private long elapsedMillis() {
+        return Duration.between(processStart, Instant.now()).toMillis();
+    }
+}
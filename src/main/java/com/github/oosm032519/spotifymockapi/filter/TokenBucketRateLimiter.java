@@ -0,0 +1,101 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * キーごとのトークンバケットをロックフリーで管理するレートリミッター。
+ * <p>
+ * 各バケットは GCRA (Generic Cell Rate Algorithm) により「理論上の次の到着時刻 (TAT)」1つの long で表現され、
+ * {@link AtomicLong} の CAS で更新する。トークン数と最終補充時刻を別々に持つ実装と異なりロックが不要で、
+ * バケットは {@link ConcurrentHashMap} にストライプされるため、コア数に応じてスケールする。
+ * <p>
+ * TAT が現在時刻以前のバケットは満杯と同じ状態のため、キー数が上限に達した場合はそれらを削除する。
+ * 削除は全バケットの走査となるため、実行は {@value #SWEEP_INTERVAL_NANOS} ナノ秒に1回までとし、
+ * 削除後も上限に達している場合は新しいキーのリクエストを次の削除まで制限する (既存のキーは通常どおり判定する)。
+ */
+public class TokenBucketRateLimiter {
+
+    static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final int maxKeys;
+    private volatile boolean swept;
+    private volatile long nextSweepNanos;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param maxKeys 保持するキー数の上限 (同時に追加されたキーの分だけ超える場合がある)
+     */
+    public TokenBucketRateLimiter(int maxKeys) {
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("maxKeys must be positive: " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * トークンを1つ取得する。
+     *
+     * @param key              バケットのキー
+     * @param intervalNanos    トークン1つが補充される間隔 (ナノ秒)
+     * @param burst            バケットの容量
+     * @param nowNanos         現在時刻 ({@link System#nanoTime()})
+     * @return 取得できた場合は 0、できなかった場合は次のトークンが補充されるまでの時間 (ナノ秒)
+     */
+    public long tryAcquire(String key, long intervalNanos, int burst, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys && !sweep(nowNanos)) {
+                return Math.clamp(nextSweepNanos - nowNanos, 1, SWEEP_INTERVAL_NANOS); // 次の削除まで新しいキーは制限する
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        long tolerance = intervalNanos * burst; // バケットが空になるまでに先行できる時間
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, nowNanos) + intervalNanos;
+            long waitNanos = newTat - nowNanos - tolerance;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 満杯のバケット (TAT が現在時刻以前) を削除する。同時に実行されるのは1スレッドのみで、前回の削除から
+     * {@value #SWEEP_INTERVAL_NANOS} ナノ秒が経過していない場合は実行しない。
+     * 削除と同時に取得されたトークンは失われる (制限が僅かに緩くなる) が、バケットの状態が壊れることはない。
+     *
+     * @return 削除後にキー数が上限を下回った場合は true
+     */
+    private boolean sweep(long nowNanos) {
+        if ((!swept || nowNanos - nextSweepNanos >= 0) && sweeping.compareAndSet(false, true)) {
+            try {
+                buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+                nextSweepNanos = nowNanos + SWEEP_INTERVAL_NANOS;
+                swept = true;
+            } finally {
+                sweeping.set(false);
+            }
+        }
+        return buckets.size() < maxKeys;
+    }
+
+    /**
+     * 保持しているキー数を取得。
+     *
+     * @return キー数
+     */
+    public int getKeyCount() {
+        return buckets.size();
+    }
+}
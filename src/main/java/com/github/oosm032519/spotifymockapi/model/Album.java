@@ -0,0 +1,19 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+/**
+ * アルバムのモックデータ。
+ * href / uri / externalUrls は ID から導出して書き込むため保持しない。
+ *
+ * @param id          アルバムID
+ * @param name        アルバム名
+ * @param artists     アーティストリスト
+ * @param images      画像リスト
+ * @param releaseDate リリース日
+ */
+@JsonSerialize(using = ModelSerializers.AlbumSerializer.class)
+public record Album(String id, String name, List<Artist> artists, List<Image> images, String releaseDate) {
+}
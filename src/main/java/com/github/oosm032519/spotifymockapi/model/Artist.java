@@ -0,0 +1,14 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * アーティストのモックデータ。
+ * href / uri / externalUrls は ID から導出して書き込むため保持しない。
+ *
+ * @param id   アーティストID
+ * @param name アーティスト名
+ */
+@JsonSerialize(using = ModelSerializers.ArtistSerializer.class)
+public record Artist(String id, String name) {
+}
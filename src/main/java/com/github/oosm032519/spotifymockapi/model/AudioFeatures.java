@@ -0,0 +1,27 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * トラックの AudioFeatures のモックデータ。
+ *
+ * @param id               AudioFeatures ID
+ * @param acousticness     アコースティック度
+ * @param danceability     ダンス度
+ * @param energy           エネルギー
+ * @param instrumentalness インスト度
+ * @param liveness         ライブ感
+ * @param loudness         ラウドネス
+ * @param mode             モード (0 または 1)
+ * @param speechiness      スピーチ度
+ * @param tempo            テンポ
+ * @param timeSignature    拍子記号
+ * @param valence          ポジティブ度
+ * @param key              キー
+ * @param durationMs       再生時間 (ミリ秒)
+ */
+@JsonSerialize(using = ModelSerializers.AudioFeaturesSerializer.class)
+public record AudioFeatures(String id, double acousticness, double danceability, double energy, double instrumentalness,
+                            double liveness, double loudness, int mode, double speechiness, double tempo,
+                            int timeSignature, double valence, int key, int durationMs) {
+}
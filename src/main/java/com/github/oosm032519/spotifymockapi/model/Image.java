@@ -0,0 +1,24 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * 画像のモックデータ。
+ *
+ * @param url    画像URL
+ * @param height 画像の高さ (不明な場合は null で、JSON にも出力しない)
+ * @param width  画像の幅 (不明な場合は null で、JSON にも出力しない)
+ */
+@JsonSerialize(using = ModelSerializers.ImageSerializer.class)
+public record Image(String url, Integer height, Integer width) {
+
+    /**
+     * サイズ情報を持たない画像を作成。
+     *
+     * @param url 画像URL
+     * @return 画像
+     */
+    public static Image of(String url) {
+        return new Image(url, null, null);
+    }
+}
@@ -0,0 +1,267 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * モデル (record) を {@link JsonGenerator} に直接書き込むシリアライザー群。
+ * Map ベースのモックデータと同じ JSON 形状を出力し、汎用の Map シリアライザーやリフレクションを経由しない。
+ * ネストしたモデルはシリアライザーの検索を行わずに直接書き込む。
+ */
+public final class ModelSerializers {
+
+    private static final String SPOTIFY_OPEN_URL = "https://open.spotify.com/";
+    private static final String SPOTIFY_API_URL = "https://api.spotify.com/v1/";
+
+    private ModelSerializers() {
+    }
+
+    /**
+     * {@link Artist} のシリアライザー。
+     */
+    public static final class ArtistSerializer extends StdSerializer<Artist> {
+
+        public ArtistSerializer() {
+            super(Artist.class);
+        }
+
+        @Override
+        public void serialize(Artist artist, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeArtist(artist, generator);
+        }
+    }
+
+    /**
+     * {@link Image} のシリアライザー。
+     */
+    public static final class ImageSerializer extends StdSerializer<Image> {
+
+        public ImageSerializer() {
+            super(Image.class);
+        }
+
+        @Override
+        public void serialize(Image image, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeImage(image, generator);
+        }
+    }
+
+    /**
+     * {@link Album} のシリアライザー。
+     */
+    public static final class AlbumSerializer extends StdSerializer<Album> {
+
+        public AlbumSerializer() {
+            super(Album.class);
+        }
+
+        @Override
+        public void serialize(Album album, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeAlbum(album, generator);
+        }
+    }
+
+    /**
+     * {@link Track} のシリアライザー。
+     */
+    public static final class TrackSerializer extends StdSerializer<Track> {
+
+        public TrackSerializer() {
+            super(Track.class);
+        }
+
+        @Override
+        public void serialize(Track track, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName("album");
+            writeAlbum(track.album(), generator);
+            generator.writeFieldName("artists");
+            writeArtists(track.artists(), generator);
+            writeEmptyArrayField("availableMarkets", generator);
+            generator.writeNumberField("discNumber", track.discNumber());
+            generator.writeNumberField("durationMs", track.durationMs());
+            generator.writeBooleanField("explicit", track.explicit());
+            generator.writeObjectFieldStart("externalIds");
+            generator.writeStringField("isrc", track.isrc());
+            generator.writeEndObject();
+            writeExternalUrls(SPOTIFY_OPEN_URL + "track/" + track.id(), generator);
+            generator.writeStringField("href", SPOTIFY_API_URL + "tracks/" + track.id());
+            generator.writeStringField("id", track.id());
+            generator.writeBooleanField("isPlayable", track.isPlayable());
+            generator.writeNullField("linkedFrom");
+            generator.writeNullField("restrictions");
+            generator.writeStringField("name", track.name());
+            generator.writeNumberField("popularity", track.popularity());
+            generator.writeStringField("previewUrl", track.previewUrl());
+            generator.writeNumberField("trackNumber", track.trackNumber());
+            generator.writeStringField("type", "TRACK");
+            generator.writeStringField("uri", "spotify:track:" + track.id());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * {@link Owner} のシリアライザー。
+     */
+    public static final class OwnerSerializer extends StdSerializer<Owner> {
+
+        public OwnerSerializer() {
+            super(Owner.class);
+        }
+
+        @Override
+        public void serialize(Owner owner, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeOwner(owner, generator);
+        }
+    }
+
+    /**
+     * {@link Playlist} のシリアライザー。
+     */
+    public static final class PlaylistSerializer extends StdSerializer<Playlist> {
+
+        public PlaylistSerializer() {
+            super(Playlist.class);
+        }
+
+        @Override
+        public void serialize(Playlist playlist, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", playlist.id());
+            generator.writeStringField("name", playlist.name());
+            if (playlist.description() != null) {
+                generator.writeStringField("description", playlist.description());
+            }
+            generator.writeObjectFieldStart("tracks");
+            generator.writeNumberField("total", playlist.trackTotal());
+            generator.writeEndObject();
+            generator.writeFieldName("images");
+            writeImages(playlist.images(), generator);
+            writeExternalUrls(SPOTIFY_OPEN_URL + "playlist/" + playlist.id(), generator);
+            generator.writeFieldName("owner");
+            writeOwner(playlist.owner(), generator);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * {@link AudioFeatures} のシリアライザー。
+     */
+    public static final class AudioFeaturesSerializer extends StdSerializer<AudioFeatures> {
+
+        public AudioFeaturesSerializer() {
+            super(AudioFeatures.class);
+        }
+
+        @Override
+        public void serialize(AudioFeatures audioFeatures, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("acousticness", audioFeatures.acousticness());
+            generator.writeNumberField("danceability", audioFeatures.danceability());
+            generator.writeNumberField("energy", audioFeatures.energy());
+            generator.writeNumberField("instrumentalness", audioFeatures.instrumentalness());
+            generator.writeNumberField("liveness", audioFeatures.liveness());
+            generator.writeNumberField("loudness", audioFeatures.loudness());
+            generator.writeNumberField("mode", audioFeatures.mode());
+            generator.writeNumberField("speechiness", audioFeatures.speechiness());
+            generator.writeNumberField("tempo", audioFeatures.tempo());
+            generator.writeNumberField("timeSignature", audioFeatures.timeSignature());
+            generator.writeNumberField("valence", audioFeatures.valence());
+            generator.writeNumberField("key", audioFeatures.key());
+            generator.writeNumberField("durationMs", audioFeatures.durationMs());
+            generator.writeStringField("id", audioFeatures.id());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeArtist(Artist artist, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeExternalUrls(SPOTIFY_OPEN_URL + "artist/" + artist.id(), generator);
+        generator.writeStringField("href", SPOTIFY_API_URL + "artists/" + artist.id());
+        generator.writeStringField("id", artist.id());
+        generator.writeStringField("name", artist.name());
+        generator.writeStringField("type", "ARTIST");
+        generator.writeStringField("uri", "spotify:artist:" + artist.id());
+        generator.writeEndObject();
+    }
+
+    private static void writeArtists(List<Artist> artists, JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        for (Artist artist : artists) {
+            writeArtist(artist, generator);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeImage(Image image, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (image.height() != null) {
+            generator.writeNumberField("height", image.height());
+        }
+        generator.writeStringField("url", image.url());
+        if (image.width() != null) {
+            generator.writeNumberField("width", image.width());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeImages(List<Image> images, JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        for (Image image : images) {
+            writeImage(image, generator);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeAlbum(Album album, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("albumType", "ALBUM");
+        generator.writeFieldName("artists");
+        writeArtists(album.artists(), generator);
+        writeEmptyArrayField("availableMarkets", generator);
+        writeExternalUrls(SPOTIFY_OPEN_URL + "album/" + album.id(), generator);
+        generator.writeStringField("href", SPOTIFY_API_URL + "albums/" + album.id());
+        generator.writeStringField("id", album.id());
+        generator.writeFieldName("images");
+        writeImages(album.images(), generator);
+        generator.writeStringField("name", album.name());
+        generator.writeStringField("releaseDate", album.releaseDate());
+        generator.writeStringField("releaseDatePrecision", "DAY");
+        generator.writeStringField("type", "ALBUM");
+        generator.writeStringField("uri", "spotify:album:" + album.id());
+        generator.writeEndObject();
+    }
+
+    private static void writeOwner(Owner owner, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("displayName", owner.displayName());
+        if (owner.id() != null) {
+            generator.writeStringField("id", owner.id());
+            generator.writeStringField("type", "USER");
+            writeExternalUrls(SPOTIFY_OPEN_URL + "user/" + owner.id(), generator);
+            generator.writeStringField("href", SPOTIFY_API_URL + "users/" + owner.id());
+            generator.writeStringField("uri", "spotify:user:" + owner.id());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Map ベースのモックデータと同じ {"externalUrls": {"externalUrls": {"spotify": url}}} の形状で書き込む。
+     */
+    private static void writeExternalUrls(String spotifyUrl, JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("externalUrls");
+        generator.writeObjectFieldStart("externalUrls");
+        generator.writeStringField("spotify", spotifyUrl);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private static void writeEmptyArrayField(String fieldName, JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart(fieldName);
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * プレイリストのオーナー (ユーザー) のモックデータ。
+ * ID が null の場合は displayName のみを書き込む。
+ *
+ * @param id          ユーザーID
+ * @param displayName 表示名
+ */
+@JsonSerialize(using = ModelSerializers.OwnerSerializer.class)
+public record Owner(String id, String displayName) {
+}
@@ -0,0 +1,20 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+/**
+ * プレイリストのモックデータ。
+ * externalUrls は ID から導出して書き込むため保持しない。
+ *
+ * @param id          プレイリストID
+ * @param name        プレイリスト名
+ * @param description 説明文 (null の場合は JSON に出力しない)
+ * @param trackTotal  トラック数
+ * @param images      画像リスト
+ * @param owner       オーナー
+ */
+@JsonSerialize(using = ModelSerializers.PlaylistSerializer.class)
+public record Playlist(String id, String name, String description, int trackTotal, List<Image> images, Owner owner) {
+}
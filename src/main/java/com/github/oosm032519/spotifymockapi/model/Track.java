@@ -0,0 +1,27 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+/**
+ * トラックのモックデータ。
+ * href / uri / externalUrls は ID から導出して書き込むため保持しない。
+ *
+ * @param id          トラックID
+ * @param name        トラック名
+ * @param album       アルバム
+ * @param artists     アーティストリスト
+ * @param discNumber  ディスク番号
+ * @param durationMs  再生時間 (ミリ秒)
+ * @param explicit    露骨な表現を含むかどうか
+ * @param isrc        ISRC コード
+ * @param isPlayable  再生可能かどうか
+ * @param popularity  人気度
+ * @param previewUrl  プレビューURL
+ * @param trackNumber トラック番号
+ */
+@JsonSerialize(using = ModelSerializers.TrackSerializer.class)
+public record Track(String id, String name, Album album, List<Artist> artists, int discNumber, int durationMs,
+                    boolean explicit, String isrc, boolean isPlayable, int popularity, String previewUrl, int trackNumber) {
+}
@@ -0,0 +1,244 @@
+package com.github.oosm032519.spotifymockapi.recording;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 記録したレスポンスを保持する追記専用のストア。
+ * <p>
+ * レスポンスは1つのファイル ({@value #FILE_NAME}) に以下の形式で追記する。
+ * <pre>
+ * [int マジック][int キーの長さ][キー (UTF-8)][int ステータス][int Content-Type の長さ (null は -1)][Content-Type][long ボディの長さ][ボディ]
+ * </pre>
+ * 開く際にファイルのヘッダー部分だけを走査して、キーとボディの位置のインデックスを作成する (ボディは読まない)。
+ * 同じキーを複数回記録した場合は最後の記録が有効となる。書き込み途中で終了した末尾の不完全な記録は無視し、
+ * 書き込み可能で開いた場合は切り詰める。
+ * <p>
+ * ボディはファイル上の位置で参照し、{@link FileChannel#transferTo} で転送するためヒープにコピーしない。
+ */
+public class RecordingStore implements Closeable {
+
+    public static final String FILE_NAME = "recordings.dat";
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingStore.class);
+
+    private static final int MAGIC = 0x52524543; // "RREC"
+
+    /**
+     * 記録したレスポンスの位置。
+     *
+     * @param status      ステータスコード
+     * @param contentType Content-Type (無い場合は null)
+     * @param bodyOffset  ファイル上のボディの開始位置
+     * @param bodyLength  ボディのバイト数
+     */
+    public record Entry(int status, String contentType, long bodyOffset, long bodyLength) {
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final boolean writable;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private long size; // 追記位置 (writeLock で保護)
+
+    private RecordingStore(Path file, FileChannel channel, boolean writable) {
+        this.file = file;
+        this.channel = channel;
+        this.writable = writable;
+    }
+
+    /**
+     * ストアを開く。
+     *
+     * @param directory 記録を保存するディレクトリ
+     * @param writable  追記するか (false の場合は読み取り専用で開き、ファイルが無ければ空のストアとなる)
+     * @return ストア
+     * @throws IOException ファイルを開けない場合
+     */
+    public static RecordingStore open(Path directory, boolean writable) throws IOException {
+        Path file = directory.resolve(FILE_NAME).toAbsolutePath();
+        if (writable) {
+            Files.createDirectories(directory);
+        } else if (!Files.isRegularFile(file)) {
+            logger.warn("Recording store {} does not exist; nothing to replay", file);
+            return new RecordingStore(file, null, false);
+        }
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        RecordingStore store = new RecordingStore(file, channel, writable);
+        store.load();
+        return store;
+    }
+
+    /**
+     * 記録したレスポンスを取得。
+     *
+     * @param key 正規化したリクエストのキー
+     * @return 記録 (無い場合は空)
+     */
+    public Optional<Entry> find(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    /**
+     * レスポンスを追記する。
+     *
+     * @param key         正規化したリクエストのキー
+     * @param status      ステータスコード
+     * @param contentType Content-Type (無い場合は null)
+     * @param body        ボディ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void append(String key, int status, String contentType, byte[] body) throws IOException {
+        if (!writable) {
+            throw new IllegalStateException("Recording store is read-only: " + file);
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] contentTypeBytes = contentType == null ? null : contentType.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(4 * Integer.BYTES + keyBytes.length + (contentTypeBytes == null ? 0 : contentTypeBytes.length) + Long.BYTES);
+        header.putInt(MAGIC).putInt(keyBytes.length).put(keyBytes).putInt(status);
+        if (contentTypeBytes == null) {
+            header.putInt(-1);
+        } else {
+            header.putInt(contentTypeBytes.length).put(contentTypeBytes);
+        }
+        header.putLong(body.length).flip();
+        ByteBuffer bodyBuffer = ByteBuffer.wrap(body);
+
+        writeLock.lock();
+        try {
+            long position = size;
+            long bodyOffset = position + header.remaining();
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+            while (bodyBuffer.hasRemaining()) {
+                position += channel.write(bodyBuffer, position);
+            }
+            size = position;
+            entries.put(key, new Entry(status, contentType, bodyOffset, body.length)); // 書き込み完了後に公開する
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 記録したボディを転送する。転送先がソケットの場合はカーネル内でコピーされる。
+     *
+     * @param entry  記録
+     * @param target 転送先
+     * @throws IOException 転送に失敗した場合
+     */
+    public void transferBody(Entry entry, WritableByteChannel target) throws IOException {
+        long end = entry.bodyOffset() + entry.bodyLength();
+        for (long position = entry.bodyOffset(); position < end; ) {
+            position += channel.transferTo(position, end - position, target);
+        }
+    }
+
+    /**
+     * 記録を保存しているファイルを取得。
+     *
+     * @return ファイルの絶対パス
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 記録しているキーの数を取得。
+     *
+     * @return キーの数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (channel != null && channel.isOpen()) { // フィルターは Tomcat と Spring の両方から破棄される
+                if (writable) {
+                    channel.force(true);
+                }
+                channel.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * ファイルのヘッダー部分を走査してインデックスを作成する。
+     */
+    private void load() throws IOException {
+        long fileSize = channel.size();
+        long position = 0;
+        try {
+            while (position < fileSize) {
+                ByteBuffer prefix = read(position, 2 * Integer.BYTES, fileSize);
+                if (prefix.getInt() != MAGIC) {
+                    logger.warn("Corrupt record at offset {} in {}; ignoring the rest of the file", position, file);
+                    break;
+                }
+                int keyLength = prefix.getInt();
+                String key = new String(read(position + 8, keyLength, fileSize).array(), StandardCharsets.UTF_8);
+                long next = position + 8 + keyLength;
+                ByteBuffer statusAndType = read(next, 2 * Integer.BYTES, fileSize);
+                int status = statusAndType.getInt();
+                int contentTypeLength = statusAndType.getInt();
+                next += 8;
+                String contentType = null;
+                if (contentTypeLength >= 0) {
+                    contentType = new String(read(next, contentTypeLength, fileSize).array(), StandardCharsets.UTF_8);
+                    next += contentTypeLength;
+                }
+                long bodyLength = read(next, Long.BYTES, fileSize).getLong();
+                long bodyOffset = next + Long.BYTES;
+                if (bodyLength < 0 || bodyOffset + bodyLength > fileSize) {
+                    throw new EOFException("Truncated body");
+                }
+                entries.put(key, new Entry(status, contentType, bodyOffset, bodyLength));
+                position = bodyOffset + bodyLength;
+            }
+        } catch (EOFException e) {
+            logger.warn("Ignoring incomplete record at offset {} in {}", position, file);
+        }
+        if (writable && position < fileSize) {
+            channel.truncate(position); // 不完全な記録の後ろに追記しないように切り詰める
+        }
+        size = position;
+        logger.info("Loaded {} recorded response(s) from {}", entries.size(), file);
+    }
+
+    private ByteBuffer read(long position, int length, long fileSize) throws IOException {
+        if (length < 0 || position + length > fileSize) {
+            throw new EOFException("Truncated record");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated record");
+            }
+        }
+        return buffer.flip();
+    }
+}
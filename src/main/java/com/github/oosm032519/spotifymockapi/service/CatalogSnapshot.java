@@ -0,0 +1,384 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.github.oosm032519.spotifymockapi.model.Album;
+import com.github.oosm032519.spotifymockapi.model.Artist;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.model.Image;
+import com.github.oosm032519.spotifymockapi.model.Track;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * メモリマップしたバイナリスナップショットからカタログ (プレイリスト・トラック・AudioFeatures) を読み込むリーダー。
+ * <p>
+ * スナップショットは {@link CatalogSnapshotWriter} で作成する。ファイルはヘッダーと以下のセクションで構成され、
+ * 各セクションを {@link FileChannel#map} で読み取り専用にマップする。
+ * <ul>
+ *     <li>文字列テーブル: [int 長さ][UTF-8 バイト列] の並び。各レコードは文字列をこのテーブル内のオフセット (null は -1) で参照する</li>
+ *     <li>固定長レコード: プレイリスト、プレイリストのトラック (トラックレコードの位置)、トラック、アーティスト、画像、AudioFeatures</li>
+ *     <li>ハッシュインデックス: ID のハッシュ値でプレイリストと AudioFeatures のレコード位置を引くオープンアドレス法のテーブル</li>
+ * </ul>
+ * 開く際に行うのはヘッダーの読み込みとマップだけで、カタログをヒープ上のオブジェクトに展開しない。
+ * 参照のたびに要求されたエンティティのレコードだけをマップ上から読み込んでモデルを組み立てる。
+ * 各セクションの上限は 2GB。
+ */
+@Component
+public class CatalogSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    static final int MAGIC = 0x534D4353; // "SMCS"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 24 + Section.values().length * 16;
+    static final int NULL_REF = -1;
+
+    // プレイリスト: id, name, ownerId, ownerName, trackTotal, tracksStart, tracksCount
+    static final int PLAYLIST_BYTES = 7 * Integer.BYTES;
+    // トラック: id, name, albumId, albumName, releaseDate, isrc, previewUrl, artistsStart, artistsCount,
+    // albumArtistsStart, albumArtistsCount, imagesStart, imagesCount, discNumber, durationMs, popularity, trackNumber, flags
+    static final int TRACK_BYTES = 18 * Integer.BYTES;
+    // アーティスト: id, name
+    static final int ARTIST_BYTES = 2 * Integer.BYTES;
+    // 画像: url, height, width (サイズ不明は -1)
+    static final int IMAGE_BYTES = 3 * Integer.BYTES;
+    // AudioFeatures: trackId, id, 9つの double, mode, timeSignature, key, durationMs
+    static final int AUDIO_FEATURES_BYTES = 2 * Integer.BYTES + 9 * Double.BYTES + 4 * Integer.BYTES;
+    static final int PLAYLIST_TRACK_BYTES = Integer.BYTES;
+    static final int INDEX_SLOT_BYTES = Integer.BYTES;
+
+    static final int FLAG_EXPLICIT = 1;
+    static final int FLAG_PLAYABLE = 1 << 1;
+
+    /**
+     * スナップショットのセクション。ヘッダーにはこの順でセクションのオフセットと長さが格納される。
+     */
+    enum Section {
+        STRINGS, PLAYLISTS, PLAYLIST_TRACKS, TRACKS, ARTISTS, IMAGES, AUDIO_FEATURES, PLAYLIST_INDEX, AUDIO_FEATURES_INDEX
+    }
+
+    /**
+     * マップ済みのスナップショット。
+     *
+     * @param createdAt 作成日時 (バージョンの算出に使用)
+     * @param sections  セクションごとのマップ済みバッファ
+     */
+    private record Mapped(long createdAt, ByteBuffer[] sections) {
+
+        private static final Mapped EMPTY = new Mapped(0, emptySections());
+
+        private ByteBuffer section(Section section) {
+            return sections[section.ordinal()];
+        }
+
+        private static ByteBuffer[] emptySections() {
+            ByteBuffer[] sections = new ByteBuffer[Section.values().length];
+            for (int i = 0; i < sections.length; i++) {
+                sections[i] = ByteBuffer.allocate(0);
+            }
+            return sections;
+        }
+    }
+
+    private final Path path;
+    private volatile Mapped mapped;
+    private final ReentrantLock mappedLock = new ReentrantLock();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param path スナップショットのファイルパス (spotify.mock-api.snapshot.path、空の場合は使用しない)
+     */
+    public CatalogSnapshot(@Value("${spotify.mock-api.snapshot.path:}") String path) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path.trim());
+        this.mapped = this.path == null ? Mapped.EMPTY : null; // 使用する場合は最初の参照時にマップする
+    }
+
+    /**
+     * スナップショットを使用するかどうか。
+     *
+     * @return spotify.mock-api.snapshot.path が設定されている場合は true
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * スナップショットのファイルパスを取得。
+     *
+     * @return ファイルパス (使用しない場合は null)
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * スナップショットを開き直す。{@link CatalogSnapshotWriter} でファイルを置き換えた後に呼び出す。
+     * 開き直すまでは置き換え前のファイルのマップが使用される。
+     */
+    public void refresh() {
+        if (path != null) {
+            mappedLock.lock();
+            try {
+                mapped = open(path);
+            } finally {
+                mappedLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * スナップショットのプレイリスト詳細を取得。
+     *
+     * @param playlistId プレイリストID
+     * @return プレイリスト詳細 (Map 形式、スナップショットに無い場合は空)
+     */
+    public Optional<Map<String, Object>> findPlaylistDetails(String playlistId) {
+        Mapped snapshot = mapped();
+        int playlist = findRecord(snapshot, Section.PLAYLIST_INDEX, Section.PLAYLISTS, PLAYLIST_BYTES, playlistId);
+        if (playlist < 0) {
+            return Optional.empty();
+        }
+        ByteBuffer playlists = snapshot.section(Section.PLAYLISTS);
+        int base = playlist * PLAYLIST_BYTES;
+        Map<String, Object> details = new HashMap<>();
+        details.put("playlistName", string(snapshot, playlists.getInt(base + 4)));
+        details.put("owner", Map.of("id", string(snapshot, playlists.getInt(base + 8)), "displayName", string(snapshot, playlists.getInt(base + 12))));
+        details.put("tracks", Map.of("total", playlists.getInt(base + 16)));
+        return Optional.of(details);
+    }
+
+    /**
+     * スナップショットのプレイリストトラックリストを取得。
+     *
+     * @param playlistId プレイリストID
+     * @return トラックリスト (スナップショットに無い場合は空)
+     */
+    public Optional<List<Track>> findPlaylistTracks(String playlistId) {
+        Mapped snapshot = mapped();
+        int playlist = findRecord(snapshot, Section.PLAYLIST_INDEX, Section.PLAYLISTS, PLAYLIST_BYTES, playlistId);
+        if (playlist < 0) {
+            return Optional.empty();
+        }
+        ByteBuffer playlists = snapshot.section(Section.PLAYLISTS);
+        ByteBuffer playlistTracks = snapshot.section(Section.PLAYLIST_TRACKS);
+        int start = playlists.getInt(playlist * PLAYLIST_BYTES + 20);
+        int count = playlists.getInt(playlist * PLAYLIST_BYTES + 24);
+        List<Track> tracks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tracks.add(track(snapshot, playlistTracks.getInt((start + i) * PLAYLIST_TRACK_BYTES)));
+        }
+        return Optional.of(tracks);
+    }
+
+    /**
+     * スナップショットの AudioFeatures を取得。
+     *
+     * @param trackId トラックID
+     * @return AudioFeatures (スナップショットに無い場合は空)
+     */
+    public Optional<AudioFeatures> findAudioFeatures(String trackId) {
+        Mapped snapshot = mapped();
+        int record = findRecord(snapshot, Section.AUDIO_FEATURES_INDEX, Section.AUDIO_FEATURES, AUDIO_FEATURES_BYTES, trackId);
+        if (record < 0) {
+            return Optional.empty();
+        }
+        ByteBuffer audioFeatures = snapshot.section(Section.AUDIO_FEATURES);
+        int base = record * AUDIO_FEATURES_BYTES;
+        int doubles = base + 8;
+        int ints = doubles + 9 * Double.BYTES;
+        return Optional.of(new AudioFeatures(string(snapshot, audioFeatures.getInt(base + 4)),
+                audioFeatures.getDouble(doubles), audioFeatures.getDouble(doubles + 8), audioFeatures.getDouble(doubles + 16),
+                audioFeatures.getDouble(doubles + 24), audioFeatures.getDouble(doubles + 32), audioFeatures.getDouble(doubles + 40),
+                audioFeatures.getInt(ints), audioFeatures.getDouble(doubles + 48), audioFeatures.getDouble(doubles + 56),
+                audioFeatures.getInt(ints + 4), audioFeatures.getDouble(doubles + 64), audioFeatures.getInt(ints + 8), audioFeatures.getInt(ints + 12)));
+    }
+
+    /**
+     * スナップショットのデータのバージョンを取得 (ETag 用)。
+     *
+     * @param category カテゴリ (プレイリスト詳細とトラックリストはプレイリストID、AudioFeatures はトラックIDで引く)
+     * @param id       ID
+     * @return バージョン (スナップショットに無い場合は空)
+     */
+    public OptionalLong findVersion(FixtureRepository.Category category, String id) {
+        Mapped snapshot = mapped();
+        int record = category == FixtureRepository.Category.AUDIO_FEATURES
+                ? findRecord(snapshot, Section.AUDIO_FEATURES_INDEX, Section.AUDIO_FEATURES, AUDIO_FEATURES_BYTES, id)
+                : findRecord(snapshot, Section.PLAYLIST_INDEX, Section.PLAYLISTS, PLAYLIST_BYTES, id);
+        if (record < 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(MockDataGeneratorUtil.mix64(snapshot.createdAt() ^ MockDataGeneratorUtil.hash64(category.getDirectory() + ":" + id) ^ record));
+    }
+
+    /**
+     * スナップショットのプレイリスト数を取得。
+     *
+     * @return プレイリスト数 (使用しない場合は 0)
+     */
+    public int getPlaylistCount() {
+        return mapped().section(Section.PLAYLISTS).capacity() / PLAYLIST_BYTES;
+    }
+
+    /**
+     * スナップショットのトラック数 (重複を除いた数) を取得。
+     *
+     * @return トラック数 (使用しない場合は 0)
+     */
+    public int getTrackCount() {
+        return mapped().section(Section.TRACKS).capacity() / TRACK_BYTES;
+    }
+
+    private Mapped mapped() {
+        Mapped snapshot = mapped;
+        if (snapshot == null) {
+            mappedLock.lock();
+            try {
+                if (mapped == null) {
+                    mapped = open(path);
+                }
+                snapshot = mapped;
+            } finally {
+                mappedLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    private static Mapped open(Path path) {
+        if (!Files.isRegularFile(path)) {
+            logger.warn("Catalog snapshot {} does not exist; using generated data", path);
+            return Mapped.EMPTY;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_BYTES, channel.size()));
+            if (header.capacity() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IllegalStateException("Not a catalog snapshot: " + path);
+            }
+            if (header.getInt(4) != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported catalog snapshot version " + header.getInt(4) + ": " + path);
+            }
+            ByteBuffer[] sections = new ByteBuffer[Section.values().length];
+            for (Section section : Section.values()) {
+                long offset = header.getLong(24 + section.ordinal() * 16);
+                long length = header.getLong(32 + section.ordinal() * 16);
+                if (length > Integer.MAX_VALUE || offset + length > channel.size()) {
+                    throw new IllegalStateException("Corrupt catalog snapshot section " + section + ": " + path);
+                }
+                sections[section.ordinal()] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length); // マップはチャネルを閉じた後も有効
+            }
+            Mapped snapshot = new Mapped(header.getLong(8), sections);
+            logger.info("Mapped catalog snapshot {} ({} playlists, {} tracks, {} bytes)", path,
+                    snapshot.section(Section.PLAYLISTS).capacity() / PLAYLIST_BYTES, snapshot.section(Section.TRACKS).capacity() / TRACK_BYTES, channel.size());
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map catalog snapshot " + path, e);
+        }
+    }
+
+    /**
+     * ハッシュインデックスから ID のレコード位置を引く。ID はレコードの先頭に文字列参照として格納されている。
+     *
+     * @return レコード位置 (見つからない場合は -1)
+     */
+    private static int findRecord(Mapped snapshot, Section indexSection, Section recordSection, int recordBytes, String id) {
+        ByteBuffer index = snapshot.section(indexSection);
+        int slots = index.capacity() / INDEX_SLOT_BYTES;
+        if (slots == 0) {
+            return -1;
+        }
+        ByteBuffer records = snapshot.section(recordSection);
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int mask = slots - 1; // スロット数は2のべき乗
+        for (int slot = (int) MockDataGeneratorUtil.hash64(id) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index.getInt(slot * INDEX_SLOT_BYTES);
+            if (entry == 0) {
+                return -1;
+            }
+            int record = entry - 1; // 0 は空きスロットを表すため、レコード位置 + 1 が格納されている
+            if (stringEquals(snapshot, records.getInt(record * recordBytes), idBytes)) {
+                return record;
+            }
+        }
+    }
+
+    private static Track track(Mapped snapshot, int record) {
+        ByteBuffer tracks = snapshot.section(Section.TRACKS);
+        int base = record * TRACK_BYTES;
+        Album album = new Album(string(snapshot, tracks.getInt(base + 8)), string(snapshot, tracks.getInt(base + 12)),
+                artists(snapshot, tracks.getInt(base + 36), tracks.getInt(base + 40)), images(snapshot, tracks.getInt(base + 44), tracks.getInt(base + 48)),
+                string(snapshot, tracks.getInt(base + 16)));
+        int flags = tracks.getInt(base + 68);
+        return new Track(string(snapshot, tracks.getInt(base)), string(snapshot, tracks.getInt(base + 4)), album,
+                artists(snapshot, tracks.getInt(base + 28), tracks.getInt(base + 32)), tracks.getInt(base + 52), tracks.getInt(base + 56),
+                (flags & FLAG_EXPLICIT) != 0, string(snapshot, tracks.getInt(base + 20)), (flags & FLAG_PLAYABLE) != 0,
+                tracks.getInt(base + 60), string(snapshot, tracks.getInt(base + 24)), tracks.getInt(base + 64));
+    }
+
+    private static List<Artist> artists(Mapped snapshot, int start, int count) {
+        ByteBuffer artists = snapshot.section(Section.ARTISTS);
+        List<Artist> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int base = (start + i) * ARTIST_BYTES;
+            result.add(new Artist(string(snapshot, artists.getInt(base)), string(snapshot, artists.getInt(base + 4))));
+        }
+        return result;
+    }
+
+    private static List<Image> images(Mapped snapshot, int start, int count) {
+        ByteBuffer images = snapshot.section(Section.IMAGES);
+        List<Image> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int base = (start + i) * IMAGE_BYTES;
+            int height = images.getInt(base + 4);
+            int width = images.getInt(base + 8);
+            result.add(new Image(string(snapshot, images.getInt(base)), height < 0 ? null : height, width < 0 ? null : width));
+        }
+        return result;
+    }
+
+    private static String string(Mapped snapshot, int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        ByteBuffer strings = snapshot.section(Section.STRINGS);
+        byte[] bytes = new byte[strings.getInt(ref)];
+        strings.get(ref + Integer.BYTES, bytes); // 絶対位置の読み込みのため、複数スレッドから同時に参照できる
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean stringEquals(Mapped snapshot, int ref, byte[] expected) {
+        if (ref == NULL_REF) {
+            return false;
+        }
+        ByteBuffer strings = snapshot.section(Section.STRINGS);
+        if (strings.getInt(ref) != expected.length) {
+            return false;
+        }
+        int base = ref + Integer.BYTES;
+        for (int i = 0; i < expected.length; i++) {
+            if (strings.get(base + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.model.Track;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 起動時に現在のカタログ (フィクスチャと生成データ) を {@link CatalogSnapshot} 形式で書き出すランナー。
+ * <p>
+ * spotify.mock-api.snapshot.dump=true の場合に有効となり、カタログの全プレイリストの詳細とトラックリスト、
+ * およびそれらに含まれる全トラックの AudioFeatures を各サービス経由で取得して spotify.mock-api.snapshot.path に書き込む。
+ * 書き込み後はスナップショットを開き直し、以降のリクエストはスナップショットから応答する。
+ */
+@Component
+@ConditionalOnProperty(name = "spotify.mock-api.snapshot.dump", havingValue = "true")
+public class CatalogSnapshotDumper implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotDumper.class);
+
+    private final MockPlaylistService mockPlaylistService;
+    private final MockTrackService mockTrackService;
+    private final PlaylistCatalog playlistCatalog;
+    private final CatalogSnapshot catalogSnapshot;
+    private final int audioFeaturesChunkSize;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param mockPlaylistService    プレイリストモックデータ生成サービス
+     * @param mockTrackService       トラックモックデータ生成サービス
+     * @param playlistCatalog        書き出すプレイリストのカタログ
+     * @param catalogSnapshot        書き出し先のスナップショット
+     * @param audioFeaturesChunkSize AudioFeatures をまとめて取得するトラック数 (spotify.mock-api.audio-features.chunk-size)
+     */
+    public CatalogSnapshotDumper(MockPlaylistService mockPlaylistService, MockTrackService mockTrackService, PlaylistCatalog playlistCatalog,
+                                 CatalogSnapshot catalogSnapshot, @Value("${spotify.mock-api.audio-features.chunk-size:1000}") int audioFeaturesChunkSize) {
+        this.mockPlaylistService = mockPlaylistService;
+        this.mockTrackService = mockTrackService;
+        this.playlistCatalog = playlistCatalog;
+        this.catalogSnapshot = catalogSnapshot;
+        this.audioFeaturesChunkSize = Math.max(audioFeaturesChunkSize, 1);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!catalogSnapshot.isEnabled()) {
+            throw new IllegalStateException("spotify.mock-api.snapshot.path must be set when spotify.mock-api.snapshot.dump=true");
+        }
+        long startNanos = System.nanoTime();
+        dump(catalogSnapshot.getPath());
+        catalogSnapshot.refresh();
+        logger.info("Dumped catalog snapshot {} in {} ms", catalogSnapshot.getPath(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * カタログをスナップショットとして書き出す。
+     *
+     * @param path 出力先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @SuppressWarnings("unchecked")
+    public void dump(Path path) throws IOException {
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(path)) {
+            for (int index = 1; index <= playlistCatalog.getTotalPlaylists(); index++) {
+                String playlistId = MockDataGeneratorUtil.generatePlaylistId(index);
+                Map<String, Object> details = mockPlaylistService.getPlaylistDetailsMockData(playlistId);
+                Map<String, Object> owner = (Map<String, Object>) details.get("owner");
+                Map<String, Object> tracks = (Map<String, Object>) details.get("tracks");
+                List<Track> playlistTracks = mockPlaylistService.getPlaylistTracks(playlistId);
+                writer.addPlaylist(playlistId, (String) details.get("playlistName"), (String) owner.get("id"), (String) owner.get("displayName"),
+                        ((Number) tracks.get("total")).intValue(), playlistTracks);
+            }
+            List<String> trackIds = writer.getTrackIds();
+            for (int start = 0; start < trackIds.size(); start += audioFeaturesChunkSize) {
+                List<String> chunk = trackIds.subList(start, Math.min(start + audioFeaturesChunkSize, trackIds.size()));
+                List<AudioFeatures> audioFeatures = mockTrackService.getAudioFeaturesForTracks(chunk);
+                for (int i = 0; i < chunk.size(); i++) {
+                    writer.addAudioFeatures(chunk.get(i), audioFeatures.get(i));
+                }
+            }
+            writer.commit();
+            logger.info("Wrote {} playlists and {} tracks to catalog snapshot {}", playlistCatalog.getTotalPlaylists(), trackIds.size(), path);
+        }
+    }
+}
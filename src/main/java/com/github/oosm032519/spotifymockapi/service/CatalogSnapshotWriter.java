@@ -0,0 +1,366 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.github.oosm032519.spotifymockapi.model.Artist;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.model.Image;
+import com.github.oosm032519.spotifymockapi.model.Track;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CatalogSnapshot} 形式のバイナリスナップショットを書き込むライター。
+ * <p>
+ * レコードはセクションごとの一時ファイルに順に書き出し、{@link #commit()} でヘッダーとハッシュインデックスを付けて1つのファイルに連結する。
+ * 連結したファイルは出力先にアトミックに移動するため、書き込み中も既存のスナップショットはそのまま参照できる。
+ * 文字列・アーティストリスト・画像リスト・トラックは重複を除いて書き込み、プレイリストのトラックリストは
+ * 既に書き込んだリストの先頭部分と一致する場合はその範囲を共有する (生成データではすべてのプレイリストが1つの範囲を共有する)。
+ * <p>
+ * スレッドセーフではない。
+ */
+public class CatalogSnapshotWriter implements Closeable {
+
+    private final Path target;
+    private final Path workDirectory;
+    private final Map<CatalogSnapshot.Section, SectionOutput> outputs = new EnumMap<>(CatalogSnapshot.Section.class);
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+    private final Map<String, Integer> trackIndexes = new HashMap<>();
+    private final Map<List<Artist>, Integer> artistRuns = new HashMap<>();
+    private final Map<List<Image>, Integer> imageRuns = new HashMap<>();
+    private final Map<Integer, Long> playlistTrackRuns = new HashMap<>(); // 先頭のトラック位置 → (開始位置 << 32 | 件数) の最長の範囲
+    private final List<String> trackIds = new ArrayList<>();
+    private int[] playlistTracks = new int[64];
+    private int playlistTrackCount;
+    private long[] playlistHashes = new long[64];
+    private int playlistCount;
+    private long[] audioFeaturesHashes = new long[64];
+    private int audioFeaturesCount;
+    private int artistCount;
+    private int imageCount;
+    private boolean committed;
+
+    /**
+     * 一時ファイルに書き込むセクション。
+     */
+    private static final class SectionOutput {
+
+        private final Path file;
+        private final DataOutputStream out;
+
+        private SectionOutput(Path file) throws IOException {
+            this.file = file;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        }
+    }
+
+    /**
+     * コンストラクタ。出力先と同じディレクトリに作業用の一時ディレクトリを作成する。
+     *
+     * @param target スナップショットの出力先
+     * @throws IOException 一時ファイルの作成に失敗した場合
+     */
+    public CatalogSnapshotWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        Files.createDirectories(this.target.getParent());
+        this.workDirectory = Files.createTempDirectory(this.target.getParent(), this.target.getFileName() + ".");
+        for (CatalogSnapshot.Section section : List.of(CatalogSnapshot.Section.STRINGS, CatalogSnapshot.Section.PLAYLISTS, CatalogSnapshot.Section.TRACKS,
+                CatalogSnapshot.Section.ARTISTS, CatalogSnapshot.Section.IMAGES, CatalogSnapshot.Section.AUDIO_FEATURES)) {
+            outputs.put(section, new SectionOutput(workDirectory.resolve(section.name().toLowerCase() + ".bin")));
+        }
+    }
+
+    /**
+     * プレイリストを追加する。同じIDのプレイリストを複数追加した場合は最初のものが参照される。
+     *
+     * @param playlistId       プレイリストID
+     * @param name             プレイリスト名
+     * @param ownerId          オーナーID
+     * @param ownerDisplayName オーナーの表示名
+     * @param trackTotal       プレイリスト詳細のトラック総数
+     * @param tracks           トラックリスト
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void addPlaylist(String playlistId, String name, String ownerId, String ownerDisplayName, int trackTotal, List<Track> tracks) throws IOException {
+        int[] trackRecords = new int[tracks.size()];
+        for (int i = 0; i < trackRecords.length; i++) {
+            trackRecords[i] = trackRecord(tracks.get(i));
+        }
+        long run = playlistTrackRun(trackRecords);
+
+        DataOutputStream out = outputs.get(CatalogSnapshot.Section.PLAYLISTS).out;
+        out.writeInt(stringRef(playlistId));
+        out.writeInt(stringRef(name));
+        out.writeInt(stringRef(ownerId));
+        out.writeInt(stringRef(ownerDisplayName));
+        out.writeInt(trackTotal);
+        out.writeInt((int) (run >>> 32));
+        out.writeInt((int) run);
+        playlistHashes = append(playlistHashes, playlistCount++, MockDataGeneratorUtil.hash64(playlistId));
+    }
+
+    /**
+     * トラックの AudioFeatures を追加する。
+     *
+     * @param trackId       トラックID (参照時のキー)
+     * @param audioFeatures AudioFeatures
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void addAudioFeatures(String trackId, AudioFeatures audioFeatures) throws IOException {
+        DataOutputStream out = outputs.get(CatalogSnapshot.Section.AUDIO_FEATURES).out;
+        out.writeInt(stringRef(trackId));
+        out.writeInt(stringRef(audioFeatures.id()));
+        out.writeDouble(audioFeatures.acousticness());
+        out.writeDouble(audioFeatures.danceability());
+        out.writeDouble(audioFeatures.energy());
+        out.writeDouble(audioFeatures.instrumentalness());
+        out.writeDouble(audioFeatures.liveness());
+        out.writeDouble(audioFeatures.loudness());
+        out.writeDouble(audioFeatures.speechiness());
+        out.writeDouble(audioFeatures.tempo());
+        out.writeDouble(audioFeatures.valence());
+        out.writeInt(audioFeatures.mode());
+        out.writeInt(audioFeatures.timeSignature());
+        out.writeInt(audioFeatures.key());
+        out.writeInt(audioFeatures.durationMs());
+        audioFeaturesHashes = append(audioFeaturesHashes, audioFeaturesCount++, MockDataGeneratorUtil.hash64(trackId));
+    }
+
+    /**
+     * これまでに追加したプレイリストに含まれるトラックIDを取得 (重複なし、追加順)。
+     *
+     * @return トラックIDのリスト
+     */
+    public List<String> getTrackIds() {
+        return trackIds;
+    }
+
+    /**
+     * セクションを連結してスナップショットを出力先に書き込む。
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void commit() throws IOException {
+        for (SectionOutput output : outputs.values()) {
+            output.out.close();
+        }
+        Map<CatalogSnapshot.Section, ByteBuffer> generated = new EnumMap<>(CatalogSnapshot.Section.class);
+        ByteBuffer playlistTrackBuffer = ByteBuffer.allocate(playlistTrackCount * CatalogSnapshot.PLAYLIST_TRACK_BYTES);
+        playlistTrackBuffer.asIntBuffer().put(playlistTracks, 0, playlistTrackCount);
+        generated.put(CatalogSnapshot.Section.PLAYLIST_TRACKS, playlistTrackBuffer);
+        generated.put(CatalogSnapshot.Section.PLAYLIST_INDEX, hashIndex(playlistHashes, playlistCount));
+        generated.put(CatalogSnapshot.Section.AUDIO_FEATURES_INDEX, hashIndex(audioFeaturesHashes, audioFeaturesCount));
+
+        Path snapshot = workDirectory.resolve("snapshot.bin");
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_BYTES);
+            header.putInt(CatalogSnapshot.MAGIC).putInt(CatalogSnapshot.FORMAT_VERSION).putLong(System.currentTimeMillis())
+                    .putInt(CatalogSnapshot.Section.values().length).putInt(0);
+            long offset = CatalogSnapshot.HEADER_BYTES;
+            for (CatalogSnapshot.Section section : CatalogSnapshot.Section.values()) {
+                long length = generated.containsKey(section) ? generated.get(section).capacity() : Files.size(outputs.get(section).file);
+                if (length > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Catalog snapshot section " + section + " exceeds 2GB");
+                }
+                header.putLong(offset).putLong(length);
+                offset += length;
+            }
+            channel.write(header.flip());
+            for (CatalogSnapshot.Section section : CatalogSnapshot.Section.values()) {
+                if (generated.containsKey(section)) {
+                    channel.write(generated.get(section));
+                } else {
+                    try (FileChannel source = FileChannel.open(outputs.get(section).file, StandardOpenOption.READ)) {
+                        long size = source.size();
+                        for (long position = 0; position < size; ) {
+                            position += source.transferTo(position, size - position, channel);
+                        }
+                    }
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(snapshot, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    /**
+     * 作業用の一時ファイルを削除する。{@link #commit()} せずに閉じた場合はスナップショットを書き込まない。
+     *
+     * @throws IOException 削除に失敗した場合
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            for (SectionOutput output : outputs.values()) {
+                output.out.close();
+            }
+        }
+        try (var files = Files.list(workDirectory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(workDirectory);
+    }
+
+    private int trackRecord(Track track) throws IOException {
+        Integer existing = trackIndexes.get(track.id());
+        if (existing != null) {
+            return existing;
+        }
+        int artistsStart = artistRun(track.artists());
+        int albumArtistsStart = track.album().artists().equals(track.artists()) ? artistsStart : artistRun(track.album().artists());
+        int imagesStart = imageRun(track.album().images());
+
+        DataOutputStream out = outputs.get(CatalogSnapshot.Section.TRACKS).out;
+        out.writeInt(stringRef(track.id()));
+        out.writeInt(stringRef(track.name()));
+        out.writeInt(stringRef(track.album().id()));
+        out.writeInt(stringRef(track.album().name()));
+        out.writeInt(stringRef(track.album().releaseDate()));
+        out.writeInt(stringRef(track.isrc()));
+        out.writeInt(stringRef(track.previewUrl()));
+        out.writeInt(artistsStart);
+        out.writeInt(track.artists().size());
+        out.writeInt(albumArtistsStart);
+        out.writeInt(track.album().artists().size());
+        out.writeInt(imagesStart);
+        out.writeInt(track.album().images().size());
+        out.writeInt(track.discNumber());
+        out.writeInt(track.durationMs());
+        out.writeInt(track.popularity());
+        out.writeInt(track.trackNumber());
+        out.writeInt((track.explicit() ? CatalogSnapshot.FLAG_EXPLICIT : 0) | (track.isPlayable() ? CatalogSnapshot.FLAG_PLAYABLE : 0));
+
+        int index = trackIds.size();
+        trackIds.add(track.id());
+        trackIndexes.put(track.id(), index);
+        return index;
+    }
+
+    private int artistRun(List<Artist> artists) throws IOException {
+        Integer existing = artistRuns.get(artists);
+        if (existing != null) {
+            return existing;
+        }
+        DataOutputStream out = outputs.get(CatalogSnapshot.Section.ARTISTS).out;
+        int start = artistCount;
+        for (Artist artist : artists) {
+            out.writeInt(stringRef(artist.id()));
+            out.writeInt(stringRef(artist.name()));
+        }
+        artistCount += artists.size();
+        artistRuns.put(List.copyOf(artists), start);
+        return start;
+    }
+
+    private int imageRun(List<Image> images) throws IOException {
+        Integer existing = imageRuns.get(images);
+        if (existing != null) {
+            return existing;
+        }
+        DataOutputStream out = outputs.get(CatalogSnapshot.Section.IMAGES).out;
+        int start = imageCount;
+        for (Image image : images) {
+            out.writeInt(stringRef(image.url()));
+            out.writeInt(image.height() == null ? -1 : image.height());
+            out.writeInt(image.width() == null ? -1 : image.width());
+        }
+        imageCount += images.size();
+        imageRuns.put(List.copyOf(images), start);
+        return start;
+    }
+
+    /**
+     * トラックリストをプレイリストのトラックのセクションに追加し、(開始位置 << 32 | 件数) を返す。
+     * 同じトラックから始まる既存の最長の範囲の先頭部分と一致する場合は、追加せずにその範囲を共有する。
+     */
+    private long playlistTrackRun(int[] trackRecords) {
+        if (trackRecords.length == 0) {
+            return 0;
+        }
+        Long longest = playlistTrackRuns.get(trackRecords[0]);
+        if (longest != null) {
+            int start = (int) (longest >>> 32);
+            int length = (int) (long) longest;
+            if (trackRecords.length <= length && Arrays.equals(playlistTracks, start, start + trackRecords.length, trackRecords, 0, trackRecords.length)) {
+                return (long) start << 32 | trackRecords.length;
+            }
+        }
+        int start = playlistTrackCount;
+        if (playlistTracks.length < start + trackRecords.length) {
+            playlistTracks = Arrays.copyOf(playlistTracks, Math.max(playlistTracks.length * 2, start + trackRecords.length));
+        }
+        System.arraycopy(trackRecords, 0, playlistTracks, start, trackRecords.length);
+        playlistTrackCount += trackRecords.length;
+        long run = (long) start << 32 | trackRecords.length;
+        if (longest == null || trackRecords.length > (int) (long) longest) {
+            playlistTrackRuns.put(trackRecords[0], run);
+        }
+        return run;
+    }
+
+    private int stringRef(String value) throws IOException {
+        if (value == null) {
+            return CatalogSnapshot.NULL_REF;
+        }
+        Integer existing = stringRefs.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        DataOutputStream out = outputs.get(CatalogSnapshot.Section.STRINGS).out;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int ref = out.size();
+        if (ref < 0 || (long) ref + Integer.BYTES + bytes.length > Integer.MAX_VALUE) { // DataOutputStream#size は 2GB で飽和する
+            throw new IllegalStateException("Catalog snapshot string table exceeds 2GB");
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        stringRefs.put(value, ref);
+        return ref;
+    }
+
+    /**
+     * ID のハッシュ値からオープンアドレス法のインデックスを作成する。スロット数は件数の2倍以上の2のべき乗。
+     * 各スロットにはレコード位置 + 1 を格納し、0 は空きスロットを表す。
+     */
+    private static ByteBuffer hashIndex(long[] hashes, int count) {
+        if (count == 0) {
+            return ByteBuffer.allocate(0);
+        }
+        int slots = Integer.highestOneBit(Math.max(count * 2 - 1, 1)) << 1;
+        int mask = slots - 1;
+        int[] table = new int[slots];
+        for (int record = 0; record < count; record++) {
+            int slot = (int) hashes[record] & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = record + 1;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(slots * CatalogSnapshot.INDEX_SLOT_BYTES);
+        buffer.asIntBuffer().put(table);
+        return buffer;
+    }
+
+    private static long[] append(long[] array, int index, long value) {
+        long[] result = index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+        result[index] = value;
+        return result;
+    }
+}
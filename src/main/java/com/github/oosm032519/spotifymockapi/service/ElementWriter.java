@@ -0,0 +1,20 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import java.io.IOException;
+
+/**
+ * ストリーミングレスポンスで、生成したモックデータを1件ずつ書き込むライター。
+ *
+ * @param <T> 書き込む要素の型
+ */
+@FunctionalInterface
+public interface ElementWriter<T> {
+
+    /**
+     * 要素を1件書き込む。
+     *
+     * @param element 書き込む要素
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void write(T element) throws IOException;
+}
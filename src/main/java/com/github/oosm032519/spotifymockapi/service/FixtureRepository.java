@@ -0,0 +1,350 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.model.Album;
+import com.github.oosm032519.spotifymockapi.model.Artist;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.model.Image;
+import com.github.oosm032519.spotifymockapi.model.Track;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * spotify.mock-api.data.path 配下の JSON フィクスチャからモックデータを提供するリポジトリ。
+ * <p>
+ * フィクスチャはカテゴリごとのディレクトリ (playlists / playlist_tracks / audio_features) に置かれた *.json ファイルで、
+ * 各ファイルはトップレベルが「ID → データ」のオブジェクトとなる。
+ * <pre>
+ * mock_data/playlists/*.json        {"mockPlaylistId001": {"playlistName": ..., "owner": ..., "tracks": {"total": ...}}, ...}
+ * mock_data/playlist_tracks/*.json  {"mockPlaylistId001": [{トラック}, ...], ...}
+ * mock_data/audio_features/*.json   {"track_id_1": {AudioFeatures}, ...}
+ * </pre>
+ * 起動時にはファイルを読み込まない。カテゴリが最初に参照された時点でストリーミングパーサーでファイルを走査し、
+ * ID ごとに値の開始位置 (ファイルとバイトオフセット) だけを保持するインデックスを作成する。
+ * データ本体は参照のたびにその位置から1件分だけ読み込むため、フィクスチャが大きくてもヒープにはインデックスしか残らない。
+ * フィクスチャに無い ID は {@link CatalogSnapshot} (spotify.mock-api.snapshot.path) から引き、
+ * どちらにも無い場合は空を返して呼び出し元で生成したモックデータにフォールバックする。
+ */
+@Component
+public class FixtureRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixtureRepository.class);
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Map<String, Object>>> LIST_OF_MAP_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * フィクスチャのカテゴリ。
+     */
+    public enum Category {
+        /**
+         * プレイリスト詳細 (プレイリストID → プレイリスト詳細)。
+         */
+        PLAYLISTS("playlists"),
+        /**
+         * プレイリストのトラックリスト (プレイリストID → トラックの配列)。
+         */
+        PLAYLIST_TRACKS("playlist_tracks"),
+        /**
+         * AudioFeatures (トラックID → AudioFeatures)。
+         */
+        AUDIO_FEATURES("audio_features");
+
+        private final String directory;
+
+        Category(String directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * データパスからの相対ディレクトリ名を取得。
+         *
+         * @return ディレクトリ名
+         */
+        public String getDirectory() {
+            return directory;
+        }
+    }
+
+    /**
+     * ID に対応する値の位置。
+     *
+     * @param fileIndex カテゴリ内のファイルの位置
+     * @param offset    ファイル先頭からのバイトオフセット
+     */
+    private record Location(int fileIndex, long offset) {
+    }
+
+    /**
+     * カテゴリごとのインデックス。
+     *
+     * @param files     カテゴリ内のファイル (ファイル名順)
+     * @param locations ID と値の位置のマップ
+     */
+    private record CategoryIndex(List<Resource> files, Map<String, Location> locations) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ResourcePatternResolver resourcePatternResolver;
+    private final String dataPath;
+    private final CatalogSnapshot catalogSnapshot;
+    private final Map<Category, CategoryIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param objectMapper    フィクスチャの読み込みに使用する ObjectMapper
+     * @param resourceLoader  フィクスチャのファイルを解決するリソースローダー
+     * @param dataPath        フィクスチャのディレクトリ (spotify.mock-api.data.path、classpath: / file: 形式)
+     * @param catalogSnapshot フィクスチャに無い ID を引くバイナリスナップショット
+     */
+    public FixtureRepository(ObjectMapper objectMapper, ResourceLoader resourceLoader,
+                             @Value("${spotify.mock-api.data.path:classpath:mock_data}") String dataPath, CatalogSnapshot catalogSnapshot) {
+        this.objectMapper = objectMapper;
+        this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+        this.dataPath = dataPath.endsWith("/") ? dataPath.substring(0, dataPath.length() - 1) : dataPath;
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    /**
+     * フィクスチャのプレイリスト詳細を取得。
+     *
+     * @param playlistId プレイリストID
+     * @return プレイリスト詳細 (Map 形式、フィクスチャとスナップショットのどちらにも無い場合は空)
+     */
+    public Optional<Map<String, Object>> findPlaylistDetails(String playlistId) {
+        Optional<JsonNode> fixture = find(Category.PLAYLISTS, playlistId);
+        return fixture.isPresent() ? fixture.map(node -> objectMapper.convertValue(node, MAP_TYPE)) : catalogSnapshot.findPlaylistDetails(playlistId);
+    }
+
+    /**
+     * フィクスチャのプレイリストトラックリストを取得。
+     *
+     * @param playlistId プレイリストID
+     * @return トラックリスト (Map 形式、フィクスチャとスナップショットのどちらにも無い場合は空)
+     */
+    public Optional<List<Map<String, Object>>> findPlaylistTracks(String playlistId) {
+        Optional<JsonNode> fixture = find(Category.PLAYLIST_TRACKS, playlistId);
+        return fixture.isPresent()
+                ? fixture.map(node -> objectMapper.convertValue(node, LIST_OF_MAP_TYPE))
+                : catalogSnapshot.findPlaylistTracks(playlistId).map(tracks -> objectMapper.convertValue(tracks, LIST_OF_MAP_TYPE)); // record の JSON は Map 形式と同じ形状
+    }
+
+    /**
+     * フィクスチャのプレイリストトラックリストを record モデルで取得。
+     * href / uri / externalUrls などモデルが ID から導出する項目は読み込まない。
+     *
+     * @param playlistId プレイリストID
+     * @return トラックリスト (フィクスチャとスナップショットのどちらにも無い場合は空)
+     */
+    public Optional<List<Track>> findPlaylistTrackRecords(String playlistId) {
+        Optional<JsonNode> fixture = find(Category.PLAYLIST_TRACKS, playlistId);
+        return fixture.isPresent() ? fixture.map(node -> {
+            List<Track> tracks = new ArrayList<>(node.size());
+            node.forEach(track -> tracks.add(toTrack(track)));
+            return tracks;
+        }) : catalogSnapshot.findPlaylistTracks(playlistId);
+    }
+
+    /**
+     * フィクスチャの AudioFeatures を取得。
+     *
+     * @param trackId トラックID
+     * @return AudioFeatures (Map 形式、フィクスチャとスナップショットのどちらにも無い場合は空)
+     */
+    public Optional<Map<String, Object>> findAudioFeatures(String trackId) {
+        Optional<JsonNode> fixture = find(Category.AUDIO_FEATURES, trackId);
+        return fixture.isPresent()
+                ? fixture.map(node -> objectMapper.convertValue(node, MAP_TYPE))
+                : catalogSnapshot.findAudioFeatures(trackId).map(audioFeatures -> objectMapper.convertValue(audioFeatures, MAP_TYPE));
+    }
+
+    /**
+     * フィクスチャの AudioFeatures を record モデルで取得。
+     *
+     * @param trackId トラックID
+     * @return AudioFeatures (フィクスチャとスナップショットのどちらにも無い場合は空)
+     */
+    public Optional<AudioFeatures> findAudioFeaturesRecord(String trackId) {
+        Optional<JsonNode> fixture = find(Category.AUDIO_FEATURES, trackId);
+        return fixture.isPresent() ? fixture.map(FixtureRepository::toAudioFeatures) : catalogSnapshot.findAudioFeatures(trackId);
+    }
+
+    /**
+     * フィクスチャのデータのバージョンを取得 (ETag 用)。
+     * フィクスチャは実行中に変更されない前提のため、値の位置から算出する。
+     *
+     * @param category カテゴリ
+     * @param id       ID
+     * @return バージョン (フィクスチャとスナップショットのどちらにも無い場合は空)
+     */
+    public OptionalLong findVersion(Category category, String id) {
+        Location location = index(category).locations().get(id);
+        if (location == null) {
+            return catalogSnapshot.findVersion(category, id);
+        }
+        long version = MockDataGeneratorUtil.hash64(category.getDirectory() + ":" + id) ^ ((long) location.fileIndex() << 40) ^ location.offset();
+        return OptionalLong.of(MockDataGeneratorUtil.mix64(version));
+    }
+
+    /**
+     * カテゴリ内のフィクスチャの件数を取得。未作成の場合はインデックスを作成する。
+     *
+     * @param category カテゴリ
+     * @return ID の数
+     */
+    public int size(Category category) {
+        return index(category).locations().size();
+    }
+
+    /**
+     * ID に対応するフィクスチャの値を読み込む。
+     *
+     * @param category カテゴリ
+     * @param id       ID
+     * @return 値 (フィクスチャとスナップショットのどちらにも無い場合は空)
+     */
+    Optional<JsonNode> find(Category category, String id) {
+        CategoryIndex index = index(category);
+        Location location = index.locations().get(id);
+        if (location == null) {
+            return Optional.empty();
+        }
+        Resource file = index.files().get(location.fileIndex());
+        try (InputStream inputStream = openAt(file, location.offset());
+             JsonParser parser = objectMapper.createParser(inputStream)) {
+            parser.nextToken();
+            return Optional.of(objectMapper.readTree(parser));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture " + id + " from " + file.getDescription(), e);
+        }
+    }
+
+    private CategoryIndex index(Category category) {
+        CategoryIndex index = indexes.get(category);
+        return index != null ? index : indexes.computeIfAbsent(category, this::buildIndex); // 最初の参照時に1度だけ作成する
+    }
+
+    /**
+     * カテゴリ内の全ファイルをストリーミングパーサーで走査し、ID ごとの値の位置を記録する。
+     * 同じ ID が複数のファイルに定義されている場合は、ファイル名順で先のものを優先する。
+     */
+    private CategoryIndex buildIndex(Category category) {
+        String pattern = dataPath + "/" + category.getDirectory() + "/*.json";
+        List<Resource> files = new ArrayList<>(Arrays.asList(resolve(pattern)));
+        files.sort(Comparator.comparing(file -> String.valueOf(file.getFilename())));
+
+        long startNanos = System.nanoTime();
+        Map<String, Location> locations = new HashMap<>();
+        for (int fileIndex = 0; fileIndex < files.size(); fileIndex++) {
+            indexFile(files.get(fileIndex), fileIndex, locations);
+        }
+        if (!files.isEmpty()) {
+            logger.info("Indexed {} {} fixture(s) from {} file(s) in {} ms", locations.size(), category.getDirectory(), files.size(),
+                    (System.nanoTime() - startNanos) / 1_000_000);
+        }
+        return new CategoryIndex(List.copyOf(files), locations);
+    }
+
+    private Resource[] resolve(String pattern) {
+        try {
+            return resourcePatternResolver.getResources(pattern);
+        } catch (FileNotFoundException e) {
+            logger.debug("No fixtures found for {}", pattern);
+            return new Resource[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resolve fixtures " + pattern, e);
+        }
+    }
+
+    private void indexFile(Resource file, int fileIndex, Map<String, Location> locations) {
+        try (InputStream inputStream = file.getInputStream();
+             JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Fixture file must be a JSON object keyed by ID: " + file.getDescription());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String id = parser.currentName();
+                parser.nextToken();
+                locations.putIfAbsent(id, new Location(fileIndex, parser.currentTokenLocation().getByteOffset()));
+                parser.skipChildren(); // 値の中身はインデックス作成時には読まない
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to index fixture file " + file.getDescription(), e);
+        }
+    }
+
+    /**
+     * ファイルを指定したバイトオフセットから読み込むストリームを開く。
+     * ファイルシステム上のファイルはシークし、それ以外 (jar 内のリソースなど) は先頭から読み飛ばす。
+     */
+    private static InputStream openAt(Resource file, long offset) throws IOException {
+        if (file.isFile()) {
+            FileChannel channel = FileChannel.open(file.getFile().toPath(), StandardOpenOption.READ);
+            channel.position(offset);
+            return Channels.newInputStream(channel);
+        }
+        InputStream inputStream = file.getInputStream();
+        inputStream.skipNBytes(offset);
+        return inputStream;
+    }
+
+    private static Track toTrack(JsonNode node) {
+        JsonNode album = node.path("album");
+        return new Track(node.path("id").asText(), node.path("name").asText(), new Album(album.path("id").asText(), album.path("name").asText(),
+                toArtists(album.path("artists")), toImages(album.path("images")), album.path("releaseDate").asText()),
+                toArtists(node.path("artists")), node.path("discNumber").asInt(1), node.path("durationMs").asInt(),
+                node.path("explicit").asBoolean(), node.path("externalIds").path("isrc").asText(null), node.path("isPlayable").asBoolean(true),
+                node.path("popularity").asInt(), node.path("previewUrl").asText(null), node.path("trackNumber").asInt());
+    }
+
+    private static List<Artist> toArtists(JsonNode nodes) {
+        List<Artist> artists = new ArrayList<>(nodes.size());
+        nodes.forEach(artist -> artists.add(new Artist(artist.path("id").asText(), artist.path("name").asText())));
+        return artists;
+    }
+
+    private static List<Image> toImages(JsonNode nodes) {
+        List<Image> images = new ArrayList<>(nodes.size());
+        nodes.forEach(image -> images.add(new Image(image.path("url").asText(),
+                image.hasNonNull("height") ? image.get("height").asInt() : null,
+                image.hasNonNull("width") ? image.get("width").asInt() : null)));
+        return images;
+    }
+
+    private static AudioFeatures toAudioFeatures(JsonNode node) {
+        return new AudioFeatures(node.path("id").asText(), node.path("acousticness").asDouble(), node.path("danceability").asDouble(),
+                node.path("energy").asDouble(), node.path("instrumentalness").asDouble(), node.path("liveness").asDouble(),
+                node.path("loudness").asDouble(), node.path("mode").asInt(), node.path("speechiness").asDouble(), node.path("tempo").asDouble(),
+                node.path("timeSignature").asInt(), node.path("valence").asDouble(), node.path("key").asInt(), node.path("durationMs").asInt());
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * モックデータ生成処理の所要時間と生成したエンティティ数を記録するメトリクス。
+ * <p>
+ * spotify.mock.generation (タイマー) は生成処理ごと、spotify.mock.generated.entities (カウンター) は
+ * 生成処理とエンティティ種別ごとに記録する。メーターは生成処理ごとに1回だけ登録し、以降は再利用する。
+ */
+@Component
+public class GeneratorMetrics {
+
+    public static final String GENERATION_TIMER = "spotify.mock.generation";
+    public static final String GENERATED_ENTITIES_COUNTER = "spotify.mock.generated.entities";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, GeneratorMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * 生成処理ごとのメーター。
+     */
+    private record GeneratorMeters(Timer timer, Counter entities) {
+    }
+
+    /**
+     * 要素を1件ずつライターに書き込む生成処理。
+     *
+     * @param <E> 要素の型
+     */
+    @FunctionalInterface
+    public interface StreamingGeneration<E> {
+
+        void generate(ElementWriter<E> writer) throws IOException;
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param meterRegistry メトリクスの登録先
+     */
+    public GeneratorMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 生成処理を実行し、所要時間と生成したエンティティ数を記録する。
+     *
+     * @param generator   生成処理の名前 (generator タグ)
+     * @param entityType  エンティティ種別 (type タグ)
+     * @param generation  生成処理
+     * @param entityCount 生成結果からエンティティ数を求める関数
+     * @param <T>         生成結果の型
+     * @return 生成結果
+     */
+    public <T> T record(String generator, String entityType, Supplier<T> generation, ToIntFunction<? super T> entityCount) {
+        GeneratorMeters generatorMeters = metersFor(generator, entityType);
+        long start = System.nanoTime();
+        T result = generation.get();
+        generatorMeters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        generatorMeters.entities().increment(entityCount.applyAsInt(result));
+        return result;
+    }
+
+    /**
+     * 要素を1件ずつ書き込む生成処理を実行し、所要時間と書き込んだ要素数を記録する。
+     * 所要時間にはライターへの書き込み (クライアントへの送信) の時間も含まれる。
+     *
+     * @param generator  生成処理の名前 (generator タグ)
+     * @param entityType エンティティ種別 (type タグ)
+     * @param writer     生成した要素を書き込むライター
+     * @param generation 生成処理
+     * @param <E>        要素の型
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public <E> void recordStreaming(String generator, String entityType, ElementWriter<? super E> writer, StreamingGeneration<E> generation) throws IOException {
+        GeneratorMeters generatorMeters = metersFor(generator, entityType);
+        long[] count = new long[1];
+        long start = System.nanoTime();
+        try {
+            generation.generate(element -> {
+                writer.write(element);
+                count[0]++;
+            });
+        } finally {
+            generatorMeters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            generatorMeters.entities().increment(count[0]);
+        }
+    }
+
+    private GeneratorMeters metersFor(String generator, String entityType) {
+        GeneratorMeters generatorMeters = meters.get(generator);
+        if (generatorMeters == null) {
+            generatorMeters = meters.computeIfAbsent(generator, name -> new GeneratorMeters(
+                    Timer.builder(GENERATION_TIMER)
+                            .tag("generator", name)
+                            .description("Time spent generating mock data")
+                            .register(meterRegistry),
+                    Counter.builder(GENERATED_ENTITIES_COUNTER)
+                            .tag("generator", name)
+                            .tag("type", entityType)
+                            .description("The number of generated mock entities")
+                            .register(meterRegistry)));
+        }
+        return generatorMeters;
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * アーティストのジャンルをビットマスクで決定するエンジン。
+ * <p>
+ * 起動時に語彙 (ジャンルと人気度の重み) から {@value #SLOT_COUNT} 個のスロットを持つ表を作成し、各スロットに
+ * ジャンル数 (minPerArtist〜maxPerArtist の一様分布) と重み付きの重複なし抽出で選んだジャンルのビットマスクを割り当てる。
+ * アーティストごとの処理はアーティストIDのハッシュ値からスロットを引くだけであり、乱数生成器やリストを生成しない。
+ * 同じビットマスクのジャンルリストは共有の不変リスト (語彙の順) に集約するため、大量のアーティストIDでも割り当てが増えない。
+ * <p>
+ * 表はグローバルシードから作成するため、deterministic モードでは同じシードのレプリカ間で同じジャンルとなる。
+ * random モードではスロットを呼び出しごとにランダムに選択する。
+ */
+@Component
+public class GenreEngine {
+
+    static final String DEFAULT_VOCABULARY = "Rock,Pop,Jazz,Hip Hop,Electronic,Classical,Country,Blues,Reggae,Metal";
+    static final int SLOT_COUNT = 1 << 16;
+    static final int MAX_VOCABULARY_SIZE = Long.SIZE;
+
+    private static final Logger logger = LoggerFactory.getLogger(GenreEngine.class);
+    private static final String ENTITY_TYPE = "artist-genres";
+
+    private final MockRandomSource mockRandomSource;
+    private final List<String> vocabulary;
+    private final long[] slotMasks = new long[SLOT_COUNT];
+    @SuppressWarnings({"unchecked", "rawtypes"}) // ジェネリクスの配列は生成できないため raw 型で生成する (要素は List<String> のみ格納する)
+    private final List<String>[] slotGenres = new List[SLOT_COUNT];
+
+    /**
+     * コンストラクタ。
+     *
+     * @param mockRandomSource 生成モードとシードの提供元
+     * @param vocabulary       ジャンルの語彙 ("ジャンル名" または "ジャンル名:重み" のリスト、spotify.mock-api.genres.vocabulary)
+     * @param minPerArtist     1アーティストあたりのジャンル数の下限 (spotify.mock-api.genres.min-per-artist)
+     * @param maxPerArtist     1アーティストあたりのジャンル数の上限 (spotify.mock-api.genres.max-per-artist)
+     */
+    public GenreEngine(MockRandomSource mockRandomSource,
+                       @Value("${spotify.mock-api.genres.vocabulary:" + DEFAULT_VOCABULARY + "}") List<String> vocabulary,
+                       @Value("${spotify.mock-api.genres.min-per-artist:1}") int minPerArtist,
+                       @Value("${spotify.mock-api.genres.max-per-artist:3}") int maxPerArtist) {
+        this.mockRandomSource = mockRandomSource;
+        List<String> names = new ArrayList<>(vocabulary.size());
+        double[] weights = new double[vocabulary.size()];
+        for (String entry : vocabulary) {
+            parseEntry(entry.trim(), names, weights);
+        }
+        if (names.isEmpty() || names.size() > MAX_VOCABULARY_SIZE) {
+            throw new IllegalArgumentException("spotify.mock-api.genres.vocabulary must contain 1 to " + MAX_VOCABULARY_SIZE + " genres: " + names.size());
+        }
+        if (minPerArtist < 1 || maxPerArtist < minPerArtist || maxPerArtist > names.size()) {
+            throw new IllegalArgumentException("Genres per artist must satisfy 1 <= min <= max <= vocabulary size: min=" + minPerArtist + ", max=" + maxPerArtist);
+        }
+        this.vocabulary = List.copyOf(names);
+        int distinctMasks = buildSlots(weights, minPerArtist, maxPerArtist);
+        logger.info("Genre engine initialised: {} genres, {}-{} per artist, {} distinct genre sets", names.size(), minPerArtist, maxPerArtist, distinctMasks);
+    }
+
+    /**
+     * アーティストのジャンルのビットマスクを取得。ビット i は語彙の i 番目のジャンルを表す。
+     *
+     * @param artistId アーティストID
+     * @return ジャンルのビットマスク
+     */
+    public long genreMask(String artistId) {
+        return slotMasks[slot(artistId)];
+    }
+
+    /**
+     * アーティストのジャンルリストを取得。
+     *
+     * @param artistId アーティストID
+     * @return ジャンルリスト (語彙の順、共有の不変リスト)
+     */
+    public List<String> genres(String artistId) {
+        return slotGenres[slot(artistId)];
+    }
+
+    /**
+     * ジャンルの語彙を取得。
+     *
+     * @return ジャンル名のリスト (ビットの順)
+     */
+    public List<String> getVocabulary() {
+        return vocabulary;
+    }
+
+    private int slot(String artistId) {
+        long hash = mockRandomSource.isDeterministic()
+                ? mockRandomSource.entityHash(ENTITY_TYPE, artistId)
+                : ThreadLocalRandom.current().nextLong();
+        return (int) (hash >>> (Long.SIZE - Integer.numberOfTrailingZeros(SLOT_COUNT)));
+    }
+
+    private static void parseEntry(String entry, List<String> names, double[] weights) {
+        int separator = entry.lastIndexOf(':');
+        String name = separator < 0 ? entry : entry.substring(0, separator).trim();
+        double weight = separator < 0 ? 1.0 : Double.parseDouble(entry.substring(separator + 1).trim());
+        if (name.isEmpty() || !(weight > 0.0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Invalid genre vocabulary entry: " + entry);
+        }
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Duplicate genre in vocabulary: " + name);
+        }
+        weights[names.size()] = weight;
+        names.add(name);
+    }
+
+    /**
+     * スロットの表を作成する。
+     *
+     * @return 異なるジャンルの組み合わせの数
+     */
+    private int buildSlots(double[] weights, int minPerArtist, int maxPerArtist) {
+        SplittableRandom random = new SplittableRandom(MockDataGeneratorUtil.mix64(mockRandomSource.getSeed() ^ MockDataGeneratorUtil.hash64(ENTITY_TYPE)));
+        int genreCount = vocabulary.size();
+        double[] remainingWeights = new double[genreCount];
+        Map<Long, List<String>> interned = new HashMap<>();
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            System.arraycopy(weights, 0, remainingWeights, 0, genreCount);
+            double remainingTotal = sum(weights, genreCount);
+            int count = minPerArtist + random.nextInt(maxPerArtist - minPerArtist + 1);
+            long mask = 0L;
+            for (int picked = 0; picked < count; picked++) {
+                int genre = pickWeighted(remainingWeights, random.nextDouble() * remainingTotal);
+                mask |= 1L << genre;
+                remainingTotal -= remainingWeights[genre];
+                remainingWeights[genre] = 0.0; // 選択済みのジャンルは以降の抽出から除外する
+            }
+            slotMasks[slot] = mask;
+            slotGenres[slot] = interned.computeIfAbsent(mask, this::toGenreList);
+        }
+        return interned.size();
+    }
+
+    private static int pickWeighted(double[] weights, double target) {
+        int last = -1;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0.0) {
+                last = i;
+                target -= weights[i];
+                if (target < 0.0) {
+                    return i;
+                }
+            }
+        }
+        return last; // 浮動小数点の誤差で末尾を超えた場合
+    }
+
+    private static double sum(double[] values, int length) {
+        double total = 0.0;
+        for (int i = 0; i < length; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+
+    private List<String> toGenreList(long mask) {
+        List<String> genres = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            genres.add(vocabulary.get(Long.numberOfTrailingZeros(remaining)));
+        }
+        return List.copyOf(genres);
+    }
+}
@@ -4,7 +4,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * アーティスト関連のモックデータ生成サービス。
@@ -14,34 +16,25 @@ public class MockArtistService {
 
     private static final Logger logger = LoggerFactory.getLogger(MockArtistService.class);
 
+    private final GenreEngine genreEngine;
+
+    public MockArtistService(GenreEngine genreEngine) {
+        this.genreEngine = genreEngine;
+    }
+
     /**
      * 複数のアーティストIDからジャンルリストのモックデータを取得。
      *
      * @param artistIds アーティストIDのリスト
-     * @return アーティストIDとジャンルリストのマップ (Map 形式)
+     * @return アーティストIDとジャンルリストのマップ (Map 形式、ジャンルリストは共有の不変リスト)
      */
     public Map<String, List<String>> getArtistGenresMockData(List<String> artistIds) {
-        logger.info("getArtistGenresMockData called with artistIds: {}", artistIds);
+        logger.debug("getArtistGenresMockData called with {} artistIds", artistIds.size());
 
-        Map<String, List<String>> artistGenres = new HashMap<>(); // アーティストIDとジャンルリストのマップを初期化
-        List<String> availableGenres = Arrays.asList("Rock", "Pop", "Jazz", "Hip Hop", "Electronic", "Classical", "Country", "Blues", "Reggae", "Metal"); // 利用可能なジャンルリスト
-        Random random = new Random(); // 乱数生成器
-
-        // 各アーティストIDに対してジャンルを生成
+        Map<String, List<String>> artistGenres = HashMap.newHashMap(artistIds.size()); // 再ハッシュが起きないように要素数から容量を決める
         for (String artistId : artistIds) {
-            List<String> genres = new ArrayList<>(); // ジャンルリストを初期化
-            int numGenres = random.nextInt(3) + 1; // 1アーティストあたり1〜3個のジャンルをランダムに決定
-            // ジャンルをランダムに選択してリストに追加 (重複なし)
-            for (int i = 0; i < numGenres; i++) {
-                String genre = availableGenres.get(random.nextInt(availableGenres.size())); // ランダムにジャンルを選択
-                if (!genres.contains(genre)) { // 重複チェック
-                    genres.add(genre); // ジャンルリストに追加
-                }
-            }
-            artistGenres.put(artistId, genres); // アーティストIDとジャンルリストをマップに追加
+            artistGenres.put(artistId, genreEngine.genres(artistId)); // ジャンルはアーティストIDのハッシュ値から決定
         }
-
-        logger.info("Returning mock data for artist genres: {}", artistGenres);
         return artistGenres;
     }
 }
@@ -29,6 +29,9 @@ public class MockDataGeneratorUtil {
     public static final String RECOMMENDATION_ARTIST_ID_PREFIX = "recommendation_artist_id_";
     public static final String AUDIO_FEATURES_ID_PREFIX = "audio_features_";
 
+    public static final String[] PLAYLIST_MOODS = {"Chill", "Upbeat", "Mellow", "Energetic", "Focus", "Party", "Relaxing", "Dark", "Happy", "Melancholy", "Romantic", "Workout"};
+    public static final String[] PLAYLIST_GENRES = {"Rock", "Pop", "Jazz", "Hip Hop", "Electronic", "Classical", "Country", "Blues", "Reggae", "Metal"};
+
 
     /**
      * プレイリストIDの末尾3桁を数値として抽出するヘルパー関数。
@@ -49,26 +52,99 @@ public class MockDataGeneratorUtil {
         }
     }
 
+    /**
+     * プレイリストIDの末尾の数字列をインデックスとして抽出するヘルパー関数。
+     * 末尾3桁に限定しないため、999 を超える仮想カタログのIDも扱える。
+     *
+     * @param playlistId プレイリストID
+     * @return 末尾の数字列の数値 (数字で終わらない場合や int に収まらない場合は 0)
+     */
+    public static int getPlaylistIndex(String playlistId) {
+        int end = playlistId.length();
+        int start = end;
+        while (start > 0 && Character.isDigit(playlistId.charAt(start - 1))) {
+            start--; // 末尾から数字が続く範囲を探索
+        }
+        if (start == end) {
+            return 0; // 数字で終わらない場合
+        }
+        try {
+            return Integer.parseInt(playlistId, start, end, 10);
+        } catch (NumberFormatException e) {
+            logger.error("Error parsing playlist ID: {}", playlistId, e); // int に収まらない場合
+            return 0;
+        }
+    }
+
     /**
      * インデックスからプレイリストIDを生成するヘルパーメソッド。
      *
      * @param index インデックス
-     * @return 生成されたプレイリストID (例: mockPlaylistId001)
+     * @return 生成されたプレイリストID (例: mockPlaylistId001, mockPlaylistId1000000)
      */
     public static String generatePlaylistId(int index) {
-        return String.format(PLAYLIST_ID_PREFIX + "%03d", index); // インデックスを3桁のゼロ埋め文字列としてフォーマット
+        String digits = Integer.toString(index);
+        if (index < 0 || digits.length() >= 3) {
+            return PLAYLIST_ID_PREFIX + digits;
+        }
+        return PLAYLIST_ID_PREFIX + "000".substring(digits.length()) + digits; // インデックスを3桁のゼロ埋め文字列としてフォーマット (String.format を避ける)
     }
 
     /**
      * プレイリストIDからプレイリスト名を生成するヘルパーメソッド。
      *
      * @param playlistId プレイリストID
-     * @return 生成されたプレイリスト名 (例: Mock Playlist 001)
+     * @return 生成されたプレイリスト名 (例: Mock Playlist 001, Mock Playlist 1000000)
      */
     public static String generatePlaylistName(String playlistId) {
+        if (playlistId.startsWith(PLAYLIST_ID_PREFIX)) {
+            return PLAYLIST_NAME_PREFIX + playlistId.substring(PLAYLIST_ID_PREFIX.length()); // プレフィックス以降の番号を名前に使用
+        }
         return PLAYLIST_NAME_PREFIX + playlistId.substring(playlistId.length() - 3); // プレイリストIDの末尾3桁を名前に使用
     }
 
+    /**
+     * インデックスから検索用のプレイリスト説明文を生成するヘルパーメソッド。
+     * ムードとジャンルはインデックスのハッシュ値から決定されるため、同じインデックスからは常に同じ説明文が生成される。
+     *
+     * @param index インデックス
+     * @return 生成された説明文 (例: Search Playlist 1 Description: Chill Jazz)
+     */
+    public static String generatePlaylistDescription(int index) {
+        long hash = mix64(index);
+        String mood = PLAYLIST_MOODS[(int) Math.floorMod(hash, (long) PLAYLIST_MOODS.length)];
+        String genre = PLAYLIST_GENRES[(int) Math.floorMod(hash >>> 32, (long) PLAYLIST_GENRES.length)];
+        return "Search Playlist " + index + " Description: " + mood + " " + genre;
+    }
+
+    /**
+     * 文字列 (エンティティIDなど) の 64bit ハッシュ値を計算するヘルパー関数。
+     * FNV-1a で文字列を畳み込んだ後に mix64 で撹拌する。オブジェクトを生成しない。
+     *
+     * @param value 対象文字列
+     * @return 64bit ハッシュ値
+     */
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    /**
+     * 64bit 値を撹拌するハッシュ関数 (SplittableRandom と同じ mix64)。
+     *
+     * @param value 入力値
+     * @return 撹拌された 64bit 値
+     */
+    public static long mix64(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
     /**
      * プレフィックスとインデックスからユーザーIDを生成するヘルパーメソッド。
      *
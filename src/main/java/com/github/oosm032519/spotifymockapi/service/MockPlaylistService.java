@@ -1,24 +1,32 @@
 package com.github.oosm032519.spotifymockapi.service;
 
+import com.github.oosm032519.spotifymockapi.model.Album;
+import com.github.oosm032519.spotifymockapi.model.Artist;
+import com.github.oosm032519.spotifymockapi.model.Image;
+import com.github.oosm032519.spotifymockapi.model.Owner;
+import com.github.oosm032519.spotifymockapi.model.Playlist;
+import com.github.oosm032519.spotifymockapi.model.Track;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * プレイリスト関連のモックデータ生成サービス。
+ * プレイリスト詳細とトラックリストは、{@link FixtureRepository} にフィクスチャが定義されている ID についてはフィクスチャを返す。
  */
 @Service
 public class MockPlaylistService {
 
     private static final Logger logger = LoggerFactory.getLogger(MockPlaylistService.class);
 
-    private static final int DEFAULT_TOTAL_PLAYLISTS = MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS;
-    private static final int MAX_TRACKS_PER_PLAYLIST = MockDataGeneratorUtil.MAX_TRACKS_PER_PLAYLIST;
     private static final int DEFAULT_FOLLOWED_PLAYLISTS_COUNT = MockDataGeneratorUtil.DEFAULT_FOLLOWED_PLAYLISTS_COUNT;
 
     private static final String USER_NAME_PREFIX = MockDataGeneratorUtil.USER_NAME_PREFIX;
@@ -27,13 +35,22 @@ public class MockPlaylistService {
     private static final String FOLLOWED_USER_PREFIX = MockDataGeneratorUtil.FOLLOWED_USER_PREFIX;
 
     private final MockTrackService mockTrackService;
+    private final PlaylistCatalog playlistCatalog;
+    private final PlaylistSearchIndex playlistSearchIndex;
+    private final FixtureRepository fixtureRepository;
 
-    public MockPlaylistService(MockTrackService mockTrackService) {
+    public MockPlaylistService(MockTrackService mockTrackService, PlaylistCatalog playlistCatalog, PlaylistSearchIndex playlistSearchIndex,
+                               FixtureRepository fixtureRepository) {
         this.mockTrackService = mockTrackService;
+        this.playlistCatalog = playlistCatalog;
+        this.playlistSearchIndex = playlistSearchIndex;
+        this.fixtureRepository = fixtureRepository;
     }
 
     /**
      * プレイリスト検索のモックデータを取得。
+     * クエリはプレイリスト名と説明文の転置インデックスで評価され、一致したプレイリストがスコア順に返される。
+     * レスポンスの nextCursor を次のリクエストのカーソルとして使用することで、カーソル型のページネーションも可能。
      *
      * @param query  検索クエリ
      * @param offset オフセット (ページネーション用)
@@ -41,41 +58,61 @@ public class MockPlaylistService {
      * @return プレイリスト検索結果のモックデータ (Map 形式)
      */
     public Map<String, Object> getPlaylistSearchMockData(String query, int offset, int limit) {
-        logger.info("getPlaylistSearchMockData called with query: {}, offset: {}, limit: {}", query, offset, limit);
-
-        List<Map<String, Object>> playlists = new ArrayList<>(); // プレイリストのリストを初期化
-        int totalPlaylists = DEFAULT_TOTAL_PLAYLISTS; // モックデータの総プレイリスト数
+        logger.debug("getPlaylistSearchMockData called with query: {}, offset: {}, limit: {}", query, offset, limit);
+
+        int requestedStart = Math.max(offset, 0);
+        int pageSize = Math.max(limit, 0);
+        int totalPlaylists; // クエリに一致した総プレイリスト数
+        int[] rankedIndexes = null; // スコア順のプレイリストインデックス (クエリにトークンが無い場合は null)
+
+        if (PlaylistSearchIndex.tokenize(query).isEmpty()) {
+            totalPlaylists = playlistCatalog.getTotalPlaylists(); // トークンが無い場合は仮想カタログ全体を返す
+        } else {
+            int topK = (int) Math.min((long) requestedStart + pageSize, Integer.MAX_VALUE); // 要求ページの末尾までの上位件数
+            PlaylistSearchIndex.SearchResult searchResult = playlistSearchIndex.search(query, topK);
+            totalPlaylists = searchResult.total();
+            rankedIndexes = searchResult.playlistIndexes();
+        }
 
-        // モックプレイリストデータを生成
-        for (int i = 1; i <= totalPlaylists; i++) {
-            String playlistId = MockDataGeneratorUtil.generatePlaylistId(i); // プレイリストIDを生成
-            String playlistName = MockDataGeneratorUtil.generatePlaylistName(playlistId); // プレイリスト名を生成
-            int trackCount = Math.min(MockDataGeneratorUtil.getLastThreeDigits(playlistId), MAX_TRACKS_PER_PLAYLIST); // トラック数をID末尾3桁と50の小さい方で決定
+        // ページネーション処理 (要求された [offset, offset + limit) の範囲のみを生成する)
+        int start = Math.min(requestedStart, totalPlaylists); // 開始位置を計算
+        int end = (int) Math.min((long) start + pageSize, totalPlaylists); // 終了位置を計算 (int オーバーフロー回避)
 
-            Map<String, Object> playlist = new HashMap<>(); // 各プレイリストのMap
-            playlist.put("id", playlistId);
-            playlist.put("name", playlistName);
-            playlist.put("description", "Search Playlist " + i + " Description");
-            playlist.put("tracks", Map.of("total", trackCount));
-            playlist.put("images", List.of(Map.of("url", "https://picsum.photos/seed/" + i + "/64/64"))); // ランダムな画像URL
-            playlist.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/playlist/" + playlistId)));
-            playlist.put("owner", Map.of("displayName", MockDataGeneratorUtil.generateUserName(USER_NAME_PREFIX, i)));
-            playlists.add(playlist); // 生成したプレイリストをリストに追加
+        List<Map<String, Object>> paginatedPlaylists = new ArrayList<>(end - start); // 要求範囲分のプレイリストリストを初期化
+        for (int position = start; position < end; position++) {
+            int index = rankedIndexes == null ? position + 1 : rankedIndexes[position];
+            paginatedPlaylists.add(createSearchPlaylist(index)); // インデックスから直接プレイリストを生成
         }
 
-        // ページネーション処理
-        int start = Math.min(offset, playlists.size()); // 開始位置を計算
-        int end = Math.min(offset + limit, playlists.size()); // 終了位置を計算
-        List<Map<String, Object>> paginatedPlaylists = playlists.subList(start, end); // リストをサブリストとしてページネーション
-
         Map<String, Object> response = new HashMap<>(); // レスポンス全体のMap
         response.put("playlists", paginatedPlaylists); // ページネーションされたプレイリストリストを格納
         response.put("total", totalPlaylists); // 総プレイリスト数を格納
-
-        logger.info("Returning mock data for playlist search: {}", response);
+        response.put("nextCursor", end < totalPlaylists ? SearchCursor.encode(query, end) : null); // 次ページが存在する場合のみカーソルを格納
         return response;
     }
 
+    /**
+     * 検索結果に含まれる1件分のプレイリストをインデックスから生成するヘルパーメソッド。
+     *
+     * @param index プレイリストのインデックス (1 始まり)
+     * @return 検索結果用プレイリストのモックデータ (Map 形式)
+     */
+    private Map<String, Object> createSearchPlaylist(int index) {
+        String playlistId = MockDataGeneratorUtil.generatePlaylistId(index); // プレイリストIDを生成
+        String playlistName = MockDataGeneratorUtil.generatePlaylistName(playlistId); // プレイリスト名を生成
+        int trackCount = playlistCatalog.getTrackCount(playlistId); // トラック数をIDのインデックスと最大トラック数の小さい方で決定
+
+        Map<String, Object> playlist = new HashMap<>(); // 各プレイリストのMap
+        playlist.put("id", playlistId);
+        playlist.put("name", playlistName);
+        playlist.put("description", MockDataGeneratorUtil.generatePlaylistDescription(index));
+        playlist.put("tracks", Map.of("total", trackCount));
+        playlist.put("images", List.of(Map.of("url", "https://picsum.photos/seed/" + index + "/64/64"))); // ランダムな画像URL
+        playlist.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/playlist/" + playlistId)));
+        playlist.put("owner", Map.of("displayName", MockDataGeneratorUtil.generateUserName(USER_NAME_PREFIX, index)));
+        return playlist;
+    }
+
     /**
      * 特定のプレイリスト詳細のモックデータを取得。
      *
@@ -83,17 +120,21 @@ public class MockPlaylistService {
      * @return プレイリスト詳細のモックデータ (Map 形式)
      */
     public Map<String, Object> getPlaylistDetailsMockData(String playlistId) {
-        logger.info("getPlaylistDetailsMockData called with playlistId: {}", playlistId);
+        logger.debug("getPlaylistDetailsMockData called with playlistId: {}", playlistId);
 
-        int trackCount = Math.min(MockDataGeneratorUtil.getLastThreeDigits(playlistId), MAX_TRACKS_PER_PLAYLIST); // トラック数をID末尾3桁と50の小さい方で決定
+        Optional<Map<String, Object>> fixture = fixtureRepository.findPlaylistDetails(playlistId); // フィクスチャに定義されている場合はそちらを優先
+        if (fixture.isPresent()) {
+            return fixture.get();
+        }
+
+        int trackCount = playlistCatalog.getTrackCount(playlistId); // トラック数をIDのインデックスと最大トラック数の小さい方で決定
         String playlistName = MockDataGeneratorUtil.generatePlaylistName(playlistId); // プレイリスト名を生成
 
         Map<String, Object> playlistDetails = new HashMap<>(); // プレイリスト詳細のMap
         playlistDetails.put("playlistName", playlistName);
-        playlistDetails.put("owner", Map.of("id", MockDataGeneratorUtil.generateUserId(DETAIL_OWNER_PREFIX, MockDataGeneratorUtil.getLastThreeDigits(playlistId)), "displayName", MockDataGeneratorUtil.generateUserName(MOCK_OWNER_PREFIX, MockDataGeneratorUtil.getLastThreeDigits(playlistId))));
+        int playlistIndex = MockDataGeneratorUtil.getPlaylistIndex(playlistId); // プレイリストIDのインデックス
+        playlistDetails.put("owner", Map.of("id", MockDataGeneratorUtil.generateUserId(DETAIL_OWNER_PREFIX, playlistIndex), "displayName", MockDataGeneratorUtil.generateUserName(MOCK_OWNER_PREFIX, playlistIndex)));
         playlistDetails.put("tracks", Map.of("total", trackCount));
-
-        logger.info("Returning mock data for playlist details: {}", playlistDetails);
         return playlistDetails;
     }
 
@@ -104,94 +145,261 @@ public class MockPlaylistService {
      * @return プレイリストトラックリストのモックデータ (List 形式)
      */
     public List<Map<String, Object>> getPlaylistTracksMockData(String playlistId) {
-        logger.info("getPlaylistTracksMockData called with playlistId: {}", playlistId);
+        logger.debug("getPlaylistTracksMockData called with playlistId: {}", playlistId);
 
-        int numTracks = Math.min(MockDataGeneratorUtil.getLastThreeDigits(playlistId), MAX_TRACKS_PER_PLAYLIST); // トラック数をID末尾3桁と50の小さい方で決定
+        Optional<List<Map<String, Object>>> fixture = fixtureRepository.findPlaylistTracks(playlistId); // フィクスチャに定義されている場合はそちらを優先
+        if (fixture.isPresent()) {
+            return fixture.get();
+        }
+
+        int numTracks = playlistCatalog.getTrackCount(playlistId); // トラック数をIDのインデックスと最大トラック数の小さい方で決定
         List<Map<String, Object>> playlistTracks = new ArrayList<>(); // プレイリストトラックリストを初期化
 
         // モックトラックデータを生成
         for (int i = 0; i < numTracks; i++) {
-            Map<String, Object> track = new HashMap<>(); // 各トラックのMap
-
-            // トラックIDの生成
-            String trackId = "track_id_" + (i + 1);
-
-            // アルバムデータの生成
-            Map<String, Object> album = new HashMap<>();
-            album.put("albumType", "ALBUM");
-            List<Map<String, Object>> albumArtists = new ArrayList<>();
-            Map<String, Object> albumArtist = new HashMap<>();
-            albumArtist.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/artist/artist_id_" + (i + 1))));
-            albumArtist.put("href", "https://api.spotify.com/v1/artists/artist_id_" + (i + 1));
-            albumArtist.put("id", "artist_id_" + (i + 1));
-            albumArtist.put("name", "Artist " + (i + 1));
-            albumArtist.put("type", "ARTIST");
-            albumArtist.put("uri", "spotify:artist:artist_id_" + (i + 1));
-            albumArtists.add(albumArtist);
-            album.put("artists", albumArtists);
-            album.put("availableMarkets", new ArrayList<>());
-            album.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/album/album_id_" + (i + 1))));
-            album.put("href", "https://api.spotify.com/v1/albums/album_id_" + (i + 1));
-            album.put("id", "album_id_" + (i + 1));
-            album.put("images", List.of(Map.of("height", 640, "url", "https://picsum.photos/seed/" + (i + 1) + "/64/64", "width", 640)));
-            album.put("name", "Album " + (i + 1));
-            album.put("releaseDate", "2023-01-0" + (i + 1));
-            album.put("releaseDatePrecision", "DAY");
-            album.put("type", "ALBUM");
-            album.put("uri", "spotify:album:album_id_" + (i + 1));
-            track.put("album", album); // トラックにアルバム情報を設定
-
-            // トラックアーティストデータの生成
-            List<Map<String, Object>> trackArtists = new ArrayList<>();
-            Map<String, Object> trackArtist = new HashMap<>();
-            trackArtist.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/artist/artist_id_" + (i + 1))));
-            trackArtist.put("href", "https://api.spotify.com/v1/artists/artist_id_" + (i + 1));
-            trackArtist.put("id", "artist_id_" + (i + 1));
-            trackArtist.put("name", "Artist " + (i + 1));
-            trackArtist.put("type", "ARTIST");
-            trackArtist.put("uri", "spotify:artist:artist_id_" + (i + 1));
-            trackArtists.add(trackArtist);
-            track.put("artists", trackArtists); // トラックにアーティスト情報を設定
-
-            track.put("availableMarkets", new ArrayList<>());
-            track.put("discNumber", 1);
-            track.put("durationMs", mockTrackService.generateRandomDurationMs(trackId)); // MockTrackServiceからdurationMsを取得 (トラックIDに基づいて生成)
-            track.put("explicit", false);
-            track.put("externalIds", Map.of("isrc", "USUM7180000" + (i + 1)));
-            track.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/track/" + trackId)));
-            track.put("href", "https://api.spotify.com/v1/tracks/" + trackId);
-            track.put("id", trackId);
-            track.put("isPlayable", true);
-            track.put("linkedFrom", null);
-            track.put("restrictions", null);
-            track.put("name", "Track " + (i + 1));
-            track.put("popularity", 80 - (i * 5));
-            track.put("previewUrl", "https://via.placeholder.com/150");
-            track.put("trackNumber", i + 1);
-            track.put("type", "TRACK");
-            track.put("uri", "spotify:track:" + trackId);
-
-            playlistTracks.add(track); // 生成したトラックをリストに追加
-        }
-
-        logger.info("Returning mock data for playlist tracks: {}", playlistTracks);
+            playlistTracks.add(createPlaylistTrack(i)); // 生成したトラックをリストに追加
+        }
         return playlistTracks;
     }
 
+    /**
+     * プレイリストトラックリストのモックデータを1トラックずつ生成して書き込む。
+     * リスト全体を保持しないため、トラック数に関わらずリクエストあたりのメモリ使用量は一定となる。
+     *
+     * @param playlistId プレイリストID
+     * @param writer     生成したトラックを書き込むライター
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void streamPlaylistTracksMockData(String playlistId, ElementWriter<? super Map<String, Object>> writer) throws IOException {
+        logger.debug("streamPlaylistTracksMockData called with playlistId: {}", playlistId);
+
+        Optional<List<Map<String, Object>>> fixture = fixtureRepository.findPlaylistTracks(playlistId);
+        if (fixture.isPresent()) {
+            for (Map<String, Object> track : fixture.get()) {
+                writer.write(track);
+            }
+            return;
+        }
+
+        int numTracks = playlistCatalog.getTrackCount(playlistId);
+        for (int i = 0; i < numTracks; i++) {
+            writer.write(createPlaylistTrack(i));
+        }
+    }
+
+    /**
+     * 特定のプレイリストのトラックリストを record モデルで取得。
+     * JSON の形状は {@link #getPlaylistTracksMockData(String)} と同じ。
+     *
+     * @param playlistId プレイリストID
+     * @return トラックリスト
+     */
+    public List<Track> getPlaylistTracks(String playlistId) {
+        logger.debug("getPlaylistTracks called with playlistId: {}", playlistId);
+
+        Optional<List<Track>> fixture = fixtureRepository.findPlaylistTrackRecords(playlistId);
+        if (fixture.isPresent()) {
+            return fixture.get();
+        }
+
+        int numTracks = playlistCatalog.getTrackCount(playlistId);
+        List<Track> tracks = new ArrayList<>(numTracks);
+        for (int i = 0; i < numTracks; i++) {
+            tracks.add(createTrack(i));
+        }
+        return tracks;
+    }
+
+    /**
+     * 特定のプレイリストのトラックを record モデルで1トラックずつ生成して書き込む。
+     *
+     * @param playlistId プレイリストID
+     * @param writer     生成したトラックを書き込むライター
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void streamPlaylistTracks(String playlistId, ElementWriter<? super Track> writer) throws IOException {
+        logger.debug("streamPlaylistTracks called with playlistId: {}", playlistId);
+
+        Optional<List<Track>> fixture = fixtureRepository.findPlaylistTrackRecords(playlistId);
+        if (fixture.isPresent()) {
+            for (Track track : fixture.get()) {
+                writer.write(track);
+            }
+            return;
+        }
+
+        int numTracks = playlistCatalog.getTrackCount(playlistId);
+        for (int i = 0; i < numTracks; i++) {
+            writer.write(createTrack(i));
+        }
+    }
+
+    /**
+     * プレイリストトラックの1件分を record モデルで生成。
+     * 値は {@link #createPlaylistTrack(int)} と同じで、アルバムとトラックのアーティストは同じインスタンスを共有する。
+     *
+     * @param i トラックの位置 (0 始まり)
+     * @return トラック
+     */
+    private Track createTrack(int i) {
+        int number = i + 1;
+        String trackId = "track_id_" + number;
+        List<Artist> artists = List.of(new Artist("artist_id_" + number, "Artist " + number));
+        Album album = new Album("album_id_" + number, "Album " + number, artists,
+                List.of(new Image("https://picsum.photos/seed/" + number + "/64/64", 640, 640)), "2023-01-0" + number);
+        return new Track(trackId, "Track " + number, album, artists, 1, mockTrackService.generateRandomDurationMs(trackId),
+                false, "USUM7180000" + number, true, 80 - (i * 5), "https://via.placeholder.com/150", number);
+    }
+
+    /**
+     * プレイリストトラックの1件分のモックデータを生成。
+     *
+     * @param i トラックの位置 (0 始まり)
+     * @return トラックのモックデータ (Map 形式)
+     */
+    private Map<String, Object> createPlaylistTrack(int i) {
+        Map<String, Object> track = new HashMap<>(); // 各トラックのMap
+
+        // トラックIDの生成
+        String trackId = "track_id_" + (i + 1);
+
+        // アルバムデータの生成
+        Map<String, Object> album = new HashMap<>();
+        album.put("albumType", "ALBUM");
+        List<Map<String, Object>> albumArtists = new ArrayList<>();
+        Map<String, Object> albumArtist = new HashMap<>();
+        albumArtist.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/artist/artist_id_" + (i + 1))));
+        albumArtist.put("href", "https://api.spotify.com/v1/artists/artist_id_" + (i + 1));
+        albumArtist.put("id", "artist_id_" + (i + 1));
+        albumArtist.put("name", "Artist " + (i + 1));
+        albumArtist.put("type", "ARTIST");
+        albumArtist.put("uri", "spotify:artist:artist_id_" + (i + 1));
+        albumArtists.add(albumArtist);
+        album.put("artists", albumArtists);
+        album.put("availableMarkets", new ArrayList<>());
+        album.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/album/album_id_" + (i + 1))));
+        album.put("href", "https://api.spotify.com/v1/albums/album_id_" + (i + 1));
+        album.put("id", "album_id_" + (i + 1));
+        album.put("images", List.of(Map.of("height", 640, "url", "https://picsum.photos/seed/" + (i + 1) + "/64/64", "width", 640)));
+        album.put("name", "Album " + (i + 1));
+        album.put("releaseDate", "2023-01-0" + (i + 1));
+        album.put("releaseDatePrecision", "DAY");
+        album.put("type", "ALBUM");
+        album.put("uri", "spotify:album:album_id_" + (i + 1));
+        track.put("album", album); // トラックにアルバム情報を設定
+
+        // トラックアーティストデータの生成
+        List<Map<String, Object>> trackArtists = new ArrayList<>();
+        Map<String, Object> trackArtist = new HashMap<>();
+        trackArtist.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/artist/artist_id_" + (i + 1))));
+        trackArtist.put("href", "https://api.spotify.com/v1/artists/artist_id_" + (i + 1));
+        trackArtist.put("id", "artist_id_" + (i + 1));
+        trackArtist.put("name", "Artist " + (i + 1));
+        trackArtist.put("type", "ARTIST");
+        trackArtist.put("uri", "spotify:artist:artist_id_" + (i + 1));
+        trackArtists.add(trackArtist);
+        track.put("artists", trackArtists); // トラックにアーティスト情報を設定
+
+        track.put("availableMarkets", new ArrayList<>());
+        track.put("discNumber", 1);
+        track.put("durationMs", mockTrackService.generateRandomDurationMs(trackId)); // MockTrackServiceからdurationMsを取得 (トラックIDに基づいて生成)
+        track.put("explicit", false);
+        track.put("externalIds", Map.of("isrc", "USUM7180000" + (i + 1)));
+        track.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/track/" + trackId)));
+        track.put("href", "https://api.spotify.com/v1/tracks/" + trackId);
+        track.put("id", trackId);
+        track.put("isPlayable", true);
+        track.put("linkedFrom", null);
+        track.put("restrictions", null);
+        track.put("name", "Track " + (i + 1));
+        track.put("popularity", 80 - (i * 5));
+        track.put("previewUrl", "https://via.placeholder.com/150");
+        track.put("trackNumber", i + 1);
+        track.put("type", "TRACK");
+        track.put("uri", "spotify:track:" + trackId);
+
+        return track;
+    }
+
+    /**
+     * プレイリスト詳細のモックデータのバージョンを取得。
+     * 生成に使用する入力値から算出するため、モックデータを生成せずに変更の有無を判定できる (ETag 用)。
+     * フィクスチャに定義されている場合はフィクスチャのバージョンを返す。
+     *
+     * @param playlistId プレイリストID
+     * @return バージョン (生成されるデータが同じであれば同じ値)
+     */
+    public long getPlaylistDetailsVersion(String playlistId) {
+        OptionalLong fixtureVersion = fixtureRepository.findVersion(FixtureRepository.Category.PLAYLISTS, playlistId);
+        if (fixtureVersion.isPresent()) {
+            return fixtureVersion.getAsLong();
+        }
+        return MockDataGeneratorUtil.mix64(MockDataGeneratorUtil.hash64(playlistId) ^ playlistCatalog.getTrackCount(playlistId));
+    }
+
+    /**
+     * プレイリストトラックリストのモックデータのバージョンを取得。
+     * トラック数と各トラックの durationMs から算出するため、モックデータを生成せずに変更の有無を判定できる (ETag 用)。
+     * フィクスチャに定義されている場合はフィクスチャのバージョンを返す。
+     *
+     * @param playlistId プレイリストID
+     * @return バージョン (生成されるデータが同じであれば同じ値)
+     */
+    public long getPlaylistTracksVersion(String playlistId) {
+        OptionalLong fixtureVersion = fixtureRepository.findVersion(FixtureRepository.Category.PLAYLIST_TRACKS, playlistId);
+        if (fixtureVersion.isPresent()) {
+            return fixtureVersion.getAsLong();
+        }
+        int numTracks = playlistCatalog.getTrackCount(playlistId);
+        long version = MockDataGeneratorUtil.mix64(MockDataGeneratorUtil.hash64(playlistId) ^ numTracks);
+        for (int i = 0; i < numTracks; i++) {
+            version = MockDataGeneratorUtil.mix64(version ^ mockTrackService.generateRandomDurationMs("track_id_" + (i + 1))); // durationMs はトラックIDごとに保持されている値を使用
+        }
+        return version;
+    }
+
+    /**
+     * フォロー中のプレイリストのモックデータのバージョンを取得 (ETag 用)。
+     *
+     * @return バージョン
+     */
+    public long getFollowedPlaylistsVersion() {
+        return MockDataGeneratorUtil.mix64(DEFAULT_FOLLOWED_PLAYLISTS_COUNT);
+    }
+
+    /**
+     * フォロー中のプレイリストを record モデルで取得。
+     * JSON の形状は {@link #getFollowedPlaylistsMockData()} と同じ。
+     *
+     * @return フォロー中のプレイリストリスト
+     */
+    public List<Playlist> getFollowedPlaylists() {
+        logger.debug("getFollowedPlaylists called");
+
+        List<Playlist> playlists = new ArrayList<>(DEFAULT_FOLLOWED_PLAYLISTS_COUNT);
+        for (int i = 1; i <= DEFAULT_FOLLOWED_PLAYLISTS_COUNT; i++) {
+            String playlistId = MockDataGeneratorUtil.generatePlaylistId(i);
+            Owner owner = new Owner(MockDataGeneratorUtil.generateUserId(FOLLOWED_USER_PREFIX, i), MockDataGeneratorUtil.generateUserName(FOLLOWED_USER_PREFIX, i));
+            playlists.add(new Playlist(playlistId, MockDataGeneratorUtil.generatePlaylistName(playlistId), null,
+                    playlistCatalog.getTrackCount(playlistId), List.of(Image.of("https://picsum.photos/seed/" + i + "/64/64")), owner));
+        }
+        return playlists;
+    }
+
     /**
      * フォロー中のプレイリストのモックデータを取得。
      *
      * @return フォロー中のプレイリストのモックデータ (List 形式)
      */
     public List<Map<String, Object>> getFollowedPlaylistsMockData() {
-        logger.info("getFollowedPlaylistsMockData called (Returning user playlists)");
+        logger.debug("getFollowedPlaylistsMockData called (Returning user playlists)");
 
         List<Map<String, Object>> playlists = new ArrayList<>(); // プレイリストリストを初期化
         // モックフォロー中プレイリストデータを生成
         for (int i = 1; i <= DEFAULT_FOLLOWED_PLAYLISTS_COUNT; i++) {
             String playlistId = MockDataGeneratorUtil.generatePlaylistId(i); // プレイリストIDを生成
             String playlistName = MockDataGeneratorUtil.generatePlaylistName(playlistId); // プレイリスト名を生成
-            int trackCount = Math.min(MockDataGeneratorUtil.getLastThreeDigits(playlistId), MAX_TRACKS_PER_PLAYLIST); // トラック数をID末尾3桁と50の小さい方で決定
+            int trackCount = playlistCatalog.getTrackCount(playlistId); // トラック数をIDのインデックスと最大トラック数の小さい方で決定
 
             Map<String, Object> playlist = new HashMap<>(); // 各プレイリストのMap
             playlist.put("id", playlistId);
@@ -212,8 +420,6 @@ public class MockPlaylistService {
             playlist.put("owner", owner); // プレイリストにオーナー情報を設定
             playlists.add(playlist); // 生成したプレイリストをリストに追加
         }
-
-        logger.info("Returning mock data for followed playlists (using user_playlists.json): {}", playlists);
         return playlists;
     }
 }
@@ -0,0 +1,95 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * モックデータ生成に使用する乱数生成器を提供するコンポーネント。
+ * <p>
+ * deterministic モードでは (グローバルシード, エンティティ種別, エンティティID) のハッシュ値を mix64 で撹拌した値を
+ * シードとする {@link SplittableRandom} を返すため、同じエンティティからは常に同じデータが生成される。
+ * 共有状態を持たないため、レプリカ間でもシードが同じであれば同一のレスポンスとなる。
+ * random モードでは {@link ThreadLocalRandom} を返し、リクエストごとに異なるデータが生成される。
+ */
+@Component
+public class MockRandomSource {
+
+    /**
+     * 乱数生成器の決定方法。
+     */
+    public enum Mode {
+        /**
+         * リクエストごとにランダムなデータを生成する。
+         */
+        RANDOM,
+        /**
+         * シードとエンティティIDから決定的にデータを生成する。
+         */
+        DETERMINISTIC
+    }
+
+    private final Mode mode;
+    private final long seed;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param mode 生成モード (spotify.mock-api.generation.mode: random / deterministic)
+     * @param seed グローバルシード (spotify.mock-api.generation.seed)
+     */
+    public MockRandomSource(@Value("${spotify.mock-api.generation.mode:random}") String mode,
+                            @Value("${spotify.mock-api.generation.seed:0}") long seed) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.seed = seed;
+    }
+
+    /**
+     * エンティティのデータ生成に使用する乱数生成器を取得。
+     *
+     * @param entityType エンティティ種別 (同じIDでも種別ごとに異なる乱数列とするため)
+     * @param entityId   エンティティID
+     * @return 乱数生成器 (呼び出し元のスレッド内でのみ使用すること)
+     */
+    public RandomGenerator forEntity(String entityType, String entityId) {
+        if (mode == Mode.RANDOM) {
+            return ThreadLocalRandom.current();
+        }
+        return new SplittableRandom(entityHash(entityType, entityId));
+    }
+
+    /**
+     * (グローバルシード, エンティティ種別, エンティティID) から 64bit ハッシュ値を計算。
+     * 生成モードに関わらず、同じ入力からは常に同じ値を返す。
+     *
+     * @param entityType エンティティ種別
+     * @param entityId   エンティティID
+     * @return 64bit ハッシュ値
+     */
+    public long entityHash(String entityType, String entityId) {
+        long typeHash = MockDataGeneratorUtil.mix64(seed ^ MockDataGeneratorUtil.hash64(entityType));
+        return MockDataGeneratorUtil.mix64(typeHash ^ MockDataGeneratorUtil.hash64(entityId));
+    }
+
+    /**
+     * deterministic モードかどうかを判定。
+     *
+     * @return deterministic モードの場合は true
+     */
+    public boolean isDeterministic() {
+        return mode == Mode.DETERMINISTIC;
+    }
+
+    /**
+     * グローバルシードを取得。
+     *
+     * @return グローバルシード
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
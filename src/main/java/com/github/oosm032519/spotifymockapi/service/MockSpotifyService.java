@@ -2,16 +2,21 @@ package com.github.oosm032519.spotifymockapi.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.model.Playlist;
+import com.github.oosm032519.spotifymockapi.model.Track;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Spotify API のモックサービスを提供するFacadeクラス。
- * 各機能ごとのサービスに処理を委譲する。
+ * 各機能ごとのサービスに処理を委譲し、生成処理の所要時間と生成したエンティティ数をメトリクスに記録する。
+ * 生成したモックデータはサンプリングされたリクエストについてのみログに出力する。
  */
 @Service
 public class MockSpotifyService {
@@ -20,6 +25,8 @@ public class MockSpotifyService {
     private final MockPlaylistService mockPlaylistService;
     private final MockArtistService mockArtistService;
     private final MockTrackService mockTrackService;
+    private final GeneratorMetrics generatorMetrics;
+    private final PayloadLogger payloadLogger;
 
     /**
      * コンストラクタ。ObjectMapper を初期化し、JavaTimeModule を登録。
@@ -27,13 +34,18 @@ public class MockSpotifyService {
      * @param mockPlaylistService プレイリストモックデータ生成サービス
      * @param mockArtistService   アーティストモックデータ生成サービス
      * @param mockTrackService    トラックモックデータ生成サービス
+     * @param generatorMetrics    生成処理のメトリクス
+     * @param payloadLogger       生成したモックデータをサンプリングしてログに出力するロガー
      */
-    public MockSpotifyService(MockPlaylistService mockPlaylistService, MockArtistService mockArtistService, MockTrackService mockTrackService) {
+    public MockSpotifyService(MockPlaylistService mockPlaylistService, MockArtistService mockArtistService, MockTrackService mockTrackService,
+                              GeneratorMetrics generatorMetrics, PayloadLogger payloadLogger) {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule()); // Java 8 Date/Time API を Jackson で扱うためのモジュール登録
         this.mockPlaylistService = mockPlaylistService;
         this.mockArtistService = mockArtistService;
         this.mockTrackService = mockTrackService;
+        this.generatorMetrics = generatorMetrics;
+        this.payloadLogger = payloadLogger;
     }
 
     /**
@@ -45,8 +57,9 @@ public class MockSpotifyService {
      * @return プレイリスト検索結果のモックデータ (Map 形式)
      */
     public Map<String, Object> getPlaylistSearchMockData(String query, int offset, int limit) {
-        logger.info("Delegating getPlaylistSearchMockData to MockPlaylistService");
-        return mockPlaylistService.getPlaylistSearchMockData(query, offset, limit);
+        logger.debug("Delegating getPlaylistSearchMockData to MockPlaylistService");
+        return payloadLogger.log("playlist-search", generatorMetrics.record("playlist-search", "playlist", () -> mockPlaylistService.getPlaylistSearchMockData(query, offset, limit),
+                result -> result.get("playlists") instanceof List<?> playlists ? playlists.size() : 0));
     }
 
     /**
@@ -56,8 +69,8 @@ public class MockSpotifyService {
      * @return プレイリスト詳細のモックデータ (Map 形式)
      */
     public Map<String, Object> getPlaylistDetailsMockData(String playlistId) {
-        logger.info("Delegating getPlaylistDetailsMockData to MockPlaylistService");
-        return mockPlaylistService.getPlaylistDetailsMockData(playlistId);
+        logger.debug("Delegating getPlaylistDetailsMockData to MockPlaylistService");
+        return payloadLogger.log("playlist-details", generatorMetrics.record("playlist-details", "playlist", () -> mockPlaylistService.getPlaylistDetailsMockData(playlistId), result -> 1));
     }
 
     /**
@@ -67,8 +80,63 @@ public class MockSpotifyService {
      * @return プレイリストトラックリストのモックデータ (List 形式)
      */
     public List<Map<String, Object>> getPlaylistTracksMockData(String playlistId) {
-        logger.info("Delegating getPlaylistTracksMockData to MockPlaylistService");
-        return mockPlaylistService.getPlaylistTracksMockData(playlistId);
+        logger.debug("Delegating getPlaylistTracksMockData to MockPlaylistService");
+        return payloadLogger.log("playlist-tracks-map", generatorMetrics.record("playlist-tracks-map", "track", () -> mockPlaylistService.getPlaylistTracksMockData(playlistId), List::size));
+    }
+
+    /**
+     * 特定のプレイリストのトラックリストのモックデータを1トラックずつ書き込む。
+     *
+     * @param playlistId プレイリストID
+     * @param writer     生成したトラックを書き込むライター
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void streamPlaylistTracksMockData(String playlistId, ElementWriter<? super Map<String, Object>> writer) throws IOException {
+        logger.debug("Delegating streamPlaylistTracksMockData to MockPlaylistService");
+        generatorMetrics.recordStreaming("playlist-tracks-map-stream", "track", writer, counting -> mockPlaylistService.streamPlaylistTracksMockData(playlistId, counting));
+    }
+
+    /**
+     * 特定のプレイリストのトラックリストを record モデルで取得。
+     *
+     * @param playlistId プレイリストID
+     * @return トラックリスト
+     */
+    public List<Track> getPlaylistTracks(String playlistId) {
+        logger.debug("Delegating getPlaylistTracks to MockPlaylistService");
+        return payloadLogger.log("playlist-tracks", generatorMetrics.record("playlist-tracks", "track", () -> mockPlaylistService.getPlaylistTracks(playlistId), List::size));
+    }
+
+    /**
+     * 特定のプレイリストのトラックを record モデルで1トラックずつ書き込む。
+     *
+     * @param playlistId プレイリストID
+     * @param writer     生成したトラックを書き込むライター
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void streamPlaylistTracks(String playlistId, ElementWriter<? super Track> writer) throws IOException {
+        logger.debug("Delegating streamPlaylistTracks to MockPlaylistService");
+        generatorMetrics.recordStreaming("playlist-tracks-stream", "track", writer, counting -> mockPlaylistService.streamPlaylistTracks(playlistId, counting));
+    }
+
+    /**
+     * プレイリスト詳細のモックデータのバージョンを取得 (ETag 用)。
+     *
+     * @param playlistId プレイリストID
+     * @return バージョン
+     */
+    public long getPlaylistDetailsVersion(String playlistId) {
+        return mockPlaylistService.getPlaylistDetailsVersion(playlistId);
+    }
+
+    /**
+     * プレイリストトラックリストのモックデータのバージョンを取得 (ETag 用)。
+     *
+     * @param playlistId プレイリストID
+     * @return バージョン
+     */
+    public long getPlaylistTracksVersion(String playlistId) {
+        return mockPlaylistService.getPlaylistTracksVersion(playlistId);
     }
 
     /**
@@ -78,8 +146,8 @@ public class MockSpotifyService {
      * @return アーティストIDとジャンルリストのマップ (Map 形式)
      */
     public Map<String, List<String>> getArtistGenresMockData(List<String> artistIds) {
-        logger.info("Delegating getArtistGenresMockData to MockArtistService");
-        return mockArtistService.getArtistGenresMockData(artistIds);
+        logger.debug("Delegating getArtistGenresMockData to MockArtistService");
+        return payloadLogger.log("artist-genres", generatorMetrics.record("artist-genres", "artist", () -> mockArtistService.getArtistGenresMockData(artistIds), Map::size));
     }
 
     /**
@@ -88,8 +156,19 @@ public class MockSpotifyService {
      * @return おすすめトラックリストのモックデータ (List 形式)
      */
     public List<Map<String, Object>> getRecommendationsMockData() {
-        logger.info("Delegating getRecommendationsMockData to MockTrackService");
-        return mockTrackService.getRecommendationsMockData();
+        logger.debug("Delegating getRecommendationsMockData to MockTrackService");
+        return payloadLogger.log("recommendations", generatorMetrics.record("recommendations", "track", mockTrackService::getRecommendationsMockData, List::size));
+    }
+
+    /**
+     * 検索条件に近いおすすめトラックリストのモックデータを取得。
+     *
+     * @param query 検索条件
+     * @return おすすめトラックリストのモックデータ (List 形式)
+     */
+    public List<Map<String, Object>> getRecommendationsMockData(RecommendationQuery query) {
+        logger.debug("Delegating getRecommendationsMockData with query to MockTrackService");
+        return payloadLogger.log("recommendations", generatorMetrics.record("recommendations", "track", () -> mockTrackService.getRecommendationsMockData(query), List::size));
     }
 
     /**
@@ -99,8 +178,43 @@ public class MockSpotifyService {
      * @return トラックIDとAudioFeatures取得リクエストのリスト (List 形式)
      */
     public List<Map<String, Object>> getAudioFeaturesForTracksMockData(List<String> trackIds) {
-        logger.info("Delegating getAudioFeaturesForTracksMockData to MockTrackService");
-        return mockTrackService.getAudioFeaturesForTracksMockData(trackIds);
+        logger.debug("Delegating getAudioFeaturesForTracksMockData to MockTrackService");
+        return payloadLogger.log("audio-features-map", generatorMetrics.record("audio-features-map", "audio-features", () -> mockTrackService.getAudioFeaturesForTracksMockData(trackIds), List::size));
+    }
+
+    /**
+     * 複数のトラックIDからAudioFeaturesのモックデータを1件ずつ書き込む。
+     *
+     * @param trackIds トラックIDのリスト
+     * @param writer   生成したAudioFeaturesを書き込むライター
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void streamAudioFeaturesForTracksMockData(List<String> trackIds, ElementWriter<? super Map<String, Object>> writer) throws IOException {
+        logger.debug("Delegating streamAudioFeaturesForTracksMockData to MockTrackService");
+        generatorMetrics.recordStreaming("audio-features-map-stream", "audio-features", writer, counting -> mockTrackService.streamAudioFeaturesForTracksMockData(trackIds, counting));
+    }
+
+    /**
+     * 複数のトラックIDからAudioFeaturesを record モデルで取得。
+     *
+     * @param trackIds トラックIDのリスト
+     * @return AudioFeaturesのリスト
+     */
+    public List<AudioFeatures> getAudioFeaturesForTracks(List<String> trackIds) {
+        logger.debug("Delegating getAudioFeaturesForTracks to MockTrackService");
+        return payloadLogger.log("audio-features", generatorMetrics.record("audio-features", "audio-features", () -> mockTrackService.getAudioFeaturesForTracks(trackIds), List::size));
+    }
+
+    /**
+     * 複数のトラックIDからAudioFeaturesを record モデルで1件ずつ書き込む。
+     *
+     * @param trackIds トラックIDのリスト
+     * @param writer   生成したAudioFeaturesを書き込むライター
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void streamAudioFeaturesForTracks(List<String> trackIds, ElementWriter<? super AudioFeatures> writer) throws IOException {
+        logger.debug("Delegating streamAudioFeaturesForTracks to MockTrackService");
+        generatorMetrics.recordStreaming("audio-features-stream", "audio-features", writer, counting -> mockTrackService.streamAudioFeaturesForTracks(trackIds, counting));
     }
 
     /**
@@ -109,7 +223,26 @@ public class MockSpotifyService {
      * @return フォロー中のプレイリストのモックデータ (List 形式)
      */
     public List<Map<String, Object>> getFollowedPlaylistsMockData() {
-        logger.info("Delegating getFollowedPlaylistsMockData to MockPlaylistService");
-        return mockPlaylistService.getFollowedPlaylistsMockData();
+        logger.debug("Delegating getFollowedPlaylistsMockData to MockPlaylistService");
+        return payloadLogger.log("followed-playlists-map", generatorMetrics.record("followed-playlists-map", "playlist", mockPlaylistService::getFollowedPlaylistsMockData, List::size));
+    }
+
+    /**
+     * フォロー中のプレイリストを record モデルで取得。
+     *
+     * @return フォロー中のプレイリストリスト
+     */
+    public List<Playlist> getFollowedPlaylists() {
+        logger.debug("Delegating getFollowedPlaylists to MockPlaylistService");
+        return payloadLogger.log("followed-playlists", generatorMetrics.record("followed-playlists", "playlist", mockPlaylistService::getFollowedPlaylists, List::size));
+    }
+
+    /**
+     * フォロー中のプレイリストのモックデータのバージョンを取得 (ETag 用)。
+     *
+     * @return バージョン
+     */
+    public long getFollowedPlaylistsVersion() {
+        return mockPlaylistService.getFollowedPlaylistsVersion();
     }
 }
@@ -1,13 +1,17 @@
 package com.github.oosm032519.spotifymockapi.service;
 
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * トラック関連のモックデータ生成サービス。
+ * AudioFeatures は、{@link FixtureRepository} にフィクスチャが定義されているトラックIDについてはフィクスチャを返す。
  */
 @Service
 public class MockTrackService {
@@ -22,7 +26,23 @@ public class MockTrackService {
     private static final String RECOMMENDATION_ARTIST_ID_PREFIX = MockDataGeneratorUtil.RECOMMENDATION_ARTIST_ID_PREFIX;
     private static final String AUDIO_FEATURES_ID_PREFIX = MockDataGeneratorUtil.AUDIO_FEATURES_ID_PREFIX;
 
-    private final Map<String, Integer> trackDurationMsMap = new HashMap<>(); // トラックIDとdurationMsを紐づけて保持するマップ
+    private static final String AUDIO_FEATURES_ENTITY_TYPE = "audio-features";
+
+    private static final String SEED_ARTIST_ENTITY_TYPE = "recommendation-seed-artist";
+    private static final String SEED_GENRE_ENTITY_TYPE = "recommendation-seed-genre";
+
+    private final TrackDurationStore trackDurationStore; // トラックIDとdurationMsを紐づけて保持するストア
+    private final MockRandomSource mockRandomSource;
+    private final FixtureRepository fixtureRepository;
+    private final RecommendationIndex recommendationIndex;
+
+    public MockTrackService(TrackDurationStore trackDurationStore, MockRandomSource mockRandomSource, FixtureRepository fixtureRepository,
+                            RecommendationIndex recommendationIndex) {
+        this.trackDurationStore = trackDurationStore;
+        this.mockRandomSource = mockRandomSource;
+        this.fixtureRepository = fixtureRepository;
+        this.recommendationIndex = recommendationIndex;
+    }
 
     /**
      * おすすめトラックリストのモックデータを取得。
@@ -30,34 +50,110 @@ public class MockTrackService {
      * @return おすすめトラックリストのモックデータ (List 形式)
      */
     public List<Map<String, Object>> getRecommendationsMockData() {
-        logger.info("getRecommendationsMockData called");
+        logger.debug("getRecommendationsMockData called");
 
         List<Map<String, Object>> recommendations = new ArrayList<>(); // おすすめトラックリストを初期化
         // モックおすすめトラックデータを生成
         for (int i = 0; i < 5; i++) {
-            Map<String, Object> track = new HashMap<>(); // 各トラックのMap
-            String trackId = RECOMMENDATION_TRACK_ID_PREFIX + (i + 1); // トラックIDを生成
-            track.put("id", trackId);
-            track.put("name", RECOMMENDATION_TRACK_NAME_PREFIX + (i + 1));
-            track.put("durationMs", generateRandomDurationMs(trackId)); // トラックIDに基づいてdurationMsを生成
-            track.put("album", Map.of(
-                    "name", RECOMMENDATION_ALBUM_NAME_PREFIX + (i + 1),
-                    "images", List.of(Map.of("url", "https://picsum.photos/seed/" + (i + 1) + "/64/64")),
-                    "externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/album/" + RECOMMENDATION_ALBUM_ID_PREFIX + (i + 1)))
-            ));
-            track.put("artists", List.of(Map.of(
-                    "name", RECOMMENDATION_ARTIST_NAME_PREFIX + (i + 1),
-                    "externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/artist/" + RECOMMENDATION_ARTIST_ID_PREFIX + (i + 1)))
-            )));
-            track.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/track/" + trackId)));
-            track.put("previewUrl", "https://via.placeholder.com/150");
-            recommendations.add(track); // 生成したおすすめトラックをリストに追加
+            recommendations.add(createRecommendationTrack(i + 1)); // 生成したおすすめトラックをリストに追加
+        }
+        return recommendations;
+    }
+
+    /**
+     * 検索条件に近い AudioFeatures を持つおすすめトラックリストのモックデータを取得。
+     * シードのトラックは AudioFeatures を、シードのアーティストとジャンルは ID から決まる特徴量を使用し、
+     * 全シードの平均を target_* の値で上書きしたベクトルの最近傍を {@link RecommendationIndex} から検索する。
+     * シードのトラック自身は結果に含めない。
+     *
+     * @param query 検索条件
+     * @return おすすめトラックリストのモックデータ (近い順、List 形式)
+     */
+    public List<Map<String, Object>> getRecommendationsMockData(RecommendationQuery query) {
+        logger.debug("getRecommendationsMockData called with query: {}", query);
+
+        int featureCount = RecommendationIndex.Feature.values().length;
+        float[] target = new float[featureCount];
+        float[] seedVector = new float[featureCount];
+        int seedCount = 0;
+        int[] excludedRows = new int[query.seedTracks().size()];
+        int excludedCount = 0;
+        for (String trackId : query.seedTracks()) {
+            int row = recommendationIndex.rowOf(trackId);
+            if (row >= 0) {
+                recommendationIndex.copyVector(row, seedVector); // 候補のトラックはインデックスと同じ特徴量を使用する
+                excludedRows[excludedCount++] = row;
+            } else {
+                RecommendationIndex.vectorOf(findOrCreateAudioFeaturesRecord(trackId), seedVector);
+            }
+            addTo(target, seedVector);
+            seedCount++;
+        }
+        for (String artistId : query.seedArtists()) {
+            randomVector(mockRandomSource.entityHash(SEED_ARTIST_ENTITY_TYPE, artistId), seedVector);
+            addTo(target, seedVector);
+            seedCount++;
+        }
+        for (String genre : query.seedGenres()) {
+            randomVector(mockRandomSource.entityHash(SEED_GENRE_ENTITY_TYPE, genre), seedVector);
+            addTo(target, seedVector);
+            seedCount++;
         }
+        for (int feature = 0; feature < featureCount; feature++) {
+            target[feature] = seedCount > 0 ? target[feature] / seedCount : Float.NaN; // シードが無い場合は target_* の特徴量のみで比較する
+        }
+        query.targets().forEach((feature, value) -> target[feature.ordinal()] = feature.normalize(value));
 
-        logger.info("Returning mock data for recommendations: {}", recommendations);
+        int[] rows = recommendationIndex.nearest(target, query.limit(), Arrays.copyOf(excludedRows, excludedCount));
+        List<Map<String, Object>> recommendations = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            recommendations.add(createRecommendationTrack(row + 1));
+        }
         return recommendations;
     }
 
+    /**
+     * おすすめトラック1件分のモックデータを生成。
+     *
+     * @param number おすすめトラックの番号 (1始まり)
+     * @return おすすめトラックのモックデータ (Map 形式)
+     */
+    private Map<String, Object> createRecommendationTrack(int number) {
+        Map<String, Object> track = new HashMap<>(); // 各トラックのMap
+        String trackId = RECOMMENDATION_TRACK_ID_PREFIX + number; // トラックIDを生成
+        track.put("id", trackId);
+        track.put("name", RECOMMENDATION_TRACK_NAME_PREFIX + number);
+        track.put("durationMs", generateRandomDurationMs(trackId)); // トラックIDに基づいてdurationMsを生成
+        track.put("album", Map.of(
+                "name", RECOMMENDATION_ALBUM_NAME_PREFIX + number,
+                "images", List.of(Map.of("url", "https://picsum.photos/seed/" + number + "/64/64")),
+                "externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/album/" + RECOMMENDATION_ALBUM_ID_PREFIX + number))
+        ));
+        track.put("artists", List.of(Map.of(
+                "name", RECOMMENDATION_ARTIST_NAME_PREFIX + number,
+                "externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/artist/" + RECOMMENDATION_ARTIST_ID_PREFIX + number))
+        )));
+        track.put("externalUrls", Map.of("externalUrls", Map.of("spotify", "https://open.spotify.com/track/" + trackId)));
+        track.put("previewUrl", "https://via.placeholder.com/150");
+        return track;
+    }
+
+    private static void addTo(float[] sum, float[] vector) {
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] += vector[i];
+        }
+    }
+
+    /**
+     * ハッシュ値から決まる 0〜1 の特徴量のベクトルを生成 (シードのアーティストとジャンル用)。
+     */
+    private static void randomVector(long hash, float[] vector) {
+        SplittableRandom random = new SplittableRandom(hash);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextDouble();
+        }
+    }
+
     /**
      * 複数のトラックIDからAudioFeatures取得リクエストのモックデータを取得。
      *
@@ -65,45 +161,158 @@ public class MockTrackService {
      * @return トラックIDとAudioFeatures取得リクエストのリスト (List 形式)
      */
     public List<Map<String, Object>> getAudioFeaturesForTracksMockData(List<String> trackIds) {
-        logger.info("getAudioFeaturesForTracksMockData called with trackIds: {}", trackIds);
+        logger.debug("getAudioFeaturesForTracksMockData called with trackIds: {}", trackIds);
 
         List<Map<String, Object>> audioFeaturesList = new ArrayList<>(); // AudioFeatures取得リクエストリストを初期化
-        Random random = new Random(); // 乱数生成器
 
         // 各トラックIDに対してAudioFeatures取得リクエストを生成
         for (String trackId : trackIds) {
-            Map<String, Object> audioFeatures = new HashMap<>(); // 各AudioFeatures取得リクエストのMap
-            audioFeatures.put("acousticness", random.nextDouble());
-            audioFeatures.put("danceability", random.nextDouble());
-            audioFeatures.put("energy", random.nextDouble());
-            audioFeatures.put("instrumentalness", random.nextDouble());
-            audioFeatures.put("liveness", random.nextDouble());
-            audioFeatures.put("loudness", -60.0 + random.nextDouble() * 60.0); // ラウドネスは-60.0〜0.0の範囲を想定
-            audioFeatures.put("mode", random.nextInt(2)); // 0 または 1
-            audioFeatures.put("speechiness", random.nextDouble());
-            audioFeatures.put("tempo", 50.0 + random.nextDouble() * 150.0); // テンポは50〜200の範囲を想定
-            audioFeatures.put("timeSignature", random.nextInt(5) + 1); // 拍子記号は1〜5の範囲を想定
-            audioFeatures.put("valence", random.nextDouble());
-            audioFeatures.put("key", random.nextInt(12)); // キーは0〜11の範囲を想定
-            audioFeatures.put("durationMs", generateRandomDurationMs(trackId)); // トラックIDに基づいてdurationMsを生成
-            audioFeatures.put("id", AUDIO_FEATURES_ID_PREFIX + trackId);
-            audioFeaturesList.add(audioFeatures); // 生成したAudioFeatures取得リクエストをリストに追加
+            audioFeaturesList.add(findOrCreateAudioFeatures(trackId)); // 生成したAudioFeatures取得リクエストをリストに追加
         }
+        return audioFeaturesList;
+    }
 
-        logger.info("Returning mock data for audio features for tracks: {}", audioFeaturesList);
+    /**
+     * 複数のトラックIDからAudioFeaturesのモックデータを1件ずつ生成して書き込む。
+     * リスト全体を保持しないため、トラック数に関わらずリクエストあたりのメモリ使用量は一定となる。
+     *
+     * @param trackIds トラックIDのリスト
+     * @param writer   生成したAudioFeaturesを書き込むライター
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void streamAudioFeaturesForTracksMockData(List<String> trackIds, ElementWriter<? super Map<String, Object>> writer) throws IOException {
+        logger.debug("streamAudioFeaturesForTracksMockData called with {} trackIds", trackIds.size());
+
+        for (String trackId : trackIds) {
+            writer.write(findOrCreateAudioFeatures(trackId));
+        }
+    }
+
+    /**
+     * 複数のトラックIDからAudioFeaturesを record モデルで取得。
+     * JSON の形状は {@link #getAudioFeaturesForTracksMockData(List)} と同じ。
+     *
+     * @param trackIds トラックIDのリスト
+     * @return AudioFeaturesのリスト
+     */
+    public List<AudioFeatures> getAudioFeaturesForTracks(List<String> trackIds) {
+        logger.debug("getAudioFeaturesForTracks called with {} trackIds", trackIds.size());
+
+        List<AudioFeatures> audioFeaturesList = new ArrayList<>(trackIds.size());
+        for (String trackId : trackIds) {
+            audioFeaturesList.add(findOrCreateAudioFeaturesRecord(trackId));
+        }
         return audioFeaturesList;
     }
 
+    /**
+     * 複数のトラックIDからAudioFeaturesを record モデルで1件ずつ生成して書き込む。
+     *
+     * @param trackIds トラックIDのリスト
+     * @param writer   生成したAudioFeaturesを書き込むライター
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void streamAudioFeaturesForTracks(List<String> trackIds, ElementWriter<? super AudioFeatures> writer) throws IOException {
+        logger.debug("streamAudioFeaturesForTracks called with {} trackIds", trackIds.size());
+
+        for (String trackId : trackIds) {
+            writer.write(findOrCreateAudioFeaturesRecord(trackId));
+        }
+    }
+
+    /**
+     * トラック1件分のAudioFeaturesをフィクスチャから取得し、無い場合は生成する (Map 形式)。
+     *
+     * @param trackId トラックID
+     * @return AudioFeatures
+     */
+    private Map<String, Object> findOrCreateAudioFeatures(String trackId) {
+        Optional<Map<String, Object>> fixture = fixtureRepository.findAudioFeatures(trackId);
+        return fixture.isPresent() ? fixture.get() : createAudioFeatures(trackId);
+    }
+
+    /**
+     * トラック1件分のAudioFeaturesをフィクスチャから取得し、無い場合は record モデルで生成する。
+     *
+     * @param trackId トラックID
+     * @return AudioFeatures
+     */
+    private AudioFeatures findOrCreateAudioFeaturesRecord(String trackId) {
+        Optional<AudioFeatures> fixture = fixtureRepository.findAudioFeaturesRecord(trackId);
+        return fixture.isPresent() ? fixture.get() : createAudioFeaturesRecord(trackId);
+    }
+
+    /**
+     * トラック1件分のAudioFeaturesを record モデルで生成。
+     * 乱数は {@link #createAudioFeatures(String)} と同じ順序で取り出すため、deterministic モードでは同じ値となる。
+     *
+     * @param trackId トラックID
+     * @return AudioFeatures
+     */
+    private AudioFeatures createAudioFeaturesRecord(String trackId) {
+        return generateAudioFeatures(trackId, mockRandomSource.forEntity(AUDIO_FEATURES_ENTITY_TYPE, trackId), generateRandomDurationMs(trackId));
+    }
+
+    /**
+     * 乱数生成器からAudioFeaturesを生成 ({@link RecommendationIndex} の候補の生成にも使用する)。
+     *
+     * @param trackId    トラックID
+     * @param random     トラックごとの乱数生成器
+     * @param durationMs 再生時間 (ミリ秒)
+     * @return AudioFeatures
+     */
+    static AudioFeatures generateAudioFeatures(String trackId, RandomGenerator random, int durationMs) {
+        return new AudioFeatures(
+                AUDIO_FEATURES_ID_PREFIX + trackId,
+                random.nextDouble(), // acousticness
+                random.nextDouble(), // danceability
+                random.nextDouble(), // energy
+                random.nextDouble(), // instrumentalness
+                random.nextDouble(), // liveness
+                -60.0 + random.nextDouble() * 60.0, // loudness
+                random.nextInt(2), // mode
+                random.nextDouble(), // speechiness
+                50.0 + random.nextDouble() * 150.0, // tempo
+                random.nextInt(5) + 1, // timeSignature
+                random.nextDouble(), // valence
+                random.nextInt(12), // key
+                durationMs);
+    }
+
+    /**
+     * トラック1件分のAudioFeaturesのモックデータを生成。
+     *
+     * @param trackId トラックID
+     * @return AudioFeaturesのモックデータ (Map 形式)
+     */
+    private Map<String, Object> createAudioFeatures(String trackId) {
+        RandomGenerator random = mockRandomSource.forEntity(AUDIO_FEATURES_ENTITY_TYPE, trackId); // トラックごとの乱数生成器 (deterministic モードではトラックIDから決定)
+        Map<String, Object> audioFeatures = new HashMap<>(); // 各AudioFeatures取得リクエストのMap
+        audioFeatures.put("acousticness", random.nextDouble());
+        audioFeatures.put("danceability", random.nextDouble());
+        audioFeatures.put("energy", random.nextDouble());
+        audioFeatures.put("instrumentalness", random.nextDouble());
+        audioFeatures.put("liveness", random.nextDouble());
+        audioFeatures.put("loudness", -60.0 + random.nextDouble() * 60.0); // ラウドネスは-60.0〜0.0の範囲を想定
+        audioFeatures.put("mode", random.nextInt(2)); // 0 または 1
+        audioFeatures.put("speechiness", random.nextDouble());
+        audioFeatures.put("tempo", 50.0 + random.nextDouble() * 150.0); // テンポは50〜200の範囲を想定
+        audioFeatures.put("timeSignature", random.nextInt(5) + 1); // 拍子記号は1〜5の範囲を想定
+        audioFeatures.put("valence", random.nextDouble());
+        audioFeatures.put("key", random.nextInt(12)); // キーは0〜11の範囲を想定
+        audioFeatures.put("durationMs", generateRandomDurationMs(trackId)); // トラックIDに基づいてdurationMsを生成
+        audioFeatures.put("id", AUDIO_FEATURES_ID_PREFIX + trackId);
+        return audioFeatures;
+    }
+
     /**
      * ランダムなdurationMsを生成するヘルパーメソッド。
+     * 同じトラックIDに対しては {@link TrackDurationStore} に保持された同じ値を返す。
      *
      * @param trackId トラックID
      * @return ランダムなdurationMs (ミリ秒)
      */
     public int generateRandomDurationMs(String trackId) {
-        return trackDurationMsMap.computeIfAbsent(trackId, key -> {
-            Random random = new Random();
-            return 100000 + random.nextInt(200000); // 100000〜300000msの範囲でランダムなdurationMsを生成
-        });
+        return trackDurationStore.getDurationMs(trackId); // 100000〜300000msの範囲
     }
 }
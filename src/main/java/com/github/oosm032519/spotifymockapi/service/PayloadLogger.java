@@ -0,0 +1,129 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 生成したモックデータ (レスポンスのペイロード) をサンプリングしてログに出力するロガー。
+ * <p>
+ * 全リクエストのペイロードを toString で出力すると、それだけで負荷時の CPU の大半を占めるため、
+ * sampleRate の割合のリクエストだけを対象とし、JSON へのシリアライズも maxChars 文字で打ち切る。
+ * サンプリングされなかったリクエストではペイロードの文字列化を一切行わない。
+ * ログはロガー {@value #LOGGER_NAME} に INFO で出力され、logback-spring.xml の非同期アペンダー経由で書き込まれる。
+ */
+@Component
+public class PayloadLogger {
+
+    public static final String LOGGER_NAME = "com.github.oosm032519.spotifymockapi.payload";
+
+    private static final Logger logger = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final ObjectMapper objectMapper;
+    private final double sampleRate;
+    private final int maxChars;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param objectMapper ペイロードのシリアライズに使用する ObjectMapper
+     * @param sampleRate   ログに出力するリクエストの割合 (spotify.mock-api.payload-logging.sample-rate、0.0〜1.0)
+     * @param maxChars     出力するペイロードの最大文字数 (spotify.mock-api.payload-logging.max-chars)
+     */
+    public PayloadLogger(ObjectMapper objectMapper,
+                         @Value("${spotify.mock-api.payload-logging.sample-rate:0.01}") double sampleRate,
+                         @Value("${spotify.mock-api.payload-logging.max-chars:2048}") int maxChars) {
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new IllegalArgumentException("spotify.mock-api.payload-logging.sample-rate must be between 0.0 and 1.0: " + sampleRate);
+        }
+        this.objectMapper = objectMapper;
+        this.sampleRate = sampleRate;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * サンプリングされた場合にペイロードをログに出力する。
+     *
+     * @param event   生成処理の名前
+     * @param payload ペイロード
+     * @param <T>     ペイロードの型
+     * @return payload (呼び出し元でそのまま返せるように)
+     */
+    public <T> T log(String event, T payload) {
+        if (logger.isInfoEnabled() && isSampled()) {
+            logger.info("payload event={} body={}", event, render(payload));
+        }
+        return payload;
+    }
+
+    /**
+     * このリクエストのペイロードをログに出力するかを判定する。
+     */
+    boolean isSampled() {
+        return sampleRate > 0.0 && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * ペイロードを最大 maxChars 文字の JSON に変換する。超過した場合はシリアライズを打ち切り、末尾に省略を示す文字列を付与する。
+     */
+    String render(Object payload) {
+        TruncatingWriter writer = new TruncatingWriter(maxChars);
+        try {
+            objectMapper.writeValue(writer, payload);
+        } catch (IOException | RuntimeException e) {
+            if (!writer.isTruncated()) {
+                return "<unserializable payload: " + e.getClass().getSimpleName() + ">";
+            }
+        }
+        return writer.isTruncated() ? writer + "...(truncated)" : writer.toString();
+    }
+
+    /**
+     * 上限に達した時点で例外を投げてシリアライズを打ち切るライター。
+     */
+    private static final class TruncatingWriter extends Writer {
+
+        private final StringBuilder buffer;
+        private final int maxChars;
+        private boolean truncated;
+
+        private TruncatingWriter(int maxChars) {
+            this.buffer = new StringBuilder(Math.min(maxChars, 4096));
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int remaining = maxChars - buffer.length();
+            if (length > remaining) {
+                buffer.append(chars, offset, Math.max(remaining, 0));
+                truncated = true;
+                throw new IOException("Payload exceeds " + maxChars + " chars");
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * ヒープにプレイリストを保持しない仮想プレイリストカタログ。
+ * カタログはインデックス 1〜totalPlaylists の範囲として表現され、各プレイリストは必要な時にインデックスから生成される。
+ */
+@Component
+public class PlaylistCatalog {
+
+    private final int totalPlaylists;
+    private final int maxTracksPerPlaylist;
+
+    /**
+     * 1プレイリストあたりの最大トラック数をデフォルト値としてカタログを作成するコンストラクタ。
+     *
+     * @param totalPlaylists カタログの総プレイリスト数
+     */
+    public PlaylistCatalog(int totalPlaylists) {
+        this(totalPlaylists, MockDataGeneratorUtil.MAX_TRACKS_PER_PLAYLIST);
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param totalPlaylists       カタログの総プレイリスト数 (spotify.mock-api.catalog.total-playlists)
+     * @param maxTracksPerPlaylist 1プレイリストあたりの最大トラック数 (spotify.mock-api.catalog.max-tracks-per-playlist)
+     */
+    @Autowired
+    public PlaylistCatalog(@Value("${spotify.mock-api.catalog.total-playlists:" + MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS + "}") int totalPlaylists,
+                           @Value("${spotify.mock-api.catalog.max-tracks-per-playlist:" + MockDataGeneratorUtil.MAX_TRACKS_PER_PLAYLIST + "}") int maxTracksPerPlaylist) {
+        if (totalPlaylists < 0) {
+            throw new IllegalArgumentException("spotify.mock-api.catalog.total-playlists must not be negative: " + totalPlaylists);
+        }
+        if (maxTracksPerPlaylist < 0) {
+            throw new IllegalArgumentException("spotify.mock-api.catalog.max-tracks-per-playlist must not be negative: " + maxTracksPerPlaylist);
+        }
+        this.totalPlaylists = totalPlaylists;
+        this.maxTracksPerPlaylist = maxTracksPerPlaylist;
+    }
+
+    /**
+     * カタログの総プレイリスト数を取得。
+     *
+     * @return 総プレイリスト数
+     */
+    public int getTotalPlaylists() {
+        return totalPlaylists;
+    }
+
+    /**
+     * インデックスがカタログの範囲内かどうかを判定。
+     *
+     * @param index プレイリストのインデックス (1 始まり)
+     * @return 範囲内の場合は true
+     */
+    public boolean contains(int index) {
+        return index >= 1 && index <= totalPlaylists;
+    }
+
+    /**
+     * プレイリストIDからトラック数を決定。
+     *
+     * @param playlistId プレイリストID
+     * @return トラック数 (IDのインデックスと1プレイリストあたりの最大トラック数の小さい方)
+     */
+    public int getTrackCount(String playlistId) {
+        return Math.min(MockDataGeneratorUtil.getPlaylistIndex(playlistId), maxTracksPerPlaylist);
+    }
+
+    /**
+     * 1プレイリストあたりの最大トラック数を取得。
+     *
+     * @return 最大トラック数
+     */
+    public int getMaxTracksPerPlaylist() {
+        return maxTracksPerPlaylist;
+    }
+}
@@ -0,0 +1,707 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 生成されたプレイリストの名前と説明文を対象とするインメモリ転置インデックス。
+ * <p>
+ * 単語トークンごとにプレイリストインデックスのポスティングリストを昇順の int 配列として保持し
+ * (各要素は インデックス << 2 | 一致フィールドのビットマスク)、部分一致用に 3-gram から単語トークンIDへのポスティングリストを保持する。
+ * 出現数の多いトークンはフィールド別のビットセットも保持し、積集合と件数の計算をワード単位の論理演算で行う。
+ * 数字のみのトークン (プレイリスト番号) はプレイリストごとに一意でインデックスが肥大化するため保持せず、
+ * 検索時に該当するプレイリストを再生成して照合する (数字の部分一致は非対応)。
+ * <p>
+ * インデックスは最初の検索時に構築される。クエリの各トークンは AND 条件で評価され、
+ * 一致したフィールドに応じたスコアの降順 (同スコアはインデックスの昇順) に上位 k 件を選択する。
+ */
+@Component
+public class PlaylistSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaylistSearchIndex.class);
+
+    private static final int NAME_EXACT_SCORE = 4;
+    private static final int DESCRIPTION_EXACT_SCORE = 2;
+    private static final int NAME_PARTIAL_SCORE = 2;
+    private static final int DESCRIPTION_PARTIAL_SCORE = 1;
+    private static final int NGRAM_LENGTH = 3;
+    private static final int NAME_FIELD = 1;
+    private static final int DESCRIPTION_FIELD = 2;
+    private static final int FIELD_BITS = 2;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int MAX_INDEXABLE_PLAYLISTS = Integer.MAX_VALUE >>> FIELD_BITS;
+    private static final int LINEAR_PROBES = 8;
+    private static final int DENSE_TERM_RATIO_SHIFT = 5; // プレイリスト数の 1/32 以上に出現するトークンはビットセットも保持
+    private static final int[] EMPTY_POSTINGS = new int[0];
+
+    private final PlaylistCatalog playlistCatalog;
+    private final int maxIndexedPlaylists;
+    private volatile Index index; // 遅延構築されるインデックス
+    private final ReentrantLock indexLock = new ReentrantLock(); // 構築中に待つ仮想スレッドがキャリアスレッドを占有しないようにモニターではなくロックを使用
+
+    /**
+     * コンストラクタ。
+     *
+     * @param playlistCatalog     仮想プレイリストカタログ
+     * @param maxIndexedPlaylists インデックス対象とする最大プレイリスト数 (spotify.mock-api.search.max-indexed-playlists)
+     */
+    public PlaylistSearchIndex(PlaylistCatalog playlistCatalog,
+                               @Value("${spotify.mock-api.search.max-indexed-playlists:1000000}") int maxIndexedPlaylists) {
+        this.playlistCatalog = playlistCatalog;
+        this.maxIndexedPlaylists = maxIndexedPlaylists;
+    }
+
+    /**
+     * 検索結果。
+     *
+     * @param total           クエリに一致したプレイリストの総数
+     * @param playlistIndexes スコア順に並んだ上位のプレイリストインデックス (最大 topK 件)
+     */
+    public record SearchResult(int total, int[] playlistIndexes) {
+    }
+
+    /**
+     * 文字列を検索用トークンに分割する。英数字以外を区切り文字とし、小文字に正規化する。
+     *
+     * @param text 対象文字列 (null 可)
+     * @return トークンのリスト
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i; // トークン開始
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT)); // トークン終了
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * クエリに一致するプレイリストを検索し、スコア上位 topK 件を返す。
+     *
+     * @param query 検索クエリ
+     * @param topK  返却する上位件数
+     * @return 検索結果
+     */
+    public SearchResult search(String query, int topK) {
+        Index current = getIndex();
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(0, EMPTY_POSTINGS);
+        }
+
+        // トークンごとに一致条件 (ポスティングリストとスコアの組) を解決
+        Clause[][] termClauses = new Clause[terms.size()][];
+        int driver = 0;
+        long driverCost = Long.MAX_VALUE;
+        for (int t = 0; t < terms.size(); t++) {
+            termClauses[t] = current.resolve(terms.get(t));
+            long cost = 0;
+            for (Clause clause : termClauses[t]) {
+                cost += clause.postings.length;
+            }
+            if (cost == 0) {
+                return new SearchResult(0, EMPTY_POSTINGS); // AND 条件のため1つでも一致しないトークンがあれば結果は空
+            }
+            if (cost < driverCost) {
+                driverCost = cost; // 最も候補の少ないトークンを起点にする
+                driver = t;
+            }
+        }
+
+        TopK topKSelector = new TopK((int) Math.min(Math.max(topK, 0), driverCost));
+        if (terms.size() == 1 && termClauses[0].length == 1) {
+            return searchSingleClause(termClauses[0][0], topKSelector);
+        }
+        if (allDense(termClauses)) {
+            return searchBitsets(termClauses, topKSelector, current.documentCount);
+        }
+        return searchPostings(termClauses, driver, topKSelector);
+    }
+
+    /**
+     * 起点トークンのポスティングリストを走査し、他のトークンの一致を判定して評価する。
+     * ビットセットを持つ一致条件はビットの参照、持たない一致条件はカーソルの前進で判定する。
+     */
+    private static SearchResult searchPostings(Clause[][] termClauses, int driver, TopK topKSelector) {
+        int total = 0;
+        Clause[] driverClauses = termClauses[driver];
+        int[] driverPositions = new int[driverClauses.length];
+        int[][] positions = new int[termClauses.length][];
+        for (int t = 0; t < termClauses.length; t++) {
+            positions[t] = new int[termClauses[t].length];
+        }
+
+        while (true) {
+            // 起点トークンのポスティングリストの和集合を昇順に走査
+            int doc = Integer.MAX_VALUE;
+            for (int c = 0; c < driverClauses.length; c++) {
+                int[] postings = driverClauses[c].postings;
+                if (driverPositions[c] < postings.length) {
+                    doc = Math.min(doc, postings[driverPositions[c]] >>> FIELD_BITS);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            int score = 0;
+            for (int c = 0; c < driverClauses.length; c++) {
+                int[] postings = driverClauses[c].postings;
+                int position = driverPositions[c];
+                if (position < postings.length && postings[position] >>> FIELD_BITS == doc) {
+                    score += driverClauses[c].score(postings[position]);
+                    driverPositions[c] = position + 1;
+                }
+            }
+
+            // 他のトークンの一致判定 (候補は昇順のため各ポスティングリストのカーソルは前進させるのみ)
+            boolean matched = true;
+            for (int t = 0; t < termClauses.length && matched; t++) {
+                if (t == driver) {
+                    continue;
+                }
+                int termScore = 0;
+                Clause[] clauses = termClauses[t];
+                for (int c = 0; c < clauses.length; c++) {
+                    Clause clause = clauses[c];
+                    if (clause.isDense()) {
+                        termScore += clause.scoreOf(doc);
+                        continue;
+                    }
+                    int[] postings = clause.postings;
+                    int position = advance(postings, positions[t][c], doc << FIELD_BITS);
+                    positions[t][c] = position;
+                    if (position < postings.length && postings[position] >>> FIELD_BITS == doc) {
+                        termScore += clause.score(postings[position]);
+                    }
+                }
+                matched = termScore > 0;
+                score += termScore;
+            }
+            if (matched) {
+                total++;
+                topKSelector.offer(score, doc);
+            }
+        }
+        return new SearchResult(total, topKSelector.toSortedIndexes());
+    }
+
+    /**
+     * 全ての一致条件がビットセットを持つクエリを 64 プレイリスト単位の論理演算で評価する。
+     * 上位 k 件が到達可能な最大スコアで埋まった後は件数の集計のみ行う。
+     */
+    private static SearchResult searchBitsets(Clause[][] termClauses, TopK topKSelector, int documentCount) {
+        int maxScore = 0;
+        for (Clause[] clauses : termClauses) {
+            for (Clause clause : clauses) {
+                maxScore += clause.maxScore();
+            }
+        }
+        int total = 0;
+        int words = (documentCount >>> 6) + 1;
+        for (int word = 0; word < words; word++) {
+            long matches = -1L;
+            for (int t = 0; t < termClauses.length && matches != 0; t++) {
+                long termBits = 0;
+                for (Clause clause : termClauses[t]) {
+                    termBits |= clause.bitsAt(word);
+                }
+                matches &= termBits;
+            }
+            if (matches == 0) {
+                continue;
+            }
+            total += Long.bitCount(matches);
+            if (topKSelector.isSaturatedWith(maxScore)) {
+                continue;
+            }
+            for (long remaining = matches; remaining != 0; remaining &= remaining - 1) {
+                int doc = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                int score = 0;
+                for (Clause[] clauses : termClauses) {
+                    for (Clause clause : clauses) {
+                        score += clause.scoreOf(doc);
+                    }
+                }
+                topKSelector.offer(score, doc);
+            }
+        }
+        return new SearchResult(total, topKSelector.toSortedIndexes());
+    }
+
+    private static boolean allDense(Clause[][] termClauses) {
+        for (Clause[] clauses : termClauses) {
+            for (Clause clause : clauses) {
+                if (!clause.isDense()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 一致条件が1つだけのクエリを評価する。総数はポスティングリストの長さで確定するため、
+     * 上位 k 件が最大スコアで埋まった時点で走査を打ち切る (以降の候補はインデックスが大きく順位が下がるため)。
+     */
+    private static SearchResult searchSingleClause(Clause clause, TopK topKSelector) {
+        int[] postings = clause.postings;
+        int maxScore = clause.maxScore();
+        for (int position = 0; position < postings.length; position++) {
+            if (topKSelector.isSaturatedWith(maxScore)) {
+                break;
+            }
+            topKSelector.offer(clause.score(postings[position]), postings[position] >>> FIELD_BITS);
+        }
+        return new SearchResult(postings.length, topKSelector.toSortedIndexes());
+    }
+
+    /**
+     * インデックス済みのプレイリスト数を取得 (インデックスが未構築の場合は構築する)。
+     *
+     * @return インデックス済みのプレイリスト数
+     */
+    public int getIndexedPlaylistCount() {
+        return getIndex().documentCount;
+    }
+
+    private Index getIndex() {
+        Index current = index;
+        if (current == null) {
+            indexLock.lock();
+            try {
+                current = index;
+                if (current == null) {
+                    current = buildIndex();
+                    index = current;
+                }
+            } finally {
+                indexLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Index buildIndex() {
+        int documentCount = Math.min(playlistCatalog.getTotalPlaylists(), Math.min(Math.max(maxIndexedPlaylists, 0), MAX_INDEXABLE_PLAYLISTS));
+        if (documentCount < playlistCatalog.getTotalPlaylists()) {
+            logger.warn("Search index covers only the first {} of {} playlists (spotify.mock-api.search.max-indexed-playlists)",
+                    documentCount, playlistCatalog.getTotalPlaylists());
+        }
+        long startNanos = System.nanoTime();
+
+        Map<String, Integer> termIds = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        List<IntList> postingLists = new ArrayList<>();
+        for (int doc = 1; doc <= documentCount; doc++) {
+            String name = MockDataGeneratorUtil.generatePlaylistName(MockDataGeneratorUtil.generatePlaylistId(doc));
+            addDocumentTokens(name, doc, NAME_FIELD, termIds, terms, postingLists);
+            addDocumentTokens(MockDataGeneratorUtil.generatePlaylistDescription(doc), doc, DESCRIPTION_FIELD, termIds, terms, postingLists);
+        }
+
+        // 単語トークンの 3-gram から単語トークンIDへのポスティングリストを構築
+        Map<String, IntList> ngramLists = new HashMap<>();
+        for (int termId = 0; termId < terms.size(); termId++) {
+            String term = terms.get(termId);
+            for (int i = 0; i + NGRAM_LENGTH <= term.length(); i++) {
+                IntList list = ngramLists.computeIfAbsent(term.substring(i, i + NGRAM_LENGTH), key -> new IntList());
+                list.add(termId);
+            }
+        }
+        Map<String, int[]> ngramTerms = new HashMap<>();
+        ngramLists.forEach((ngram, list) -> ngramTerms.put(ngram, list.toArray()));
+
+        int[][] postings = new int[terms.size()][];
+        for (int termId = 0; termId < terms.size(); termId++) {
+            postings[termId] = postingLists.get(termId).toArray();
+        }
+
+        logger.info("Built playlist search index: playlists={}, terms={}, ngrams={}, elapsedMs={}",
+                documentCount, terms.size(), ngramTerms.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return new Index(documentCount, terms.toArray(new String[0]), termIds, postings, ngramTerms);
+    }
+
+    private static void addDocumentTokens(String text, int doc, int field, Map<String, Integer> termIds, List<String> terms,
+                                          List<IntList> postingLists) {
+        for (String token : tokenize(text)) {
+            if (isNumeric(token)) {
+                continue; // 数字トークンはインデックスに保持しない
+            }
+            Integer termId = termIds.get(token);
+            if (termId == null) {
+                termId = terms.size();
+                termIds.put(token, termId);
+                terms.add(token);
+                postingLists.add(new IntList());
+            }
+            postingLists.get(termId).addOrMerge(doc << FIELD_BITS, field); // 同一プレイリストの場合はフィールドのビットを合成
+        }
+    }
+
+    private static boolean isNumeric(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return !token.isEmpty();
+    }
+
+    /**
+     * ポスティングリストの from 以降で target 以上となる最初の位置を求める。
+     * 近い位置は線形に探索し、遠い場合はギャロッピング探索に切り替える。
+     */
+    private static int advance(int[] postings, int from, int target) {
+        int length = postings.length;
+        int probeEnd = Math.min(from + LINEAR_PROBES, length);
+        for (; from < probeEnd; from++) {
+            if (postings[from] >= target) {
+                return from;
+            }
+        }
+        if (from >= length) {
+            return length;
+        }
+        if (postings[from] >= target) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        while (high < length && postings[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        int found = Arrays.binarySearch(postings, low + 1, Math.min(high, length), target);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * 1トークン分の一致条件。postings に含まれるプレイリストに、一致したフィールドに応じたスコアを加算する。
+     */
+    private static final class Clause {
+
+        private final int[] postings;
+        private final int fieldUnion;
+        private final long[] nameBits; // ビットセットを持たない場合は null
+        private final long[] descriptionBits; // ビットセットを持たない場合は null
+        private final int[] scoresByFieldMask = new int[FIELD_MASK + 1];
+
+        private Clause(int[] postings, int fieldUnion, int nameScore, int descriptionScore) {
+            this(postings, fieldUnion, null, null, nameScore, descriptionScore);
+        }
+
+        private Clause(int[] postings, int fieldUnion, long[] nameBits, long[] descriptionBits, int nameScore, int descriptionScore) {
+            this.postings = postings;
+            this.fieldUnion = fieldUnion;
+            this.nameBits = nameBits;
+            this.descriptionBits = descriptionBits;
+            for (int mask = 0; mask <= FIELD_MASK; mask++) {
+                scoresByFieldMask[mask] = ((mask & NAME_FIELD) != 0 ? nameScore : 0) + ((mask & DESCRIPTION_FIELD) != 0 ? descriptionScore : 0);
+            }
+        }
+
+        private int score(int posting) {
+            return scoresByFieldMask[posting & FIELD_MASK];
+        }
+
+        private boolean isDense() {
+            return nameBits != null;
+        }
+
+        /**
+         * ビットセットから指定プレイリストのスコアを求める (一致しない場合は 0)。
+         */
+        private int scoreOf(int doc) {
+            int word = doc >>> 6;
+            int mask = (int) (nameBits[word] >>> doc) & 1 | ((int) (descriptionBits[word] >>> doc) & 1) << 1;
+            return scoresByFieldMask[mask];
+        }
+
+        /**
+         * 指定ワードに含まれる 64 プレイリスト分の一致ビットを取得。
+         */
+        private long bitsAt(int word) {
+            return nameBits[word] | descriptionBits[word];
+        }
+
+        /**
+         * ポスティングリスト中の最大スコア (いずれかのプレイリストで一致したフィールドの和集合から算出)。
+         */
+        private int maxScore() {
+            return scoresByFieldMask[fieldUnion];
+        }
+    }
+
+    /**
+     * 構築済みのインデックス (不変)。
+     */
+    private static final class Index {
+
+        private final int documentCount;
+        private final String[] terms;
+        private final Map<String, Integer> termIds;
+        private final int[][] postings;
+        private final int[] fieldUnions;
+        private final long[][] nameBits;
+        private final long[][] descriptionBits;
+        private final Map<String, int[]> ngramTerms;
+
+        private Index(int documentCount, String[] terms, Map<String, Integer> termIds, int[][] postings, Map<String, int[]> ngramTerms) {
+            this.documentCount = documentCount;
+            this.terms = terms;
+            this.termIds = termIds;
+            this.postings = postings;
+            this.fieldUnions = new int[postings.length];
+            this.nameBits = new long[postings.length][];
+            this.descriptionBits = new long[postings.length][];
+            int words = (documentCount >>> 6) + 1;
+            int denseThreshold = Math.max(documentCount >>> DENSE_TERM_RATIO_SHIFT, 1);
+            for (int termId = 0; termId < postings.length; termId++) {
+                boolean dense = postings[termId].length >= denseThreshold;
+                if (dense) {
+                    nameBits[termId] = new long[words];
+                    descriptionBits[termId] = new long[words];
+                }
+                for (int posting : postings[termId]) {
+                    fieldUnions[termId] |= posting & FIELD_MASK; // トークンが出現するフィールドの和集合
+                    if (dense) {
+                        int doc = posting >>> FIELD_BITS;
+                        if ((posting & NAME_FIELD) != 0) {
+                            nameBits[termId][doc >>> 6] |= 1L << doc;
+                        }
+                        if ((posting & DESCRIPTION_FIELD) != 0) {
+                            descriptionBits[termId][doc >>> 6] |= 1L << doc;
+                        }
+                    }
+                }
+            }
+            this.ngramTerms = ngramTerms;
+        }
+
+        /**
+         * クエリのトークンを一致条件に解決する。
+         */
+        private Clause[] resolve(String token) {
+            if (isNumeric(token)) {
+                return resolveNumeric(token);
+            }
+            Integer termId = termIds.get(token);
+            if (termId != null) {
+                return new Clause[]{termClause(termId, NAME_EXACT_SCORE, DESCRIPTION_EXACT_SCORE)};
+            }
+            int[] partialTermIds = findTermsContaining(token);
+            Clause[] clauses = new Clause[partialTermIds.length];
+            for (int i = 0; i < partialTermIds.length; i++) {
+                clauses[i] = termClause(partialTermIds[i], NAME_PARTIAL_SCORE, DESCRIPTION_PARTIAL_SCORE);
+            }
+            return clauses;
+        }
+
+        private Clause termClause(int termId, int nameScore, int descriptionScore) {
+            return new Clause(postings[termId], fieldUnions[termId], nameBits[termId], descriptionBits[termId], nameScore, descriptionScore);
+        }
+
+        /**
+         * 数字トークンに一致するプレイリストを再生成して照合する。
+         */
+        private Clause[] resolveNumeric(String token) {
+            if (token.length() > 9) {
+                return new Clause[0];
+            }
+            int doc = Integer.parseInt(token);
+            if (doc < 1 || doc > documentCount) {
+                return new Clause[0];
+            }
+            int fields = 0;
+            String name = MockDataGeneratorUtil.generatePlaylistName(MockDataGeneratorUtil.generatePlaylistId(doc));
+            if (tokenize(name).contains(token)) {
+                fields |= NAME_FIELD;
+            }
+            if (tokenize(MockDataGeneratorUtil.generatePlaylistDescription(doc)).contains(token)) {
+                fields |= DESCRIPTION_FIELD;
+            }
+            if (fields == 0) {
+                return new Clause[0];
+            }
+            return new Clause[]{new Clause(new int[]{doc << FIELD_BITS | fields}, fields, NAME_EXACT_SCORE, DESCRIPTION_EXACT_SCORE)};
+        }
+
+        /**
+         * 部分文字列として token を含む単語トークンIDを 3-gram ポスティングリストの積集合から求める。
+         */
+        private int[] findTermsContaining(String token) {
+            if (token.length() < NGRAM_LENGTH) {
+                IntList matches = new IntList();
+                for (int termId = 0; termId < terms.length; termId++) {
+                    if (terms[termId].contains(token)) {
+                        matches.add(termId); // 3-gram を作れない短いトークンは辞書を走査
+                    }
+                }
+                return matches.toArray();
+            }
+            int[] candidates = null;
+            for (int i = 0; i + NGRAM_LENGTH <= token.length(); i++) {
+                int[] postings = ngramTerms.get(token.substring(i, i + NGRAM_LENGTH));
+                if (postings == null) {
+                    return EMPTY_POSTINGS;
+                }
+                candidates = candidates == null ? postings : intersect(candidates, postings);
+            }
+            IntList matches = new IntList();
+            for (int termId : candidates) {
+                if (terms[termId].contains(token)) {
+                    matches.add(termId); // 3-gram の一致だけでは連続性が保証されないため検証する
+                }
+            }
+            return matches.toArray();
+        }
+
+        private static int[] intersect(int[] left, int[] right) {
+            IntList result = new IntList();
+            int i = 0;
+            int j = 0;
+            while (i < left.length && j < right.length) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result.add(left[i]);
+                    i++;
+                    j++;
+                }
+            }
+            return result.toArray();
+        }
+    }
+
+    /**
+     * スコア上位 k 件を保持するプリミティブ long の最小ヒープ。
+     * 上位32bitにスコア、下位32bitに反転したインデックスを詰め、値が大きいほど上位となるようにする。
+     */
+    private static final class TopK {
+
+        private final long[] heap;
+        private int size;
+
+        private TopK(int capacity) {
+            this.heap = new long[capacity];
+        }
+
+        private void offer(int score, int doc) {
+            if (heap.length == 0) {
+                return;
+            }
+            long key = ((long) score << 32) | (Integer.MAX_VALUE - doc);
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key > heap[0]) {
+                heap[0] = key; // 最小要素を置き換える
+                siftDown(0);
+            }
+        }
+
+        /**
+         * ヒープが満杯で、最小要素が指定スコアに達しているかを判定する。
+         */
+        private boolean isSaturatedWith(int score) {
+            return size == heap.length && (size == 0 || (int) (heap[0] >>> 32) >= score);
+        }
+
+        private int[] toSortedIndexes() {
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = Integer.MAX_VALUE - (int) keys[size - 1 - i]; // 降順に並べ替えてインデックスに戻す
+            }
+            return indexes;
+        }
+
+        private void siftUp(int position) {
+            long key = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (heap[parent] <= key) {
+                    break;
+                }
+                heap[position] = heap[parent];
+                position = parent;
+            }
+            heap[position] = key;
+        }
+
+        private void siftDown(int position) {
+            long key = heap[position];
+            int half = size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (key <= heap[child]) {
+                    break;
+                }
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = key;
+        }
+    }
+
+    /**
+     * 拡張可能なプリミティブ int 配列。
+     */
+    private static final class IntList {
+
+        private int[] values = new int[8];
+        private int size;
+
+        /**
+         * 単語トークンIDを追加する。末尾の要素と等しい場合は追加しない (同じ単語トークン内で繰り返す 3-gram)。
+         */
+        private void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * ポスティング (doc << FIELD_BITS | field) を追加する。末尾の要素と flags 以外が等しい場合は追加せず flags を合成する (同一プレイリスト内の重複トークン)。
+         */
+        private void addOrMerge(int value, int flags) {
+            if (size > 0 && (values[size - 1] | FIELD_MASK) == (value | FIELD_MASK)) {
+                values[size - 1] |= flags;
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = value | flags;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * おすすめトラックの候補を AudioFeatures のベクトルで保持し、最近傍を検索するインデックス。
+ * <p>
+ * 候補は {@link MockDataGeneratorUtil#RECOMMENDATION_TRACK_ID_PREFIX} に 1〜size の番号を付けたトラックで、
+ * 起動時に /mock/tracks/audio-features と同じ生成方法で AudioFeatures を生成し、{@link Feature} ごとに 0〜1 に正規化した
+ * float の列 (特徴量ごとの配列) として保持する (1候補あたり {@value #BYTES_PER_TRACK} バイト)。
+ * <p>
+ * 検索は全件の総当たりで、{@value #BLOCK_SIZE} 件のブロックごとに特徴量の列を順に走査して二乗距離を加算する。
+ * 内側のループは連続した配列の要素ごとの演算のみとなるため、JIT コンパイラが SIMD 命令に自動ベクトル化する。
+ * 上位 limit 件は最大ヒープで保持し、ヒープの最大距離より近い候補のみ挿入する。
+ */
+@Component
+public class RecommendationIndex {
+
+    static final int BLOCK_SIZE = 4096;
+    static final int BYTES_PER_TRACK = 9 * Float.BYTES;
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationIndex.class);
+    private static final String AUDIO_FEATURES_ENTITY_TYPE = "audio-features";
+
+    /**
+     * 類似度の計算に使用する AudioFeatures の特徴量。
+     */
+    public enum Feature {
+        ACOUSTICNESS(AudioFeatures::acousticness, 0.0, 1.0),
+        DANCEABILITY(AudioFeatures::danceability, 0.0, 1.0),
+        ENERGY(AudioFeatures::energy, 0.0, 1.0),
+        INSTRUMENTALNESS(AudioFeatures::instrumentalness, 0.0, 1.0),
+        LIVENESS(AudioFeatures::liveness, 0.0, 1.0),
+        LOUDNESS(AudioFeatures::loudness, -60.0, 0.0),
+        SPEECHINESS(AudioFeatures::speechiness, 0.0, 1.0),
+        TEMPO(AudioFeatures::tempo, 50.0, 200.0),
+        VALENCE(AudioFeatures::valence, 0.0, 1.0);
+
+        private final ToDoubleFunction<AudioFeatures> accessor;
+        private final double min;
+        private final double max;
+
+        Feature(ToDoubleFunction<AudioFeatures> accessor, double min, double max) {
+            this.accessor = accessor;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * パラメーター名 (target_ の後ろの部分) を取得。
+         *
+         * @return パラメーター名 (例: "acousticness")
+         */
+        public String getParameterName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * 値を 0〜1 に正規化する。範囲外の値は範囲内に丸める。
+         *
+         * @param value 特徴量の値 (例: テンポは BPM、ラウドネスは dB)
+         * @return 正規化した値
+         */
+        public float normalize(double value) {
+            return (float) Math.clamp((value - min) / (max - min), 0.0, 1.0);
+        }
+
+        private float normalize(AudioFeatures audioFeatures) {
+            return normalize(accessor.applyAsDouble(audioFeatures));
+        }
+    }
+
+    private static final Feature[] FEATURES = Feature.values();
+
+    private final int size;
+    private final float[][] columns = new float[FEATURES.length][];
+
+    /**
+     * コンストラクタ。
+     *
+     * @param mockRandomSource 生成モードとシードの提供元
+     * @param size             候補のトラック数 (spotify.mock-api.recommendations.catalog-size)
+     */
+    public RecommendationIndex(MockRandomSource mockRandomSource,
+                               @Value("${spotify.mock-api.recommendations.catalog-size:100000}") int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("spotify.mock-api.recommendations.catalog-size must not be negative: " + size);
+        }
+        this.size = size;
+        for (int feature = 0; feature < FEATURES.length; feature++) {
+            columns[feature] = new float[size];
+        }
+        long start = System.nanoTime();
+        float[] vector = new float[FEATURES.length];
+        for (int row = 0; row < size; row++) {
+            String trackId = trackId(row);
+            vectorOf(MockTrackService.generateAudioFeatures(trackId, mockRandomSource.forEntity(AUDIO_FEATURES_ENTITY_TYPE, trackId), 0), vector);
+            for (int feature = 0; feature < FEATURES.length; feature++) {
+                columns[feature][row] = vector[feature];
+            }
+        }
+        logger.info("Recommendation index built: {} tracks ({} bytes) in {} ms", size, (long) size * BYTES_PER_TRACK, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * AudioFeatures を正規化したベクトルに変換する。
+     *
+     * @param audioFeatures AudioFeatures
+     * @param vector        書き込み先 ({@link Feature} の順)
+     */
+    public static void vectorOf(AudioFeatures audioFeatures, float[] vector) {
+        for (int feature = 0; feature < FEATURES.length; feature++) {
+            vector[feature] = FEATURES[feature].normalize(audioFeatures);
+        }
+    }
+
+    /**
+     * 候補のトラック数を取得。
+     *
+     * @return 候補のトラック数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 候補のトラックIDを取得。
+     *
+     * @param row 候補の位置
+     * @return トラックID
+     */
+    public static String trackId(int row) {
+        return MockDataGeneratorUtil.RECOMMENDATION_TRACK_ID_PREFIX + (row + 1);
+    }
+
+    /**
+     * トラックIDから候補の位置を取得。
+     *
+     * @param trackId トラックID
+     * @return 候補の位置 (候補でない場合は -1)
+     */
+    public int rowOf(String trackId) {
+        if (!trackId.startsWith(MockDataGeneratorUtil.RECOMMENDATION_TRACK_ID_PREFIX)) {
+            return -1;
+        }
+        String number = trackId.substring(MockDataGeneratorUtil.RECOMMENDATION_TRACK_ID_PREFIX.length());
+        if (number.isEmpty() || number.length() > 10 || number.charAt(0) == '0' || !number.chars().allMatch(Character::isDigit)) {
+            return -1; // 候補のIDは先頭に 0 を付けない番号のみ
+        }
+        long row = Long.parseLong(number) - 1;
+        return row < size ? (int) row : -1;
+    }
+
+    /**
+     * 候補のベクトルを取得。
+     *
+     * @param row    候補の位置
+     * @param vector 書き込み先 ({@link Feature} の順)
+     */
+    public void copyVector(int row, float[] vector) {
+        for (int feature = 0; feature < FEATURES.length; feature++) {
+            vector[feature] = columns[feature][row];
+        }
+    }
+
+    /**
+     * クエリのベクトルに近い候補を検索する。距離は指定した特徴量のユークリッド距離で、同じ距離の場合は位置の小さい候補を優先する。
+     *
+     * @param query        クエリのベクトル ({@link Feature} の順、NaN の特徴量は距離の計算に使用しない)
+     * @param limit        取得件数
+     * @param excludedRows 結果から除外する候補の位置
+     * @return 近い順の候補の位置
+     */
+    public int[] nearest(float[] query, int limit, int[] excludedRows) {
+        int[] activeFeatures = new int[FEATURES.length];
+        int activeCount = 0;
+        for (int feature = 0; feature < FEATURES.length; feature++) {
+            if (!Float.isNaN(query[feature])) {
+                activeFeatures[activeCount++] = feature;
+            }
+        }
+        TopK topK = new TopK(Math.min(limit, size));
+        if (topK.capacity == 0) {
+            return new int[0];
+        }
+        float[] distances = new float[Math.min(BLOCK_SIZE, size)];
+        for (int blockStart = 0; blockStart < size; blockStart += BLOCK_SIZE) {
+            int blockLength = Math.min(BLOCK_SIZE, size - blockStart);
+            Arrays.fill(distances, 0, blockLength, 0.0f);
+            for (int i = 0; i < activeCount; i++) {
+                accumulate(columns[activeFeatures[i]], query[activeFeatures[i]], blockStart, blockLength, distances);
+            }
+            for (int i = 0; i < blockLength; i++) {
+                if (topK.accepts(distances[i]) && !contains(excludedRows, blockStart + i)) {
+                    topK.offer(distances[i], blockStart + i);
+                }
+            }
+        }
+        return topK.sortedRows();
+    }
+
+    /**
+     * 1つの特徴量の二乗距離をブロックの距離に加算する。
+     */
+    private static void accumulate(float[] column, float target, int blockStart, int blockLength, float[] distances) {
+        for (int i = 0; i < blockLength; i++) {
+            float difference = column[blockStart + i] - target;
+            distances[i] += difference * difference;
+        }
+    }
+
+    private static boolean contains(int[] rows, int row) {
+        for (int excluded : rows) {
+            if (excluded == row) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 距離の小さい上位 capacity 件を保持する最大ヒープ。
+     */
+    private static final class TopK {
+
+        private final int capacity;
+        private final float[] distances;
+        private final int[] rows;
+        private int count;
+
+        TopK(int capacity) {
+            this.capacity = Math.max(capacity, 0);
+            this.distances = new float[this.capacity];
+            this.rows = new int[this.capacity];
+        }
+
+        boolean accepts(float distance) {
+            return count < capacity || distance < distances[0]; // 同じ距離の場合は先に走査した (位置の小さい) 候補を残す
+        }
+
+        void offer(float distance, int row) {
+            if (count < capacity) {
+                int child = count++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (!greater(distance, row, distances[parent], rows[parent])) {
+                        break;
+                    }
+                    distances[child] = distances[parent];
+                    rows[child] = rows[parent];
+                    child = parent;
+                }
+                distances[child] = distance;
+                rows[child] = row;
+                return;
+            }
+            int parent = 0;
+            while (true) {
+                int child = 2 * parent + 1;
+                if (child >= count) {
+                    break;
+                }
+                if (child + 1 < count && greater(distances[child + 1], rows[child + 1], distances[child], rows[child])) {
+                    child++;
+                }
+                if (!greater(distances[child], rows[child], distance, row)) {
+                    break;
+                }
+                distances[parent] = distances[child];
+                rows[parent] = rows[child];
+                parent = child;
+            }
+            distances[parent] = distance;
+            rows[parent] = row;
+        }
+
+        int[] sortedRows() {
+            long[] entries = new long[count];
+            for (int i = 0; i < count; i++) {
+                // 距離は0以上のため、float のビット列の大小が値の大小と一致する
+                entries[i] = ((long) Float.floatToIntBits(distances[i]) << Integer.SIZE) | rows[i];
+            }
+            Arrays.sort(entries);
+            int[] sorted = new int[count];
+            for (int i = 0; i < count; i++) {
+                sorted[i] = (int) entries[i];
+            }
+            return sorted;
+        }
+
+        private static boolean greater(float distance, int row, float otherDistance, int otherRow) {
+            return distance > otherDistance || (distance == otherDistance && row > otherRow);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * おすすめトラックの検索条件。
+ *
+ * @param seedTracks  シードのトラックIDのリスト
+ * @param seedArtists シードのアーティストIDのリスト
+ * @param seedGenres  シードのジャンルのリスト
+ * @param limit       取得件数
+ * @param targets     特徴量ごとの目標値 (例: テンポは BPM、ラウドネスは dB)
+ */
+public record RecommendationQuery(List<String> seedTracks, List<String> seedArtists, List<String> seedGenres, int limit,
+                                  Map<RecommendationIndex.Feature, Double> targets) {
+
+    public static final int MAX_SEEDS = 5;
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String TARGET_PREFIX = "target_";
+    private static final Set<String> TARGET_PARAMETER_NAMES = Arrays.stream(RecommendationIndex.Feature.values())
+            .map(feature -> TARGET_PREFIX + feature.getParameterName())
+            .collect(Collectors.toUnmodifiableSet());
+
+    public RecommendationQuery {
+        seedTracks = List.copyOf(seedTracks);
+        seedArtists = List.copyOf(seedArtists);
+        seedGenres = List.copyOf(seedGenres);
+        targets = targets.isEmpty() ? Map.of() : new EnumMap<>(targets);
+        int seedCount = seedTracks.size() + seedArtists.size() + seedGenres.size();
+        if (seedCount > MAX_SEEDS) {
+            throw new IllegalArgumentException("Up to " + MAX_SEEDS + " seed values may be provided in any combination of seed_artists, seed_tracks and seed_genres: " + seedCount);
+        }
+        if (seedCount == 0 && targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one of seed_artists, seed_tracks, seed_genres or target_* must be provided");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+    }
+
+    /**
+     * Spotify の Get Recommendations API と同じ名前のリクエストパラメーターから検索条件を作成する。
+     * seed_* はカンマ区切りのリストとして扱う。target_* のうち {@link RecommendationIndex.Feature} 以外
+     * (target_key、target_popularity など) と min_* / max_* は無視する。
+     *
+     * @param parameters リクエストパラメーター
+     * @return 検索条件
+     * @throws IllegalArgumentException パラメーターが不正な場合
+     */
+    public static RecommendationQuery fromParameters(Map<String, String> parameters) {
+        Map<RecommendationIndex.Feature, Double> targets = new EnumMap<>(RecommendationIndex.Feature.class);
+        for (RecommendationIndex.Feature feature : RecommendationIndex.Feature.values()) {
+            String name = TARGET_PREFIX + feature.getParameterName();
+            String value = parameters.get(name);
+            if (value != null) {
+                targets.put(feature, parseNumber(name, value));
+            }
+        }
+        String limit = parameters.get("limit");
+        return new RecommendationQuery(
+                splitIds(parameters.get("seed_tracks")),
+                splitIds(parameters.get("seed_artists")),
+                splitIds(parameters.get("seed_genres")),
+                limit == null ? DEFAULT_LIMIT : parseLimit(limit),
+                targets);
+    }
+
+    /**
+     * リクエストパラメーターに seed_* または {@link #fromParameters(Map)} が使用する target_* が含まれるかを判定する。
+     * 無視する target_* (target_popularity など) のみの場合は false となる。
+     *
+     * @param parameters リクエストパラメーター
+     * @return 含まれる場合は true
+     */
+    public static boolean hasSeedsOrTargets(Map<String, String> parameters) {
+        return parameters.keySet().stream().anyMatch(name -> name.startsWith("seed_") || TARGET_PARAMETER_NAMES.contains(name));
+    }
+
+    private static List<String> splitIds(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(id -> !id.isEmpty()).toList();
+    }
+
+    private static int parseLimit(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("limit must be an integer: " + value, e);
+        }
+    }
+
+    private static double parseNumber(String name, String value) {
+        try {
+            double number = Double.parseDouble(value.trim());
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // 下で不正な値として扱う
+        }
+        throw new IllegalArgumentException(name + " must be a number: " + value);
+    }
+}
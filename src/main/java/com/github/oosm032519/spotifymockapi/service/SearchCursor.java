@@ -0,0 +1,76 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * プレイリスト検索のカーソル型ページネーションで使用する不透明なカーソルのエンコード/デコードを行うユーティリティクラス。
+ * クライアントはカーソルの中身に依存せず、レスポンスの nextCursor をそのまま次のリクエストに渡す。
+ * カーソルには発行時のクエリのハッシュ値を含め、別のクエリで使用された場合は不正なカーソルとして扱う。
+ */
+public final class SearchCursor {
+
+    private static final String VERSION_PREFIX = "v2:";
+    private static final char SEPARATOR = ':';
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private SearchCursor() {
+    }
+
+    /**
+     * 検索クエリと次ページの開始位置をカーソル文字列にエンコード。
+     *
+     * @param query  検索クエリ
+     * @param offset 次ページの開始位置
+     * @return カーソル文字列
+     */
+    public static String encode(String query, int offset) {
+        String payload = VERSION_PREFIX + Long.toHexString(queryHash(query)) + SEPARATOR + offset;
+        return ENCODER.encodeToString(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * カーソル文字列から開始位置をデコード。
+     *
+     * @param query  検索クエリ
+     * @param cursor カーソル文字列
+     * @return 開始位置
+     * @throws IllegalArgumentException カーソルが不正な場合、または別のクエリで発行されたカーソルの場合
+     */
+    public static int decode(String query, String cursor) {
+        String decoded;
+        try {
+            decoded = new String(DECODER.decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        int separator = decoded.indexOf(SEPARATOR, VERSION_PREFIX.length());
+        if (!decoded.startsWith(VERSION_PREFIX) || separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        long hash;
+        int offset;
+        try {
+            hash = Long.parseUnsignedLong(decoded, VERSION_PREFIX.length(), separator, 16);
+            offset = Integer.parseInt(decoded, separator + 1, decoded.length(), 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (hash != queryHash(query)) {
+            throw new IllegalArgumentException("Cursor does not match query: " + query);
+        }
+        return offset;
+    }
+
+    /**
+     * 検索で使用するトークン列 (小文字化した英数字の並び) のハッシュ値を計算する。
+     * 区切り文字や大文字小文字のみが異なるクエリは同じ検索結果となるため、同じハッシュ値となる。
+     */
+    private static long queryHash(String query) {
+        return MockDataGeneratorUtil.hash64(String.join(" ", PlaylistSearchIndex.tokenize(query)));
+    }
+}
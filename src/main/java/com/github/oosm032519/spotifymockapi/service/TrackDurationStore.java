@@ -0,0 +1,198 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * トラックIDごとの durationMs を保持する、スレッドセーフで容量上限付きのストア。
+ * <p>
+ * cache モードでは、トラックIDの 64bit ハッシュから決まる 2-way セットアソシアティブな {@link AtomicLongArray} に
+ * (ハッシュの上位32bit = フィンガープリント, durationMs) を1つの long として CAS で格納する。
+ * 容量を超えた場合は同じセット内のエントリを置き換えて追い出す。参照・登録ともにオブジェクトを生成しない。
+ * <p>
+ * 登録する値は {@link MockRandomSource} から生成するため、deterministic モードでは追い出された後も同じ値が再生成される。
+ * <p>
+ * hash モードでは状態を持たず、グローバルシードとトラックIDのハッシュ値から durationMs を算出する。
+ */
+@Component
+public class TrackDurationStore {
+
+    public static final int MIN_DURATION_MS = 100000;
+    public static final int DURATION_RANGE_MS = 200000;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MAX_CAS_ATTEMPTS = 4;
+    private static final String ENTITY_TYPE = "track-duration";
+
+    /**
+     * durationMs の決定方法。
+     */
+    public enum Mode {
+        /**
+         * ランダムに生成した値を容量上限付きのキャッシュに保持する。
+         */
+        CACHE,
+        /**
+         * トラックIDのハッシュ値から算出する (状態を持たない)。
+         */
+        HASH
+    }
+
+    private final Mode mode;
+    private final MockRandomSource mockRandomSource;
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param mode     durationMs の決定方法 (spotify.mock-api.track-duration.mode: cache / hash)
+     * @param capacity cache モードで保持する最大エントリ数 (spotify.mock-api.track-duration.capacity, 2のべき乗に切り上げ)
+     * @param mockRandomSource 乱数生成器の提供元
+     */
+    public TrackDurationStore(@Value("${spotify.mock-api.track-duration.mode:cache}") String mode,
+                              @Value("${spotify.mock-api.track-duration.capacity:65536}") int capacity,
+                              MockRandomSource mockRandomSource) {
+        if (capacity < 2 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("spotify.mock-api.track-duration.capacity must be between 2 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.mockRandomSource = mockRandomSource;
+        int slotCount = Integer.highestOneBit(capacity - 1) << 1; // 2のべき乗に切り上げ
+        this.slots = new AtomicLongArray(this.mode == Mode.CACHE ? slotCount : 0);
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * トラックIDに対応する durationMs を取得。同じトラックIDに対しては (追い出されない限り) 同じ値を返す。
+     *
+     * @param trackId トラックID
+     * @return durationMs (100000〜299999ms)
+     */
+    public int getDurationMs(String trackId) {
+        if (mode == Mode.HASH) {
+            return MIN_DURATION_MS + (int) Math.floorMod(mockRandomSource.entityHash(ENTITY_TYPE, trackId), (long) DURATION_RANGE_MS);
+        }
+
+        long hash = MockDataGeneratorUtil.hash64(trackId);
+        int fingerprint = (int) (hash >>> 32) | 1; // 0 は空きスロットを表すため最下位ビットを立てる
+        int first = (int) hash & mask & ~1; // 2-way セットの先頭スロット
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            long firstEntry = slots.get(first);
+            long secondEntry = slots.get(first + 1);
+            if ((int) (firstEntry >>> 32) == fingerprint) {
+                hits.increment();
+                return (int) firstEntry;
+            }
+            if ((int) (secondEntry >>> 32) == fingerprint) {
+                hits.increment();
+                return (int) secondEntry;
+            }
+
+            // 未登録: 空きスロットを優先し、無ければハッシュ値で選んだスロットを追い出す
+            int target;
+            long expected;
+            if (firstEntry == 0) {
+                target = first;
+                expected = firstEntry;
+            } else if (secondEntry == 0) {
+                target = first + 1;
+                expected = secondEntry;
+            } else {
+                target = first + (int) ((hash >>> 31) & 1);
+                expected = target == first ? firstEntry : secondEntry;
+            }
+            int durationMs = generateDurationMs(trackId);
+            if (slots.compareAndSet(target, expected, ((long) fingerprint << 32) | durationMs)) {
+                misses.increment();
+                if (expected == 0) {
+                    size.incrementAndGet();
+                } else {
+                    evictions.increment();
+                }
+                return durationMs;
+            }
+            // 他スレッドが同じセットを更新した場合は再読み込みして、同じトラックIDが登録済みならその値を使う
+        }
+        misses.increment();
+        return generateDurationMs(trackId); // 競合が続く場合は保存せずに返す
+    }
+
+    private int generateDurationMs(String trackId) {
+        return MIN_DURATION_MS + mockRandomSource.forEntity(ENTITY_TYPE, trackId).nextInt(DURATION_RANGE_MS);
+    }
+
+    /**
+     * durationMs の決定方法を取得。
+     *
+     * @return モード
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * 保持可能な最大エントリ数を取得 (hash モードでは 0)。
+     *
+     * @return 最大エントリ数
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * 現在保持しているエントリ数を取得。
+     *
+     * @return エントリ数
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * キャッシュヒット数を取得。
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * キャッシュミス数を取得。
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 追い出されたエントリ数を取得。
+     *
+     * @return 追い出し数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * キャッシュヒット率を取得。
+     *
+     * @return ヒット率 (参照が無い場合は 0.0)
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.oosm032519.spotifymockapi;
+
+import com.github.oosm032519.spotifymockapi.cache.CompressionMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class Http2CompressionTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void givenH2cClient_whenRequestTracksWithGzip_thenServesCachedGzipBodyOverHttp2() throws Exception {
+        // Arrange
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        URI uri = URI.create("http://localhost:" + port + "/mock/playlists/mockPlaylistId001/tracks");
+
+        // Act: 最初のリクエストで h2c にアップグレードし、以降は同じ接続で HTTP/2 を使用する
+        HttpResponse<byte[]> plain = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> gzip = client.send(HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        // Assert
+        assertThat(gzip.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(gzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzip.body().length).isLessThan(plain.body().length);
+        try (GZIPInputStream gzipInput = new GZIPInputStream(new ByteArrayInputStream(gzip.body()))) {
+            assertThat(gzipInput.readAllBytes()).isEqualTo(plain.body());
+        }
+        assertThat(meterRegistry.get(CompressionMetrics.COMPRESSION_RATIO_SUMMARY)
+                .tag("endpoint", "playlist-tracks").tag("encoding", "gzip").summary().count()).isEqualTo(1);
+    }
+}
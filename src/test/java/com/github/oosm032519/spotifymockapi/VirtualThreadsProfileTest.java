@@ -0,0 +1,53 @@
+package com.github.oosm032519.spotifymockapi;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsProfileTest {
+
+    @Autowired
+    private WebServerApplicationContext context;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void givenVirtualThreadsProfile_whenStarted_thenTomcatHandlesRequestsOnVirtualThreads() throws Exception {
+        // Arrange
+        Connector connector = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector();
+        AbstractProtocol<?> protocol = (AbstractProtocol<?>) connector.getProtocolHandler();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(); // 接続ごとに1リクエストとし、同時に処理するリクエスト数を増やす
+
+        // Act: スレッドプールの既定の上限 (200) を超える同時リクエストを送る
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/mock/playlists/mockPlaylistId001")).build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        // Assert
+        assertThat(protocol.getExecutor()).isInstanceOf(VirtualThreadExecutor.class);
+        assertThat(protocol.getMaxConnections()).isEqualTo(65536);
+        assertThat(responses).allSatisfy(response -> assertThat(response.get().statusCode()).isEqualTo(200));
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.oosm032519.spotifymockapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.service.MockRandomSource;
+import com.github.oosm032519.spotifymockapi.service.TrackDurationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheMetricsTest {
+
+    @Test
+    void givenCacheLookups_whenBindTo_thenExposesCacheStatistics() {
+        // Arrange
+        ResponseBodyCache responseBodyCache = new ResponseBodyCache(new ObjectMapper(), true, 1 << 20, false, false, new CompressionMetrics(new SimpleMeterRegistry()));
+        TrackDurationStore trackDurationStore = new TrackDurationStore("cache", 1024, new MockRandomSource("random", 0));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new CacheMetrics(responseBodyCache, trackDurationStore).bindTo(meterRegistry);
+
+        // Act: レスポンスボディキャッシュは 1 ミス + 3 ヒット、durationMs は 1 ミス + 1 ヒット
+        for (int i = 0; i < 4; i++) {
+            responseBodyCache.get("key", () -> List.of("value"));
+        }
+        trackDurationStore.getDurationMs("track_id_1");
+        trackDurationStore.getDurationMs("track_id_1");
+
+        // Assert
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheMetrics.RESPONSE_BODY_CACHE).tag("result", "hit").functionCounter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheMetrics.RESPONSE_BODY_CACHE).tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", CacheMetrics.RESPONSE_BODY_CACHE).gauge().value()).isEqualTo(0.75);
+        assertThat(meterRegistry.get("cache.size").tag("cache", CacheMetrics.RESPONSE_BODY_CACHE).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.bytes").tag("cache", CacheMetrics.RESPONSE_BODY_CACHE).gauge().value()).isPositive();
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", CacheMetrics.TRACK_DURATION_CACHE).gauge().value()).isEqualTo(0.5);
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.oosm032519.spotifymockapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompressionMetrics compressionMetrics = new CompressionMetrics(meterRegistry);
+
+    @Test
+    void givenSameKey_whenGet_thenGeneratesAndSerializesOnlyOnce() {
+        // Arrange
+        ResponseBodyCache cache = new ResponseBodyCache(objectMapper, true, 1 << 20, false, false, compressionMetrics);
+        AtomicInteger generated = new AtomicInteger();
+
+        // Act
+        CachedResponseBody first = cache.get("key", () -> {
+            generated.incrementAndGet();
+            return Map.of("id", "track1");
+        });
+        CachedResponseBody second = cache.get("key", () -> {
+            generated.incrementAndGet();
+            return Map.of("id", "track1");
+        });
+
+        // Assert
+        assertThat(generated.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"track1\"}");
+        assertThat(first.gzipBody()).isNull();
+        assertThat(first.deflateBody()).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenByteLimit_whenGet_thenEvictsOldestEntries() {
+        // Arrange: 2 エントリ分の上限
+        ResponseBodyCache cache = new ResponseBodyCache(objectMapper, true, 25, false, false, compressionMetrics);
+
+        // Act: 1エントリ 11 バイト (["value-0"]) のボディを5件登録
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            cache.get("key" + i, () -> List.of("value-" + index));
+        }
+
+        // Assert
+        assertThat(cache.getSizeInBytes()).isEqualTo(22);
+        assertThat(cache.getEntryCount()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void givenDisabledCache_whenGet_thenAlwaysRegenerates() {
+        // Arrange
+        ResponseBodyCache cache = new ResponseBodyCache(objectMapper, false, 1 << 20, false, false, compressionMetrics);
+        AtomicInteger generated = new AtomicInteger();
+
+        // Act
+        cache.get("key", generated::incrementAndGet);
+        cache.get("key", generated::incrementAndGet);
+
+        // Assert
+        assertThat(generated.get()).isEqualTo(2);
+        assertThat(cache.getEntryCount()).isZero();
+    }
+
+    @Test
+    void givenGzipOnlyCache_whenNegotiateEncoding_thenHonoursQualityValues() {
+        // Arrange: deflate を無効にしたキャッシュ
+        ResponseBodyCache cache = new ResponseBodyCache(objectMapper, true, 1 << 20, true, false, compressionMetrics);
+
+        // Act / Assert
+        assertThat(cache.negotiateEncoding("gzip, deflate, br")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(cache.negotiateEncoding("br;q=1.0, GZIP;q=0.5")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(cache.negotiateEncoding("gzip;q=0, deflate")).isNull();
+        assertThat(cache.negotiateEncoding("identity")).isNull();
+        assertThat(cache.negotiateEncoding(null)).isNull();
+    }
+
+    @Test
+    void givenCompressionEnabled_whenGet_thenKeepsEncodedBodiesAndRecordsMetricsPerEndpoint() throws Exception {
+        // Arrange
+        ResponseBodyCache cache = new ResponseBodyCache(objectMapper, true, 1 << 20, true, true, compressionMetrics);
+        List<String> repetitive = IntStream.range(0, 100).mapToObj(i -> "https://i.scdn.co/image/mock-" + i).toList();
+
+        // Act
+        CachedResponseBody first = cache.get("playlist-tracks:p1:1", () -> repetitive);
+        cache.get("playlist-tracks:p1:1", () -> repetitive);
+
+        // Assert: 圧縮は登録時の1回のみで、2回目はキャッシュした圧縮済みのバイト列を使用する
+        try (GZIPInputStream gzipInput = new GZIPInputStream(new ByteArrayInputStream(first.encodedBody(ContentEncoding.GZIP)))) {
+            assertThat(gzipInput.readAllBytes()).isEqualTo(first.body());
+        }
+        try (InflaterInputStream inflaterInput = new InflaterInputStream(new ByteArrayInputStream(first.encodedBody(ContentEncoding.DEFLATE)))) {
+            assertThat(inflaterInput.readAllBytes()).isEqualTo(first.body());
+        }
+        assertThat(first.sizeInBytes()).isEqualTo(first.body().length + first.gzipBody().length + first.deflateBody().length);
+        DistributionSummary ratio = meterRegistry.get(CompressionMetrics.COMPRESSION_RATIO_SUMMARY).tag("endpoint", "playlist-tracks").tag("encoding", "gzip").summary();
+        assertThat(ratio.count()).isEqualTo(1);
+        assertThat(ratio.max()).isLessThan(0.5);
+        assertThat(meterRegistry.get(CompressionMetrics.COMPRESSION_CPU_TIMER).tag("encoding", "deflate").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenAcceptEncodingHeader_whenNegotiateEncoding_thenPicksHighestQualityEnabledEncoding() {
+        // Arrange
+        ResponseBodyCache both = new ResponseBodyCache(objectMapper, true, 1 << 20, true, true, compressionMetrics);
+        ResponseBodyCache deflateOnly = new ResponseBodyCache(objectMapper, true, 1 << 20, false, true, compressionMetrics);
+
+        // Act & Assert
+        assertThat(both.negotiateEncoding("gzip, deflate")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(both.negotiateEncoding("gzip;q=0.5, deflate")).isEqualTo(ContentEncoding.DEFLATE);
+        assertThat(both.negotiateEncoding("br, identity")).isNull();
+        assertThat(both.negotiateEncoding(null)).isNull();
+        assertThat(deflateOnly.negotiateEncoding("gzip, deflate;q=0.1")).isEqualTo(ContentEncoding.DEFLATE);
+        assertThat(deflateOnly.negotiateEncoding("gzip, deflate;q=0")).isNull();
+    }
+}
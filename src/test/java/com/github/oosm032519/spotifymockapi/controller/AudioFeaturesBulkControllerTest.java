@@ -0,0 +1,121 @@
+package com.github.oosm032519.spotifymockapi.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.service.MockSpotifyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AudioFeaturesBulkControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ParallelBodyWriter parallelBodyWriter = new ParallelBodyWriter(3);
+
+    private AudioFeaturesBulkController controller;
+
+    @Mock
+    private MockSpotifyService mockSpotifyService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        controller = new AudioFeaturesBulkController(mockSpotifyService, objectMapper, parallelBodyWriter, 4, 100);
+        // トラックIDごとに ID だけが異なる AudioFeatures を返す
+        when(mockSpotifyService.getAudioFeaturesForTracks(anyList())).thenAnswer(invocation -> {
+            List<String> trackIds = invocation.getArgument(0);
+            return trackIds.stream()
+                    .map(trackId -> new AudioFeatures("audio_features_" + trackId, 0.5, 0.5, 0.5, 0.5, 0.5, -30.0, 1, 0.5, 120.0, 4, 0.5, 5, 200000))
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelBodyWriter.destroy();
+    }
+
+    private static ByteArrayInputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String idsJson(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "\"t" + i + "\"").toList().toString();
+    }
+
+    /**
+     * postAudioFeatures メソッドのテスト。
+     * 複数チャンクに分かれたトラックIDの AudioFeatures が元の順序の JSON 配列として書き込まれることを検証する。
+     */
+    @Test
+    void postAudioFeatures_manyTrackIds_writesJsonArrayInRequestOrder() throws IOException {
+        // Act: チャンクサイズ (4件) を超える10件のトラックIDでリクエスト
+        ResponseEntity<StreamingResponseBody> response = controller.postAudioFeatures(body("{\"ids\": " + idsJson(10) + "}"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Assert: 10件が元の順序で書き込まれ、生成は3チャンクに分かれる
+        List<Map<String, Object>> audioFeatures = objectMapper.readValue(output.toByteArray(), new TypeReference<>() {
+        });
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(audioFeatures).extracting(features -> features.get("id"))
+                .containsExactlyElementsOf(IntStream.range(0, 10).mapToObj(i -> "audio_features_t" + i).toList());
+        verify(mockSpotifyService, times(3)).getAudioFeaturesForTracks(anyList());
+    }
+
+    /**
+     * postAudioFeaturesAsNdjson メソッドのテスト。
+     * AudioFeatures が1行1件の NDJSON として書き込まれることを検証する。
+     */
+    @Test
+    void postAudioFeaturesAsNdjson_writesOneLinePerTrack() throws IOException {
+        // Act
+        ResponseEntity<StreamingResponseBody> response = controller.postAudioFeaturesAsNdjson(body(idsJson(6)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(lines).hasSize(6);
+        assertThat(objectMapper.readTree(lines[5]).get("id").asText()).isEqualTo("audio_features_t5");
+    }
+
+    /**
+     * postAudioFeatures メソッドのテスト。
+     * 不正なリクエストボディや上限を超えるトラックIDで 400 が返されることを検証する。
+     */
+    @Test
+    void postAudioFeatures_invalidBody_throwsBadRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> controller.postAudioFeatures(body("{\"ids\": [")))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> controller.postAudioFeatures(body(idsJson(101))))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -1,22 +1,48 @@
 package com.github.oosm032519.spotifymockapi.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.cache.CompressionMetrics;
+import com.github.oosm032519.spotifymockapi.cache.ResponseBodyCache;
+import com.github.oosm032519.spotifymockapi.model.Album;
+import com.github.oosm032519.spotifymockapi.model.Artist;
+import com.github.oosm032519.spotifymockapi.model.Image;
+import com.github.oosm032519.spotifymockapi.model.Track;
+import com.github.oosm032519.spotifymockapi.service.ElementWriter;
 import com.github.oosm032519.spotifymockapi.service.MockSpotifyService;
+import com.github.oosm032519.spotifymockapi.service.RecommendationIndex;
+import com.github.oosm032519.spotifymockapi.service.RecommendationQuery;
+import com.github.oosm032519.spotifymockapi.service.SearchCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class MockApiControllerTest {
 
-    @InjectMocks
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private MockApiController mockApiController;
 
     @Mock
@@ -25,6 +51,7 @@ class MockApiControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        mockApiController = new MockApiController(mockSpotifyService, new ResponseBodyCache(objectMapper, true, 1 << 20, true, true, new CompressionMetrics(new SimpleMeterRegistry())), objectMapper, new ParallelBodyWriter(4), "no-cache", "map", 3);
     }
 
     /**
@@ -46,7 +73,7 @@ class MockApiControllerTest {
         when(mockSpotifyService.getPlaylistSearchMockData(query, offset, limit)).thenReturn(mockData);
 
         // Act: テスト対象メソッドの実行
-        ResponseEntity<Map<String, Object>> response = mockApiController.searchPlaylists(query, offset, limit);
+        ResponseEntity<Map<String, Object>> response = mockApiController.searchPlaylists(query, offset, limit, null);
 
         // Assert: レスポンスの検証
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -54,13 +81,60 @@ class MockApiControllerTest {
         verify(mockSpotifyService, times(1)).getPlaylistSearchMockData(query, offset, limit);
     }
 
+    /**
+     * searchPlaylists メソッドのカーソル指定時のテスト。
+     * カーソルから復元した開始位置で MockSpotifyService が呼び出されることを検証する。
+     */
+    @Test
+    void searchPlaylists_withCursor_usesOffsetFromCursor() {
+        // Arrange: テストデータの準備
+        Map<String, Object> mockData = Map.of("playlists", Collections.emptyList(), "total", 0);
+        when(mockSpotifyService.getPlaylistSearchMockData("test", 40, 20)).thenReturn(mockData);
+
+        // Act: テスト対象メソッドの実行 (offset はカーソルで上書きされる)
+        ResponseEntity<Map<String, Object>> response = mockApiController.searchPlaylists("test", 0, 20, SearchCursor.encode("test", 40));
+
+        // Assert: レスポンスの検証
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(mockSpotifyService, times(1)).getPlaylistSearchMockData("test", 40, 20);
+    }
+
+    /**
+     * searchPlaylists メソッドの不正なカーソル指定時のテスト。
+     * 400 Bad Request となることを検証する。
+     */
+    @Test
+    void searchPlaylists_invalidCursor_throwsBadRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> mockApiController.searchPlaylists("test", 0, 20, "not-a-cursor"))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(mockSpotifyService);
+    }
+
+    /**
+     * searchPlaylists メソッドの別のクエリで発行されたカーソル指定時のテスト。
+     * 400 Bad Request となることを検証する。
+     */
+    @Test
+    void searchPlaylists_cursorFromDifferentQuery_throwsBadRequest() {
+        // Arrange: 別のクエリのレスポンスで発行されたカーソル
+        String cursor = SearchCursor.encode("rock", 40);
+
+        // Act & Assert
+        assertThatThrownBy(() -> mockApiController.searchPlaylists("jazz", 0, 20, cursor))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(mockSpotifyService);
+    }
+
     /**
      * getPlaylistDetails メソッドのテスト。
      * MockSpotifyService の getPlaylistDetailsMockData メソッドが正しく呼び出され、
      * 適切な ResponseEntity が返されることを検証する。
      */
     @Test
-    void getPlaylistDetails_validPlaylistId_returnsOkResponse() {
+    void getPlaylistDetails_validPlaylistId_returnsOkResponse() throws IOException {
         // Arrange: テストデータの準備
         String playlistId = "123";
         Map<String, Object> mockData = new HashMap<>();
@@ -72,11 +146,12 @@ class MockApiControllerTest {
         when(mockSpotifyService.getPlaylistDetailsMockData(playlistId)).thenReturn(mockData);
 
         // Act: テスト対象メソッドの実行
-        ResponseEntity<Map<String, Object>> response = mockApiController.getPlaylistDetails(playlistId);
+        ResponseEntity<byte[]> response = mockApiController.getPlaylistDetails(playlistId, null, null);
 
         // Assert: レスポンスの検証
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isEqualTo(mockData);
+        assertThat(objectMapper.readValue(response.getBody(), new TypeReference<Map<String, Object>>() {
+        })).isEqualTo(mockData);
         verify(mockSpotifyService, times(1)).getPlaylistDetailsMockData(playlistId);
     }
 
@@ -86,7 +161,7 @@ class MockApiControllerTest {
      * 適切な ResponseEntity が返されることを検証する。
      */
     @Test
-    void getPlaylistTracks_validPlaylistId_returnsOkResponse() {
+    void getPlaylistTracks_validPlaylistId_returnsOkResponse() throws IOException {
         // Arrange: テストデータの準備
         String playlistId = "123";
         List<Map<String, Object>> mockData = new ArrayList<>();
@@ -96,12 +171,236 @@ class MockApiControllerTest {
         when(mockSpotifyService.getPlaylistTracksMockData(playlistId)).thenReturn(mockData);
 
         // Act: テスト対象メソッドの実行
-        ResponseEntity<List<Map<String, Object>>> response = mockApiController.getPlaylistTracks(playlistId);
+        ResponseEntity<byte[]> response = mockApiController.getPlaylistTracks(playlistId, null, null);
 
         // Assert: レスポンスの検証
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isEqualTo(mockData);
+        assertThat(objectMapper.readValue(response.getBody(), new TypeReference<List<Map<String, Object>>>() {
+        })).isEqualTo(mockData);
+        verify(mockSpotifyService, times(1)).getPlaylistTracksMockData(playlistId);
+    }
+
+    /**
+     * getPlaylistTracks メソッドのキャッシュのテスト。
+     * 同じプレイリストIDへの2回目以降のリクエストではモックデータを再生成せず、
+     * gzip を受け入れるクライアントには圧縮済みのバイト列が返されることを検証する。
+     */
+    @Test
+    void getPlaylistTracks_repeatedRequest_servesCachedBytes() throws IOException {
+        // Arrange: テストデータの準備
+        String playlistId = "123";
+        List<Map<String, Object>> mockData = List.of(Map.of("id", "track1", "name", "Track 1"));
+        when(mockSpotifyService.getPlaylistTracksMockData(playlistId)).thenReturn(mockData);
+
+        // Act: 同じプレイリストIDで2回リクエスト (2回目は gzip を受け入れる)
+        ResponseEntity<byte[]> first = mockApiController.getPlaylistTracks(playlistId, null, null);
+        ResponseEntity<byte[]> second = mockApiController.getPlaylistTracks(playlistId, "gzip, deflate", null);
+
+        // Assert: モックデータの生成は1回のみで、2回目は gzip 圧縮されたバイト列が返される
+        verify(mockSpotifyService, times(1)).getPlaylistTracksMockData(playlistId);
+        assertThat(first.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(second.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream gzipInput = new GZIPInputStream(new ByteArrayInputStream(second.getBody()))) {
+            assertThat(gzipInput.readAllBytes()).isEqualTo(first.getBody());
+        }
+    }
+
+    /**
+     * deflate のみを受け入れるクライアントには deflate 圧縮済みのバイト列が返され、
+     * 表現ごとに異なる ETag となることを検証する。
+     */
+    @Test
+    void getPlaylistTracks_deflateAccepted_servesDeflateBytesWithDistinctETag() throws IOException {
+        // Arrange: テストデータの準備
+        String playlistId = "123";
+        List<Map<String, Object>> mockData = List.of(Map.of("id", "track1", "name", "Track 1"));
+        when(mockSpotifyService.getPlaylistTracksMockData(playlistId)).thenReturn(mockData);
+
+        // Act
+        ResponseEntity<byte[]> gzip = mockApiController.getPlaylistTracks(playlistId, "gzip", null);
+        ResponseEntity<byte[]> deflate = mockApiController.getPlaylistTracks(playlistId, "gzip;q=0.5, deflate", null);
+
+        // Assert
         verify(mockSpotifyService, times(1)).getPlaylistTracksMockData(playlistId);
+        assertThat(deflate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("deflate");
+        assertThat(deflate.getHeaders().getETag()).endsWith("-deflate\"").isNotEqualTo(gzip.getHeaders().getETag());
+        try (InflaterInputStream inflaterInput = new InflaterInputStream(new ByteArrayInputStream(deflate.getBody()))) {
+            assertThat(inflaterInput.readAllBytes()).isEqualTo(mockApiController.getPlaylistTracks(playlistId, null, null).getBody());
+        }
+    }
+
+    /**
+     * record モデルを使用する場合の getPlaylistTracks メソッドのテスト。
+     * MockSpotifyService の getPlaylistTracks メソッドが呼び出され、専用シリアライザーで書き込まれることを検証する。
+     */
+    @Test
+    void getPlaylistTracks_recordModel_writesRecordsWithoutMapModel() throws IOException {
+        // Arrange: record モデルを使用するコントローラーとテストデータの準備
+        MockApiController recordController = new MockApiController(mockSpotifyService, new ResponseBodyCache(objectMapper, true, 1 << 20, false, false, new CompressionMetrics(new SimpleMeterRegistry())), objectMapper, new ParallelBodyWriter(4), "no-cache", "record", 3);
+        String playlistId = "123";
+        Artist artist = new Artist("artist_id_1", "Artist 1");
+        Album album = new Album("album_id_1", "Album 1", List.of(artist), List.of(new Image("https://picsum.photos/seed/1/64/64", 640, 640)), "2023-01-01");
+        Track track = new Track("track_id_1", "Track 1", album, List.of(artist), 1, 200000, false, "USUM71800001", true, 80, "https://via.placeholder.com/150", 1);
+        when(mockSpotifyService.getPlaylistTracks(playlistId)).thenReturn(List.of(track));
+
+        // Act: テスト対象メソッドの実行
+        ResponseEntity<byte[]> response = recordController.getPlaylistTracks(playlistId, null, null);
+
+        // Assert: record モデルの値が JSON として書き込まれ、Map モデルは使用されない
+        List<Map<String, Object>> body = objectMapper.readValue(response.getBody(), new TypeReference<>() {
+        });
+        assertThat(body).hasSize(1);
+        assertThat(body.get(0)).containsEntry("id", "track_id_1").containsEntry("durationMs", 200000).containsEntry("uri", "spotify:track:track_id_1");
+        verify(mockSpotifyService, never()).getPlaylistTracksMockData(playlistId);
+    }
+
+    /**
+     * getPlaylistTracks メソッドの条件付きリクエストのテスト。
+     * If-None-Match が ETag と一致する場合はモックデータを生成せずに 304 が返されることを検証する。
+     */
+    @Test
+    void getPlaylistTracks_matchingIfNoneMatch_returnsNotModifiedWithoutGenerating() {
+        // Arrange: バージョンの振る舞いを設定し、初回レスポンスの ETag を取得
+        String playlistId = "123";
+        when(mockSpotifyService.getPlaylistTracksVersion(playlistId)).thenReturn(42L);
+        when(mockSpotifyService.getPlaylistTracksMockData(playlistId)).thenReturn(List.of(Map.of("id", "track1")));
+        String etag = mockApiController.getPlaylistTracks(playlistId, null, null).getHeaders().getETag();
+
+        // Act: 取得した ETag を If-None-Match に指定してリクエスト
+        ResponseEntity<byte[]> response = mockApiController.getPlaylistTracks(playlistId, null, "W/" + etag);
+
+        // Assert: 304 が返され、モックデータの生成は初回のみ
+        assertThat(etag).isEqualTo("\"2a\"");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+        verify(mockSpotifyService, times(1)).getPlaylistTracksMockData(playlistId);
+    }
+
+    /**
+     * getPlaylistTracks メソッドの条件付きリクエストのテスト。
+     * バージョンが変わった場合は ETag が変わり、モックデータが再生成されることを検証する。
+     */
+    @Test
+    void getPlaylistTracks_versionChanged_regeneratesBody() {
+        // Arrange: 2回目のリクエストでバージョンが変わるように設定
+        String playlistId = "123";
+        when(mockSpotifyService.getPlaylistTracksVersion(playlistId)).thenReturn(1L, 2L);
+        when(mockSpotifyService.getPlaylistTracksMockData(playlistId)).thenReturn(List.of(Map.of("id", "track1")));
+        String etag = mockApiController.getPlaylistTracks(playlistId, null, null).getHeaders().getETag();
+
+        // Act: 古い ETag を If-None-Match に指定してリクエスト
+        ResponseEntity<byte[]> response = mockApiController.getPlaylistTracks(playlistId, null, etag);
+
+        // Assert: 200 と新しい ETag が返され、モックデータが再生成される
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"2\"");
+        verify(mockSpotifyService, times(2)).getPlaylistTracksMockData(playlistId);
+    }
+
+    /**
+     * matchesIfNoneMatch メソッドのテスト。
+     * 複数の ETag、弱い ETag、"*" を正しく判定できることを検証する。
+     */
+    @Test
+    void matchesIfNoneMatch_variousHeaders_comparesWeakly() {
+        // Act & Assert: If-None-Match ヘッダーの判定結果を検証
+        assertThat(MockApiController.matchesIfNoneMatch(null, "\"a\"")).isFalse();
+        assertThat(MockApiController.matchesIfNoneMatch("\"b\", W/\"a\"", "\"a\"")).isTrue();
+        assertThat(MockApiController.matchesIfNoneMatch("*", "\"a\"")).isTrue();
+        assertThat(MockApiController.matchesIfNoneMatch("\"a\"", "\"a-gzip\"")).isFalse();
+    }
+
+    /**
+     * streamPlaylistTracksAsNdjson メソッドのテスト。
+     * MockSpotifyService から書き込まれたトラックが1行1件の NDJSON として出力されることを検証する。
+     */
+    @Test
+    void streamPlaylistTracksAsNdjson_writesOneLinePerTrack() throws IOException {
+        // Arrange: MockSpotifyService が2件のトラックを書き込むように設定
+        String playlistId = "123";
+        doAnswer(invocation -> {
+            ElementWriter<Map<String, Object>> writer = invocation.getArgument(1);
+            writer.write(Map.of("id", "track1"));
+            writer.write(Map.of("id", "track2"));
+            return null;
+        }).when(mockSpotifyService).streamPlaylistTracksMockData(eq(playlistId), any());
+
+        // Act: テスト対象メソッドを実行し、レスポンスボディを書き出す
+        ResponseEntity<StreamingResponseBody> response = mockApiController.streamPlaylistTracksAsNdjson(playlistId);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Assert: Content-Type と各行の内容を検証
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"track1\"}\n{\"id\":\"track2\"}\n");
+    }
+
+    /**
+     * streamAudioFeaturesForTracks メソッドのテスト。
+     * MockSpotifyService から書き込まれた AudioFeatures が JSON 配列として出力されることを検証する。
+     */
+    @Test
+    void streamAudioFeaturesForTracks_writesJsonArray() throws IOException {
+        // Arrange: MockSpotifyService が AudioFeatures を書き込むように設定
+        List<String> trackIds = List.of("track1", "track2");
+        doAnswer(invocation -> {
+            ElementWriter<Map<String, Object>> writer = invocation.getArgument(1);
+            for (String trackId : trackIds) {
+                writer.write(Map.of("id", "audio_features_" + trackId));
+            }
+            return null;
+        }).when(mockSpotifyService).streamAudioFeaturesForTracksMockData(eq(trackIds), any());
+
+        // Act: テスト対象メソッドを実行し、レスポンスボディを書き出す
+        ResponseEntity<StreamingResponseBody> response = mockApiController.streamAudioFeaturesForTracks(trackIds);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Assert: 一覧取得と同じ JSON 配列として読み込めることを検証
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(objectMapper.readValue(output.toByteArray(), new TypeReference<List<Map<String, Object>>>() {
+        })).containsExactly(Map.of("id", "audio_features_track1"), Map.of("id", "audio_features_track2"));
+    }
+
+    /**
+     * getPlaylistsTracks メソッドのテスト。
+     * 複数プレイリストのトラックリストがリクエストの順序で1つのレスポンスとして書き込まれることを検証する。
+     */
+    @Test
+    void getPlaylistsTracks_multipleIds_writesTracksInRequestOrder() throws IOException {
+        // Arrange: プレイリストごとのトラックリストを設定
+        List<String> playlistIds = List.of("p2", "p1", "p3");
+        for (String playlistId : playlistIds) {
+            when(mockSpotifyService.getPlaylistTracksMockData(playlistId)).thenReturn(List.of(Map.of("id", "track_of_" + playlistId)));
+        }
+
+        // Act: テスト対象メソッドを実行し、レスポンスボディを書き出す
+        ResponseEntity<StreamingResponseBody> response = mockApiController.getPlaylistsTracks(playlistIds);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Assert: リクエストの順序でプレイリストIDとトラックリストが書き込まれる
+        Map<String, List<Map<String, Object>>> body = objectMapper.readValue(output.toByteArray(), new TypeReference<>() {
+        });
+        assertThat(body.get("playlists")).extracting(playlist -> playlist.get("id")).containsExactly("p2", "p1", "p3");
+        assertThat(body.get("playlists").get(0).get("tracks")).isEqualTo(List.of(Map.of("id", "track_of_p2")));
+        assertThat(body.get("playlists").get(2).get("tracks")).isEqualTo(List.of(Map.of("id", "track_of_p3")));
+    }
+
+    /**
+     * getPlaylistsTracks メソッドのテスト。
+     * 上限を超えるプレイリストIDが指定された場合に 400 が返されることを検証する。
+     */
+    @Test
+    void getPlaylistsTracks_tooManyIds_throwsBadRequest() {
+        // Act & Assert: 上限 (3件) を超えるプレイリストIDを指定
+        assertThatThrownBy(() -> mockApiController.getPlaylistsTracks(List.of("p1", "p2", "p3", "p4")))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(mockSpotifyService);
     }
 
     /**
@@ -144,7 +443,7 @@ class MockApiControllerTest {
         when(mockSpotifyService.getRecommendationsMockData()).thenReturn(mockData);
 
         // Act: テスト対象メソッドの実行
-        ResponseEntity<List<Map<String, Object>>> response = mockApiController.getRecommendations();
+        ResponseEntity<List<Map<String, Object>>> response = mockApiController.getRecommendations(Map.of());
 
         // Assert: レスポンスの検証
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -152,6 +451,45 @@ class MockApiControllerTest {
         verify(mockSpotifyService, times(1)).getRecommendationsMockData();
     }
 
+    @Test
+    void givenSeedsAndTargets_whenGetRecommendations_thenPassesQueryToService() {
+        // Arrange
+        List<Map<String, Object>> mockData = List.of(Map.of("id", "recommendation_track_id_7"));
+        RecommendationQuery expectedQuery = new RecommendationQuery(List.of("track1", "track2"), List.of(), List.of("rock"), 10,
+                Map.of(RecommendationIndex.Feature.TEMPO, 120.0));
+        when(mockSpotifyService.getRecommendationsMockData(expectedQuery)).thenReturn(mockData);
+
+        // Act
+        ResponseEntity<List<Map<String, Object>>> response = mockApiController.getRecommendations(
+                Map.of("seed_tracks", "track1,track2", "seed_genres", "rock", "target_tempo", "120", "limit", "10"));
+
+        // Assert
+        assertThat(response.getBody()).isEqualTo(mockData);
+        verify(mockSpotifyService, never()).getRecommendationsMockData();
+    }
+
+    @Test
+    void givenOnlyIgnoredTargets_whenGetRecommendations_thenReturnsFixedRecommendations() {
+        // Arrange
+        List<Map<String, Object>> mockData = List.of(Map.of("id", "recommendation_track_id_1"));
+        when(mockSpotifyService.getRecommendationsMockData()).thenReturn(mockData);
+
+        // Act: target_popularity は使用しないパラメーターのため固定の一覧を返す
+        ResponseEntity<List<Map<String, Object>>> response = mockApiController.getRecommendations(Map.of("target_popularity", "50"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(mockData);
+        verify(mockSpotifyService, never()).getRecommendationsMockData(any(RecommendationQuery.class));
+    }
+
+    @Test
+    void givenTooManySeeds_whenGetRecommendations_thenBadRequest() {
+        assertThatThrownBy(() -> mockApiController.getRecommendations(Map.of("seed_tracks", "t1,t2,t3,t4,t5,t6")))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
     /**
      * getAudioFeaturesForTracks メソッドのテスト。
      * MockSpotifyService の getAudioFeaturesForTracksMockData メソッドが正しく呼び出され、
@@ -169,7 +507,7 @@ class MockApiControllerTest {
         when(mockSpotifyService.getAudioFeaturesForTracksMockData(trackIds)).thenReturn(mockData);
 
         // Act: テスト対象メソッドの実行
-        ResponseEntity<List<Map<String, Object>>> response = mockApiController.getAudioFeaturesForTracks(trackIds);
+        ResponseEntity<List<?>> response = mockApiController.getAudioFeaturesForTracks(trackIds);
 
         // Assert: レスポンスの検証
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -183,7 +521,7 @@ class MockApiControllerTest {
      * 適切な ResponseEntity が返されることを検証する。
      */
     @Test
-    void getUserPlaylists_returnsOkResponse() {
+    void getUserPlaylists_returnsOkResponse() throws IOException {
         // Arrange: テストデータの準備
         List<Map<String, Object>> mockData = new ArrayList<>();
         mockData.add(Map.of("id", "playlist1", "name", "Playlist 1"));
@@ -192,11 +530,12 @@ class MockApiControllerTest {
         when(mockSpotifyService.getFollowedPlaylistsMockData()).thenReturn(mockData);
 
         // Act: テスト対象メソッドの実行
-        ResponseEntity<List<Map<String, Object>>> response = mockApiController.getUserPlaylists();
+        ResponseEntity<byte[]> response = mockApiController.getUserPlaylists(null, null);
 
         // Assert: レスポンスの検証
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isEqualTo(mockData);
+        assertThat(objectMapper.readValue(response.getBody(), new TypeReference<List<Map<String, Object>>>() {
+        })).isEqualTo(mockData);
         verify(mockSpotifyService, times(1)).getFollowedPlaylistsMockData();
     }
 }
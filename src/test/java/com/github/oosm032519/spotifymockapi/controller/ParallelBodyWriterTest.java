@@ -0,0 +1,61 @@
+package com.github.oosm032519.spotifymockapi.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelBodyWriterTest {
+
+    private final ParallelBodyWriter writer = new ParallelBodyWriter(2);
+
+    @AfterEach
+    void tearDown() {
+        writer.destroy();
+    }
+
+    @Test
+    void givenParts_whenWriteInOrder_thenKeepsOrderAndLimitsConcurrency() throws IOException {
+        // Arrange: 生成中の部分の数の最大値を記録する
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<String> written = new ArrayList<>();
+
+        // Act
+        writer.writeInOrder(20, index -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20 - index); // 後の部分ほど早く完了する
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return ("part" + index).getBytes(StandardCharsets.UTF_8);
+        }, (index, part) -> written.add(index + ":" + new String(part, StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(written).hasSize(20);
+        assertThat(written.get(0)).isEqualTo("0:part0");
+        assertThat(written.get(19)).isEqualTo("19:part19");
+        assertThat(written).isSortedAccordingTo((a, b) -> Integer.compare(Integer.parseInt(a.split(":")[0]), Integer.parseInt(b.split(":")[0])));
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(writer.getParallelism());
+    }
+
+    @Test
+    void givenFailingGeneration_whenWriteInOrder_thenThrowsIOException() {
+        // Act & Assert
+        assertThatThrownBy(() -> writer.writeInOrder(2, index -> {
+            throw new IllegalStateException("generation failed");
+        }, (index, part) -> {
+        }))
+                .isInstanceOf(IOException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
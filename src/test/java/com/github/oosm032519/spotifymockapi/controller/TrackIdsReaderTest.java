@@ -0,0 +1,43 @@
+package com.github.oosm032519.spotifymockapi.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrackIdsReaderTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private List<String> read(String json, int maxIds) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return TrackIdsReader.read(parser, maxIds);
+        }
+    }
+
+    @Test
+    void givenArray_whenRead_thenReturnsTrackIds() throws IOException {
+        // 配列形式のトラックIDを読み込めるかテスト
+        assertThat(read("[\"t1\", \"t2\", \"t3\"]", 10)).containsExactly("t1", "t2", "t3");
+    }
+
+    @Test
+    void givenObjectWithIds_whenRead_thenSkipsUnknownFieldsAndReturnsTrackIds() throws IOException {
+        // {"ids": [...]} 形式で、未知のフィールドを読み飛ばせるかテスト
+        assertThat(read("{\"market\": {\"code\": \"JP\"}, \"ids\": [\"t1\", \"t2\"], \"extra\": [1, 2]}", 10)).containsExactly("t1", "t2");
+    }
+
+    @Test
+    void givenInvalidBody_whenRead_thenThrowsIllegalArgumentException() {
+        // 不正な形式や上限超過で例外が発生するかテスト
+        assertThatThrownBy(() -> read("[\"t1\", 2]", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> read("{\"trackIds\": []}", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> read("\"t1\"", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> read("[\"t1\", \"t2\", \"t3\"]", 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import com.github.oosm032519.spotifymockapi.config.LatencyProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyInjectionFilterTest {
+
+    private final LatencyInjectionFilter filter = new LatencyInjectionFilter(new LatencyProperties(true, Duration.ofSeconds(1), List.of(
+            new LatencyProperties.Profile("/mock/playlists/*/tracks", "fixed", Duration.ofMillis(50), null, null, null, null, null),
+            new LatencyProperties.Profile("/mock/recommendations", "fixed", Duration.ofMinutes(5), null, null, null, null, null))));
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    @Test
+    void givenMatchingPath_whenFilter_thenReleasesThreadAndDispatchesAfterDelay() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("/mock/playlists/mockPlaylistId001/tracks");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        long start = System.nanoTime();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert: 非同期モードに切り替わり、後続の処理は遅延後の再ディスパッチまで実行されない
+        assertThat(request.isAsyncStarted()).isTrue();
+        assertThat(chain.getRequest()).isNull();
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        while (asyncContext.getDispatchedPath() == null && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+            Thread.sleep(5);
+        }
+        assertThat(asyncContext.getDispatchedPath()).isEqualTo("/mock/playlists/mockPlaylistId001/tracks");
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void givenUnmatchedPath_whenFilter_thenPassesThroughImmediately() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("/mock/playlists/mockPlaylistId001");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(request.isAsyncStarted()).isFalse();
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    void givenDelayOverMax_whenSampleDelay_thenCapsAtMaxDelay() {
+        assertThat(filter.sampleDelayNanos("/mock/recommendations")).isEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(filter.sampleDelayNanos("/mock/search/playlists")).isZero();
+    }
+}
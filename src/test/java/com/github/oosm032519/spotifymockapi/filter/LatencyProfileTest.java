@@ -0,0 +1,72 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import com.github.oosm032519.spotifymockapi.config.LatencyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyProfileTest {
+
+    private static final int SAMPLES = 100_000;
+
+    private static LatencyProperties.Profile profile(String type, Duration delay, Duration min, Duration max, Duration p50, Duration p99, List<String> histogram) {
+        return new LatencyProperties.Profile("/mock/**", type, delay, min, max, p50, p99, histogram);
+    }
+
+    private static long[] sortedSamples(LatencyProfile latencyProfile) {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = latencyProfile.sampleNanos(random);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    @Test
+    void givenFixedProfile_whenSample_thenAlwaysReturnsDelay() {
+        LatencyProfile latencyProfile = LatencyProfile.from(profile("fixed", Duration.ofMillis(250), null, null, null, null, null));
+        assertThat(latencyProfile.sampleNanos(new SplittableRandom(1))).isEqualTo(Duration.ofMillis(250).toNanos());
+    }
+
+    @Test
+    void givenUniformProfile_whenSample_thenStaysWithinRange() {
+        long[] samples = sortedSamples(LatencyProfile.from(profile("uniform", null, Duration.ofMillis(10), Duration.ofMillis(20), null, null, null)));
+        assertThat(samples[0]).isGreaterThanOrEqualTo(Duration.ofMillis(10).toNanos());
+        assertThat(samples[SAMPLES - 1]).isLessThanOrEqualTo(Duration.ofMillis(20).toNanos());
+    }
+
+    @Test
+    void givenLogNormalProfile_whenSample_thenMatchesP50AndP99() {
+        // サンプルの p50 / p99 が指定値に近いかテスト
+        long[] samples = sortedSamples(LatencyProfile.from(profile("lognormal", null, null, null, Duration.ofMillis(80), Duration.ofSeconds(2), null)));
+        assertThat((double) samples[SAMPLES / 2]).isCloseTo(Duration.ofMillis(80).toNanos(), within(Duration.ofMillis(80).toNanos() * 0.05));
+        assertThat((double) samples[SAMPLES * 99 / 100]).isCloseTo(Duration.ofSeconds(2).toNanos(), within(Duration.ofSeconds(2).toNanos() * 0.1));
+    }
+
+    @Test
+    void givenHistogramProfile_whenSample_thenFollowsBucketWeights() {
+        // 件数に比例してバケットが選ばれるかテスト (件数 0 のバケットは選ばれない)
+        long[] samples = sortedSamples(LatencyProfile.from(profile("histogram", null, null, null, null, null, List.of("50ms:70", "100ms:0", "200ms:25", "2s:5"))));
+        long fastCount = Arrays.stream(samples).filter(sample -> sample <= Duration.ofMillis(50).toNanos()).count();
+        long between = Arrays.stream(samples).filter(sample -> sample > Duration.ofMillis(50).toNanos() && sample <= Duration.ofMillis(100).toNanos()).count();
+        assertThat(fastCount / (double) SAMPLES).isCloseTo(0.70, within(0.01));
+        assertThat(between).isZero(); // 200ms のバケットは前のバケットの上限 (100ms) から始まる
+        assertThat(samples[SAMPLES - 1]).isLessThanOrEqualTo(Duration.ofSeconds(2).toNanos());
+    }
+
+    @Test
+    void givenInvalidProfile_whenFrom_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> LatencyProfile.from(profile("pareto", null, null, null, null, null, null))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyProfile.from(profile("fixed", null, null, null, null, null, null))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyProfile.from(profile("lognormal", null, null, null, Duration.ofSeconds(2), Duration.ofMillis(80), null))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyProfile.from(profile("histogram", null, null, null, null, null, List.of("2s:5", "50ms:70")))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import com.github.oosm032519.spotifymockapi.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties(true, 1000, List.of(
+            new RateLimitProperties.Rule("/mock/recommendations", 0.5, 1),
+            new RateLimitProperties.Rule("/mock/**", 100, 2))));
+
+    private static MockHttpServletRequest request(String path, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+    @Test
+    void givenRequestsOverBurst_whenFilter_thenReturns429WithRetryAfter() throws Exception {
+        // Arrange
+        MockHttpServletResponse allowed = new MockHttpServletResponse();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+
+        // Act: 0.5 リクエスト/秒、容量 1 のルールに 2 回リクエスト
+        filter.doFilter(request("/mock/recommendations", "Bearer token-a"), allowed, new MockFilterChain());
+        filter.doFilter(request("/mock/recommendations", "Bearer token-a"), rejected, rejectedChain);
+
+        // Assert
+        assertThat(allowed.getStatus()).isEqualTo(200);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).isEqualTo("{\"error\":{\"status\":429,\"message\":\"API rate limit exceeded\"}}");
+        assertThat(rejectedChain.getRequest()).isNull();
+    }
+
+    @Test
+    void givenDifferentClientsAndEndpoints_whenAcquire_thenUsesSeparateBuckets() {
+        // Arrange
+        long now = System.nanoTime();
+        filter.acquire("Bearer token-a", "/mock/recommendations", now);
+
+        // Act & Assert
+        assertThat(filter.acquire("Bearer token-a", "/mock/recommendations", now)).isPositive();
+        assertThat(filter.acquire("Bearer token-b", "/mock/recommendations", now)).isZero();
+        assertThat(filter.acquire("Bearer token-a", "/mock/playlists/mockPlaylistId001", now)).isZero();
+        assertThat(filter.acquire("Bearer token-a", "/other", now)).isZero(); // 一致するルールが無い
+    }
+
+    @Test
+    void givenWaitNanos_whenRetryAfterSeconds_thenRoundsUpToWholeSeconds() {
+        assertThat(RateLimitFilter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(RateLimitFilter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1))).isEqualTo(1);
+        assertThat(RateLimitFilter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1) + 1)).isEqualTo(2);
+    }
+
+    @Test
+    void givenNonPositiveRate_whenCreate_thenThrows() {
+        assertThatThrownBy(() -> new RateLimitFilter(new RateLimitProperties(true, 1000, List.of(new RateLimitProperties.Rule("/mock/**", 0, 1)))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,249 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import com.github.oosm032519.spotifymockapi.config.RecordReplayProperties;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordReplayFilterTest {
+
+    @TempDir
+    Path directory;
+
+    private HttpServer upstream;
+    private final AtomicInteger upstreamRequests = new AtomicInteger();
+
+    @BeforeEach
+    void startUpstream() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        upstream.createContext("/mock/", exchange -> {
+            upstreamRequests.incrementAndGet();
+            byte[] body = ("{\"path\":\"" + exchange.getRequestURI() + "\",\"accept\":\"" + exchange.getRequestHeaders().getFirst("Accept") + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        upstream.start();
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    private RecordReplayFilter filter(RecordReplayProperties.Mode mode, boolean passThroughOnMiss) throws Exception {
+        String upstreamUrl = "http://127.0.0.1:" + upstream.getAddress().getPort() + "/";
+        return new RecordReplayFilter(new RecordReplayProperties(true, mode, upstreamUrl, directory.toString(), Duration.ofSeconds(5), passThroughOnMiss));
+    }
+
+    private static MockHttpServletRequest request(String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setQueryString(query);
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+
+    private static final FilterChain FAILING_CHAIN = (request, response) -> {
+        throw new AssertionError("Mock data must not be generated");
+    };
+
+    @Test
+    void givenRecordMode_whenRequest_thenProxiesUpstreamAndReplaysStoredBody() throws Exception {
+        // Arrange
+        RecordReplayFilter recorder = filter(RecordReplayProperties.Mode.RECORD, true);
+        MockHttpServletResponse recorded = new MockHttpServletResponse();
+
+        // Act
+        recorder.doFilter(request("/mock/tracks/audio-features", "trackIds=b&trackIds=a"), recorded, FAILING_CHAIN);
+        recorder.destroy();
+        RecordReplayFilter replayer = filter(RecordReplayProperties.Mode.REPLAY, false);
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+        replayer.doFilter(request("/mock/tracks/audio-features", "trackIds=a&trackIds=b"), replayed, FAILING_CHAIN);
+        replayer.destroy();
+
+        // Assert: クエリパラメータの順序が異なっても記録したボディが返る
+        assertThat(upstreamRequests).hasValue(1);
+        assertThat(recorded.getStatus()).isEqualTo(200);
+        assertThat(recorded.getContentAsString()).isEqualTo("{\"path\":\"/mock/tracks/audio-features?trackIds=b&trackIds=a\",\"accept\":\"application/json\"}");
+        assertThat(replayed.getStatus()).isEqualTo(200);
+        assertThat(replayed.getContentType()).isEqualTo("application/json");
+        assertThat(replayed.getContentLengthLong()).isEqualTo(recorded.getContentAsByteArray().length);
+        assertThat(replayed.getContentAsString()).isEqualTo(recorded.getContentAsString());
+    }
+
+    @Test
+    void givenSendfileSupport_whenReplay_thenDelegatesFileRangeToContainer() throws Exception {
+        // Arrange
+        RecordReplayFilter recorder = filter(RecordReplayProperties.Mode.RECORD, true);
+        recorder.doFilter(request("/mock/playlists/mockPlaylistId001", null), new MockHttpServletResponse(), FAILING_CHAIN);
+        recorder.destroy();
+        RecordReplayFilter replayer = filter(RecordReplayProperties.Mode.REPLAY, false);
+        MockHttpServletRequest request = request("/mock/playlists/mockPlaylistId001", null);
+        request.setAttribute(RecordReplayFilter.SENDFILE_SUPPORT_ATTRIBUTE, Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        replayer.doFilter(request, response, FAILING_CHAIN);
+        replayer.destroy();
+
+        // Assert: ボディは書き込まず、送信するファイルの範囲を設定する
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        long start = (Long) request.getAttribute(RecordReplayFilter.SENDFILE_START_ATTRIBUTE);
+        long end = (Long) request.getAttribute(RecordReplayFilter.SENDFILE_END_ATTRIBUTE);
+        assertThat(end - start).isEqualTo(response.getContentLengthLong());
+        assertThat((String) request.getAttribute(RecordReplayFilter.SENDFILE_FILENAME_ATTRIBUTE)).endsWith("recordings.dat");
+    }
+
+    @Test
+    void givenReplayMiss_whenPassThrough_thenGeneratesWithRequestBodyIntact() throws Exception {
+        // Arrange
+        RecordReplayFilter replayer = filter(RecordReplayProperties.Mode.REPLAY, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mock/tracks/audio-features");
+        request.setContent("[\"a\"]".getBytes(StandardCharsets.UTF_8));
+        StringBuilder generatedFrom = new StringBuilder();
+
+        // Act
+        replayer.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> generatedFrom.append(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+        replayer.destroy();
+
+        // Assert
+        assertThat(generatedFrom).hasToString("[\"a\"]");
+        assertThat(upstreamRequests).hasValue(0);
+    }
+
+    @Test
+    void givenReplayMissWithoutBody_whenPassThrough_thenPassesOriginalRequestUnread() throws Exception {
+        // Arrange
+        RecordReplayFilter replayer = filter(RecordReplayProperties.Mode.REPLAY, true);
+        MockHttpServletRequest request = request("/mock/playlists/unknown", null);
+        List<Object> passedRequests = new ArrayList<>();
+
+        // Act
+        replayer.doFilter(request, new MockHttpServletResponse(), (req, res) -> passedRequests.add(req));
+        replayer.destroy();
+
+        // Assert: ボディの無いリクエストはバッファリングせずにそのまま渡す
+        assertThat(passedRequests).containsExactly(request);
+        assertThat(RecordReplayFilter.hasBody(request)).isFalse();
+    }
+
+    @Test
+    void givenContentLengthOrChunkedEncoding_whenHasBody_thenTrue() {
+        // Arrange
+        MockHttpServletRequest withContent = new MockHttpServletRequest("POST", "/mock/tracks/audio-features");
+        withContent.setContent("[]".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/mock/tracks/audio-features");
+        chunked.addHeader("Transfer-Encoding", "chunked");
+
+        // Act & Assert
+        assertThat(RecordReplayFilter.hasBody(withContent)).isTrue();
+        assertThat(RecordReplayFilter.hasBody(chunked)).isTrue();
+        assertThat(RecordReplayFilter.hasBody(new MockHttpServletRequest("HEAD", "/mock/playlists/p1"))).isFalse();
+    }
+
+    @Test
+    void givenReplayMiss_whenNoPassThrough_thenNotFound() throws Exception {
+        // Arrange
+        RecordReplayFilter replayer = filter(RecordReplayProperties.Mode.REPLAY, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        replayer.doFilter(request("/mock/playlists/unknown", null), response, FAILING_CHAIN);
+        replayer.destroy();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getContentAsString()).contains("No recorded response");
+    }
+
+    @Test
+    void givenEquivalentRequests_whenNormalizeKey_thenSameKeyUnlessBodyOrAcceptDiffers() {
+        // Arrange
+        MockHttpServletRequest first = request("/mock/search", "q=rock&limit=10");
+        MockHttpServletRequest second = request("/mock/search", "limit=10&q=r%6Fck");
+        second.removeHeader("Accept");
+        second.addHeader("Accept", "application/json;q=0.9, */*");
+        MockHttpServletRequest ndjson = request("/mock/search", "q=rock&limit=10");
+        ndjson.removeHeader("Accept");
+        ndjson.addHeader("Accept", "application/x-ndjson");
+
+        // Act & Assert
+        String key = RecordReplayFilter.normalizeKey(first, new byte[0]);
+        assertThat(key).isEqualTo("GET /mock/search?limit=10&q=rock accept=application/json");
+        assertThat(RecordReplayFilter.normalizeKey(second, new byte[0])).isEqualTo(key);
+        assertThat(RecordReplayFilter.normalizeKey(ndjson, new byte[0])).isNotEqualTo(key);
+        assertThat(RecordReplayFilter.normalizeKey(first, "[\"a\"]".getBytes(StandardCharsets.UTF_8))).startsWith(key + " body=");
+    }
+
+    @Test
+    void givenEscapedSeparatorInValue_whenNormalizeKey_thenDiffersFromSeparateParameters() {
+        // Arrange
+        MockHttpServletRequest escaped = request("/mock/search", "a=1%26b=2");
+        MockHttpServletRequest separate = request("/mock/search", "a=1&b=2");
+
+        // Act
+        String escapedKey = RecordReplayFilter.normalizeKey(escaped, new byte[0]);
+        String separateKey = RecordReplayFilter.normalizeKey(separate, new byte[0]);
+
+        // Assert
+        assertThat(escapedKey).isEqualTo("GET /mock/search?a=1%26b%3D2 accept=application/json");
+        assertThat(separateKey).isEqualTo("GET /mock/search?a=1&b=2 accept=application/json");
+    }
+
+    @Test
+    void givenBufferedBody_whenSetReadListener_thenDeliversWholeBodyAndCompletes() throws Exception {
+        // Arrange
+        byte[] body = "[\"track1\"]".getBytes(StandardCharsets.UTF_8);
+        ServletInputStream input = new RecordReplayFilter.BufferedBodyRequest(new MockHttpServletRequest(), body).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        // Act
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[4];
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(buffer, 0, input.read(buffer));
+                }
+                events.add("data");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        // Assert
+        assertThat(read.toByteArray()).isEqualTo(body);
+        assertThat(events).containsExactly("data", "done");
+    }
+}
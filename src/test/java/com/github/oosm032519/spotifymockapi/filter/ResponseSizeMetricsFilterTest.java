@@ -0,0 +1,80 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSizeMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseSizeMetricsFilter filter = new ResponseSizeMetricsFilter(meterRegistry);
+
+    private static MockHttpServletRequest request(String path, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    @Test
+    void givenResponseBody_whenFilter_thenRecordsBytesByRequestPattern() throws Exception {
+        // Arrange
+        FilterChain chain = (request, response) -> response.getOutputStream().write(new byte[1234]);
+
+        // Act
+        filter.doFilter(request("/mock/playlists/mockPlaylistId001/tracks", "/mock/playlists/{playlistId}/tracks"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("/mock/playlists/mockPlaylistId002/tracks", "/mock/playlists/{playlistId}/tracks"), new MockHttpServletResponse(), chain);
+
+        // Assert: パスパラメータが異なっても同じメーターに記録される
+        DistributionSummary summary = meterRegistry.get(ResponseSizeMetricsFilter.RESPONSE_SIZE_SUMMARY)
+                .tag("uri", "/mock/playlists/{playlistId}/tracks").tag("status", "200").summary();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.totalAmount()).isEqualTo(2468);
+    }
+
+    @Test
+    void givenAsyncResponse_whenFilter_thenRecordsOnAsyncCompletion() throws Exception {
+        // Arrange: ストリーミングレスポンスのように非同期処理を開始し、後から書き込む
+        MockHttpServletRequest request = request("/mock/tracks/audio-features", "/mock/tracks/audio-features");
+        FilterChain chain = (req, res) -> req.startAsync(req, res);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chain);
+        assertThat(meterRegistry.find(ResponseSizeMetricsFilter.RESPONSE_SIZE_SUMMARY).summary()).isNull();
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        asyncContext.getResponse().getOutputStream().write(new byte[100]);
+        asyncContext.complete();
+
+        // Assert
+        assertThat(meterRegistry.get(ResponseSizeMetricsFilter.RESPONSE_SIZE_SUMMARY).summary().totalAmount()).isEqualTo(100);
+    }
+
+    @Test
+    void givenNonMockPath_whenFilter_thenDoesNotRecord() throws Exception {
+        // Act
+        filter.doFilter(request("/actuator/prometheus", null), new MockHttpServletResponse(), (req, res) -> res.getOutputStream().write(1));
+
+        // Assert
+        assertThat(meterRegistry.find(ResponseSizeMetricsFilter.RESPONSE_SIZE_SUMMARY).summary()).isNull();
+    }
+
+    @Test
+    void givenBodySentOutsideOutputStream_whenFilter_thenRecordsContentLength() throws Exception {
+        // Arrange: sendfile のように出力ストリームを経由せずに送信する
+        FilterChain chain = (request, response) -> response.setContentLengthLong(4096);
+
+        // Act
+        filter.doFilter(request("/mock/playlists/mockPlaylistId001", "/mock/playlists/{playlistId}"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(meterRegistry.get(ResponseSizeMetricsFilter.RESPONSE_SIZE_SUMMARY).summary().totalAmount()).isEqualTo(4096);
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupTimeFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Instant processStart = Instant.now().minusSeconds(2);
+    private final StartupTimeFilter filter = new StartupTimeFilter(meterRegistry, true, processStart);
+
+    @Test
+    void givenFirstMockResponse_whenFilter_thenRecordsTimeOnlyOnce() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = (request, response) -> calls.incrementAndGet();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+        assertThat(meterRegistry.find(StartupTimeFilter.FIRST_RESPONSE_GAUGE).timeGauge()).isNull();
+        filter.doFilter(new MockHttpServletRequest("GET", "/mock/playlists/mockPlaylistId001"), new MockHttpServletResponse(), chain);
+        double firstResponse = meterRegistry.get(StartupTimeFilter.FIRST_RESPONSE_GAUGE).timeGauge().value(TimeUnit.MILLISECONDS);
+        Thread.sleep(20);
+        filter.doFilter(new MockHttpServletRequest("GET", "/mock/playlists/mockPlaylistId002"), new MockHttpServletResponse(), chain);
+
+        // Assert: 2回目以降のレスポンスでは更新しない
+        assertThat(calls).hasValue(3);
+        assertThat(firstResponse).isGreaterThanOrEqualTo(2000);
+        assertThat(meterRegistry.get(StartupTimeFilter.FIRST_RESPONSE_GAUGE).timeGauge().value(TimeUnit.MILLISECONDS)).isEqualTo(firstResponse);
+    }
+
+    @Test
+    void givenStreamedResponse_whenFilter_thenRecordsOnAsyncCompletion() throws Exception {
+        // Arrange: stream=true のように非同期処理を開始し、後からレスポンスを完了する
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/mock/playlists/mockPlaylistId001/tracks");
+        request.setQueryString("stream=true");
+        request.setAsyncSupported(true);
+        FilterChain chain = (req, res) -> req.startAsync(req, res);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertThat(meterRegistry.find(StartupTimeFilter.FIRST_RESPONSE_GAUGE).timeGauge()).isNull();
+        Thread.sleep(50);
+        long completedAfterMillis = Duration.between(processStart, Instant.now()).toMillis();
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        // Assert: 非同期処理の開始時点ではなく完了時点までの時間を記録する
+        assertThat(meterRegistry.get(StartupTimeFilter.FIRST_RESPONSE_GAUGE).timeGauge().value(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(completedAfterMillis);
+    }
+
+    @Test
+    void givenApplicationReady_whenEvent_thenRecordsReadyTime() {
+        // Act
+        filter.onApplicationEvent(null);
+
+        // Assert
+        assertThat(meterRegistry.get(StartupTimeFilter.READY_GAUGE).timeGauge().value(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2000);
+    }
+}
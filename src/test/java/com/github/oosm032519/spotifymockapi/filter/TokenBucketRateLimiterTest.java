@@ -0,0 +1,130 @@
+package com.github.oosm032519.spotifymockapi.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100); // 10 リクエスト/秒
+
+    @Test
+    void givenFullBucket_whenAcquireOverBurst_thenRejectsWithWaitUntilRefill() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100);
+        long now = 1_000_000_000L;
+
+        // Act: 容量 3 のバケットから 4 回取得
+        long first = limiter.tryAcquire("client", INTERVAL, 3, now);
+        long second = limiter.tryAcquire("client", INTERVAL, 3, now);
+        long third = limiter.tryAcquire("client", INTERVAL, 3, now);
+        long fourth = limiter.tryAcquire("client", INTERVAL, 3, now);
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isEqualTo(INTERVAL);
+        assertThat(limiter.tryAcquire("client", INTERVAL, 3, now + INTERVAL)).isZero(); // 1 トークン補充された
+        assertThat(limiter.tryAcquire("other", INTERVAL, 3, now)).isZero(); // キーごとに独立
+    }
+
+    @Test
+    void givenNegativeNanoTime_whenAcquire_thenTreatsNewBucketAsFull() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100);
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire("client", INTERVAL, 1, -5_000_000_000L)).isZero();
+        assertThat(limiter.tryAcquire("client", INTERVAL, 1, -5_000_000_000L)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void givenKeysOverMax_whenAcquire_thenEvictsFullBuckets() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("client" + i, INTERVAL, 1, 0);
+        }
+
+        // Act: 全てのバケットが満杯に戻った後に新しいキーを追加
+        limiter.tryAcquire("client10", INTERVAL, 1, INTERVAL);
+
+        // Assert
+        assertThat(limiter.getKeyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenActiveBucketsAtMax_whenAcquireNewKey_thenRejectsUntilNextSweep() {
+        // Arrange: 全てのバケットがトークンを消費した状態 (削除できない)
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("client" + i, INTERVAL, 1, 0);
+        }
+
+        // Act
+        long firstNewKey = limiter.tryAcquire("new1", INTERVAL, 1, 0); // 削除しても空きが無い
+        long beforeNextSweep = limiter.tryAcquire("new2", INTERVAL, 1, INTERVAL); // バケットは満杯に戻ったが削除の間隔内
+        long existingKey = limiter.tryAcquire("client0", INTERVAL, 1, INTERVAL);
+        long afterNextSweep = limiter.tryAcquire("new3", INTERVAL, 1, TokenBucketRateLimiter.SWEEP_INTERVAL_NANOS);
+
+        // Assert
+        assertThat(firstNewKey).isEqualTo(TokenBucketRateLimiter.SWEEP_INTERVAL_NANOS);
+        assertThat(beforeNextSweep).isEqualTo(TokenBucketRateLimiter.SWEEP_INTERVAL_NANOS - INTERVAL);
+        assertThat(existingKey).isZero(); // 既存のキーは上限に関係なく判定される
+        assertThat(afterNextSweep).isZero();
+        assertThat(limiter.getKeyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenNewKeysFlood_whenAcquire_thenKeyCountStaysWithinMax() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100);
+
+        // Act: 同じ時刻に上限の10倍の新しいキーで取得
+        int granted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (limiter.tryAcquire("client" + i, INTERVAL, 1, 0) == 0) {
+                granted++;
+            }
+        }
+
+        // Assert
+        assertThat(granted).isEqualTo(100);
+        assertThat(limiter.getKeyCount()).isEqualTo(100);
+    }
+
+    @Test
+    void givenConcurrentRequests_whenAcquire_thenGrantsExactlyBurst() throws InterruptedException {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long now = System.nanoTime();
+
+        // Act: 8 スレッドから同時に 1000 回ずつ取得 (時刻は固定のため補充されない)
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (limiter.tryAcquire("client", INTERVAL, 500, now) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // Assert
+        assertThat(granted.get()).isEqualTo(500);
+    }
+}
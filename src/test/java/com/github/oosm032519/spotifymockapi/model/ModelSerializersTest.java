@@ -0,0 +1,76 @@
+package com.github.oosm032519.spotifymockapi.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModelSerializersTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockPlaylistService mockPlaylistService;
+    private MockTrackService mockTrackService;
+
+    @BeforeEach
+    void setUp() {
+        FixtureRepository fixtureRepository = new FixtureRepository(new ObjectMapper(), new DefaultResourceLoader(), "classpath:mock_data", new CatalogSnapshot("")); // フィクスチャを置かず、生成データのみを使用
+        MockRandomSource mockRandomSource = new MockRandomSource("deterministic", 42);
+        mockTrackService = new MockTrackService(new TrackDurationStore("hash", 1024, mockRandomSource), mockRandomSource, fixtureRepository,
+                new RecommendationIndex(mockRandomSource, 0));
+        PlaylistCatalog playlistCatalog = new PlaylistCatalog(MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS);
+        mockPlaylistService = new MockPlaylistService(mockTrackService, playlistCatalog, new PlaylistSearchIndex(playlistCatalog, 1_000_000), fixtureRepository);
+    }
+
+    @Test
+    void givenPlaylistId_whenSerializeTracks_thenMatchesMapModel() {
+        // Arrange
+        String playlistId = "mockPlaylistId012";
+
+        // Act
+        JsonNode recordJson = objectMapper.valueToTree(mockPlaylistService.getPlaylistTracks(playlistId));
+        JsonNode mapJson = objectMapper.valueToTree(mockPlaylistService.getPlaylistTracksMockData(playlistId));
+
+        // Assert: キーの順序を除いて Map ベースのモックデータと同じ JSON になる
+        assertThat(recordJson).hasSize(12);
+        assertThat(recordJson).isEqualTo(mapJson);
+    }
+
+    @Test
+    void whenSerializeFollowedPlaylists_thenMatchesMapModel() {
+        // Act
+        JsonNode recordJson = objectMapper.valueToTree(mockPlaylistService.getFollowedPlaylists());
+        JsonNode mapJson = objectMapper.valueToTree(mockPlaylistService.getFollowedPlaylistsMockData());
+
+        // Assert
+        assertThat(recordJson).isEqualTo(mapJson);
+    }
+
+    @Test
+    void givenDeterministicMode_whenSerializeAudioFeatures_thenMatchesMapModel() {
+        // Arrange
+        List<String> trackIds = List.of("track1", "track2", "track3");
+
+        // Act
+        JsonNode recordJson = objectMapper.valueToTree(mockTrackService.getAudioFeaturesForTracks(trackIds));
+        JsonNode mapJson = objectMapper.valueToTree(mockTrackService.getAudioFeaturesForTracksMockData(trackIds));
+
+        // Assert
+        assertThat(recordJson).isEqualTo(mapJson);
+    }
+
+    @Test
+    void givenOwnerWithoutId_whenSerialize_thenWritesDisplayNameOnly() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(new Owner(null, "User 1"));
+
+        // Assert
+        assertThat(json).isEqualTo("{\"displayName\":\"User 1\"}");
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.oosm032519.spotifymockapi.recording;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordingStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static String body(RecordingStore store, RecordingStore.Entry entry) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        store.transferBody(entry, Channels.newChannel(output));
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void givenAppendedResponse_whenFind_thenTransfersStoredBody() throws Exception {
+        try (RecordingStore store = RecordingStore.open(directory, true)) {
+            // Act
+            store.append("GET /mock/a", 200, "application/json", "{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+            store.append("GET /mock/b", 404, null, new byte[0]);
+
+            // Assert
+            RecordingStore.Entry a = store.find("GET /mock/a").orElseThrow();
+            assertThat(a.status()).isEqualTo(200);
+            assertThat(a.contentType()).isEqualTo("application/json");
+            assertThat(body(store, a)).isEqualTo("{\"a\":1}");
+            RecordingStore.Entry b = store.find("GET /mock/b").orElseThrow();
+            assertThat(b.contentType()).isNull();
+            assertThat(b.bodyLength()).isZero();
+            assertThat(store.find("GET /mock/c")).isEmpty();
+        }
+    }
+
+    @Test
+    void givenExistingFile_whenReopen_thenRebuildsIndexWithLatestRecordWinning() throws Exception {
+        // Arrange
+        try (RecordingStore store = RecordingStore.open(directory, true)) {
+            store.append("GET /mock/a", 200, "application/json", "first".getBytes(StandardCharsets.UTF_8));
+            store.append("GET /mock/a", 201, "application/json", "second".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Act
+        try (RecordingStore store = RecordingStore.open(directory, false)) {
+            // Assert
+            assertThat(store.size()).isEqualTo(1);
+            RecordingStore.Entry entry = store.find("GET /mock/a").orElseThrow();
+            assertThat(entry.status()).isEqualTo(201);
+            assertThat(body(store, entry)).isEqualTo("second");
+            assertThatThrownBy(() -> store.append("GET /mock/b", 200, null, new byte[0])).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void givenTruncatedTail_whenOpenWritable_thenIgnoresAndOverwritesIncompleteRecord() throws Exception {
+        // Arrange: 書き込み途中で終了した記録を模擬する
+        try (RecordingStore store = RecordingStore.open(directory, true)) {
+            store.append("GET /mock/a", 200, "application/json", "complete".getBytes(StandardCharsets.UTF_8));
+            store.append("GET /mock/b", 200, "application/json", "incomplete".getBytes(StandardCharsets.UTF_8));
+        }
+        Path file = directory.resolve(RecordingStore.FILE_NAME);
+        try (var channel = Files.newByteChannel(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+
+        // Act
+        try (RecordingStore store = RecordingStore.open(directory, true)) {
+            store.append("GET /mock/c", 200, "application/json", "after".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Assert
+        try (RecordingStore store = RecordingStore.open(directory, false)) {
+            assertThat(store.find("GET /mock/b")).isEmpty();
+            assertThat(body(store, store.find("GET /mock/a").orElseThrow())).isEqualTo("complete");
+            assertThat(body(store, store.find("GET /mock/c").orElseThrow())).isEqualTo("after");
+        }
+    }
+
+    @Test
+    void givenMissingFile_whenOpenReadOnly_thenEmptyStore() throws Exception {
+        try (RecordingStore store = RecordingStore.open(directory.resolve("missing"), false)) {
+            assertThat(store.size()).isZero();
+            assertThat(store.find("GET /mock/a")).isEmpty();
+        }
+    }
+}
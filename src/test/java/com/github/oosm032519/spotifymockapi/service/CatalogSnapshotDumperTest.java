@@ -0,0 +1,48 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotDumperTest {
+
+    @Test
+    void givenGeneratedCatalog_whenRun_thenSnapshotServesSameData(@TempDir Path tempDir) throws Exception {
+        // Arrange: 同じシードの deterministic モードで、スナップショットを使うサービスと使わないサービスを用意する
+        CatalogSnapshot catalogSnapshot = new CatalogSnapshot(tempDir.resolve("catalog.snapshot").toString());
+        MockPlaylistService generated = createPlaylistService(new CatalogSnapshot(""));
+        MockPlaylistService snapshotBacked = createPlaylistService(catalogSnapshot);
+        MockTrackService snapshotTrackService = createTrackService(catalogSnapshot);
+        CatalogSnapshotDumper dumper = new CatalogSnapshotDumper(snapshotBacked, snapshotTrackService, new PlaylistCatalog(20), catalogSnapshot, 7);
+
+        // Act
+        dumper.run(null);
+
+        // Assert
+        assertThat(catalogSnapshot.getPlaylistCount()).isEqualTo(20);
+        assertThat(catalogSnapshot.getTrackCount()).isEqualTo(20); // トラック数が最大のプレイリストのトラックを共有する
+        assertThat(catalogSnapshot.findPlaylistTracks("mockPlaylistId013")).hasValue(generated.getPlaylistTracks("mockPlaylistId013"));
+        assertThat(catalogSnapshot.findPlaylistDetails("mockPlaylistId005")).hasValue(generated.getPlaylistDetailsMockData("mockPlaylistId005"));
+        assertThat(snapshotTrackService.getAudioFeaturesForTracks(List.of("track_id_20")))
+                .isEqualTo(createTrackService(new CatalogSnapshot("")).getAudioFeaturesForTracks(List.of("track_id_20")));
+        assertThat(snapshotBacked.getPlaylistTracksMockData("mockPlaylistId003")).isEqualTo(generated.getPlaylistTracksMockData("mockPlaylistId003"));
+    }
+
+    private static MockTrackService createTrackService(CatalogSnapshot catalogSnapshot) {
+        MockRandomSource mockRandomSource = new MockRandomSource("deterministic", 42);
+        return new MockTrackService(new TrackDurationStore("hash", 1024, mockRandomSource), mockRandomSource,
+                new FixtureRepository(new ObjectMapper(), new DefaultResourceLoader(), "classpath:mock_data", catalogSnapshot), new RecommendationIndex(mockRandomSource, 0));
+    }
+
+    private static MockPlaylistService createPlaylistService(CatalogSnapshot catalogSnapshot) {
+        PlaylistCatalog playlistCatalog = new PlaylistCatalog(20);
+        return new MockPlaylistService(createTrackService(catalogSnapshot), playlistCatalog, new PlaylistSearchIndex(playlistCatalog, 1_000_000),
+                new FixtureRepository(new ObjectMapper(), new DefaultResourceLoader(), "classpath:mock_data", catalogSnapshot));
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.github.oosm032519.spotifymockapi.model.Album;
+import com.github.oosm032519.spotifymockapi.model.Artist;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.model.Image;
+import com.github.oosm032519.spotifymockapi.model.Track;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSnapshotTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private static Track track(int number) {
+        List<Artist> artists = List.of(new Artist("artist_id_" + number, "アーティスト " + number));
+        Album album = new Album("album_id_" + number, "Album " + number, artists, List.of(new Image("https://example.com/" + number + ".png", 640, null)), "2024-01-01");
+        return new Track("track_id_" + number, "Track " + number, album, artists, 1, 100000 + number, number % 2 == 0, "ISRC" + number, true, 50, null, number);
+    }
+
+    private static AudioFeatures audioFeatures(String trackId) {
+        return new AudioFeatures("audio_features_" + trackId, 0.1, 0.2, 0.3, 0.4, 0.5, -6.0, 1, 0.6, 120.0, 4, 0.7, 5, 200000);
+    }
+
+    @Test
+    void givenWrittenSnapshot_whenFind_thenReturnsSameEntities() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("catalog.snapshot");
+        List<Track> tracks = IntStream.rangeClosed(1, 3).mapToObj(CatalogSnapshotTest::track).toList();
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.addPlaylist("playlist1", "プレイリスト 1", "owner1", "Owner 1", 3, tracks);
+            writer.addPlaylist("playlist2", "Playlist 2", "owner2", "Owner 2", 0, List.of());
+            writer.addAudioFeatures("track_id_1", audioFeatures("track_id_1"));
+            writer.commit();
+        }
+        CatalogSnapshot snapshot = new CatalogSnapshot(file.toString());
+
+        // Act
+        Map<String, Object> details = snapshot.findPlaylistDetails("playlist1").orElseThrow();
+        List<Track> snapshotTracks = snapshot.findPlaylistTracks("playlist1").orElseThrow();
+
+        // Assert
+        assertThat(details).containsEntry("playlistName", "プレイリスト 1")
+                .containsEntry("owner", Map.of("id", "owner1", "displayName", "Owner 1"))
+                .containsEntry("tracks", Map.of("total", 3));
+        assertThat(snapshotTracks).isEqualTo(tracks);
+        assertThat(snapshot.findPlaylistTracks("playlist2")).hasValue(List.of());
+        assertThat(snapshot.findAudioFeatures("track_id_1")).hasValue(audioFeatures("track_id_1"));
+        assertThat(snapshot.findPlaylistDetails("playlist3")).isEmpty();
+        assertThat(snapshot.findAudioFeatures("track_id_2")).isEmpty();
+        assertThat(snapshot.findVersion(FixtureRepository.Category.PLAYLISTS, "playlist1")).isPresent();
+        assertThat(snapshot.findVersion(FixtureRepository.Category.AUDIO_FEATURES, "playlist1")).isEmpty();
+        assertThat(Files.list(tempDir)).containsExactly(file); // 作業用の一時ファイルは残らない
+    }
+
+    @Test
+    void givenPlaylistsSharingTrackPrefix_whenWrite_thenStoresTracksOnce() throws IOException {
+        // Arrange: 生成データと同様に、各プレイリストのトラックリストが最長のリストの先頭部分となる
+        Path file = tempDir.resolve("catalog.snapshot");
+        List<Track> tracks = IntStream.rangeClosed(1, 50).mapToObj(CatalogSnapshotTest::track).toList();
+
+        // Act
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            for (int i = 1; i <= 1000; i++) {
+                writer.addPlaylist("playlist" + i, "Playlist " + i, "owner", "Owner", Math.min(i, 50), tracks.subList(0, Math.min(i, 50)));
+            }
+            writer.commit();
+        }
+        CatalogSnapshot snapshot = new CatalogSnapshot(file.toString());
+
+        // Assert
+        assertThat(snapshot.getPlaylistCount()).isEqualTo(1000);
+        assertThat(snapshot.getTrackCount()).isEqualTo(50);
+        assertThat(snapshot.findPlaylistTracks("playlist7").orElseThrow()).isEqualTo(tracks.subList(0, 7));
+        assertThat(snapshot.findPlaylistTracks("playlist999").orElseThrow()).isEqualTo(tracks);
+        assertThat(Files.size(file)).isLessThan(100_000); // トラックリストはプレイリスト間で共有される
+    }
+
+    @Test
+    void givenSnapshotReplaced_whenRefresh_thenReadsNewFile() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshot snapshot = new CatalogSnapshot(file.toString());
+        assertThat(snapshot.findPlaylistDetails("playlist1")).isEmpty(); // ファイルが無い場合は空
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.addPlaylist("playlist1", "Playlist 1", "owner", "Owner", 0, List.of());
+            writer.commit();
+        }
+
+        // Act
+        snapshot.refresh();
+
+        // Assert
+        assertThat(snapshot.findPlaylistDetails("playlist1")).isPresent();
+    }
+
+    @Test
+    void givenBlankPath_whenFind_thenDisabledAndEmpty() {
+        // Arrange
+        CatalogSnapshot snapshot = new CatalogSnapshot("");
+
+        // Act & Assert
+        assertThat(snapshot.isEnabled()).isFalse();
+        assertThat(snapshot.findPlaylistTracks("mockPlaylistId001")).isEmpty();
+        assertThat(snapshot.getPlaylistCount()).isZero();
+    }
+
+    @Test
+    void givenNonSnapshotFile_whenFind_thenThrowsIllegalStateException() throws IOException {
+        // Arrange
+        Path file = Files.writeString(tempDir.resolve("not-a-snapshot.bin"), "{\"playlists\": []}");
+        CatalogSnapshot snapshot = new CatalogSnapshot(file.toString());
+
+        // Act & Assert
+        assertThatThrownBy(() -> snapshot.findPlaylistDetails("playlist1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Not a catalog snapshot");
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.oosm032519.spotifymockapi.model.AudioFeatures;
+import com.github.oosm032519.spotifymockapi.model.Image;
+import com.github.oosm032519.spotifymockapi.model.Track;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixtureRepositoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FixtureRepository createRepository(String dataPath) {
+        return new FixtureRepository(objectMapper, new DefaultResourceLoader(), dataPath, new CatalogSnapshot(""));
+    }
+
+    @Test
+    void givenClasspathFixtures_whenFindPlaylistDetails_thenReadsValueAtIndexedOffset() {
+        // Arrange
+        FixtureRepository repository = createRepository("classpath:fixtures");
+
+        // Act
+        Optional<Map<String, Object>> first = repository.findPlaylistDetails("fixturePlaylist001");
+        Optional<Map<String, Object>> second = repository.findPlaylistDetails("fixturePlaylist002");
+        Optional<Map<String, Object>> unknown = repository.findPlaylistDetails("mockPlaylistId001");
+
+        // Assert
+        assertThat(first).hasValueSatisfying(details -> assertThat(details.get("playlistName")).isEqualTo("日本語のフィクスチャプレイリスト"));
+        assertThat(second).hasValueSatisfying(details -> assertThat(details.get("playlistName")).isEqualTo("Second File Playlist"));
+        assertThat(unknown).isEmpty();
+    }
+
+    @Test
+    void givenDuplicateIdAcrossFiles_whenFindPlaylistDetails_thenEarlierFileWins() {
+        // Arrange
+        FixtureRepository repository = createRepository("classpath:fixtures");
+
+        // Act
+        Optional<Map<String, Object>> result = repository.findPlaylistDetails("mockPlaylistId002");
+
+        // Assert
+        assertThat(result).hasValueSatisfying(details -> assertThat(details.get("playlistName")).isEqualTo("Overridden Playlist"));
+        assertThat(repository.size(FixtureRepository.Category.PLAYLISTS)).isEqualTo(3);
+    }
+
+    @Test
+    void givenPlaylistTrackFixture_whenFindPlaylistTrackRecords_thenConvertsToModel() {
+        // Arrange
+        FixtureRepository repository = createRepository("classpath:fixtures");
+
+        // Act
+        List<Track> tracks = repository.findPlaylistTrackRecords("fixturePlaylist001").orElseThrow();
+        List<Map<String, Object>> maps = repository.findPlaylistTracks("fixturePlaylist001").orElseThrow();
+
+        // Assert
+        assertThat(tracks).hasSize(1);
+        Track track = tracks.get(0);
+        assertThat(track.id()).isEqualTo("fixture_track_1");
+        assertThat(track.isrc()).isEqualTo("JPXX02400001");
+        assertThat(track.durationMs()).isEqualTo(215000);
+        assertThat(track.explicit()).isTrue();
+        assertThat(track.album().images()).containsExactly(new Image("https://example.com/album.png", 640, 640));
+        assertThat(track.artists().get(0).name()).isEqualTo("Fixture Artist");
+        assertThat(maps.get(0)).containsEntry("id", "fixture_track_1").containsEntry("popularity", 42);
+    }
+
+    @Test
+    void givenAudioFeaturesFixture_whenFindAudioFeaturesRecord_thenMatchesMapForm() {
+        // Arrange
+        FixtureRepository repository = createRepository("classpath:fixtures");
+
+        // Act
+        AudioFeatures record = repository.findAudioFeaturesRecord("fixture_track_1").orElseThrow();
+        Map<String, Object> map = repository.findAudioFeatures("fixture_track_1").orElseThrow();
+
+        // Assert
+        assertThat(record.id()).isEqualTo("audio_features_fixture_track_1");
+        assertThat(record.tempo()).isEqualTo(120.0);
+        assertThat(record.key()).isEqualTo(7);
+        assertThat(objectMapper.convertValue(record, new TypeReference<Map<String, Object>>() {
+        })).isEqualTo(map);
+    }
+
+    @Test
+    void givenMissingDirectory_whenFind_thenReturnsEmpty() {
+        // Arrange
+        FixtureRepository repository = createRepository("classpath:no_such_fixtures");
+
+        // Act & Assert
+        assertThat(repository.findPlaylistDetails("mockPlaylistId001")).isEmpty();
+        assertThat(repository.findAudioFeaturesRecord("track_id_1")).isEmpty();
+        assertThat(repository.findVersion(FixtureRepository.Category.PLAYLISTS, "mockPlaylistId001")).isEmpty();
+    }
+
+    @Test
+    void givenFileSystemFixtures_whenFindVersion_thenStablePerIdAndDistinctAcrossIds(@TempDir Path dataDir) throws IOException {
+        // Arrange
+        Path playlists = Files.createDirectories(dataDir.resolve("playlists"));
+        Files.writeString(playlists.resolve("a.json"), "{\"p1\": {\"playlistName\": \"P1\"}, \"p2\": {\"playlistName\": \"P2\"}}", StandardCharsets.UTF_8);
+        FixtureRepository repository = createRepository(dataDir.toUri().toString());
+
+        // Act
+        long first = repository.findVersion(FixtureRepository.Category.PLAYLISTS, "p1").orElseThrow();
+        long repeated = repository.findVersion(FixtureRepository.Category.PLAYLISTS, "p1").orElseThrow();
+        long other = repository.findVersion(FixtureRepository.Category.PLAYLISTS, "p2").orElseThrow();
+
+        // Assert
+        assertThat(repeated).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(repository.findPlaylistDetails("p2")).hasValue(Map.of("playlistName", "P2"));
+    }
+
+    @Test
+    void givenNonObjectFixtureFile_whenFind_thenThrowsIllegalStateException(@TempDir Path dataDir) throws IOException {
+        // Arrange
+        Path audioFeatures = Files.createDirectories(dataDir.resolve("audio_features"));
+        Files.writeString(audioFeatures.resolve("broken.json"), "[{\"id\": \"track_id_1\"}]", StandardCharsets.UTF_8);
+        FixtureRepository repository = createRepository(dataDir.toUri().toString());
+
+        // Act & Assert
+        assertThatThrownBy(() -> repository.findAudioFeatures("track_id_1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("keyed by ID");
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeneratorMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GeneratorMetrics generatorMetrics = new GeneratorMetrics(meterRegistry);
+
+    @Test
+    void givenGeneration_whenRecord_thenRecordsTimeAndEntityCount() {
+        // Act
+        List<String> result = generatorMetrics.record("recommendations", "track", () -> List.of("a", "b", "c"), List::size);
+
+        // Assert
+        assertThat(result).containsExactly("a", "b", "c");
+        assertThat(meterRegistry.get(GeneratorMetrics.GENERATION_TIMER).tag("generator", "recommendations").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(GeneratorMetrics.GENERATED_ENTITIES_COUNTER).tag("type", "track").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void givenStreamingGeneration_whenRecordStreaming_thenCountsWrittenElements() throws IOException {
+        // Arrange
+        List<Integer> written = new ArrayList<>();
+
+        // Act
+        generatorMetrics.<Integer>recordStreaming("audio-features-stream", "audio-features", written::add, writer -> {
+            for (int i = 0; i < 5; i++) {
+                writer.write(i);
+            }
+        });
+
+        // Assert
+        assertThat(written).containsExactly(0, 1, 2, 3, 4);
+        assertThat(meterRegistry.get(GeneratorMetrics.GENERATION_TIMER).tag("generator", "audio-features-stream").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(GeneratorMetrics.GENERATED_ENTITIES_COUNTER).tag("generator", "audio-features-stream").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void givenFailingWriter_whenRecordStreaming_thenRecordsElementsWrittenBeforeFailure() {
+        // Act & Assert: クライアントの切断などで書き込みに失敗しても、それまでの件数は記録される
+        assertThatThrownBy(() -> generatorMetrics.<Integer>recordStreaming("playlist-tracks-stream", "track", element -> {
+            if (element == 2) {
+                throw new IOException("Broken pipe");
+            }
+        }, writer -> {
+            for (int i = 0; i < 5; i++) {
+                writer.write(i);
+            }
+        })).isInstanceOf(IOException.class);
+        assertThat(meterRegistry.get(GeneratorMetrics.GENERATED_ENTITIES_COUNTER).tag("generator", "playlist-tracks-stream").counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenreEngineTest {
+
+    private static final List<String> DEFAULT_VOCABULARY = List.of(GenreEngine.DEFAULT_VOCABULARY.split(","));
+
+    @Test
+    void givenArtistIds_whenGenres_thenDistinctGenresInVocabularyOrderWithinConfiguredCount() {
+        // Arrange
+        GenreEngine engine = new GenreEngine(new MockRandomSource("deterministic", 7L), DEFAULT_VOCABULARY, 2, 4);
+
+        // Act / Assert
+        IntStream.range(0, 1_000).mapToObj(i -> "artist_" + i).forEach(artistId -> {
+            List<String> genres = engine.genres(artistId);
+            assertThat(genres).hasSizeBetween(2, 4).doesNotHaveDuplicates().isSubsetOf(DEFAULT_VOCABULARY);
+            assertThat(genres).isSortedAccordingTo((a, b) -> DEFAULT_VOCABULARY.indexOf(a) - DEFAULT_VOCABULARY.indexOf(b));
+            assertThat(Long.bitCount(engine.genreMask(artistId))).isEqualTo(genres.size());
+        });
+    }
+
+    @Test
+    void givenSameMask_whenGenres_thenReturnsSharedImmutableList() {
+        // Arrange
+        GenreEngine engine = new GenreEngine(new MockRandomSource("deterministic", 7L), List.of("Rock", "Pop"), 2, 2);
+
+        // Act
+        List<String> first = engine.genres("artist1");
+        List<String> second = engine.genres("artist2");
+
+        // Assert
+        assertThat(first).containsExactly("Rock", "Pop").isSameAs(second);
+        assertThatThrownBy(() -> first.add("Jazz")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void givenWeightedVocabulary_whenGenres_thenPopularGenreAppearsMoreOften() {
+        // Arrange: Rock は他のジャンルの 8 倍の重み
+        GenreEngine engine = new GenreEngine(new MockRandomSource("deterministic", 7L), List.of("Rock:8", "Pop", "Jazz", "Blues"), 1, 1);
+
+        // Act
+        long rock = IntStream.range(0, 10_000).filter(i -> engine.genres("artist_" + i).contains("Rock")).count();
+
+        // Assert: 期待値は 8 / 11 ≒ 72.7%
+        assertThat(engine.getVocabulary()).containsExactly("Rock", "Pop", "Jazz", "Blues");
+        assertThat(rock).isBetween(6_800L, 7_700L);
+    }
+
+    @Test
+    void givenDeterministicModeWithSameSeed_whenGenres_thenSameAcrossInstances() {
+        // Arrange
+        GenreEngine replica1 = new GenreEngine(new MockRandomSource("deterministic", 42L), DEFAULT_VOCABULARY, 1, 3);
+        GenreEngine replica2 = new GenreEngine(new MockRandomSource("deterministic", 42L), DEFAULT_VOCABULARY, 1, 3);
+
+        // Act / Assert
+        IntStream.range(0, 100).mapToObj(i -> "artist_" + i)
+                .forEach(artistId -> assertThat(replica2.genreMask(artistId)).isEqualTo(replica1.genreMask(artistId)));
+    }
+
+    @Test
+    void givenInvalidConfiguration_whenConstruct_thenThrows() {
+        MockRandomSource source = new MockRandomSource("random", 0);
+
+        assertThatThrownBy(() -> new GenreEngine(source, List.of("Rock", "Rock"), 1, 1))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Duplicate");
+        assertThatThrownBy(() -> new GenreEngine(source, List.of("Rock:0"), 1, 1))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Invalid");
+        assertThatThrownBy(() -> new GenreEngine(source, List.of("Rock", "Pop"), 1, 3))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("max=3");
+        assertThatThrownBy(() -> new GenreEngine(source, IntStream.range(0, 65).mapToObj(i -> "Genre" + i).toList(), 1, 1))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("65");
+    }
+}
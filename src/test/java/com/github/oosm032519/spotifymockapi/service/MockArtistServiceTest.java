@@ -7,6 +7,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,7 +23,7 @@ class MockArtistServiceTest {
 
     @BeforeEach
     void setUp() {
-        mockArtistService = new MockArtistService();
+        mockArtistService = new MockArtistService(genreEngine(new MockRandomSource("random", 0)));
     }
 
     @Test
@@ -95,4 +96,40 @@ class MockArtistServiceTest {
                         .hasSizeBetween(1, 3)
                         .doesNotHaveDuplicates());
     }
+
+    @Test
+    @DisplayName("正常系: deterministic モードでは同じシード・同じアーティストIDから常に同じジャンルが生成される")
+    void givenDeterministicMode_whenGetGenres_thenReturnsReproducibleGenres() {
+        // Arrange: 同じシードの独立した2インスタンス
+        MockArtistService replica1 = new MockArtistService(genreEngine(new MockRandomSource("deterministic", 42L)));
+        MockArtistService replica2 = new MockArtistService(genreEngine(new MockRandomSource("deterministic", 42L)));
+        List<String> artistIds = Arrays.asList("artist1", "artist2", "artist3");
+
+        // Act
+        Map<String, List<String>> first = replica1.getArtistGenresMockData(artistIds);
+        Map<String, List<String>> second = replica2.getArtistGenresMockData(List.of("artist3", "artist2", "artist1"));
+
+        // Assert: リクエスト内の順序にも依存しない
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("正常系: 1万件のアーティストIDでも同じジャンル組み合わせは共有のリストを返す")
+    void givenTenThousandArtistIds_whenGetGenres_thenSharesGenreLists() {
+        // Arrange
+        List<String> artistIds = IntStream.range(0, 10_000).mapToObj(i -> "artist_" + i).toList();
+
+        // Act
+        Map<String, List<String>> result = mockArtistService.getArtistGenresMockData(artistIds);
+
+        // Assert: 異なるリストのインスタンス数はジャンルの組み合わせ数 (10C1 + 10C2 + 10C3 = 175) 以下
+        assertThat(result).hasSize(10_000);
+        Set<List<String>> distinctInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctInstances.addAll(result.values());
+        assertThat(distinctInstances).hasSizeLessThanOrEqualTo(175);
+    }
+
+    private static GenreEngine genreEngine(MockRandomSource mockRandomSource) {
+        return new GenreEngine(mockRandomSource, List.of(GenreEngine.DEFAULT_VOCABULARY.split(",")), 1, 3);
+    }
 }
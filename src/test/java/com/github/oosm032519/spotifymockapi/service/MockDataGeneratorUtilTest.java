@@ -34,6 +34,29 @@ class MockDataGeneratorUtilTest {
         assertThat(result).isEqualTo(0); // デフォルト値0が返ることを確認
     }
 
+    @Test
+    void givenIdBeyondThreeDigits_whenGetPlaylistIndex_thenReturnsWholeNumericSuffix() {
+        // 3桁を超えるIDでも末尾の数字列全体を取得できるかテスト
+        assertThat(MockDataGeneratorUtil.getPlaylistIndex("mockPlaylistId1234567")).isEqualTo(1234567);
+        assertThat(MockDataGeneratorUtil.getPlaylistIndex("mockPlaylistId007")).isEqualTo(7);
+        assertThat(MockDataGeneratorUtil.getPlaylistIndex("12")).isEqualTo(12);
+    }
+
+    @Test
+    void givenIdWithoutNumericSuffix_whenGetPlaylistIndex_thenReturnsZero() {
+        // 数字で終わらないID、int に収まらないIDは 0 を返すかテスト
+        assertThat(MockDataGeneratorUtil.getPlaylistIndex("mockPlaylistIdXYZ")).isEqualTo(0);
+        assertThat(MockDataGeneratorUtil.getPlaylistIndex("mockPlaylistId99999999999")).isEqualTo(0);
+    }
+
+    @Test
+    void givenLargeIndex_whenGeneratePlaylistIdAndName_thenDoesNotTruncate() {
+        // 999 を超えるインデックスでもIDと名前が切り詰められないかテスト
+        String playlistId = MockDataGeneratorUtil.generatePlaylistId(1000000);
+        assertThat(playlistId).isEqualTo("mockPlaylistId1000000");
+        assertThat(MockDataGeneratorUtil.generatePlaylistName(playlistId)).isEqualTo("Mock Playlist 1000000");
+    }
+
     @Test
     void givenIndex_whenGeneratePlaylistId_thenReturnsFormattedPlaylistId() {
         // プレイリストIDが正しい形式で生成されるかテスト
@@ -2,33 +2,43 @@ package com.github.oosm032519.spotifymockapi.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.io.IOException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 class MockPlaylistServiceTest {
 
-    @InjectMocks
     private MockPlaylistService mockPlaylistService;
 
     @Mock
     private MockTrackService mockTrackService;
 
+    @Mock
+    private FixtureRepository fixtureRepository;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        mockPlaylistService = createService(new PlaylistCatalog(MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS));
+    }
+
+    private MockPlaylistService createService(PlaylistCatalog playlistCatalog) {
+        return new MockPlaylistService(mockTrackService, playlistCatalog, new PlaylistSearchIndex(playlistCatalog, 1_000_000), fixtureRepository);
     }
 
     @Test
     void givenQueryAndOffsetAndLimit_whenGetPlaylistSearchMockData_thenReturnsMockData() {
         // Arrange
-        String query = "Sample Query";
+        String query = "Mock Playlist";
         int offset = 0;
         int limit = 10;
 
@@ -42,6 +52,106 @@ class MockPlaylistServiceTest {
         assertThat((List<?>) result.get("playlists")).hasSize(limit);
     }
 
+    @Test
+    void givenOffsetInMiddle_whenGetPlaylistSearchMockData_thenReturnsOnlyRequestedWindow() {
+        // Act
+        Map<String, Object> result = mockPlaylistService.getPlaylistSearchMockData("mock", 500, 3);
+
+        // Assert: offset の位置から limit 件だけが生成されることを確認
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> playlists = (List<Map<String, Object>>) result.get("playlists");
+        assertThat(playlists).hasSize(3);
+        assertThat(playlists).extracting(playlist -> playlist.get("id"))
+                .containsExactly("mockPlaylistId501", "mockPlaylistId502", "mockPlaylistId503");
+        assertThat(result.get("total")).isEqualTo(MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS);
+    }
+
+    @Test
+    void givenWindowCrossingEnd_whenGetPlaylistSearchMockData_thenTruncatesAtTotal() {
+        // Act
+        Map<String, Object> result = mockPlaylistService.getPlaylistSearchMockData("mock", MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS - 2, 20);
+
+        // Assert: 総数を超えた分は返さない
+        assertThat((List<?>) result.get("playlists")).hasSize(2);
+    }
+
+    @Test
+    void givenOffsetBeyondTotalOrNegativeLimit_whenGetPlaylistSearchMockData_thenReturnsEmptyPage() {
+        // Act
+        Map<String, Object> beyondTotal = mockPlaylistService.getPlaylistSearchMockData("mock", 5000, 20);
+        Map<String, Object> negativeLimit = mockPlaylistService.getPlaylistSearchMockData("mock", 0, -1);
+
+        // Assert
+        assertThat((List<?>) beyondTotal.get("playlists")).isEmpty();
+        assertThat((List<?>) negativeLimit.get("playlists")).isEmpty();
+    }
+
+    @Test
+    void givenNextCursor_whenGetPlaylistSearchMockData_thenContinuesFromPreviousPage() {
+        // Arrange: 1ページ目を取得
+        Map<String, Object> firstPage = mockPlaylistService.getPlaylistSearchMockData("mock", 0, 20);
+        String nextCursor = (String) firstPage.get("nextCursor");
+
+        // Act: カーソルから復元した開始位置で2ページ目を取得
+        Map<String, Object> secondPage = mockPlaylistService.getPlaylistSearchMockData("mock", SearchCursor.decode("mock", nextCursor), 20);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> playlists = (List<Map<String, Object>>) secondPage.get("playlists");
+        assertThat(playlists.get(0).get("id")).isEqualTo("mockPlaylistId021");
+    }
+
+    @Test
+    void givenLastPage_whenGetPlaylistSearchMockData_thenNextCursorIsNull() {
+        // Act
+        Map<String, Object> result = mockPlaylistService.getPlaylistSearchMockData("mock", MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS - 5, 20);
+
+        // Assert
+        assertThat(result).containsEntry("nextCursor", null);
+    }
+
+    @Test
+    void givenMillionPlaylistCatalog_whenGetPlaylistSearchMockData_thenGeneratesIdsBeyondThreeDigits() {
+        // Arrange: 100万件の仮想カタログ
+        MockPlaylistService largeCatalogService = createService(new PlaylistCatalog(1_000_000));
+
+        // Act
+        Map<String, Object> result = largeCatalogService.getPlaylistSearchMockData("mock", 999_998, 20);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> playlists = (List<Map<String, Object>>) result.get("playlists");
+        assertThat(result.get("total")).isEqualTo(1_000_000);
+        assertThat(playlists).extracting(playlist -> playlist.get("id"))
+                .containsExactly("mockPlaylistId999999", "mockPlaylistId1000000");
+        assertThat(playlists.get(1).get("name")).isEqualTo("Mock Playlist 1000000");
+        assertThat(result).containsEntry("nextCursor", null);
+    }
+
+    @Test
+    void givenGenreQuery_whenGetPlaylistSearchMockData_thenReturnsOnlyMatchingPlaylists() {
+        // Act
+        Map<String, Object> result = mockPlaylistService.getPlaylistSearchMockData("jazz", 0, 50);
+
+        // Assert: 説明文に Jazz を含むプレイリストのみが返され、総数も絞り込まれることを確認
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> playlists = (List<Map<String, Object>>) result.get("playlists");
+        assertThat((int) result.get("total")).isPositive().isLessThan(MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS);
+        assertThat(playlists).isNotEmpty()
+                .allSatisfy(playlist -> assertThat((String) playlist.get("description")).contains("Jazz"));
+    }
+
+    @Test
+    void givenUnknownQuery_whenGetPlaylistSearchMockData_thenReturnsEmptyResult() {
+        // Act
+        Map<String, Object> result = mockPlaylistService.getPlaylistSearchMockData("Sample Query", 0, 10);
+
+        // Assert
+        assertThat((List<?>) result.get("playlists")).isEmpty();
+        assertThat(result.get("total")).isEqualTo(0);
+        assertThat(result).containsEntry("nextCursor", null);
+    }
+
     @Test
     void givenPlaylistId_whenGetPlaylistDetailsMockData_thenReturnsMockData() {
         // Arrange
@@ -89,4 +199,99 @@ class MockPlaylistServiceTest {
             assertThat(playlist).containsKeys("id", "name", "tracks", "images", "owner");
         }
     }
+
+    @Test
+    void givenSameDurations_whenGetPlaylistTracksVersion_thenReturnsSameVersion() {
+        // Arrange
+        when(mockTrackService.generateRandomDurationMs(anyString())).thenReturn(200000);
+
+        // Act
+        long first = mockPlaylistService.getPlaylistTracksVersion("mockPlaylistId002");
+        long second = mockPlaylistService.getPlaylistTracksVersion("mockPlaylistId002");
+        long otherPlaylist = mockPlaylistService.getPlaylistTracksVersion("mockPlaylistId003");
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(otherPlaylist).isNotEqualTo(first);
+    }
+
+    @Test
+    void givenChangedDuration_whenGetPlaylistTracksVersion_thenReturnsDifferentVersion() {
+        // Arrange
+        when(mockTrackService.generateRandomDurationMs(anyString())).thenReturn(200000);
+        long before = mockPlaylistService.getPlaylistTracksVersion("mockPlaylistId002");
+        when(mockTrackService.generateRandomDurationMs("track_id_2")).thenReturn(150000);
+
+        // Act
+        long after = mockPlaylistService.getPlaylistTracksVersion("mockPlaylistId002");
+
+        // Assert
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void givenPlaylistId_whenGetPlaylistDetailsVersion_thenDoesNotGenerateTracks() {
+        // Act
+        long version = mockPlaylistService.getPlaylistDetailsVersion("mockPlaylistId002");
+
+        // Assert
+        assertThat(version).isEqualTo(mockPlaylistService.getPlaylistDetailsVersion("mockPlaylistId002"));
+        assertThat(version).isNotEqualTo(mockPlaylistService.getPlaylistDetailsVersion("mockPlaylistId003"));
+        verifyNoInteractions(mockTrackService);
+    }
+
+    @Test
+    void givenLargeMaxTracks_whenStreamPlaylistTracksMockData_thenWritesEveryTrackInOrder() throws IOException {
+        // Arrange
+        MockPlaylistService largeTracksService = createService(new PlaylistCatalog(MockDataGeneratorUtil.DEFAULT_TOTAL_PLAYLISTS, 20_000));
+        when(mockTrackService.generateRandomDurationMs(anyString())).thenReturn(200000);
+        int[] count = new int[1];
+        Object[] lastTrackId = new Object[1];
+
+        // Act
+        largeTracksService.streamPlaylistTracksMockData("mockPlaylistId20000", track -> {
+            count[0]++;
+            lastTrackId[0] = track.get("id");
+        });
+
+        // Assert
+        assertThat(count[0]).isEqualTo(20_000);
+        assertThat(lastTrackId[0]).isEqualTo("track_id_20000");
+    }
+
+    @Test
+    void givenFixturePlaylist_whenGetPlaylistDetailsAndTracks_thenReturnsFixtureWithoutGenerating() throws IOException {
+        // Arrange
+        Map<String, Object> details = Map.of("playlistName", "Fixture Playlist");
+        List<Map<String, Object>> tracks = List.of(Map.of("id", "fixture_track_1"), Map.of("id", "fixture_track_2"));
+        when(fixtureRepository.findPlaylistDetails("mockPlaylistId002")).thenReturn(Optional.of(details));
+        when(fixtureRepository.findPlaylistTracks("mockPlaylistId002")).thenReturn(Optional.of(tracks));
+        when(fixtureRepository.findVersion(FixtureRepository.Category.PLAYLIST_TRACKS, "mockPlaylistId002")).thenReturn(OptionalLong.of(12345L));
+        List<Map<String, Object>> streamed = new ArrayList<>();
+
+        // Act
+        Map<String, Object> detailsResult = mockPlaylistService.getPlaylistDetailsMockData("mockPlaylistId002");
+        List<Map<String, Object>> tracksResult = mockPlaylistService.getPlaylistTracksMockData("mockPlaylistId002");
+        mockPlaylistService.streamPlaylistTracksMockData("mockPlaylistId002", streamed::add);
+        long version = mockPlaylistService.getPlaylistTracksVersion("mockPlaylistId002");
+
+        // Assert
+        assertThat(detailsResult).isEqualTo(details);
+        assertThat(tracksResult).isEqualTo(tracks);
+        assertThat(streamed).isEqualTo(tracks);
+        assertThat(version).isEqualTo(12345L);
+        verifyNoInteractions(mockTrackService); // フィクスチャがある場合は durationMs を生成しない
+    }
+
+    @Test
+    void givenIdNotInFixtures_whenGetPlaylistDetailsMockData_thenFallsBackToGeneratedData() {
+        // Arrange
+        when(fixtureRepository.findPlaylistDetails("fixturePlaylist001")).thenReturn(Optional.of(Map.of("playlistName", "Fixture Playlist")));
+
+        // Act
+        Map<String, Object> result = mockPlaylistService.getPlaylistDetailsMockData("mockPlaylistId001");
+
+        // Assert
+        assertThat(result.get("playlistName")).isEqualTo("Mock Playlist 001");
+    }
 }
@@ -0,0 +1,53 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MockRandomSourceTest {
+
+    @Test
+    void givenDeterministicMode_whenForEntity_thenSameInputsProduceSameSequence() {
+        // Arrange
+        MockRandomSource source = new MockRandomSource("deterministic", 123L);
+
+        // Act
+        long first = source.forEntity("artist-genres", "artist1").nextLong();
+        long second = source.forEntity("artist-genres", "artist1").nextLong();
+        long otherType = source.forEntity("audio-features", "artist1").nextLong();
+        long otherId = source.forEntity("artist-genres", "artist2").nextLong();
+
+        // Assert
+        assertThat(source.isDeterministic()).isTrue();
+        assertThat(source.forEntity("artist-genres", "artist1")).isInstanceOf(SplittableRandom.class);
+        assertThat(second).isEqualTo(first);
+        assertThat(otherType).isNotEqualTo(first);
+        assertThat(otherId).isNotEqualTo(first);
+    }
+
+    @Test
+    void givenDifferentSeeds_whenEntityHash_thenDiffers() {
+        MockRandomSource seed1 = new MockRandomSource("deterministic", 1L);
+        MockRandomSource seed2 = new MockRandomSource("deterministic", 2L);
+
+        assertThat(seed1.entityHash("track-duration", "track1")).isNotEqualTo(seed2.entityHash("track-duration", "track1"));
+        assertThat(seed1.entityHash("track-duration", "track1")).isEqualTo(new MockRandomSource("random", 1L).entityHash("track-duration", "track1"));
+    }
+
+    @Test
+    void givenRandomMode_whenForEntity_thenReturnsThreadLocalRandom() {
+        MockRandomSource source = new MockRandomSource(" Random ", 0L);
+
+        assertThat(source.isDeterministic()).isFalse();
+        assertThat(source.forEntity("artist-genres", "artist1")).isSameAs(ThreadLocalRandom.current());
+    }
+
+    @Test
+    void givenUnknownMode_whenCreate_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new MockRandomSource("unknown", 0L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
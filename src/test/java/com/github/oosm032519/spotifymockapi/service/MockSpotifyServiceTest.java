@@ -1,10 +1,13 @@
 package com.github.oosm032519.spotifymockapi.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.util.List;
 import java.util.Map;
@@ -26,6 +29,14 @@ class MockSpotifyServiceTest {
     @Mock
     private MockTrackService mockTrackService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private GeneratorMetrics generatorMetrics = new GeneratorMetrics(meterRegistry);
+
+    @Spy
+    private PayloadLogger payloadLogger = new PayloadLogger(new ObjectMapper(), 1.0, 256); // 全リクエストをサンプリング
+
 
     @BeforeEach
     void setUp() {
@@ -102,6 +113,21 @@ class MockSpotifyServiceTest {
         verify(mockTrackService, times(1)).getRecommendationsMockData();
     }
 
+    @Test
+    void givenQuery_whenGetRecommendationsMockData_thenDelegateToTrackService() {
+        // Arrange
+        RecommendationQuery query = new RecommendationQuery(List.of("track1"), List.of(), List.of(), 5, Map.of());
+        List<Map<String, Object>> mockData = List.of(Map.of("id", "recommendation_track_id_3"));
+        when(mockTrackService.getRecommendationsMockData(query)).thenReturn(mockData);
+
+        // Act
+        List<Map<String, Object>> result = mockSpotifyService.getRecommendationsMockData(query);
+
+        // Assert
+        assertThat(result).isEqualTo(mockData);
+        verify(mockTrackService, times(1)).getRecommendationsMockData(query);
+    }
+
     @Test
     void givenTrackIds_whenGetAudioFeaturesForTracksMockData_thenDelegateToTrackService() {
         // Arrange: モックの振る舞いを設定
@@ -129,4 +155,18 @@ class MockSpotifyServiceTest {
         assertThat(result).isEqualTo(mockData);
         verify(mockPlaylistService, times(1)).getFollowedPlaylistsMockData();
     }
+
+    @Test
+    void givenGeneratedTracks_whenGetPlaylistTracksMockData_thenRecordsGenerationMetrics() {
+        // Arrange
+        when(mockPlaylistService.getPlaylistTracksMockData("mockPlaylistId001")).thenReturn(List.of(Map.of("id", "track1"), Map.of("id", "track2")));
+
+        // Act
+        mockSpotifyService.getPlaylistTracksMockData("mockPlaylistId001");
+        mockSpotifyService.getPlaylistTracksMockData("mockPlaylistId001");
+
+        // Assert: 生成処理ごとの所要時間と生成したエンティティ数が記録される
+        assertThat(meterRegistry.get(GeneratorMetrics.GENERATION_TIMER).tag("generator", "playlist-tracks-map").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(GeneratorMetrics.GENERATED_ENTITIES_COUNTER).tag("generator", "playlist-tracks-map").tag("type", "track").counter().count()).isEqualTo(4);
+    }
 }
@@ -1,24 +1,28 @@
 package com.github.oosm032519.spotifymockapi.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.DefaultResourceLoader;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.io.IOException;
+import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 class MockTrackServiceTest {
 
-    @InjectMocks
     private MockTrackService mockTrackService;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
+        MockRandomSource mockRandomSource = new MockRandomSource("random", 0);
+        mockTrackService = new MockTrackService(new TrackDurationStore("cache", 1024, mockRandomSource), mockRandomSource,
+                new FixtureRepository(new ObjectMapper(), new DefaultResourceLoader(), "classpath:mock_data", new CatalogSnapshot("")), new RecommendationIndex(mockRandomSource, 1000));
     }
 
     @Test
@@ -41,6 +45,40 @@ class MockTrackServiceTest {
         }
     }
 
+    @Test
+    void givenSeedTracks_whenGetRecommendationsMockData_thenReturnsNearestTracksExcludingSeeds() {
+        // Arrange
+        MockTrackService service = createDeterministicService(42L);
+        RecommendationQuery query = new RecommendationQuery(List.of("recommendation_track_id_10", "track1"), List.of("artist1"), List.of("rock"), 10, Map.of());
+
+        // Act
+        List<Map<String, Object>> first = service.getRecommendationsMockData(query);
+        List<Map<String, Object>> replica = createDeterministicService(42L).getRecommendationsMockData(query);
+
+        // Assert: シードのトラックを除いた10件が、同じシードのレプリカ間で同じ順序となる
+        assertThat(first).hasSize(10)
+                .extracting(track -> track.get("id"))
+                .doesNotContain("recommendation_track_id_10")
+                .doesNotHaveDuplicates()
+                .containsExactlyElementsOf(replica.stream().map(track -> track.get("id")).toList());
+        assertThat(first.get(0)).containsKeys("name", "durationMs", "album", "artists");
+    }
+
+    @Test
+    void givenTargetTempoOnly_whenGetRecommendationsMockData_thenReturnsTracksWithClosestTempo() {
+        // Arrange
+        MockTrackService service = createDeterministicService(42L);
+        RecommendationQuery query = new RecommendationQuery(List.of(), List.of(), List.of(), 5, Map.of(RecommendationIndex.Feature.TEMPO, 120.0));
+
+        // Act
+        List<Map<String, Object>> recommendations = service.getRecommendationsMockData(query);
+
+        // Assert: 1000件の候補 (150 BPM の範囲) のうち最も近い5件は 120 BPM から 1 BPM 以内
+        List<String> trackIds = recommendations.stream().map(track -> (String) track.get("id")).toList();
+        assertThat(service.getAudioFeaturesForTracks(trackIds))
+                .allSatisfy(audioFeatures -> assertThat(audioFeatures.tempo()).isCloseTo(120.0, within(1.0)));
+    }
+
     @Test
     void givenTrackIds_whenGetAudioFeaturesForTracksMockData_thenReturnsAudioFeatures() {
         // Arrange: テストデータ
@@ -91,4 +129,62 @@ class MockTrackServiceTest {
         assertThat(durationMs1).isEqualTo(durationMs2); // 同じトラックIDでは同じdurationMsを返すことを確認
         assertThat(durationMs1).isBetween(100000, 300000); // durationMsが範囲内であることを確認
     }
+
+    @Test
+    void givenDeterministicMode_whenGetAudioFeaturesForTracksMockData_thenSameTrackYieldsSameFeaturesAcrossInstances() {
+        // Arrange: 同じシードの deterministic モードで独立した2インスタンスを生成 (レプリカを想定)
+        MockTrackService replica1 = createDeterministicService(42L);
+        MockTrackService replica2 = createDeterministicService(42L);
+        MockTrackService otherSeed = createDeterministicService(7L);
+        List<String> trackIds = List.of("track1", "track2", "track3");
+
+        // Act
+        List<Map<String, Object>> first = replica1.getAudioFeaturesForTracksMockData(trackIds);
+        List<Map<String, Object>> second = replica2.getAudioFeaturesForTracksMockData(trackIds);
+        List<Map<String, Object>> repeated = replica1.getAudioFeaturesForTracksMockData(List.of("track2"));
+        List<Map<String, Object>> differentSeed = otherSeed.getAudioFeaturesForTracksMockData(trackIds);
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(repeated.get(0)).isEqualTo(first.get(1)); // リクエストの組み合わせに依存しない
+        assertThat(differentSeed).isNotEqualTo(first);
+    }
+
+    private MockTrackService createDeterministicService(long seed) {
+        MockRandomSource mockRandomSource = new MockRandomSource("deterministic", seed);
+        return new MockTrackService(new TrackDurationStore("cache", 1024, mockRandomSource), mockRandomSource,
+                new FixtureRepository(new ObjectMapper(), new DefaultResourceLoader(), "classpath:mock_data", new CatalogSnapshot("")), new RecommendationIndex(mockRandomSource, 1000));
+    }
+
+    @Test
+    void givenTrackIds_whenStreamAudioFeaturesForTracksMockData_thenWritesOneElementPerTrack() throws IOException {
+        // Arrange: テストデータ
+        List<String> trackIds = List.of("track1", "track2", "track3");
+        List<Map<String, Object>> written = new ArrayList<>();
+
+        // Act: テスト対象メソッドを実行
+        mockTrackService.streamAudioFeaturesForTracksMockData(trackIds, written::add);
+
+        // Assert: トラックIDの順に1件ずつ書き込まれ、durationMs は一覧取得と同じ値になる
+        assertThat(written).extracting(features -> features.get("id"))
+                .containsExactly("audio_features_track1", "audio_features_track2", "audio_features_track3");
+        assertThat(written.get(0).get("durationMs")).isEqualTo(mockTrackService.generateRandomDurationMs("track1"));
+    }
+
+    @Test
+    void givenFixtureForSomeTrackIds_whenGetAudioFeaturesForTracksMockData_thenMixesFixtureAndGeneratedData() {
+        // Arrange
+        MockRandomSource mockRandomSource = new MockRandomSource("deterministic", 42);
+        MockTrackService fixtureService = new MockTrackService(new TrackDurationStore("cache", 1024, mockRandomSource), mockRandomSource,
+                new FixtureRepository(new ObjectMapper(), new DefaultResourceLoader(), "classpath:fixtures", new CatalogSnapshot("")), new RecommendationIndex(mockRandomSource, 1000));
+
+        // Act
+        List<Map<String, Object>> result = fixtureService.getAudioFeaturesForTracksMockData(List.of("fixture_track_1", "track_id_1"));
+
+        // Assert
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).containsEntry("id", "audio_features_fixture_track_1").containsEntry("tempo", 120.0);
+        assertThat(result.get(1)).containsEntry("id", MockDataGeneratorUtil.AUDIO_FEATURES_ID_PREFIX + "track_id_1");
+        assertThat(fixtureService.getAudioFeaturesForTracks(List.of("fixture_track_1")).get(0).durationMs()).isEqualTo(215000);
+    }
 }
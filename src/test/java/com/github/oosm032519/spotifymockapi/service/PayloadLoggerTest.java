@@ -0,0 +1,64 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayloadLoggerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void givenSmallPayload_whenRender_thenReturnsFullJson() {
+        // Arrange
+        PayloadLogger payloadLogger = new PayloadLogger(objectMapper, 1.0, 1024);
+
+        // Act
+        String rendered = payloadLogger.render(Map.of("id", "mockPlaylistId001"));
+
+        // Assert
+        assertThat(rendered).isEqualTo("{\"id\":\"mockPlaylistId001\"}");
+    }
+
+    @Test
+    void givenLargePayload_whenRender_thenTruncatesAtMaxChars() {
+        // Arrange
+        PayloadLogger payloadLogger = new PayloadLogger(objectMapper, 1.0, 100);
+        List<Map<String, Object>> payload = IntStream.range(0, 10_000).mapToObj(i -> Map.<String, Object>of("id", "track_id_" + i)).toList();
+
+        // Act
+        String rendered = payloadLogger.render(payload);
+
+        // Assert
+        assertThat(rendered).startsWith("[{\"id\":\"track_id_0\"}").endsWith("...(truncated)");
+        assertThat(rendered).hasSize(100 + "...(truncated)".length());
+    }
+
+    @Test
+    void givenSampleRate_whenIsSampled_thenFollowsRate() {
+        // Arrange
+        PayloadLogger never = new PayloadLogger(objectMapper, 0.0, 1024);
+        PayloadLogger always = new PayloadLogger(objectMapper, 1.0, 1024);
+        PayloadLogger tenPercent = new PayloadLogger(objectMapper, 0.1, 1024);
+
+        // Act
+        long sampled = IntStream.range(0, 100_000).filter(i -> tenPercent.isSampled()).count();
+
+        // Assert
+        assertThat(never.isSampled()).isFalse();
+        assertThat(always.isSampled()).isTrue();
+        assertThat(sampled).isBetween(9_000L, 11_000L);
+        assertThat(never.log("event", "payload")).isEqualTo("payload");
+    }
+
+    @Test
+    void givenInvalidSampleRate_whenCreate_thenThrows() {
+        assertThatThrownBy(() -> new PayloadLogger(objectMapper, 1.5, 1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
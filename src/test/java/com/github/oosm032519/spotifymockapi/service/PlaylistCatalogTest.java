@@ -0,0 +1,44 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlaylistCatalogTest {
+
+    @Test
+    void givenCatalogSize_whenContains_thenChecksOneBasedRange() {
+        // インデックスが 1〜総数 の範囲で判定されるかテスト
+        PlaylistCatalog catalog = new PlaylistCatalog(100_000_000);
+        assertThat(catalog.getTotalPlaylists()).isEqualTo(100_000_000);
+        assertThat(catalog.contains(1)).isTrue();
+        assertThat(catalog.contains(100_000_000)).isTrue();
+        assertThat(catalog.contains(0)).isFalse();
+        assertThat(catalog.contains(100_000_001)).isFalse();
+    }
+
+    @Test
+    void givenPlaylistId_whenGetTrackCount_thenCapsAtMaxTracksPerPlaylist() {
+        // トラック数がインデックスと最大トラック数の小さい方になるかテスト
+        PlaylistCatalog catalog = new PlaylistCatalog(999);
+        assertThat(catalog.getTrackCount("mockPlaylistId007")).isEqualTo(7);
+        assertThat(catalog.getTrackCount("mockPlaylistId1000000")).isEqualTo(MockDataGeneratorUtil.MAX_TRACKS_PER_PLAYLIST);
+        assertThat(catalog.getTrackCount("mockPlaylistIdXYZ")).isEqualTo(0);
+    }
+
+    @Test
+    void givenMaxTracksPerPlaylist_whenGetTrackCount_thenCapsAtConfiguredValue() {
+        // 最大トラック数を設定値で変更できるかテスト
+        PlaylistCatalog catalog = new PlaylistCatalog(999, 50_000);
+        assertThat(catalog.getMaxTracksPerPlaylist()).isEqualTo(50_000);
+        assertThat(catalog.getTrackCount("mockPlaylistId40000")).isEqualTo(40_000);
+        assertThat(catalog.getTrackCount("mockPlaylistId1000000")).isEqualTo(50_000);
+    }
+
+    @Test
+    void givenNegativeSize_whenCreate_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new PlaylistCatalog(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PlaylistCatalog(999, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaylistSearchIndexTest {
+
+    private static final int TOTAL_PLAYLISTS = 999;
+
+    private PlaylistSearchIndex playlistSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        playlistSearchIndex = new PlaylistSearchIndex(new PlaylistCatalog(TOTAL_PLAYLISTS), 1_000_000);
+    }
+
+    @Test
+    void givenText_whenTokenize_thenSplitsOnNonAlphanumericAndLowercases() {
+        assertThat(PlaylistSearchIndex.tokenize("Search Playlist 1 Description: Chill Hip-Hop"))
+                .containsExactly("search", "playlist", "1", "description", "chill", "hip", "hop");
+        assertThat(PlaylistSearchIndex.tokenize(" ,. ")).isEmpty();
+        assertThat(PlaylistSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void givenTermInEveryPlaylist_whenSearch_thenReturnsTopKInIndexOrder() {
+        // Act
+        PlaylistSearchIndex.SearchResult result = playlistSearchIndex.search("Mock", 5);
+
+        // Assert: 全件一致・同スコアの場合はインデックスの昇順に上位 k 件が返る
+        assertThat(result.total()).isEqualTo(TOTAL_PLAYLISTS);
+        assertThat(result.playlistIndexes()).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void givenMultipleTerms_whenSearch_thenMatchesAllTermsLikeBruteForce() {
+        // Arrange: 総当たりで期待値を算出
+        int[] expected = IntStream.rangeClosed(1, TOTAL_PLAYLISTS)
+                .filter(index -> {
+                    List<String> tokens = PlaylistSearchIndex.tokenize(MockDataGeneratorUtil.generatePlaylistDescription(index));
+                    return tokens.contains("chill") && tokens.contains("jazz");
+                })
+                .toArray();
+
+        // Act
+        PlaylistSearchIndex.SearchResult result = playlistSearchIndex.search("chill JAZZ", TOTAL_PLAYLISTS);
+
+        // Assert
+        assertThat(expected).isNotEmpty();
+        assertThat(result.total()).isEqualTo(expected.length);
+        assertThat(result.playlistIndexes()).containsExactly(expected);
+    }
+
+    @Test
+    void givenPartialTerm_whenSearch_thenMatchesTermsContainingIt() {
+        // Act: "jaz" は 3-gram から "jazz" に、"hop" は "hip hop" に部分一致する
+        PlaylistSearchIndex.SearchResult partial = playlistSearchIndex.search("jaz", TOTAL_PLAYLISTS);
+        PlaylistSearchIndex.SearchResult exact = playlistSearchIndex.search("jazz", TOTAL_PLAYLISTS);
+        PlaylistSearchIndex.SearchResult shortTerm = playlistSearchIndex.search("ja", TOTAL_PLAYLISTS);
+
+        // Assert
+        assertThat(partial.total()).isEqualTo(exact.total());
+        assertThat(partial.playlistIndexes()).containsExactly(exact.playlistIndexes());
+        assertThat(shortTerm.total()).isGreaterThanOrEqualTo(exact.total());
+    }
+
+    @Test
+    void givenPartialTerms_whenSearch_thenTotalsMatchBruteForce() {
+        for (String query : List.of("an", "ic", "nt", "ja", "lay", "hip", "ock")) {
+            // Arrange: 名前または説明の数字以外のトークンのいずれかが query を含むプレイリストを総当たりで数える
+            long expected = IntStream.rangeClosed(1, TOTAL_PLAYLISTS)
+                    .filter(index -> Stream.concat(
+                                    PlaylistSearchIndex.tokenize(MockDataGeneratorUtil.generatePlaylistName(MockDataGeneratorUtil.generatePlaylistId(index))).stream(),
+                                    PlaylistSearchIndex.tokenize(MockDataGeneratorUtil.generatePlaylistDescription(index)).stream())
+                            .anyMatch(token -> !token.chars().allMatch(Character::isDigit) && token.contains(query)))
+                    .count();
+
+            // Act
+            PlaylistSearchIndex.SearchResult result = playlistSearchIndex.search(query, TOTAL_PLAYLISTS);
+
+            // Assert
+            assertThat(result.total()).as(query).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void givenNumericTerm_whenSearch_thenMatchesPlaylistNumber() {
+        // Act
+        PlaylistSearchIndex.SearchResult byDescriptionNumber = playlistSearchIndex.search("mock 42", 10);
+        PlaylistSearchIndex.SearchResult byPaddedName = playlistSearchIndex.search("042", 10);
+        PlaylistSearchIndex.SearchResult bothFields = playlistSearchIndex.search("42 042", 10);
+        PlaylistSearchIndex.SearchResult differentPlaylists = playlistSearchIndex.search("42 043", 10);
+        PlaylistSearchIndex.SearchResult outOfRange = playlistSearchIndex.search("5000", 10);
+
+        // Assert
+        assertThat(byDescriptionNumber.playlistIndexes()).containsExactly(42);
+        assertThat(byPaddedName.playlistIndexes()).containsExactly(42);
+        assertThat(bothFields.playlistIndexes()).containsExactly(42);
+        assertThat(differentPlaylists.total()).isZero();
+        assertThat(outOfRange.total()).isZero();
+    }
+
+    @Test
+    void givenTermMatchingSeveralTokens_whenSearch_thenRanksHigherScoresFirst() {
+        // Arrange: "ro" は "romantic", "rock", "electronic" に部分一致するため、2つ含むプレイリストのスコアが高くなる
+        int[] bothTokens = IntStream.rangeClosed(1, TOTAL_PLAYLISTS)
+                .filter(index -> PlaylistSearchIndex.tokenize(MockDataGeneratorUtil.generatePlaylistDescription(index)).stream()
+                        .filter(token -> token.contains("ro"))
+                        .count() == 2)
+                .toArray();
+
+        // Act
+        PlaylistSearchIndex.SearchResult result = playlistSearchIndex.search("ro", bothTokens.length);
+
+        // Assert
+        assertThat(bothTokens).isNotEmpty();
+        assertThat(result.total()).isGreaterThan(bothTokens.length);
+        assertThat(result.playlistIndexes()).containsExactly(bothTokens);
+    }
+
+    @Test
+    void givenUnknownTerm_whenSearch_thenReturnsEmptyResult() {
+        PlaylistSearchIndex.SearchResult result = playlistSearchIndex.search("mock unknown", 10);
+
+        assertThat(result.total()).isZero();
+        assertThat(result.playlistIndexes()).isEmpty();
+    }
+
+    @Test
+    void givenMaxIndexedPlaylists_whenSearch_thenOnlyIndexedPrefixIsSearched() {
+        // Arrange
+        PlaylistSearchIndex limitedIndex = new PlaylistSearchIndex(new PlaylistCatalog(TOTAL_PLAYLISTS), 100);
+
+        // Act
+        PlaylistSearchIndex.SearchResult result = limitedIndex.search("mock", 1);
+
+        // Assert
+        assertThat(limitedIndex.getIndexedPlaylistCount()).isEqualTo(100);
+        assertThat(result.total()).isEqualTo(100);
+    }
+}
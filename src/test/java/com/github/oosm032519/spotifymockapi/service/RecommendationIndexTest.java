@@ -0,0 +1,98 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecommendationIndexTest {
+
+    private static final int FEATURE_COUNT = RecommendationIndex.Feature.values().length;
+
+    @Test
+    void givenQueryVector_whenNearest_thenMatchesSortedBruteForceAcrossBlocks() {
+        // Arrange: ブロックの境界をまたぐ候補数
+        RecommendationIndex index = new RecommendationIndex(new MockRandomSource("deterministic", 42L), RecommendationIndex.BLOCK_SIZE * 2 + 123);
+        float[] query = {0.2f, 0.8f, 0.5f, 0.1f, 0.3f, 0.7f, 0.05f, 0.6f, 0.4f};
+
+        // Act
+        int[] nearest = index.nearest(query, 25, new int[0]);
+
+        // Assert
+        assertThat(nearest).containsExactly(bruteForce(index, query, 25));
+    }
+
+    @Test
+    void givenPartialQueryAndExcludedRows_whenNearest_thenIgnoresNaNFeaturesAndExcludedRows() {
+        // Arrange: エネルギーのみを指定
+        RecommendationIndex index = new RecommendationIndex(new MockRandomSource("deterministic", 7L), 5_000);
+        float[] query = new float[FEATURE_COUNT];
+        Arrays.fill(query, Float.NaN);
+        query[RecommendationIndex.Feature.ENERGY.ordinal()] = 0.9f;
+        int[] unfiltered = index.nearest(query, 5, new int[0]);
+
+        // Act
+        int[] filtered = index.nearest(query, 5, new int[]{unfiltered[0], unfiltered[2]});
+
+        // Assert
+        assertThat(unfiltered).containsExactly(bruteForce(index, query, 5));
+        assertThat(filtered).doesNotContain(unfiltered[0], unfiltered[2]).contains(unfiltered[1], unfiltered[3], unfiltered[4]);
+    }
+
+    @Test
+    void givenLimitLargerThanIndex_whenNearest_thenReturnsAllRows() {
+        // Arrange
+        RecommendationIndex index = new RecommendationIndex(new MockRandomSource("random", 0), 3);
+        float[] query = new float[FEATURE_COUNT];
+
+        // Act / Assert
+        assertThat(index.nearest(query, 100, new int[]{1})).hasSize(2).containsOnly(0, 2);
+        assertThat(new RecommendationIndex(new MockRandomSource("random", 0), 0).nearest(query, 10, new int[0])).isEmpty();
+    }
+
+    @Test
+    void givenTrackIds_whenRowOf_thenResolvesOnlyCanonicalCandidateIds() {
+        // Arrange
+        RecommendationIndex index = new RecommendationIndex(new MockRandomSource("random", 0), 100);
+
+        // Act / Assert
+        assertThat(index.rowOf(RecommendationIndex.trackId(0))).isZero();
+        assertThat(index.rowOf("recommendation_track_id_100")).isEqualTo(99);
+        assertThat(index.rowOf("recommendation_track_id_101")).isEqualTo(-1);
+        assertThat(index.rowOf("recommendation_track_id_01")).isEqualTo(-1);
+        assertThat(index.rowOf("recommendation_track_id_99999999999")).isEqualTo(-1);
+        assertThat(index.rowOf("track1")).isEqualTo(-1);
+        assertThatThrownBy(() -> new RecommendationIndex(new MockRandomSource("random", 0), -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenFeature_whenNormalize_thenMapsRangeToUnitInterval() {
+        assertThat(RecommendationIndex.Feature.TEMPO.normalize(125.0)).isEqualTo(0.5f);
+        assertThat(RecommendationIndex.Feature.LOUDNESS.normalize(-60.0)).isZero();
+        assertThat(RecommendationIndex.Feature.LOUDNESS.normalize(5.0)).isEqualTo(1.0f);
+        assertThat(RecommendationIndex.Feature.VALENCE.getParameterName()).isEqualTo("valence");
+    }
+
+    private static int[] bruteForce(RecommendationIndex index, float[] query, int limit) {
+        float[] vector = new float[FEATURE_COUNT];
+        float[] distances = new float[index.size()];
+        for (int row = 0; row < index.size(); row++) {
+            index.copyVector(row, vector);
+            float distance = 0.0f;
+            for (int feature = 0; feature < FEATURE_COUNT; feature++) {
+                if (!Float.isNaN(query[feature])) {
+                    float difference = vector[feature] - query[feature];
+                    distance += difference * difference;
+                }
+            }
+            distances[row] = distance;
+        }
+        return IntStream.range(0, index.size()).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(row -> distances[row]).thenComparingInt(row -> row))
+                .limit(limit).mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecommendationQueryTest {
+
+    @Test
+    void givenSpotifyStyleParameters_whenFromParameters_thenParsesSeedsTargetsAndLimit() {
+        // Act
+        RecommendationQuery query = RecommendationQuery.fromParameters(Map.of(
+                "seed_tracks", "track1, track2,",
+                "seed_artists", "artist1",
+                "target_energy", "0.8",
+                "target_loudness", "-5.5",
+                "target_popularity", "40",
+                "min_tempo", "100",
+                "limit", "50"));
+
+        // Assert: サポートしない target_* と min_* は無視する
+        assertThat(query.seedTracks()).containsExactly("track1", "track2");
+        assertThat(query.seedArtists()).containsExactly("artist1");
+        assertThat(query.seedGenres()).isEmpty();
+        assertThat(query.limit()).isEqualTo(50);
+        assertThat(query.targets()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                RecommendationIndex.Feature.ENERGY, 0.8,
+                RecommendationIndex.Feature.LOUDNESS, -5.5));
+    }
+
+    @Test
+    void givenNoLimit_whenFromParameters_thenUsesDefaultLimit() {
+        assertThat(RecommendationQuery.fromParameters(Map.of("seed_genres", "rock")).limit()).isEqualTo(RecommendationQuery.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void givenParameters_whenHasSeedsOrTargets_thenDetectsSeedAndTargetParameters() {
+        assertThat(RecommendationQuery.hasSeedsOrTargets(Map.of())).isFalse();
+        assertThat(RecommendationQuery.hasSeedsOrTargets(Map.of("limit", "10"))).isFalse();
+        assertThat(RecommendationQuery.hasSeedsOrTargets(Map.of("seed_genres", "rock"))).isTrue();
+        assertThat(RecommendationQuery.hasSeedsOrTargets(Map.of("target_tempo", "120"))).isTrue();
+        assertThat(RecommendationQuery.hasSeedsOrTargets(Map.of("target_popularity", "50", "target_key", "3"))).isFalse();
+    }
+
+    @Test
+    void givenInvalidParameters_whenFromParameters_thenThrows() {
+        assertThatThrownBy(() -> RecommendationQuery.fromParameters(Map.of("seed_tracks", "t1,t2,t3", "seed_genres", "g1,g2,g3")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("6");
+        assertThatThrownBy(() -> RecommendationQuery.fromParameters(Map.of("seed_tracks", " , ")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("At least one");
+        assertThatThrownBy(() -> RecommendationQuery.fromParameters(Map.of("seed_tracks", "t1", "limit", "101")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("limit");
+        assertThatThrownBy(() -> RecommendationQuery.fromParameters(Map.of("seed_tracks", "t1", "limit", "ten")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("integer");
+        assertThatThrownBy(() -> RecommendationQuery.fromParameters(Map.of("target_tempo", "NaN")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("target_tempo");
+        assertThatThrownBy(() -> new RecommendationQuery(List.of(), List.of(), List.of(), 0, Map.of(RecommendationIndex.Feature.TEMPO, 120.0)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("limit");
+    }
+}
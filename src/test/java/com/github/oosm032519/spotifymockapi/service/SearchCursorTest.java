@@ -0,0 +1,50 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorTest {
+
+    @Test
+    void givenOffset_whenEncodeAndDecode_thenReturnsSameOffset() {
+        // エンコードしたカーソルから同じ開始位置を復元できるかテスト
+        String cursor = SearchCursor.encode("chill jazz", 99_999_980);
+        assertThat(cursor).doesNotContain("99999980"); // 開始位置がそのまま露出しないことを確認
+        assertThat(SearchCursor.decode("chill jazz", cursor)).isEqualTo(99_999_980);
+    }
+
+    @Test
+    void givenEquivalentQuery_whenDecode_thenAcceptsCursor() {
+        // 大文字小文字や区切り文字のみが異なるクエリではカーソルを使用できるかテスト
+        String cursor = SearchCursor.encode("Chill Jazz", 40);
+        assertThat(SearchCursor.decode("  chill, JAZZ ", cursor)).isEqualTo(40);
+    }
+
+    @Test
+    void givenDifferentQuery_whenDecode_thenThrowsIllegalArgumentException() {
+        // 別のクエリで発行されたカーソルは IllegalArgumentException となるかテスト
+        String cursor = SearchCursor.encode("chill jazz", 40);
+        assertThatThrownBy(() -> SearchCursor.decode("jazz chill", cursor))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("does not match");
+        assertThatThrownBy(() -> SearchCursor.decode("rock", cursor)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenInvalidCursor_whenDecode_thenThrowsIllegalArgumentException() {
+        // 不正なカーソルは IllegalArgumentException となるかテスト
+        assertThatThrownBy(() -> SearchCursor.decode("mock", "not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode("mock", "dXNlcjox")).isInstanceOf(IllegalArgumentException.class); // "user:1"
+        assertThatThrownBy(() -> SearchCursor.decode("mock", encodeRaw("v1:40"))).isInstanceOf(IllegalArgumentException.class); // クエリを含まない旧形式
+        assertThatThrownBy(() -> SearchCursor.decode("mock", encodeRaw("v2:zz:40"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode("mock", SearchCursor.encode("mock", -1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encodeRaw(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
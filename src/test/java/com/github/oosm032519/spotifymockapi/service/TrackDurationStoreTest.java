@@ -0,0 +1,119 @@
+package com.github.oosm032519.spotifymockapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrackDurationStoreTest {
+
+    private static final MockRandomSource RANDOM = new MockRandomSource("random", 0);
+
+    @Test
+    void givenSameTrackId_whenGetDurationMs_thenReturnsCachedValueAndCountsHit() {
+        // Arrange
+        TrackDurationStore store = new TrackDurationStore("cache", 1024, RANDOM);
+
+        // Act
+        int first = store.getDurationMs("track123");
+        int second = store.getDurationMs("track123");
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(first).isBetween(100000, 299999);
+        assertThat(store.getSize()).isEqualTo(1);
+        assertThat(store.getHitCount()).isEqualTo(1);
+        assertThat(store.getMissCount()).isEqualTo(1);
+        assertThat(store.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void givenMoreTracksThanCapacity_whenGetDurationMs_thenSizeStaysBoundedAndEvicts() {
+        // Arrange: 容量 64 (2のべき乗に切り上げ) のストア
+        TrackDurationStore store = new TrackDurationStore("cache", 50, RANDOM);
+
+        // Act: 容量を大きく超えるトラックIDを登録
+        for (int i = 0; i < 10_000; i++) {
+            store.getDurationMs("track_id_" + i);
+        }
+
+        // Assert
+        assertThat(store.getCapacity()).isEqualTo(64);
+        assertThat(store.getSize()).isLessThanOrEqualTo(64);
+        assertThat(store.getEvictionCount()).isPositive();
+        assertThat(store.getMissCount()).isEqualTo(10_000);
+    }
+
+    @Test
+    void givenConcurrentLookups_whenGetDurationMs_thenAllThreadsSeeSameValuePerTrack() throws Exception {
+        // Arrange: 追い出しが発生しない十分な容量
+        TrackDurationStore store = new TrackDurationStore("cache", 1 << 16, RANDOM);
+        int threads = 8;
+        int tracks = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<int[]>> futures = new ArrayList<>();
+
+        // Act: 複数スレッドから同じトラックIDを同時に参照
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int[] durations = new int[tracks];
+                for (int i = 0; i < tracks; i++) {
+                    durations[i] = store.getDurationMs("track_id_" + i);
+                }
+                return durations;
+            }));
+        }
+        start.countDown();
+        int[] expected = futures.get(0).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        for (Future<int[]> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS)).containsExactly(expected);
+        }
+        assertThat(store.getSize()).isEqualTo(tracks);
+    }
+
+    @Test
+    void givenHashMode_whenGetDurationMs_thenDerivesSameValueWithoutState() {
+        // Arrange: 別インスタンス同士
+        TrackDurationStore first = new TrackDurationStore("hash", 1024, RANDOM);
+        TrackDurationStore second = new TrackDurationStore("HASH", 1024, RANDOM);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            String trackId = "track_id_" + i;
+            assertThat(first.getDurationMs(trackId))
+                    .isEqualTo(second.getDurationMs(trackId))
+                    .isBetween(100000, 299999);
+        }
+        assertThat(first.getSize()).isZero();
+        assertThat(first.getCapacity()).isZero();
+    }
+
+    @Test
+    void givenInvalidConfiguration_whenCreate_thenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new TrackDurationStore("cache", 1, RANDOM)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrackDurationStore("unknown", 1024, RANDOM)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenDeterministicGeneration_whenEntryIsEvicted_thenRegeneratesSameValue() {
+        // Arrange: 容量の小さいストアで deterministic モードを使用
+        TrackDurationStore store = new TrackDurationStore("cache", 2, new MockRandomSource("deterministic", 1L));
+        int original = store.getDurationMs("track_id_1");
+
+        // Act: 他のトラックで追い出した後に再取得
+        for (int i = 2; i < 100; i++) {
+            store.getDurationMs("track_id_" + i);
+        }
+
+        // Assert
+        assertThat(store.getDurationMs("track_id_1")).isEqualTo(original);
+    }
+}